@@ -197,7 +197,7 @@ public final class ASiCUtils {
 		return false;
 	}
 
-	public static DSSDocument getCurrentDocument(String filepath, ZipInputStream zis) throws IOException {
+	public static DSSDocument getCurrentDocument(String filepath, InputStream zis) throws IOException {
 		try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
 			Utils.copy(zis, baos);
 			baos.flush();
@@ -1,60 +1,133 @@
 package eu.europa.esig.dss.asic;
 
+import java.io.Closeable;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.FileDocument;
 import eu.europa.esig.dss.utils.Utils;
 
 /**
  * This class is used to read an ASiC Container and to retrieve its content files
  */
-public abstract class AbstractASiCContainerExtractor {
+public abstract class AbstractASiCContainerExtractor implements Closeable {
 
 	private static final Logger LOG = LoggerFactory.getLogger(AbstractASiCContainerExtractor.class);
 
 	private static final String MIME_TYPE = "mimetype";
+
+	/**
+	 * End of central directory record (22 bytes) + max comment length
+	 */
+	private static final int END_OF_CENTRAL_DIRECTORY_MAX_SIZE = 22 + 65535;
+
+	private static final int LOCAL_HEADER_SIZE = 30;
+	private static final long LOCAL_HEADER_SIGNATURE = 0x04034b50L;
+	private static final long DATA_DESCRIPTOR_SIGNATURE = 0x08074b50L;
+	private static final int DATA_DESCRIPTOR_FLAG = 0x08;
+	private static final long ZIP64_MAGIC_SIZE = 0xFFFFFFFFL;
 	protected static final String META_INF_FOLDER = "META-INF/";
 
 	private final DSSDocument asicContainer;
 
+	/**
+	 * The ZIP file shared by the entries of a container stored on the file-system
+	 */
+	private SharedZipFile zipFile;
+
 	protected AbstractASiCContainerExtractor(DSSDocument asicContainer) {
 		this.asicContainer = asicContainer;
 	}
 
 	public ASiCExtractResult extract() {
+		if (asicContainer instanceof FileDocument) {
+			ASiCExtractResult result = extractFromFile(new File(asicContainer.getAbsolutePath()));
+			if (result != null) {
+				return result;
+			}
+			close();
+		}
+
 		ASiCExtractResult result = new ASiCExtractResult();
 
 		try (InputStream is = asicContainer.openStream(); ZipInputStream asicInputStream = new ZipInputStream(is)) {
+			Set<String> entryNames = new HashSet<String>();
 			ZipEntry entry;
 			while ((entry = asicInputStream.getNextEntry()) != null) {
 				String entryName = entry.getName();
-				if (isMetaInfFolder(entryName)) {
-					if (isAllowedSignature(entryName)) {
-						result.getSignatureDocuments().add(ASiCUtils.getCurrentDocument(entryName, asicInputStream));
-					} else if (isAllowedManifest(entryName)) {
-						result.getManifestDocuments().add(ASiCUtils.getCurrentDocument(entryName, asicInputStream));
-					} else if (isAllowedArchiveManifest(entryName)) {
-						result.getArchiveManifestDocuments().add(ASiCUtils.getCurrentDocument(entryName, asicInputStream));
-					} else if (isAllowedTimestamp(entryName)) {
-						result.getTimestampDocuments().add(ASiCUtils.getCurrentDocument(entryName, asicInputStream));
-					} else if (!isFolder(entryName)) {
-						result.getUnsupportedDocuments().add(ASiCUtils.getCurrentDocument(entryName, asicInputStream));
-					}
-				} else if (!isFolder(entryName)) {
-					if (isMimetype(entryName)) {
-						result.setMimeTypeDocument(ASiCUtils.getCurrentDocument(entryName, asicInputStream));
-					} else {
-						result.getSignedDocuments().add(ASiCUtils.getCurrentDocument(entryName, asicInputStream));
-					}
+				if (!entryNames.add(entryName)) {
+					LOG.warn("The container contains more than one entry named '{}'", entryName);
+				}
+				add(result, entryName, ASiCUtils.getCurrentDocument(entryName, asicInputStream));
+			}
+
+			if (Utils.isCollectionNotEmpty(result.getUnsupportedDocuments())) {
+				LOG.warn("Unsupported files : " + result.getUnsupportedDocuments());
+			}
+
+		} catch (IOException e) {
+			LOG.warn("Unable to parse the container " + e.getMessage());
+		}
+
+		result.setZipComment(getZipComment());
+
+		return result;
+	}
+
+	/**
+	 * This method reads the central directory of the container stored on the file-system. Only the signatures,
+	 * manifests, timestamps and mimetype are loaded in memory, the other entries are returned as
+	 * {@code ZipEntryDocument}s (inflated on demand from the {@code ZipFile} shared by the entries of this container,
+	 * see {@link #close()}). A container with duplicate entry names or with a central directory which does not match
+	 * the local headers (the entries seen by a {@code ZipInputStream}) cannot be read by name : null is returned and
+	 * the container is read as a stream.
+	 */
+	private ASiCExtractResult extractFromFile(File file) {
+		ASiCExtractResult result = new ASiCExtractResult();
+
+		try {
+			ZipFile zipFile = getZipFile(file);
+			List<ZipEntry> entries = new ArrayList<ZipEntry>();
+			Set<String> entryNames = new HashSet<String>();
+			Enumeration<? extends ZipEntry> enumeration = zipFile.entries();
+			while (enumeration.hasMoreElements()) {
+				ZipEntry entry = enumeration.nextElement();
+				if (!entryNames.add(entry.getName())) {
+					LOG.warn("The container contains more than one entry named '{}' : it is read as a stream", entry.getName());
+					return null;
+				}
+				entries.add(entry);
+			}
+			if (!matchLocalHeaders(file, zipFile, entryNames)) {
+				return null;
+			}
+
+			for (ZipEntry entry : entries) {
+				String entryName = entry.getName();
+				DSSDocument document;
+				if (isSignedDocument(entryName)) {
+					document = new ZipEntryDocument(this.zipFile, entryName);
 				} else {
-					result.getUnsupportedDocuments().add(ASiCUtils.getCurrentDocument(entryName, asicInputStream));
+					try (InputStream is = zipFile.getInputStream(entry)) {
+						document = ASiCUtils.getCurrentDocument(entryName, is);
+					}
 				}
+				add(result, entryName, document);
 			}
 
 			if (Utils.isCollectionNotEmpty(result.getUnsupportedDocuments())) {
@@ -70,14 +143,138 @@ public abstract class AbstractASiCContainerExtractor {
 		return result;
 	}
 
+	private synchronized ZipFile getZipFile(File file) throws IOException {
+		if (zipFile == null) {
+			zipFile = new SharedZipFile(file);
+		}
+		return zipFile.getZipFile();
+	}
+
+	/**
+	 * This method releases the {@code ZipFile} shared by the {@code ZipEntryDocument}s of the container stored on the
+	 * file-system. The documents can still be opened afterwards : the file is opened again on demand.
+	 */
+	@Override
+	public synchronized void close() {
+		if (zipFile != null) {
+			zipFile.close();
+		}
+	}
+
+	/**
+	 * This method walks through the local file headers (with the compressed sizes of the central directory, the data
+	 * is not read) and checks they contain exactly the entries of the central directory.
+	 */
+	private boolean matchLocalHeaders(File file, ZipFile zipFile, Set<String> centralDirectoryNames) throws IOException {
+		Set<String> localNames = new HashSet<String>();
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+			final long length = raf.length();
+			final byte[] header = new byte[LOCAL_HEADER_SIZE];
+			long offset = 0;
+			while (offset + LOCAL_HEADER_SIZE <= length) {
+				raf.seek(offset);
+				raf.readFully(header);
+				if (readInt(header, 0) != LOCAL_HEADER_SIGNATURE) {
+					break;
+				}
+				final int flags = readShort(header, 6);
+				final int nameLength = readShort(header, 26);
+				final int extraLength = readShort(header, 28);
+				final byte[] name = new byte[nameLength];
+				raf.readFully(name);
+				final String entryName = new String(name, StandardCharsets.UTF_8);
+
+				final ZipEntry entry = zipFile.getEntry(entryName);
+				if ((entry == null) || !centralDirectoryNames.contains(entryName) || !localNames.add(entryName)) {
+					LOG.warn("The local header of the entry '{}' does not match the central directory : the container is read as a stream", entryName);
+					return false;
+				}
+
+				offset += LOCAL_HEADER_SIZE + nameLength + extraLength + entry.getCompressedSize();
+				if ((flags & DATA_DESCRIPTOR_FLAG) != 0) {
+					offset += getDataDescriptorSize(raf, offset, entry);
+				}
+			}
+		}
+		if (localNames.size() != centralDirectoryNames.size()) {
+			LOG.warn("The central directory does not match the local headers of the container : the container is read as a stream");
+			return false;
+		}
+		return true;
+	}
+
+	private long getDataDescriptorSize(RandomAccessFile raf, long offset, ZipEntry entry) throws IOException {
+		final boolean zip64 = (entry.getCompressedSize() >= ZIP64_MAGIC_SIZE) || (entry.getSize() >= ZIP64_MAGIC_SIZE);
+		long size = zip64 ? 20 : 12;
+		if (offset + 4 <= raf.length()) {
+			byte[] signature = new byte[4];
+			raf.seek(offset);
+			raf.readFully(signature);
+			if (readInt(signature, 0) == DATA_DESCRIPTOR_SIGNATURE) {
+				size += 4;
+			}
+		}
+		return size;
+	}
+
+	private static int readShort(byte[] bytes, int offset) {
+		return (bytes[offset] & 0xff) | ((bytes[offset + 1] & 0xff) << 8);
+	}
+
+	private static long readInt(byte[] bytes, int offset) {
+		return readShort(bytes, offset) | ((long) readShort(bytes, offset + 2) << 16);
+	}
+
+	private void add(ASiCExtractResult result, String entryName, DSSDocument document) {
+		if (isMetaInfFolder(entryName)) {
+			if (isAllowedSignature(entryName)) {
+				result.getSignatureDocuments().add(document);
+			} else if (isAllowedManifest(entryName)) {
+				result.getManifestDocuments().add(document);
+			} else if (isAllowedArchiveManifest(entryName)) {
+				result.getArchiveManifestDocuments().add(document);
+			} else if (isAllowedTimestamp(entryName)) {
+				result.getTimestampDocuments().add(document);
+			} else if (!isFolder(entryName)) {
+				result.getUnsupportedDocuments().add(document);
+			}
+		} else if (!isFolder(entryName)) {
+			if (isMimetype(entryName)) {
+				result.setMimeTypeDocument(document);
+			} else {
+				result.getSignedDocuments().add(document);
+			}
+		} else {
+			result.getUnsupportedDocuments().add(document);
+		}
+	}
+
+	private boolean isSignedDocument(String entryName) {
+		return !isMetaInfFolder(entryName) && !isFolder(entryName) && !isMimetype(entryName);
+	}
+
+	/**
+	 * This method returns the ZIP comment of the container, decoded in UTF-8 (as written by
+	 * {@code ZipOutputStream}). Only the last bytes (end of central directory record and the comment, max 64 KB) are
+	 * kept in memory : they are read directly for a file and the other documents are read once.
+	 *
+	 * @return the ZIP comment, an empty string if the container has no comment or null if it cannot be read
+	 */
 	public String getZipComment() {
-		try (InputStream is = asicContainer.openStream()) {
-			byte[] buffer = Utils.toByteArray(is);
+		try {
+			byte[] buffer;
+			if (asicContainer instanceof FileDocument) {
+				buffer = readTail(new File(asicContainer.getAbsolutePath()), END_OF_CENTRAL_DIRECTORY_MAX_SIZE);
+			} else {
+				try (InputStream is = asicContainer.openStream()) {
+					buffer = readTail(is, END_OF_CENTRAL_DIRECTORY_MAX_SIZE);
+				}
+			}
 			final int len = buffer.length;
 			final byte[] magicDirEnd = { 0x50, 0x4b, 0x05, 0x06 };
 
-			// Check the buffer from the end
-			for (int ii = len - magicDirEnd.length - 22; ii >= 0; ii--) {
+			// Check the buffer from the end (the record is 22 bytes long without comment)
+			for (int ii = len - 22; ii >= 0; ii--) {
 				boolean isMagicStart = true;
 				for (int jj = 0; jj < magicDirEnd.length; jj++) {
 					if (buffer[ii + jj] != magicDirEnd[jj]) {
@@ -87,12 +284,12 @@ public abstract class AbstractASiCContainerExtractor {
 				}
 				if (isMagicStart) {
 					// Magic Start found!
-					int commentLen = buffer[ii + 20] + buffer[ii + 21] * 256;
+					int commentLen = readShort(buffer, ii + 20);
 					int realLen = len - ii - 22;
 					if (commentLen != realLen) {
 						LOG.warn("WARNING! ZIP comment size mismatch: directory says len is " + commentLen + ", but file ends after " + realLen + " bytes!");
 					}
-					return new String(buffer, ii + 22, realLen);
+					return new String(buffer, ii + 22, realLen, StandardCharsets.UTF_8);
 
 				}
 			}
@@ -102,6 +299,46 @@ public abstract class AbstractASiCContainerExtractor {
 		return null;
 	}
 
+	/**
+	 * Reads the last bytes of the file (at most maxSize)
+	 */
+	private byte[] readTail(File file, int maxSize) throws IOException {
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+			int size = (int) Math.min(raf.length(), maxSize);
+			byte[] tail = new byte[size];
+			raf.seek(raf.length() - size);
+			raf.readFully(tail);
+			return tail;
+		}
+	}
+
+	/**
+	 * Reads the stream and returns its last bytes (at most maxSize)
+	 */
+	private byte[] readTail(InputStream is, int maxSize) throws IOException {
+		byte[] ring = new byte[maxSize];
+		long total = 0;
+		byte[] buffer = new byte[8192];
+		int count;
+		while ((count = is.read(buffer)) > 0) {
+			// only the last maxSize bytes of the chunk can be kept
+			int offset = Math.max(0, count - maxSize);
+			int length = count - offset;
+			int position = (int) ((total + offset) % maxSize);
+			int first = Math.min(length, maxSize - position);
+			System.arraycopy(buffer, offset, ring, position, first);
+			System.arraycopy(buffer, offset + first, ring, 0, length - first);
+			total += count;
+		}
+		int size = (int) Math.min(total, maxSize);
+		byte[] tail = new byte[size];
+		int start = (int) ((total - size) % maxSize);
+		int first = Math.min(size, maxSize - start);
+		System.arraycopy(ring, start, tail, 0, first);
+		System.arraycopy(ring, 0, tail, first, size - first);
+		return tail;
+	}
+
 	private boolean isMimetype(String entryName) {
 		return MIME_TYPE.equals(entryName);
 	}
@@ -0,0 +1,50 @@
+package eu.europa.esig.dss.asic;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.zip.ZipFile;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class holds the {@code ZipFile} shared by the {@code ZipEntryDocument}s of a container stored on the
+ * file-system. The file is opened on demand and kept open until {@link #close()} is called.
+ */
+@SuppressWarnings("serial")
+class SharedZipFile implements Serializable {
+
+	private static final Logger LOG = LoggerFactory.getLogger(SharedZipFile.class);
+
+	private final File file;
+
+	private transient ZipFile zipFile;
+
+	SharedZipFile(final File file) {
+		this.file = file;
+	}
+
+	File getFile() {
+		return file;
+	}
+
+	synchronized ZipFile getZipFile() throws IOException {
+		if (zipFile == null) {
+			zipFile = new ZipFile(file);
+		}
+		return zipFile;
+	}
+
+	synchronized void close() {
+		if (zipFile != null) {
+			try {
+				zipFile.close();
+			} catch (IOException e) {
+				LOG.warn("Unable to close the ZIP file '{}' : {}", file.getAbsolutePath(), e.getMessage());
+			}
+			zipFile = null;
+		}
+	}
+
+}
@@ -0,0 +1,60 @@
+package eu.europa.esig.dss.asic;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import eu.europa.esig.dss.CommonDocument;
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.MimeType;
+
+/**
+ * This class represents an entry of a ZIP container stored on the file-system. The content is not loaded in memory :
+ * the entry is located with the central directory and inflated each time the document is opened. The {@code ZipFile}
+ * is shared by the entries of a container and released with the {@code AbstractASiCContainerExtractor} which created
+ * them (it is opened again if the document is read afterwards). The entry is found by its name : the container must
+ * not contain duplicate names (this is checked by the {@code AbstractASiCContainerExtractor}).
+ */
+@SuppressWarnings("serial")
+public class ZipEntryDocument extends CommonDocument {
+
+	private final SharedZipFile zipFile;
+
+	private final String entryName;
+
+	/**
+	 * The default constructor for ZipEntryDocument.
+	 *
+	 * @param zipFile
+	 *            the ZIP container on the file-system
+	 * @param entryName
+	 *            the name of the entry in the ZIP container
+	 */
+	public ZipEntryDocument(final File zipFile, final String entryName) {
+		this(new SharedZipFile(zipFile), entryName);
+	}
+
+	ZipEntryDocument(final SharedZipFile zipFile, final String entryName) {
+		this.zipFile = zipFile;
+		this.entryName = entryName;
+		this.name = entryName;
+		this.mimeType = MimeType.fromFileName(entryName);
+	}
+
+	@Override
+	public InputStream openStream() throws DSSException {
+		try {
+			final ZipFile zip = zipFile.getZipFile();
+			final ZipEntry entry = zip.getEntry(entryName);
+			if (entry == null) {
+				throw new DSSException("The entry '" + entryName + "' is not found in " + zipFile.getFile().getAbsolutePath());
+			}
+			return zip.getInputStream(entry);
+		} catch (IOException e) {
+			throw new DSSException("Unable to open the entry '" + entryName + "'", e);
+		}
+	}
+
+}
@@ -33,6 +33,14 @@ public class ASiCContainerWithXAdESValidator extends AbstractASiCContainerValida
 		return ASiCUtils.isASiCContainer(dssDocument) && ASiCUtils.isArchiveContainsCorrectSignatureFileWithExtension(dssDocument, ".xml");
 	}
 
+	/**
+	 * The XAdES signatures of a signature file share the same DOM which is not thread-safe
+	 */
+	@Override
+	protected boolean isConcurrentSignatureValidationSupported() {
+		return false;
+	}
+
 	@Override
 	AbstractASiCContainerExtractor getArchiveExtractor() {
 		return new ASiCWithXAdESContainerExtractor(document);
@@ -0,0 +1,159 @@
+package eu.europa.esig.dss.asic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.DigestAlgorithm;
+import eu.europa.esig.dss.FileDocument;
+import eu.europa.esig.dss.InMemoryDocument;
+import eu.europa.esig.dss.utils.Utils;
+
+public class ASiCWithXAdESContainerExtractorTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void extractFromFileAndFromMemory() throws Exception {
+		File file = new File("src/test/resources/validation/test-zip-comment.asice");
+
+		ASiCExtractResult fromFile = new ASiCWithXAdESContainerExtractor(new FileDocument(file)).extract();
+		ASiCExtractResult fromMemory = new ASiCWithXAdESContainerExtractor(new InMemoryDocument(Utils.toByteArray(new FileDocument(file).openStream())))
+				.extract();
+
+		assertNotNull(fromFile.getZipComment());
+		assertEquals(fromMemory.getZipComment(), fromFile.getZipComment());
+		assertEquals(fromMemory.getSignatureDocuments().size(), fromFile.getSignatureDocuments().size());
+		assertEquals(fromMemory.getManifestDocuments().size(), fromFile.getManifestDocuments().size());
+		assertNotNull(fromFile.getMimeTypeDocument());
+
+		List<DSSDocument> signedDocumentsFromFile = fromFile.getSignedDocuments();
+		List<DSSDocument> signedDocumentsFromMemory = fromMemory.getSignedDocuments();
+		assertTrue(Utils.isCollectionNotEmpty(signedDocumentsFromFile));
+		assertEquals(signedDocumentsFromMemory.size(), signedDocumentsFromFile.size());
+		for (int i = 0; i < signedDocumentsFromFile.size(); i++) {
+			DSSDocument lazyDocument = signedDocumentsFromFile.get(i);
+			assertTrue(lazyDocument instanceof ZipEntryDocument);
+			assertEquals(signedDocumentsFromMemory.get(i).getName(), lazyDocument.getName());
+			assertEquals(signedDocumentsFromMemory.get(i).getDigest(DigestAlgorithm.SHA256), lazyDocument.getDigest(DigestAlgorithm.SHA256));
+		}
+	}
+
+	@Test
+	public void sameZipCommentFromFileAndFromMemory() throws Exception {
+		byte[] withoutComment = createZip(null, "a.txt", "b.txt");
+		assertEquals("", extract(toFile(withoutComment)).getZipComment());
+		assertEquals("", extract(new InMemoryDocument(withoutComment)).getZipComment());
+
+		String comment = "mimetype=application/vnd.etsi.asic-e+zip \u00e9t\u00e9";
+		byte[] withComment = createZip(comment, "a.txt", "b.txt");
+		assertEquals(comment, extract(toFile(withComment)).getZipComment());
+		assertEquals(comment, extract(new InMemoryDocument(withComment)).getZipComment());
+	}
+
+	@Test
+	public void duplicateEntryNamesAreReadAsStream() throws Exception {
+		// both the local header and the central directory entry of b.txt are renamed
+		byte[] zip = replace(createZip(null, "a.txt", "b.txt"), "b.txt", "a.txt", false);
+		assertReadAsStream(extract(toFile(zip)), "a.txt", "a.txt");
+		assertReadAsStream(extract(new InMemoryDocument(zip)), "a.txt", "a.txt");
+	}
+
+	@Test
+	public void centralDirectoryNotMatchingLocalHeadersIsReadAsStream() throws Exception {
+		// only the central directory entry of b.txt is renamed
+		byte[] zip = replace(createZip(null, "a.txt", "b.txt"), "b.txt", "c.txt", true);
+		assertReadAsStream(extract(toFile(zip)), "a.txt", "b.txt");
+	}
+
+	@Test
+	public void entriesCanBeReadAfterClose() throws Exception {
+		DSSDocument container = toFile(createZip(null, "a.txt", "b.txt"));
+		ASiCExtractResult result;
+		try (ASiCWithXAdESContainerExtractor extractor = new ASiCWithXAdESContainerExtractor(container)) {
+			result = extractor.extract();
+			assertEquals("content of a.txt", new String(DSSUtils.toByteArray(result.getSignedDocuments().get(0)), StandardCharsets.UTF_8));
+		}
+		assertEquals("content of b.txt", new String(DSSUtils.toByteArray(result.getSignedDocuments().get(1)), StandardCharsets.UTF_8));
+	}
+
+	private ASiCExtractResult extract(DSSDocument document) {
+		try (ASiCWithXAdESContainerExtractor extractor = new ASiCWithXAdESContainerExtractor(document)) {
+			return extractor.extract();
+		}
+	}
+
+	/**
+	 * The entries seen by a {@code ZipInputStream} (the local headers) are returned, in memory
+	 */
+	private void assertReadAsStream(ASiCExtractResult result, String... entryNames) {
+		List<DSSDocument> signedDocuments = result.getSignedDocuments();
+		assertEquals(entryNames.length, signedDocuments.size());
+		for (int i = 0; i < entryNames.length; i++) {
+			assertEquals(entryNames[i], signedDocuments.get(i).getName());
+			assertTrue(signedDocuments.get(i) instanceof InMemoryDocument);
+		}
+	}
+
+	private byte[] createZip(String comment, String... entryNames) throws Exception {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		try (ZipOutputStream zos = new ZipOutputStream(baos)) {
+			zos.putNextEntry(new ZipEntry("mimetype"));
+			zos.write("application/vnd.etsi.asic-e+zip".getBytes(StandardCharsets.UTF_8));
+			for (String entryName : entryNames) {
+				zos.putNextEntry(new ZipEntry(entryName));
+				zos.write(("content of " + entryName).getBytes(StandardCharsets.UTF_8));
+			}
+			if (comment != null) {
+				zos.setComment(comment);
+			}
+		}
+		return baos.toByteArray();
+	}
+
+	private byte[] replace(byte[] zip, String from, String to, boolean lastOnly) {
+		byte[] fromBytes = from.getBytes(StandardCharsets.UTF_8);
+		byte[] toBytes = to.getBytes(StandardCharsets.UTF_8);
+		for (int i = zip.length - fromBytes.length; i >= 0; i--) {
+			boolean found = true;
+			for (int j = 0; j < fromBytes.length; j++) {
+				if (zip[i + j] != fromBytes[j]) {
+					found = false;
+					break;
+				}
+			}
+			if (found) {
+				System.arraycopy(toBytes, 0, zip, i, toBytes.length);
+				if (lastOnly) {
+					break;
+				}
+			}
+		}
+		return zip;
+	}
+
+	private DSSDocument toFile(byte[] zip) throws Exception {
+		File file = temporaryFolder.newFile();
+		try (OutputStream os = new FileOutputStream(file)) {
+			os.write(zip);
+		}
+		return new FileDocument(file);
+	}
+
+}
@@ -0,0 +1,62 @@
+package eu.europa.esig.dss.asic.validation;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.FileDocument;
+import eu.europa.esig.dss.client.http.IgnoreDataLoader;
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.validation.reports.Reports;
+import eu.europa.esig.dss.validation.reports.wrapper.SignatureWrapper;
+
+public class ASiCEConcurrentValidationTest {
+
+	// two XAdES signatures in the same META-INF/signatures.xml
+	private static final String FILE_PATH = "src/test/resources/plugtest/esig2014/ESIG-ASiC/EE_AS/Signature-A-EE_AS-16.asice";
+
+	@Test
+	public void sameResultsAsSequentialValidation() {
+		List<SignatureWrapper> sequential = validate(null).getDiagnosticData().getSignatures();
+
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try {
+			for (int run = 0; run < 5; run++) {
+				List<SignatureWrapper> concurrent = validate(executorService).getDiagnosticData().getSignatures();
+
+				assertEquals(2, concurrent.size());
+				assertEquals(sequential.size(), concurrent.size());
+				for (int i = 0; i < sequential.size(); i++) {
+					SignatureWrapper expected = sequential.get(i);
+					SignatureWrapper signature = concurrent.get(i);
+					assertEquals(expected.getId(), signature.getId());
+					assertEquals(expected.isSignatureIntact(), signature.isSignatureIntact());
+					assertEquals(expected.isSignatureValid(), signature.isSignatureValid());
+					assertEquals(expected.isReferenceDataIntact(), signature.isReferenceDataIntact());
+					assertEquals(expected.getSigningCertificateId(), signature.getSigningCertificateId());
+					assertEquals(expected.getTimestampIdsList(), signature.getTimestampIdsList());
+				}
+			}
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	private Reports validate(ExecutorService executorService) {
+		DSSDocument container = new FileDocument(FILE_PATH);
+		CommonCertificateVerifier certificateVerifier = new CommonCertificateVerifier();
+		certificateVerifier.setDataLoader(new IgnoreDataLoader());
+		certificateVerifier.setExecutorService(executorService);
+
+		SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(container);
+		validator.setCertificateVerifier(certificateVerifier);
+		return validator.validateDocument();
+	}
+
+}
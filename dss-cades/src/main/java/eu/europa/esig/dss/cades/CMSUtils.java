@@ -6,16 +6,33 @@ import static org.bouncycastle.asn1.pkcs.PKCSObjectIdentifiers.id_aa_signingCert
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 
+import org.bouncycastle.asn1.ASN1Encodable;
 import org.bouncycastle.asn1.ASN1EncodableVector;
 import org.bouncycastle.asn1.ASN1InputStream;
+import org.bouncycastle.asn1.ASN1OctetStringParser;
+import org.bouncycastle.asn1.ASN1Primitive;
+import org.bouncycastle.asn1.ASN1SequenceParser;
 import org.bouncycastle.asn1.ASN1Set;
+import org.bouncycastle.asn1.ASN1SetParser;
+import org.bouncycastle.asn1.ASN1StreamParser;
+import org.bouncycastle.asn1.ASN1TaggedObject;
+import org.bouncycastle.asn1.BERSequence;
+import org.bouncycastle.asn1.BERSet;
+import org.bouncycastle.asn1.BERTaggedObject;
+import org.bouncycastle.asn1.BERTags;
 import org.bouncycastle.asn1.DERSequence;
 import org.bouncycastle.asn1.DERSet;
 import org.bouncycastle.asn1.DERTaggedObject;
 import org.bouncycastle.asn1.DLSet;
 import org.bouncycastle.asn1.cms.Attribute;
 import org.bouncycastle.asn1.cms.AttributeTable;
+import org.bouncycastle.asn1.cms.CMSObjectIdentifiers;
+import org.bouncycastle.asn1.cms.ContentInfo;
+import org.bouncycastle.asn1.cms.ContentInfoParser;
+import org.bouncycastle.asn1.cms.SignedData;
+import org.bouncycastle.asn1.cms.SignedDataParser;
 import org.bouncycastle.asn1.ess.ESSCertID;
 import org.bouncycastle.asn1.ess.ESSCertIDv2;
 import org.bouncycastle.asn1.ess.SigningCertificate;
@@ -32,10 +49,12 @@ import org.bouncycastle.cms.CMSSignedData;
 import org.bouncycastle.cms.CMSSignedDataGenerator;
 import org.bouncycastle.cms.CMSTypedData;
 import org.bouncycastle.cms.SignerInformation;
+import org.bouncycastle.util.io.Streams;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import eu.europa.esig.dss.DSSASN1Utils;
+import eu.europa.esig.dss.DSSDocument;
 import eu.europa.esig.dss.DSSException;
 import eu.europa.esig.dss.DigestAlgorithm;
 import eu.europa.esig.dss.utils.Utils;
@@ -271,4 +290,75 @@ public final class CMSUtils {
 		signedAttributes.add(attribute);
 	}
 
+	/**
+	 * This method returns the {@code CMSSignedData} of a CMS document without its encapsulated content : the document
+	 * is parsed as a stream and the content is skipped, it is never loaded in memory. The other elements of the
+	 * SignedData (certificates, crls, signerInfos) are kept as they are encoded. The content can be read with an
+	 * {@code EncapsulatedContentDocument}.
+	 *
+	 * @param cmsDocument
+	 *            the CMS signed document
+	 * @return the {@code CMSSignedData} without the encapsulated content or null if the document does not encapsulate
+	 *         an OCTET STRING content (detached signature)
+	 * @throws DSSException
+	 *             if the document is not a CMS signed message
+	 */
+	public static CMSSignedData getCMSSignedDataWithoutContent(final DSSDocument cmsDocument) throws DSSException {
+		try (InputStream is = cmsDocument.openStream()) {
+			final SignedDataParser signedDataParser = getSignedDataParser(is);
+			final ASN1EncodableVector signedData = new ASN1EncodableVector();
+			signedData.add(signedDataParser.getVersion());
+			signedData.add(signedDataParser.getDigestAlgorithms().toASN1Primitive());
+			final ContentInfoParser encapContentInfo = signedDataParser.getEncapContentInfo();
+			final ASN1OctetStringParser content = getEncapsulatedContent(encapContentInfo);
+			if (content == null) {
+				return null;
+			}
+			// the content must be read to reach the next elements
+			Streams.drain(content.getOctetStream());
+			signedData.add(new ContentInfo(encapContentInfo.getContentType(), null));
+			final ASN1SetParser certificates = signedDataParser.getCertificates();
+			if (certificates != null) {
+				signedData.add(getTaggedSet(0, certificates.toASN1Primitive()));
+			}
+			final ASN1SetParser crls = signedDataParser.getCrls();
+			if (crls != null) {
+				signedData.add(getTaggedSet(1, crls.toASN1Primitive()));
+			}
+			signedData.add(signedDataParser.getSignerInfos().toASN1Primitive());
+			return new CMSSignedData(new ContentInfo(CMSObjectIdentifiers.signedData, SignedData.getInstance(new BERSequence(signedData))));
+		} catch (IOException | CMSException | IllegalArgumentException | ClassCastException e) {
+			throw new DSSException("Unable to parse the CMS document", e);
+		}
+	}
+
+	/**
+	 * The same tagging as {@code SignedData} : the BER encoding of a set is kept.
+	 */
+	private static ASN1TaggedObject getTaggedSet(final int tagNo, final ASN1Primitive set) {
+		if (set instanceof BERSet) {
+			return new BERTaggedObject(false, tagNo, set);
+		}
+		return new DERTaggedObject(false, tagNo, set);
+	}
+
+	static SignedDataParser getSignedDataParser(final InputStream is) throws IOException {
+		final ContentInfoParser contentInfo = new ContentInfoParser((ASN1SequenceParser) new ASN1StreamParser(is).readObject());
+		if (!CMSObjectIdentifiers.signedData.equals(contentInfo.getContentType())) {
+			throw new DSSException("Not a CMS signed message : " + contentInfo.getContentType());
+		}
+		return SignedDataParser.getInstance(contentInfo.getContent(BERTags.SEQUENCE));
+	}
+
+	/**
+	 * @return the parser of the encapsulated content or null if the content is absent or is not an OCTET STRING
+	 */
+	static ASN1OctetStringParser getEncapsulatedContent(final ContentInfoParser encapContentInfo) throws IOException {
+		final ASN1Encodable content = encapContentInfo.getContent(BERTags.OCTET_STRING);
+		if (content instanceof ASN1OctetStringParser) {
+			return (ASN1OctetStringParser) content;
+		}
+		return null;
+	}
+
 }
@@ -0,0 +1,91 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.cades;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.bouncycastle.asn1.ASN1OctetStringParser;
+import org.bouncycastle.asn1.cms.SignedDataParser;
+
+import eu.europa.esig.dss.CommonDocument;
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.utils.Utils;
+
+/**
+ * The content encapsulated in a CMS signed document. The content is not extracted : each time the document is opened,
+ * the CMS document is parsed as a stream up to the encapsulated content, which is then read from the CMS document.
+ * The CMS document must stay available as long as this document is used.
+ */
+public class EncapsulatedContentDocument extends CommonDocument {
+
+	private final DSSDocument cmsDocument;
+
+	/**
+	 * The default constructor for EncapsulatedContentDocument.
+	 *
+	 * @param cmsDocument
+	 *            the CMS signed document with an encapsulated content
+	 */
+	public EncapsulatedContentDocument(final DSSDocument cmsDocument) {
+		if (cmsDocument == null) {
+			throw new NullPointerException("The CMS document cannot be null");
+		}
+		this.cmsDocument = cmsDocument;
+	}
+
+	/**
+	 * @return the CMS signed document which encapsulates the content
+	 */
+	public DSSDocument getCMSDocument() {
+		return cmsDocument;
+	}
+
+	@Override
+	public InputStream openStream() throws DSSException {
+		final InputStream is = cmsDocument.openStream();
+		try {
+			final SignedDataParser signedDataParser = CMSUtils.getSignedDataParser(is);
+			signedDataParser.getDigestAlgorithms().toASN1Primitive();
+			final ASN1OctetStringParser content = CMSUtils.getEncapsulatedContent(signedDataParser.getEncapContentInfo());
+			if (content == null) {
+				throw new DSSException("The CMS document has no encapsulated content");
+			}
+			return new FilterInputStream(content.getOctetStream()) {
+
+				@Override
+				public void close() throws IOException {
+					is.close();
+				}
+
+			};
+		} catch (IOException | IllegalArgumentException | ClassCastException e) {
+			Utils.closeQuietly(is);
+			throw new DSSException("Unable to read the encapsulated content", e);
+		} catch (DSSException e) {
+			Utils.closeQuietly(is);
+			throw e;
+		}
+	}
+
+}
@@ -20,13 +20,15 @@
  */
 package eu.europa.esig.dss.cades.signature;
 
+import java.io.InputStream;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.bouncycastle.cms.CMSAbsentContent;
-import org.bouncycastle.cms.CMSProcessableByteArray;
 import org.bouncycastle.cms.CMSSignedData;
 import org.bouncycastle.cms.CMSSignedDataGenerator;
+import org.bouncycastle.cms.CMSSignedDataParser;
 import org.bouncycastle.cms.CMSTypedData;
 import org.bouncycastle.cms.SignerInfoGeneratorBuilder;
 import org.bouncycastle.operator.DigestCalculatorProvider;
@@ -50,9 +52,9 @@ import eu.europa.esig.dss.SigningOperation;
 import eu.europa.esig.dss.ToBeSigned;
 import eu.europa.esig.dss.cades.CAdESSignatureParameters;
 import eu.europa.esig.dss.cades.CMSUtils;
+import eu.europa.esig.dss.cades.EncapsulatedContentDocument;
 import eu.europa.esig.dss.cades.validation.PrecomputedDigestCalculatorProvider;
 import eu.europa.esig.dss.signature.AbstractSignatureService;
-import eu.europa.esig.dss.signature.SignatureExtension;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.validation.CertificateVerifier;
 import eu.europa.esig.dss.validation.TimestampToken;
@@ -67,6 +69,8 @@ public class CAdESService extends AbstractSignatureService<CAdESSignatureParamet
 
 	private final CMSSignedDataBuilder cmsSignedDataBuilder;
 
+	private boolean streaming;
+
 	/**
 	 * This is the constructor to create an instance of the {@code CAdESService}. A certificate verifier must be
 	 * provided.
@@ -81,6 +85,18 @@ public class CAdESService extends AbstractSignatureService<CAdESSignatureParamet
 		LOG.debug("+ CAdESService created");
 	}
 
+	/**
+	 * This method enables the streaming of the encapsulated content : the enveloping signatures are created and
+	 * extended without loading their content in memory. The signed document is then encoded each time it is opened,
+	 * from the document to sign (or from the extended document) which must stay available.
+	 *
+	 * @param streaming
+	 *            true to stream the encapsulated content (false by default)
+	 */
+	public void setStreaming(final boolean streaming) {
+		this.streaming = streaming;
+	}
+
 	@Override
 	public TimestampToken getContentTimestamp(DSSDocument toSignDocument, CAdESSignatureParameters parameters) {
 		if (tspSource == null) {
@@ -99,20 +115,25 @@ public class CAdESService extends AbstractSignatureService<CAdESSignatureParamet
 
 		final SignatureAlgorithm signatureAlgorithm = parameters.getSignatureAlgorithm();
 		final CustomContentSigner customContentSigner = new CustomContentSigner(signatureAlgorithm.getJCEId());
-		final DigestCalculatorProvider dcp = getDigestCalculatorProvider(toSignDocument);
+		final CMSSignedData originalCmsSignedData = getCmsSignedData(toSignDocument, parameters);
+		final DSSDocument toSignData = getToSignData(toSignDocument, parameters, originalCmsSignedData);
 
+		// the signed attributes do not depend on the encapsulation : only the digest of the content is needed (and
+		// kept by the document for the signing session or the signature creation)
+		final DigestCalculatorProvider dcp = new PrecomputedDigestCalculatorProvider(toSignData);
 		final SignerInfoGeneratorBuilder signerInfoGeneratorBuilder = cmsSignedDataBuilder.getSignerInfoGeneratorBuilder(dcp, parameters, false);
-		final CMSSignedData originalCmsSignedData = getCmsSignedData(toSignDocument, parameters);
 
 		final CMSSignedDataGenerator cmsSignedDataGenerator = cmsSignedDataBuilder.createCMSSignedDataGenerator(parameters, customContentSigner,
 				signerInfoGeneratorBuilder, originalCmsSignedData);
 
-		final DSSDocument toSignData = getToSignData(toSignDocument, parameters, originalCmsSignedData);
-		final CMSTypedData content = getContentToBeSign(toSignData);
-		final boolean encapsulate = !SignaturePackaging.DETACHED.equals(packaging);
-		CMSUtils.generateCMSSignedData(cmsSignedDataGenerator, content, encapsulate);
+		CMSUtils.generateCMSSignedData(cmsSignedDataGenerator, new CMSAbsentContent(), false);
 		final byte[] bytes = customContentSigner.getOutputStream().toByteArray();
-		return new ToBeSigned(bytes);
+		final ToBeSigned toBeSigned = new ToBeSigned(bytes);
+		if ((signingSessionCache != null) && SignaturePackaging.DETACHED.equals(packaging)) {
+			signingSessionCache.put(parameters, Collections.singletonList(toSignDocument), toBeSigned,
+					getContentDigest(toSignData, signatureAlgorithm.getDigestAlgorithm()));
+		}
+		return toBeSigned;
 	}
 
 	@Override
@@ -125,7 +146,12 @@ public class CAdESService extends AbstractSignatureService<CAdESSignatureParamet
 
 		final SignatureAlgorithm signatureAlgorithm = parameters.getSignatureAlgorithm();
 		final CustomContentSigner customContentSigner = new CustomContentSigner(signatureAlgorithm.getJCEId(), signatureValue.getValue());
-		final DigestCalculatorProvider dcp = getDigestCalculatorProvider(toSignDocument);
+		// the digest of the detached content prepared by getDataToSign
+		DigestDocument contentDigest = null;
+		if (signingSessionCache != null) {
+			contentDigest = signingSessionCache.get(parameters, Collections.singletonList(toSignDocument), signatureValue, DigestDocument.class);
+		}
+		final DigestCalculatorProvider dcp = getDigestCalculatorProvider(contentDigest != null ? contentDigest : toSignDocument);
 		final SignerInfoGeneratorBuilder signerInfoGeneratorBuilder = cmsSignedDataBuilder.getSignerInfoGeneratorBuilder(dcp, parameters, true);
 		final CMSSignedData originalCmsSignedData = getCmsSignedData(toSignDocument, parameters);
 		if ((originalCmsSignedData == null) && SignaturePackaging.DETACHED.equals(packaging) && Utils.isCollectionEmpty(parameters.getDetachedContents())) {
@@ -136,17 +162,26 @@ public class CAdESService extends AbstractSignatureService<CAdESSignatureParamet
 				signerInfoGeneratorBuilder, originalCmsSignedData);
 
 		final DSSDocument toSignData = getToSignData(toSignDocument, parameters, originalCmsSignedData);
-		final CMSTypedData content = getContentToBeSign(toSignData);
+		final CMSTypedData content = getContentToBeSign(contentDigest != null ? contentDigest : toSignData);
 
 		final boolean encapsulate = !SignaturePackaging.DETACHED.equals(packaging);
-		final CMSSignedData cmsSignedData = CMSUtils.generateCMSSignedData(cmsSignedDataGenerator, content, encapsulate);
+		// the streamed content is encapsulated once the signature is extended
+		final boolean streamed = streaming && encapsulate && !(toSignData instanceof DigestDocument);
+		CMSSignedData cmsSignedData = CMSUtils.generateCMSSignedData(cmsSignedDataGenerator, content, encapsulate && !streamed);
 		DSSDocument signature = new CMSSignedDocument(cmsSignedData);
 
 		final SignatureLevel signatureLevel = parameters.getSignatureLevel();
 		if (!SignatureLevel.CAdES_BASELINE_B.equals(signatureLevel)) {
 			// true: Only the last signature will be extended
-			final SignatureExtension<CAdESSignatureParameters> extension = getExtensionProfile(parameters, true);
-			signature = extension.extendSignatures(signature, parameters);
+			final CAdESSignatureExtension extension = getExtensionProfile(parameters, true);
+			if (streamed) {
+				cmsSignedData = extendWithoutContent(extension, cmsSignedData, toSignData, parameters);
+			} else {
+				signature = extension.extendSignatures(signature, parameters);
+			}
+		}
+		if (streamed) {
+			signature = new EncapsulatingCMSSignedDocument(cmsSignedData, toSignData);
 		}
 		signature.setName(DSSUtils.getFinalFileName(toSignDocument, SigningOperation.SIGN, parameters.getSignatureLevel()));
 		parameters.reinitDeterministicId();
@@ -160,12 +195,26 @@ public class CAdESService extends AbstractSignatureService<CAdESSignatureParamet
 		return new BcDigestCalculatorProvider();
 	}
 
+	/**
+	 * This method returns the digest of the content to be kept in a signing session (the detached content is not
+	 * needed anymore to create the signature).
+	 */
+	private DigestDocument getContentDigest(final DSSDocument toSignData, final DigestAlgorithm digestAlgorithm) {
+		if (toSignData instanceof DigestDocument) {
+			return (DigestDocument) toSignData;
+		}
+		final DigestDocument digestDocument = new DigestDocument();
+		digestDocument.addDigest(digestAlgorithm, toSignData.getDigest(digestAlgorithm));
+		digestDocument.setName(toSignData.getName());
+		return digestDocument;
+	}
+
 	private CMSTypedData getContentToBeSign(final DSSDocument toSignData) {
 		CMSTypedData content = null;
 		if (toSignData instanceof DigestDocument) {
 			content = new CMSAbsentContent();
 		} else {
-			content = new CMSProcessableByteArray(DSSUtils.toByteArray(toSignData));
+			content = new CMSProcessableDSSDocument(toSignData);
 		}
 		return content;
 	}
@@ -173,12 +222,44 @@ public class CAdESService extends AbstractSignatureService<CAdESSignatureParamet
 	@Override
 	public DSSDocument extendDocument(final DSSDocument toExtendDocument, final CAdESSignatureParameters parameters) {
 		// false: All signature are extended
-		final SignatureExtension<CAdESSignatureParameters> extension = getExtensionProfile(parameters, false);
-		final DSSDocument dssDocument = extension.extendSignatures(toExtendDocument, parameters);
+		final CAdESSignatureExtension extension = getExtensionProfile(parameters, false);
+		final CMSSignedData cmsSignedDataWithoutContent = streaming ? CMSUtils.getCMSSignedDataWithoutContent(toExtendDocument) : null;
+		final DSSDocument dssDocument;
+		if (cmsSignedDataWithoutContent != null) {
+			final DSSDocument content = new EncapsulatedContentDocument(toExtendDocument);
+			dssDocument = new EncapsulatingCMSSignedDocument(extendWithoutContent(extension, cmsSignedDataWithoutContent, content, parameters), content);
+		} else {
+			dssDocument = extension.extendSignatures(toExtendDocument, parameters);
+		}
 		dssDocument.setName(DSSUtils.getFinalFileName(toExtendDocument, SigningOperation.EXTEND, parameters.getSignatureLevel()));
 		return dssDocument;
 	}
 
+	/**
+	 * This method extends the signatures of a CMSSignedData without its encapsulated content : the content is given to
+	 * the extension as the detached content.
+	 *
+	 * @param extension
+	 *            the extension to apply
+	 * @param cmsSignedData
+	 *            the CMSSignedData without content
+	 * @param content
+	 *            the encapsulated content
+	 * @param parameters
+	 *            set of driving signing parameters
+	 * @return the extended CMSSignedData without content
+	 */
+	private CMSSignedData extendWithoutContent(final CAdESSignatureExtension extension, final CMSSignedData cmsSignedData, final DSSDocument content,
+			final CAdESSignatureParameters parameters) {
+		final List<DSSDocument> detachedContents = parameters.getDetachedContents();
+		parameters.setDetachedContents(Arrays.asList(content));
+		try {
+			return extension.extendCMSSignatures(cmsSignedData, parameters);
+		} finally {
+			parameters.setDetachedContents(detachedContents);
+		}
+	}
+
 	/**
 	 * This method retrieves the data to be signed. It this data is located within a signature then it is extracted.
 	 *
@@ -200,6 +281,9 @@ public class CAdESService extends AbstractSignatureService<CAdESSignatureParamet
 		} else {
 			if (originalCmsSignedData == null) {
 				return toSignDocument;
+			} else if (streaming && (SignaturePackaging.ENVELOPING == parameters.getSignaturePackaging()) && originalCmsSignedData.isDetachedSignature()) {
+				// the CMSSignedData was parsed without its content
+				return new EncapsulatedContentDocument(toSignDocument);
 			} else {
 				return getSignedContent(originalCmsSignedData);
 			}
@@ -230,7 +314,7 @@ public class CAdESService extends AbstractSignatureService<CAdESSignatureParamet
 	 *            indicates if only the last CSM signature should be extended
 	 * @return {@code SignatureExtension} related to the predefine profile
 	 */
-	private SignatureExtension<CAdESSignatureParameters> getExtensionProfile(final CAdESSignatureParameters parameters, final boolean onlyLastCMSSignature) {
+	private CAdESSignatureExtension getExtensionProfile(final CAdESSignatureParameters parameters, final boolean onlyLastCMSSignature) {
 		final SignatureLevel signatureLevel = parameters.getSignatureLevel();
 		switch (signatureLevel) {
 		case CAdES_BASELINE_T:
@@ -255,7 +339,13 @@ public class CAdESService extends AbstractSignatureService<CAdESSignatureParamet
 	 */
 	private CMSSignedData getCmsSignedData(final DSSDocument dssDocument, final CAdESSignatureParameters parameters) {
 		CMSSignedData cmsSignedData = null;
-		if (!(dssDocument instanceof DigestDocument) && DSSASN1Utils.isASN1SequenceTag(DSSUtils.readFirstByte(dssDocument))) {
+		if (!(dssDocument instanceof DigestDocument) && DSSASN1Utils.isASN1SequenceTag(DSSUtils.readFirstByte(dssDocument)) && isCMSSignedData(dssDocument)) {
+			if (streaming && (SignaturePackaging.ENVELOPING == parameters.getSignaturePackaging())) {
+				cmsSignedData = CMSUtils.getCMSSignedDataWithoutContent(dssDocument);
+				if (cmsSignedData != null) {
+					return cmsSignedData;
+				}
+			}
 			try {
 				cmsSignedData = new CMSSignedData(DSSUtils.toByteArray(dssDocument));
 				if (SignaturePackaging.ENVELOPING == parameters.getSignaturePackaging() && cmsSignedData.getSignedContent().getContent() == null) {
@@ -268,6 +358,24 @@ public class CAdESService extends AbstractSignatureService<CAdESSignatureParamet
 		return cmsSignedData;
 	}
 
+	/**
+	 * This method checks the content type of the document without loading it : a (possibly huge) document to sign
+	 * which only starts with a SEQUENCE tag is not read in memory.
+	 *
+	 * @param dssDocument
+	 *            {@code DSSDocument} to be checked
+	 * @return true if the document is a CMS signed message
+	 */
+	private boolean isCMSSignedData(final DSSDocument dssDocument) {
+		try (InputStream is = dssDocument.openStream()) {
+			new CMSSignedDataParser(new BcDigestCalculatorProvider(), is);
+			return true;
+		} catch (Exception e) {
+			// not a parallel signature
+			return false;
+		}
+	}
+
 	/**
 	 * @param packaging
 	 *            {@code SignaturePackaging} to be checked
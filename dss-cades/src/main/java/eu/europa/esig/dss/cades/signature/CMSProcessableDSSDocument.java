@@ -0,0 +1,77 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.cades.signature;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.cms.CMSObjectIdentifiers;
+import org.bouncycastle.cms.CMSException;
+import org.bouncycastle.cms.CMSTypedData;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.utils.Utils;
+
+/**
+ * A {@code CMSTypedData} which streams the content of a {@code DSSDocument}. Unlike
+ * {@code CMSProcessableByteArray}, the content is never loaded in memory : it is read from the document each time
+ * it is written (digest computation, encapsulation).
+ */
+public class CMSProcessableDSSDocument implements CMSTypedData {
+
+	private final DSSDocument document;
+	private final ASN1ObjectIdentifier contentType;
+
+	public CMSProcessableDSSDocument(final DSSDocument document) {
+		this(CMSObjectIdentifiers.data, document);
+	}
+
+	public CMSProcessableDSSDocument(final ASN1ObjectIdentifier contentType, final DSSDocument document) {
+		if (document == null) {
+			throw new NullPointerException("The document cannot be null");
+		}
+		this.contentType = contentType;
+		this.document = document;
+	}
+
+	@Override
+	public ASN1ObjectIdentifier getContentType() {
+		return contentType;
+	}
+
+	@Override
+	public void write(OutputStream out) throws IOException, CMSException {
+		try (InputStream is = document.openStream()) {
+			Utils.copy(is, out);
+		}
+	}
+
+	/**
+	 * @return the streamed {@code DSSDocument}
+	 */
+	@Override
+	public Object getContent() {
+		return document;
+	}
+
+}
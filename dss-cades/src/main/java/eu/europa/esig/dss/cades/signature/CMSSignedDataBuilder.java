@@ -34,7 +34,6 @@ import org.bouncycastle.asn1.cms.AttributeTable;
 import org.bouncycastle.cert.X509CertificateHolder;
 import org.bouncycastle.cert.jcajce.JcaCertStore;
 import org.bouncycastle.cms.CMSException;
-import org.bouncycastle.cms.CMSProcessableByteArray;
 import org.bouncycastle.cms.CMSSignedData;
 import org.bouncycastle.cms.CMSSignedDataGenerator;
 import org.bouncycastle.cms.DefaultSignedAttributeTableGenerator;
@@ -255,13 +254,13 @@ public class CMSSignedDataBuilder {
 			cmsSignedDataGenerator.addCRLs(crlsStore);
 			cmsSignedDataGenerator.addOtherRevocationInfo(id_pkix_ocsp_basic, otherRevocationInfoFormatStoreBasic);
 			cmsSignedDataGenerator.addOtherRevocationInfo(id_ri_ocsp_response, otherRevocationInfoFormatStoreOcsp);
-			final boolean encapsulate = cmsSignedData.getSignedContent() != null;
+			// a generated CMSSignedData keeps its content even when it is not encapsulated
+			final boolean encapsulate = !cmsSignedData.isDetachedSignature();
 			if (!encapsulate) {
 				List<DSSDocument> detachedContents = parameters.getDetachedContents();
 				// CAdES can only sign one document
 				final DSSDocument doc = detachedContents.get(0);
-				final CMSProcessableByteArray content = new CMSProcessableByteArray(DSSUtils.toByteArray(doc));
-				cmsSignedData = cmsSignedDataGenerator.generate(content, encapsulate);
+				cmsSignedData = cmsSignedDataGenerator.generate(new CMSProcessableDSSDocument(doc), encapsulate);
 			} else {
 				cmsSignedData = cmsSignedDataGenerator.generate(cmsSignedData.getSignedContent(), encapsulate);
 			}
@@ -0,0 +1,208 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.cades.signature;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.Arrays;
+import java.util.Vector;
+
+import org.bouncycastle.asn1.ASN1Sequence;
+import org.bouncycastle.asn1.BERTags;
+import org.bouncycastle.asn1.DEROctetString;
+import org.bouncycastle.asn1.cms.CMSObjectIdentifiers;
+import org.bouncycastle.asn1.cms.SignedData;
+import org.bouncycastle.cms.CMSSignedData;
+
+import eu.europa.esig.dss.CommonDocument;
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.MimeType;
+
+/**
+ * A CMS signed document which encapsulates a content without loading it in memory : the document is encoded each time
+ * it is opened, from a CMSSignedData without content and from the content document. The content is written as a
+ * constructed OCTET STRING with an indefinite length (like the {@code CMSSignedDataStreamGenerator}), the other
+ * elements of the SignedData are written as they are encoded in the CMSSignedData.
+ * The content document must stay available (and unchanged) as long as this document is used.
+ */
+public class EncapsulatingCMSSignedDocument extends CommonDocument {
+
+	private static final int CHUNK_SIZE = 4096;
+
+	private static final byte[] END_OF_CONTENTS = new byte[] { 0, 0 };
+
+	private final CMSSignedData signedData;
+
+	private final DSSDocument content;
+
+	/**
+	 * The default constructor for EncapsulatingCMSSignedDocument.
+	 *
+	 * @param signedData
+	 *            the CMSSignedData without content
+	 * @param content
+	 *            the content to encapsulate
+	 */
+	public EncapsulatingCMSSignedDocument(final CMSSignedData signedData, final DSSDocument content) {
+		if (signedData == null) {
+			throw new NullPointerException("The CMSSignedData cannot be null");
+		}
+		if (content == null) {
+			throw new NullPointerException("The content cannot be null");
+		}
+		if (!signedData.isDetachedSignature()) {
+			throw new DSSException("The CMSSignedData already contains the content");
+		}
+		this.signedData = signedData;
+		this.content = content;
+		mimeType = MimeType.PKCS7;
+	}
+
+	/**
+	 * @return the signedData without the content
+	 */
+	public CMSSignedData getCMSSignedData() {
+		return signedData;
+	}
+
+	/**
+	 * @return the encapsulated content
+	 */
+	public DSSDocument getContent() {
+		return content;
+	}
+
+	@Override
+	public InputStream openStream() throws DSSException {
+		try {
+			final SignedData signedDataStructure = SignedData.getInstance(signedData.toASN1Structure().getContent());
+			final ASN1Sequence sequence = (ASN1Sequence) signedDataStructure.toASN1Primitive();
+
+			final ByteArrayOutputStream header = new ByteArrayOutputStream();
+			writeIndefiniteLength(header, BERTags.SEQUENCE | BERTags.CONSTRUCTED);
+			header.write(CMSObjectIdentifiers.signedData.getEncoded());
+			writeIndefiniteLength(header, BERTags.TAGGED | BERTags.CONSTRUCTED);
+			writeIndefiniteLength(header, BERTags.SEQUENCE | BERTags.CONSTRUCTED);
+			// version, digestAlgorithms
+			header.write(sequence.getObjectAt(0).toASN1Primitive().getEncoded());
+			header.write(sequence.getObjectAt(1).toASN1Primitive().getEncoded());
+			// encapContentInfo
+			writeIndefiniteLength(header, BERTags.SEQUENCE | BERTags.CONSTRUCTED);
+			header.write(signedDataStructure.getEncapContentInfo().getContentType().getEncoded());
+			writeIndefiniteLength(header, BERTags.TAGGED | BERTags.CONSTRUCTED);
+			writeIndefiniteLength(header, BERTags.OCTET_STRING | BERTags.CONSTRUCTED);
+
+			final ByteArrayOutputStream trailer = new ByteArrayOutputStream();
+			trailer.write(END_OF_CONTENTS);
+			trailer.write(END_OF_CONTENTS);
+			trailer.write(END_OF_CONTENTS);
+			// certificates, crls, signerInfos
+			for (int i = 3; i < sequence.size(); i++) {
+				trailer.write(sequence.getObjectAt(i).toASN1Primitive().getEncoded());
+			}
+			trailer.write(END_OF_CONTENTS);
+			trailer.write(END_OF_CONTENTS);
+			trailer.write(END_OF_CONTENTS);
+
+			final Vector<InputStream> streams = new Vector<InputStream>();
+			streams.add(new ByteArrayInputStream(header.toByteArray()));
+			streams.add(new OctetStringChunksInputStream(content.openStream()));
+			streams.add(new ByteArrayInputStream(trailer.toByteArray()));
+			return new SequenceInputStream(streams.elements());
+		} catch (IOException e) {
+			throw new DSSException("Unable to encode the CMS signed document", e);
+		}
+	}
+
+	private void writeIndefiniteLength(final ByteArrayOutputStream os, final int tag) {
+		os.write(tag);
+		os.write(0x80);
+	}
+
+	/**
+	 * Reads the content as a sequence of primitive OCTET STRINGs
+	 */
+	private static class OctetStringChunksInputStream extends InputStream {
+
+		private final InputStream content;
+
+		private final byte[] chunk = new byte[CHUNK_SIZE];
+
+		private byte[] encodedChunk = new byte[0];
+
+		private int position;
+
+		private boolean end;
+
+		OctetStringChunksInputStream(final InputStream content) {
+			this.content = content;
+		}
+
+		@Override
+		public int read() throws IOException {
+			if (!fill()) {
+				return -1;
+			}
+			return encodedChunk[position++] & 0xff;
+		}
+
+		@Override
+		public int read(final byte[] b, final int off, final int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			if (!fill()) {
+				return -1;
+			}
+			final int count = Math.min(len, encodedChunk.length - position);
+			System.arraycopy(encodedChunk, position, b, off, count);
+			position += count;
+			return count;
+		}
+
+		private boolean fill() throws IOException {
+			while (position == encodedChunk.length) {
+				if (end) {
+					return false;
+				}
+				final int count = content.read(chunk);
+				if (count < 0) {
+					end = true;
+				} else if (count > 0) {
+					encodedChunk = new DEROctetString(Arrays.copyOf(chunk, count)).getEncoded();
+					position = 0;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public void close() throws IOException {
+			content.close();
+		}
+
+	}
+
+}
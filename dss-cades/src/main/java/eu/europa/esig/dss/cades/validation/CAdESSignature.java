@@ -46,7 +46,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.bouncycastle.asn1.ASN1Encodable;
 import org.bouncycastle.asn1.ASN1EncodableVector;
@@ -116,6 +118,7 @@ import org.bouncycastle.tsp.TimeStampToken;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import eu.europa.esig.dss.CommonDocument;
 import eu.europa.esig.dss.DSSASN1Utils;
 import eu.europa.esig.dss.DSSDocument;
 import eu.europa.esig.dss.DSSException;
@@ -131,6 +134,7 @@ import eu.europa.esig.dss.SignatureForm;
 import eu.europa.esig.dss.SignatureLevel;
 import eu.europa.esig.dss.TokenIdentifier;
 import eu.europa.esig.dss.cades.CMSUtils;
+import eu.europa.esig.dss.cades.EncapsulatedContentDocument;
 import eu.europa.esig.dss.cades.SignerAttributeV2;
 import eu.europa.esig.dss.cades.signature.CadesLevelBaselineLTATimestampExtractor;
 import eu.europa.esig.dss.utils.Utils;
@@ -174,6 +178,12 @@ public class CAdESSignature extends DefaultAdvancedSignature {
 
 	private final SignerInformation signerInformation;
 
+	/**
+	 * The encapsulated content when the cmsSignedData was parsed without it (see
+	 * {@code CMSUtils#getCMSSignedDataWithoutContent(DSSDocument)})
+	 */
+	private EncapsulatedContentDocument encapsulatedContent;
+
 	private CAdESCertificateSource certSource;
 
 	/**
@@ -576,6 +586,17 @@ public class CAdESSignature extends DefaultAdvancedSignature {
 		return cmsSignedData;
 	}
 
+	/**
+	 * This method allows to set the encapsulated content of a cmsSignedData which was parsed without it : the content
+	 * is then streamed from the CMS document.
+	 *
+	 * @param encapsulatedContent
+	 *            the encapsulated content or null
+	 */
+	public void setEncapsulatedContent(final EncapsulatedContentDocument encapsulatedContent) {
+		this.encapsulatedContent = encapsulatedContent;
+	}
+
 	@Override
 	public SignatureProductionPlace getSignatureProductionPlace() {
 		Attribute signatureProductionPlaceAttr = getSignedAttribute(PKCSObjectIdentifiers.id_aa_ets_signerLocation);
@@ -782,6 +803,11 @@ public class CAdESSignature extends DefaultAdvancedSignature {
 		return DSSUtils.toByteArray(getOriginalDocument());
 	}
 
+	@Override
+	protected void matchContentTimestamp(final TimestampToken timestampToken) {
+		timestampToken.matchData(getOriginalDocument());
+	}
+
 	@Override
 	public List<TimestampToken> getContentTimestamps() {
 
@@ -1055,13 +1081,19 @@ public class CAdESSignature extends DefaultAdvancedSignature {
 			}
 			boolean detachedSignature = isDetachedSignature();
 			final SignerInformation signerInformationToCheck;
-			if (detachedSignature) {
+			if (signerInformation.isCounterSignature()) {
+				// the content of a counter signature is the signature value of its master signature
+				signerInformationToCheck = signerInformation;
+			} else if (encapsulatedContent != null) {
+				signerInformationToCheck = recreateSignerInformation(encapsulatedContent);
+			} else if (detachedSignature) {
 				if (Utils.isCollectionEmpty(detachedContents)) {
 					candidatesForSigningCertificate.setTheCertificateValidity(bestCandidate);
 					signatureCryptographicVerification.setErrorMessage("Detached file not found!");
 					return;
 				}
-				signerInformationToCheck = recreateSignerInformation();
+				// only one element for CAdES Signature
+				signerInformationToCheck = recreateSignerInformation(detachedContents.get(0));
 			} else {
 				signerInformationToCheck = signerInformation;
 			}
@@ -1109,16 +1141,22 @@ public class CAdESSignature extends DefaultAdvancedSignature {
 	 * This method recreates a {@code SignerInformation} with the content using
 	 * a {@code CMSSignedDataParser}.
 	 *
+	 * @param dssDocument
+	 *            the detached (or streamed encapsulated) content
 	 * @return
 	 * @throws CMSException
 	 * @throws IOException
 	 */
-	private SignerInformation recreateSignerInformation() throws CMSException, IOException {
+	private SignerInformation recreateSignerInformation(final DSSDocument dssDocument) throws CMSException, IOException {
 
-		final DSSDocument dssDocument = detachedContents.get(0); // only one element for CAdES Signature
 		CMSSignedDataParser cmsSignedDataParser = null;
+		final Set<DigestAlgorithm> signedDataDigestAlgorithms = getSignedDataDigestAlgorithms();
 		if (dssDocument instanceof DigestDocument) {
 			cmsSignedDataParser = new CMSSignedDataParser(new PrecomputedDigestCalculatorProvider((DigestDocument) dssDocument), cmsSignedData.getEncoded());
+		} else if ((dssDocument instanceof CommonDocument) && (signedDataDigestAlgorithms != null)) {
+			// all the digests are computed with a single read of the content and kept by the document
+			((CommonDocument) dssDocument).computeDigests(signedDataDigestAlgorithms);
+			cmsSignedDataParser = new CMSSignedDataParser(new PrecomputedDigestCalculatorProvider(dssDocument), cmsSignedData.getEncoded());
 		} else {
 			try (InputStream inputStream = dssDocument.openStream()) {
 				final CMSTypedStream signedContent = new CMSTypedStream(inputStream);
@@ -1132,6 +1170,22 @@ public class CAdESSignature extends DefaultAdvancedSignature {
 		return signerInformationToCheck;
 	}
 
+	/**
+	 * @return the digest algorithms declared in the SignedData or null if one of them is not supported
+	 */
+	private Set<DigestAlgorithm> getSignedDataDigestAlgorithms() {
+		final Set<DigestAlgorithm> digestAlgorithms = new HashSet<DigestAlgorithm>();
+		for (final AlgorithmIdentifier digestAlgorithmID : cmsSignedData.getDigestAlgorithmIDs()) {
+			try {
+				digestAlgorithms.add(DigestAlgorithm.forOID(digestAlgorithmID.getAlgorithm().getId()));
+			} catch (DSSException e) {
+				LOG.debug("Unsupported digest algorithm in the SignedData : {}", e.getMessage());
+				return null;
+			}
+		}
+		return digestAlgorithms;
+	}
+
 	private boolean isDetachedSignature() {
 		return cmsSignedData.isDetachedSignature();
 	}
@@ -1409,14 +1463,18 @@ public class CAdESSignature extends DefaultAdvancedSignature {
 		final Attribute atsHashIndexAttribute = timestampExtractor.getVerifiedAtsHashIndex(signerInformation, timestampToken);
 
 		final DigestAlgorithm signedDataDigestAlgorithm = timestampToken.getSignedDataDigestAlgo();
-		byte[] originalDocumentDigest = DSSUtils.digest(signedDataDigestAlgorithm, getOriginalDocument());
+		byte[] originalDocumentDigest = Utils.fromBase64(getOriginalDocument().getDigest(signedDataDigestAlgorithm));
 		byte[] archiveTimestampData = timestampExtractor.getArchiveTimestampDataV3(signerInformation, atsHashIndexAttribute, originalDocumentDigest);
 		return archiveTimestampData;
 	}
 
 	public DSSDocument getOriginalDocument() throws DSSException {
+		if (encapsulatedContent != null) {
+			return encapsulatedContent;
+		}
 		final CMSTypedData signedContent = cmsSignedData.getSignedContent();
-		if (signedContent != null) {
+		// a generated CMSSignedData keeps its content even when it is not encapsulated
+		if ((signedContent != null) && !isDetachedSignature()) {
 			return new InMemoryDocument(CMSUtils.getSignedContent(signedContent));
 		} else if (Utils.collectionSize(detachedContents) == 1) {
 			return detachedContents.get(0);
@@ -1425,6 +1483,23 @@ public class CAdESSignature extends DefaultAdvancedSignature {
 		}
 	}
 
+	/**
+	 * The archive-timestamp-v2 data includes the encoding of the encapsulated content : when the cmsSignedData was
+	 * parsed without it, the CMS document is parsed again in memory.
+	 *
+	 * @return the cmsSignedData with its encapsulated content
+	 */
+	private CMSSignedData getCMSSignedDataWithContent() {
+		if (encapsulatedContent == null) {
+			return cmsSignedData;
+		}
+		try (InputStream inputStream = encapsulatedContent.getCMSDocument().openStream()) {
+			return new CMSSignedData(inputStream);
+		} catch (IOException | CMSException e) {
+			throw new DSSException("Unable to parse the CMS document", e);
+		}
+	}
+
 	/**
 	 * This method handles the archive-timestamp-v2
 	 * The value of the messageImprint field within TimeStampToken shall be a
@@ -1490,7 +1565,8 @@ public class CAdESSignature extends DefaultAdvancedSignature {
 
 		try (ByteArrayOutputStream data = new ByteArrayOutputStream(); ByteArrayOutputStream signerByteArrayOutputStream = new ByteArrayOutputStream()) {
 
-			final ContentInfo contentInfo = cmsSignedData.toASN1Structure();
+			final CMSSignedData cmsSignedDataWithContent = getCMSSignedDataWithContent();
+			final ContentInfo contentInfo = cmsSignedDataWithContent.toASN1Structure();
 			final SignedData signedData = SignedData.getInstance(contentInfo.getContent());
 			final ContentInfo content = signedData.getEncapContentInfo();
 			byte[] contentInfoBytes;
@@ -1503,7 +1579,7 @@ public class CAdESSignature extends DefaultAdvancedSignature {
 				LOG.trace("Content Info: {}", DSSUtils.toHex(contentInfoBytes));
 			}
 			data.write(contentInfoBytes);
-			if (isDetachedSignature()) {
+			if (cmsSignedDataWithContent.isDetachedSignature()) {
 				/*
 				 * Detached signatures have either no encapContentInfo in signedData, or it
 				 * exists but has no eContent
@@ -33,6 +33,8 @@ import eu.europa.esig.dss.DSSASN1Utils;
 import eu.europa.esig.dss.DSSDocument;
 import eu.europa.esig.dss.DSSException;
 import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.cades.CMSUtils;
+import eu.europa.esig.dss.cades.EncapsulatedContentDocument;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.validation.AdvancedSignature;
 import eu.europa.esig.dss.validation.SignedDocumentValidator;
@@ -45,6 +47,11 @@ public class CMSDocumentValidator extends SignedDocumentValidator {
 
 	protected CMSSignedData cmsSignedData;
 
+	/**
+	 * The encapsulated content when the cmsSignedData is parsed without it
+	 */
+	private EncapsulatedContentDocument encapsulatedContent;
+
 	/**
 	 * This constructor is used with {@code TimeStampToken}.
 	 */
@@ -72,8 +79,30 @@ public class CMSDocumentValidator extends SignedDocumentValidator {
 	 * @throws DSSException
 	 */
 	public CMSDocumentValidator(final DSSDocument document) throws DSSException {
+		this(document, false);
+	}
+
+	/**
+	 * The constructor for {@code CMSDocumentValidator} which allows to stream the encapsulated content : the document
+	 * is parsed without the content, which is read from the document to check the signatures. The document must stay
+	 * available as long as the validator is used.
+	 *
+	 * @param document
+	 *            document to validate (with the signature(s))
+	 * @param streaming
+	 *            true to parse the document without loading its encapsulated content in memory
+	 * @throws DSSException
+	 */
+	public CMSDocumentValidator(final DSSDocument document, final boolean streaming) throws DSSException {
 		this();
 		this.document = document;
+		if (streaming) {
+			this.cmsSignedData = CMSUtils.getCMSSignedDataWithoutContent(document);
+			if (cmsSignedData != null) {
+				this.encapsulatedContent = new EncapsulatedContentDocument(document);
+				return;
+			}
+		}
 		try (InputStream inputStream = document.openStream()) {
 			this.cmsSignedData = new CMSSignedData(inputStream);
 		} catch (IOException | CMSException e) {
@@ -99,6 +128,7 @@ public class CMSDocumentValidator extends SignedDocumentValidator {
 					cadesSignature.setSignatureFilename(document.getName());
 				}
 				cadesSignature.setDetachedContents(detachedContents);
+				cadesSignature.setEncapsulatedContent(encapsulatedContent);
 				cadesSignature.setProvidedSigningCertificateToken(providedSigningCertificateToken);
 				signatures.add(cadesSignature);
 			}
@@ -119,6 +149,7 @@ public class CMSDocumentValidator extends SignedDocumentValidator {
 			final CAdESSignature cadesSignature = new CAdESSignature(cmsSignedData, signerInformation, validationCertPool);
 			cadesSignature.setSignatureFilename(document.getName());
 			cadesSignature.setDetachedContents(detachedContents);
+			cadesSignature.setEncapsulatedContent(encapsulatedContent);
 			cadesSignature.setProvidedSigningCertificateToken(providedSigningCertificateToken);
 			if (Utils.areStringsEqual(cadesSignature.getId(), signatureId)) {
 				results.add(cadesSignature.getOriginalDocument());
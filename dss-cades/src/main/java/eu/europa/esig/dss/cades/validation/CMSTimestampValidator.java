@@ -9,7 +9,6 @@ import org.bouncycastle.tsp.TimeStampToken;
 
 import eu.europa.esig.dss.DSSDocument;
 import eu.europa.esig.dss.DSSException;
-import eu.europa.esig.dss.DSSUtils;
 import eu.europa.esig.dss.validation.AdvancedSignature;
 import eu.europa.esig.dss.validation.TimestampToken;
 import eu.europa.esig.dss.validation.TimestampValidator;
@@ -43,7 +42,7 @@ public class CMSTimestampValidator extends CMSDocumentValidator implements Times
 	@Override
 	public TimestampToken getTimestamp() {
 		TimestampToken timestampToken = new TimestampToken(bcToken, type, validationCertPool);
-		timestampToken.matchData(DSSUtils.toByteArray(timestampedData));
+		timestampToken.matchData(timestampedData);
 		return timestampToken;
 	}
 
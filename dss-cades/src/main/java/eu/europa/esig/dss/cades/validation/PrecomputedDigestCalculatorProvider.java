@@ -10,19 +10,20 @@ import org.bouncycastle.operator.DigestCalculator;
 import org.bouncycastle.operator.DigestCalculatorProvider;
 import org.bouncycastle.operator.OperatorCreationException;
 
+import eu.europa.esig.dss.DSSDocument;
 import eu.europa.esig.dss.DSSException;
 import eu.europa.esig.dss.DigestAlgorithm;
-import eu.europa.esig.dss.DigestDocument;
 import eu.europa.esig.dss.utils.Utils;
 
 /**
- * This class allows to provide digest values without original document
+ * This class allows to provide digest values without reading the original document (the digests known by the
+ * document are used)
  */
 public class PrecomputedDigestCalculatorProvider implements DigestCalculatorProvider {
 
-	private final DigestDocument digestDocument;
+	private final DSSDocument digestDocument;
 
-	public PrecomputedDigestCalculatorProvider(DigestDocument digestDocument) {
+	public PrecomputedDigestCalculatorProvider(DSSDocument digestDocument) {
 		this.digestDocument = digestDocument;
 	}
 
@@ -0,0 +1,129 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.cades.signature;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.FileDocument;
+import eu.europa.esig.dss.SignatureLevel;
+import eu.europa.esig.dss.SignaturePackaging;
+import eu.europa.esig.dss.SignatureValue;
+import eu.europa.esig.dss.ToBeSigned;
+import eu.europa.esig.dss.cades.CAdESSignatureParameters;
+import eu.europa.esig.dss.cades.validation.CMSDocumentValidator;
+import eu.europa.esig.dss.signature.PKIFactoryAccess;
+import eu.europa.esig.dss.validation.reports.wrapper.DiagnosticData;
+import eu.europa.esig.dss.validation.reports.wrapper.SignatureWrapper;
+import eu.europa.esig.dss.validation.reports.wrapper.TimestampWrapper;
+
+public class CAdESStreamingTest extends PKIFactoryAccess {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void signLTA() throws Exception {
+		DSSDocument document = new FileDocument("src/test/resources/validation/dss-728/InfoSelladoTiempo.pdf");
+
+		DSSDocument signedDocument = sign(document, SignatureLevel.CAdES_BASELINE_LTA);
+		assertTrue(signedDocument instanceof EncapsulatingCMSSignedDocument);
+
+		checkValidation(signedDocument, document, SignatureLevel.CAdES_BASELINE_LTA);
+	}
+
+	@Test
+	public void extendToLTA() throws Exception {
+		DSSDocument document = new FileDocument("src/test/resources/validation/dss-728/InfoSelladoTiempo.pdf");
+
+		File signedFile = temporaryFolder.newFile();
+		sign(document, SignatureLevel.CAdES_BASELINE_B).save(signedFile.getPath());
+		DSSDocument signedDocument = new FileDocument(signedFile);
+
+		DSSDocument extendedDocument = getService().extendDocument(signedDocument, getSignatureParameters(SignatureLevel.CAdES_BASELINE_LTA));
+		assertTrue(extendedDocument instanceof EncapsulatingCMSSignedDocument);
+
+		checkValidation(extendedDocument, document, SignatureLevel.CAdES_BASELINE_LTA);
+	}
+
+	private DSSDocument sign(DSSDocument document, SignatureLevel signatureLevel) {
+		CAdESSignatureParameters signatureParameters = getSignatureParameters(signatureLevel);
+		CAdESService service = getService();
+		ToBeSigned dataToSign = service.getDataToSign(document, signatureParameters);
+		SignatureValue signatureValue = getToken().sign(dataToSign, signatureParameters.getDigestAlgorithm(), getPrivateKeyEntry());
+		return service.signDocument(document, signatureParameters, signatureValue);
+	}
+
+	private CAdESSignatureParameters getSignatureParameters(SignatureLevel signatureLevel) {
+		CAdESSignatureParameters signatureParameters = new CAdESSignatureParameters();
+		signatureParameters.bLevel().setSigningDate(new Date());
+		signatureParameters.setSigningCertificate(getSigningCert());
+		signatureParameters.setCertificateChain(getCertificateChain());
+		signatureParameters.setSignaturePackaging(SignaturePackaging.ENVELOPING);
+		signatureParameters.setSignatureLevel(signatureLevel);
+		return signatureParameters;
+	}
+
+	private CAdESService getService() {
+		CAdESService service = new CAdESService(getCompleteCertificateVerifier());
+		service.setTspSource(getGoodTsa());
+		service.setStreaming(true);
+		return service;
+	}
+
+	private void checkValidation(DSSDocument signedDocument, DSSDocument document, SignatureLevel signatureLevel) {
+		for (boolean streaming : new boolean[] { false, true }) {
+			CMSDocumentValidator validator = new CMSDocumentValidator(signedDocument, streaming);
+			validator.setCertificateVerifier(getCompleteCertificateVerifier());
+			DiagnosticData diagnosticData = validator.validateDocument().getDiagnosticData();
+
+			SignatureWrapper signature = diagnosticData.getSignatureById(diagnosticData.getFirstSignatureId());
+			assertTrue(signature.isSignatureIntact());
+			assertEquals(signatureLevel.toString(), signature.getSignatureFormat());
+			List<TimestampWrapper> timestamps = signature.getTimestampList();
+			assertEquals(2, timestamps.size());
+			for (TimestampWrapper timestamp : timestamps) {
+				assertTrue(timestamp.isMessageImprintDataIntact());
+			}
+
+			List<DSSDocument> originalDocuments = validator.getOriginalDocuments(signature.getId());
+			assertEquals(1, originalDocuments.size());
+			assertArrayEquals(DSSUtils.toByteArray(document), DSSUtils.toByteArray(originalDocuments.get(0)));
+		}
+	}
+
+	@Override
+	protected String getSigningAlias() {
+		return GOOD_USER;
+	}
+
+}
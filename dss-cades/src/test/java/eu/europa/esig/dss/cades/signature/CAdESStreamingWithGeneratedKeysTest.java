@@ -0,0 +1,209 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.cades.signature;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.oiw.OIWObjectIdentifiers;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.cert.jcajce.JcaCertStore;
+import org.bouncycastle.cms.jcajce.JcaSimpleSignerInfoGeneratorBuilder;
+import org.bouncycastle.operator.jcajce.JcaDigestCalculatorProviderBuilder;
+import org.bouncycastle.tsp.TimeStampRequestGenerator;
+import org.bouncycastle.tsp.TimeStampToken;
+import org.bouncycastle.tsp.TimeStampTokenGenerator;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.DigestAlgorithm;
+import eu.europa.esig.dss.FileDocument;
+import eu.europa.esig.dss.SignatureAlgorithm;
+import eu.europa.esig.dss.SignatureLevel;
+import eu.europa.esig.dss.SignaturePackaging;
+import eu.europa.esig.dss.SignatureValue;
+import eu.europa.esig.dss.ToBeSigned;
+import eu.europa.esig.dss.cades.CAdESSignatureParameters;
+import eu.europa.esig.dss.cades.validation.CMSDocumentValidator;
+import eu.europa.esig.dss.test.TestUtils;
+import eu.europa.esig.dss.test.gen.CertificateService;
+import eu.europa.esig.dss.test.mock.MockPrivateKeyEntry;
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.validation.reports.wrapper.DiagnosticData;
+import eu.europa.esig.dss.validation.reports.wrapper.SignatureWrapper;
+import eu.europa.esig.dss.validation.reports.wrapper.TimestampWrapper;
+import eu.europa.esig.dss.x509.tsp.TSPSource;
+
+/**
+ * Streaming signature and extension with generated keys and a local time-stamp authority, so that the streaming path
+ * is covered without network access.
+ */
+public class CAdESStreamingWithGeneratedKeysTest {
+
+	private static final String DOCUMENT = "src/test/resources/validation/dss-728/InfoSelladoTiempo.pdf";
+
+	private static MockPrivateKeyEntry signer;
+	private static MockPrivateKeyEntry tsa;
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@BeforeClass
+	public static void init() throws Exception {
+		CertificateService certificateService = new CertificateService();
+		signer = certificateService.generateCertificateChain(SignatureAlgorithm.RSA_SHA256);
+		tsa = certificateService.generateTspCertificate(SignatureAlgorithm.RSA_SHA256);
+	}
+
+	@Test
+	public void signB() throws Exception {
+		signAndCheck(SignatureLevel.CAdES_BASELINE_B, SignatureLevel.CAdES_BASELINE_B, 0);
+	}
+
+	@Test
+	public void signT() throws Exception {
+		signAndCheck(SignatureLevel.CAdES_BASELINE_T, SignatureLevel.CAdES_BASELINE_T, 1);
+	}
+
+	@Test
+	public void signLT() throws Exception {
+		signAndCheck(SignatureLevel.CAdES_BASELINE_LT, SignatureLevel.CAdES_BASELINE_T, 1);
+	}
+
+	@Test
+	public void signLTA() throws Exception {
+		signAndCheck(SignatureLevel.CAdES_BASELINE_LTA, SignatureLevel.CAdES_BASELINE_T, 2);
+	}
+
+	@Test
+	public void extendToLTA() throws Exception {
+		DSSDocument document = new FileDocument(DOCUMENT);
+
+		File signedFile = temporaryFolder.newFile();
+		sign(document, SignatureLevel.CAdES_BASELINE_B).save(signedFile.getPath());
+		DSSDocument signedDocument = new FileDocument(signedFile);
+
+		DSSDocument extendedDocument = getService().extendDocument(signedDocument, getSignatureParameters(SignatureLevel.CAdES_BASELINE_LTA));
+		assertTrue(extendedDocument instanceof EncapsulatingCMSSignedDocument);
+
+		checkValidation(extendedDocument, document, SignatureLevel.CAdES_BASELINE_T, 2);
+	}
+
+	/**
+	 * The generated certificates have no reachable revocation data, so the LT and LTA levels are detected as T: the
+	 * archive time-stamp is still checked through the number of time-stamps.
+	 */
+	private void signAndCheck(SignatureLevel signatureLevel, SignatureLevel expectedFormat, int expectedTimestamps) throws Exception {
+		DSSDocument document = new FileDocument(DOCUMENT);
+
+		DSSDocument signedDocument = sign(document, signatureLevel);
+		assertTrue(signedDocument instanceof EncapsulatingCMSSignedDocument);
+
+		// the streamed output is re-read from a file like any other signed document
+		File signedFile = temporaryFolder.newFile();
+		signedDocument.save(signedFile.getPath());
+		checkValidation(new FileDocument(signedFile), document, expectedFormat, expectedTimestamps);
+	}
+
+	private DSSDocument sign(DSSDocument document, SignatureLevel signatureLevel) {
+		CAdESSignatureParameters signatureParameters = getSignatureParameters(signatureLevel);
+		CAdESService service = getService();
+		ToBeSigned dataToSign = service.getDataToSign(document, signatureParameters);
+		SignatureAlgorithm signatureAlgorithm = SignatureAlgorithm.getAlgorithm(signer.getEncryptionAlgorithm(),
+				signatureParameters.getDigestAlgorithm());
+		SignatureValue signatureValue = TestUtils.sign(signatureAlgorithm, signer, dataToSign);
+		return service.signDocument(document, signatureParameters, signatureValue);
+	}
+
+	private CAdESSignatureParameters getSignatureParameters(SignatureLevel signatureLevel) {
+		CAdESSignatureParameters signatureParameters = new CAdESSignatureParameters();
+		signatureParameters.bLevel().setSigningDate(new Date());
+		signatureParameters.setSigningCertificate(signer.getCertificate());
+		signatureParameters.setCertificateChain(signer.getCertificateChain());
+		signatureParameters.setSignaturePackaging(SignaturePackaging.ENVELOPING);
+		signatureParameters.setSignatureLevel(signatureLevel);
+		return signatureParameters;
+	}
+
+	private CAdESService getService() {
+		CAdESService service = new CAdESService(new CommonCertificateVerifier(true));
+		service.setTspSource(new LocalTSPSource());
+		service.setStreaming(true);
+		return service;
+	}
+
+	private void checkValidation(DSSDocument signedDocument, DSSDocument document, SignatureLevel expectedFormat, int expectedTimestamps) {
+		for (boolean streaming : new boolean[] { false, true }) {
+			CMSDocumentValidator validator = new CMSDocumentValidator(signedDocument, streaming);
+			validator.setCertificateVerifier(new CommonCertificateVerifier(true));
+			DiagnosticData diagnosticData = validator.validateDocument().getDiagnosticData();
+
+			SignatureWrapper signature = diagnosticData.getSignatureById(diagnosticData.getFirstSignatureId());
+			assertTrue(signature.isReferenceDataIntact());
+			assertTrue(signature.isSignatureIntact());
+			assertEquals(expectedFormat.toString(), signature.getSignatureFormat());
+			List<TimestampWrapper> timestamps = signature.getTimestampList();
+			assertEquals(expectedTimestamps, timestamps.size());
+			for (TimestampWrapper timestamp : timestamps) {
+				assertTrue(timestamp.isMessageImprintDataIntact());
+			}
+
+			List<DSSDocument> originalDocuments = validator.getOriginalDocuments(signature.getId());
+			assertEquals(1, originalDocuments.size());
+			assertArrayEquals(DSSUtils.toByteArray(document), DSSUtils.toByteArray(originalDocuments.get(0)));
+		}
+	}
+
+	@SuppressWarnings("serial")
+	private static class LocalTSPSource implements TSPSource {
+
+		private static final ASN1ObjectIdentifier POLICY = new ASN1ObjectIdentifier("1.2.3.4");
+
+		@Override
+		public TimeStampToken getTimeStampResponse(DigestAlgorithm digestAlgorithm, byte[] digest) throws DSSException {
+			try {
+				TimeStampTokenGenerator generator = new TimeStampTokenGenerator(
+						new JcaSimpleSignerInfoGeneratorBuilder().build("SHA256withRSA", tsa.getPrivateKey(), tsa.getCertificate().getCertificate()),
+						new JcaDigestCalculatorProviderBuilder().build().get(new AlgorithmIdentifier(OIWObjectIdentifiers.idSHA1)), POLICY);
+				generator.addCertificates(new JcaCertStore(Arrays.asList(tsa.getCertificate().getCertificate())));
+				return generator.generate(new TimeStampRequestGenerator().generate(new ASN1ObjectIdentifier(digestAlgorithm.getOid()), digest),
+						BigInteger.valueOf(System.nanoTime()), new Date());
+			} catch (Exception e) {
+				throw new DSSException("Unable to generate the time-stamp", e);
+			}
+		}
+
+	}
+
+}
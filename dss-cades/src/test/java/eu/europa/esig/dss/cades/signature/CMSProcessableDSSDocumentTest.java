@@ -0,0 +1,50 @@
+package eu.europa.esig.dss.cades.signature;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+
+import org.bouncycastle.asn1.cms.CMSObjectIdentifiers;
+import org.bouncycastle.cms.CMSProcessableByteArray;
+import org.bouncycastle.cms.CMSSignedDataGenerator;
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.FileDocument;
+
+public class CMSProcessableDSSDocumentTest {
+
+	private static final DSSDocument DOCUMENT = new FileDocument(new File("src/test/resources/validation/counterSig.p7m"));
+
+	@Test
+	public void writeStreamsTheDocument() throws Exception {
+		CMSProcessableDSSDocument content = new CMSProcessableDSSDocument(DOCUMENT);
+		assertEquals(CMSObjectIdentifiers.data, content.getContentType());
+		assertSame(DOCUMENT, content.getContent());
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		content.write(baos);
+		// can be written several times
+		content.write(baos);
+		byte[] bytes = DSSUtils.toByteArray(DOCUMENT);
+		byte[] expected = new byte[bytes.length * 2];
+		System.arraycopy(bytes, 0, expected, 0, bytes.length);
+		System.arraycopy(bytes, 0, expected, bytes.length, bytes.length);
+		assertArrayEquals(expected, baos.toByteArray());
+	}
+
+	@Test
+	public void sameEncodingAsByteArray() throws Exception {
+		byte[] bytes = DSSUtils.toByteArray(DOCUMENT);
+		for (boolean encapsulate : new boolean[] { true, false }) {
+			byte[] streamed = new CMSSignedDataGenerator().generate(new CMSProcessableDSSDocument(DOCUMENT), encapsulate).getEncoded();
+			byte[] inMemory = new CMSSignedDataGenerator().generate(new CMSProcessableByteArray(bytes), encapsulate).getEncoded();
+			assertArrayEquals(inMemory, streamed);
+		}
+	}
+
+}
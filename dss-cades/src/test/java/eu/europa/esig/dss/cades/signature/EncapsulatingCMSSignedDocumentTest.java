@@ -0,0 +1,115 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.cades.signature;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.util.Iterator;
+
+import org.bouncycastle.cms.CMSSignedData;
+import org.bouncycastle.cms.SignerInformation;
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.FileDocument;
+import eu.europa.esig.dss.InMemoryDocument;
+import eu.europa.esig.dss.cades.CMSUtils;
+import eu.europa.esig.dss.cades.EncapsulatedContentDocument;
+import eu.europa.esig.dss.cades.validation.CMSDocumentValidator;
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.validation.reports.wrapper.DiagnosticData;
+
+public class EncapsulatingCMSSignedDocumentTest {
+
+	@Test
+	public void berEncoded() throws Exception {
+		sameSignedData(new FileDocument("src/test/resources/validation/dss-667/BER_reordered_prova.txt.p7m"));
+	}
+
+	@Test
+	public void counterSignature() throws Exception {
+		sameSignedData(new FileDocument("src/test/resources/validation/counterSig.p7m"));
+	}
+
+	@Test
+	public void archiveTimestamp() throws Exception {
+		sameSignedData(new FileDocument("src/test/resources/plugtest/cades/CAdES-Baseline_profile_LTA/Sample_Set_1/Signature-CBp-LTA-1.p7m"));
+	}
+
+	@Test
+	public void contentInSeveralChunks() throws Exception {
+		byte[] bytes = new byte[10000];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = (byte) i;
+		}
+		sameContent(bytes);
+	}
+
+	@Test
+	public void emptyContent() throws Exception {
+		sameContent(new byte[0]);
+	}
+
+	private void sameSignedData(DSSDocument document) throws Exception {
+		CMSSignedData withoutContent = CMSUtils.getCMSSignedDataWithoutContent(document);
+		assertTrue(withoutContent.isDetachedSignature());
+		DSSDocument attached = new EncapsulatingCMSSignedDocument(withoutContent, new EncapsulatedContentDocument(document));
+
+		CMSSignedData original = toCMSSignedData(document);
+		CMSSignedData reencoded = toCMSSignedData(attached);
+		assertArrayEquals(CMSUtils.getSignedContent(original.getSignedContent()), CMSUtils.getSignedContent(reencoded.getSignedContent()));
+		assertEquals(original.getSignedContentTypeOID(), reencoded.getSignedContentTypeOID());
+		assertEquals(original.getVersion(), reencoded.getVersion());
+		assertEquals(original.getCertificates().getMatches(null), reencoded.getCertificates().getMatches(null));
+		assertEquals(original.getSignerInfos().size(), reencoded.getSignerInfos().size());
+		Iterator<SignerInformation> reencodedSigners = reencoded.getSignerInfos().getSigners().iterator();
+		for (SignerInformation signer : original.getSignerInfos().getSigners()) {
+			assertArrayEquals(signer.toASN1Structure().getEncoded(), reencodedSigners.next().toASN1Structure().getEncoded());
+		}
+
+		CMSDocumentValidator validator = new CMSDocumentValidator(attached, true);
+		validator.setCertificateVerifier(new CommonCertificateVerifier(true));
+		DiagnosticData diagnosticData = validator.validateDocument().getDiagnosticData();
+		for (String signatureId : diagnosticData.getSignatureIdList()) {
+			assertTrue(diagnosticData.getSignatureById(signatureId).isSignatureIntact());
+		}
+	}
+
+	private void sameContent(byte[] bytes) throws Exception {
+		DSSDocument document = new FileDocument("src/test/resources/validation/counterSig.p7m");
+		DSSDocument attached = new EncapsulatingCMSSignedDocument(CMSUtils.getCMSSignedDataWithoutContent(document), new InMemoryDocument(bytes));
+
+		assertArrayEquals(bytes, CMSUtils.getSignedContent(toCMSSignedData(attached).getSignedContent()));
+		assertArrayEquals(bytes, DSSUtils.toByteArray(new EncapsulatedContentDocument(attached)));
+		assertArrayEquals(DSSUtils.toByteArray(attached), DSSUtils.toByteArray(attached));
+	}
+
+	private CMSSignedData toCMSSignedData(DSSDocument document) throws Exception {
+		try (InputStream is = document.openStream()) {
+			return new CMSSignedData(is);
+		}
+	}
+
+}
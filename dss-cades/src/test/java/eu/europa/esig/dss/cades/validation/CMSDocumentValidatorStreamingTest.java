@@ -0,0 +1,136 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.cades.validation;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.FileDocument;
+import eu.europa.esig.dss.cades.CMSUtils;
+import eu.europa.esig.dss.cades.EncapsulatedContentDocument;
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.validation.reports.Reports;
+import eu.europa.esig.dss.validation.reports.wrapper.DiagnosticData;
+import eu.europa.esig.dss.validation.reports.wrapper.SignatureWrapper;
+import eu.europa.esig.dss.validation.reports.wrapper.TimestampWrapper;
+
+public class CMSDocumentValidatorStreamingTest {
+
+	@Test
+	public void counterSignature() {
+		sameValidation("src/test/resources/validation/counterSig.p7m");
+	}
+
+	@Test
+	public void berEncoded() {
+		sameValidation("src/test/resources/validation/dss-667/BER_reordered_prova.txt.p7m");
+	}
+
+	@Test
+	public void derEncoded() {
+		sameValidation("src/test/resources/validation/dss-667/DER_reordered_prova.txt.p7m");
+	}
+
+	@Test
+	public void archiveTimestampV2() {
+		sameValidation("src/test/resources/plugtest/cades/CAdES-A/Sample_Set_1/Signature-C-A-ATSv2-1.p7m");
+	}
+
+	@Test
+	public void archiveTimestampV3() {
+		sameValidation("src/test/resources/plugtest/cades/CAdES-Baseline_profile_LTA/Sample_Set_1/Signature-CBp-LTA-1.p7m");
+	}
+
+	@Test
+	public void counterSignatureOfDetachedView() {
+		DSSDocument document = new FileDocument("src/test/resources/validation/counterSig.p7m");
+
+		// the counter signature covers the signature value of its master signature, not the detached content
+		CMSDocumentValidator validator = new CMSDocumentValidator(CMSUtils.getCMSSignedDataWithoutContent(document));
+		validator.setCertificateVerifier(new CommonCertificateVerifier(true));
+		validator.setDetachedContents(Collections.<DSSDocument> singletonList(new EncapsulatedContentDocument(document)));
+		DiagnosticData diagnosticData = validator.validateDocument().getDiagnosticData();
+
+		List<String> signatureIds = diagnosticData.getSignatureIdList();
+		assertEquals(2, signatureIds.size());
+		for (String signatureId : signatureIds) {
+			SignatureWrapper signature = diagnosticData.getSignatureById(signatureId);
+			assertTrue(signature.isReferenceDataFound());
+			assertTrue(signature.isReferenceDataIntact());
+			assertTrue(signature.isSignatureIntact());
+		}
+	}
+
+	@Test
+	public void detachedSignatureIsNotStreamed() {
+		DSSDocument document = new FileDocument("src/test/resources/validation/dss-916/test.txt.signed.qes.detached.p7s");
+		assertNull(CMSUtils.getCMSSignedDataWithoutContent(document));
+	}
+
+	private void sameValidation(String path) {
+		DSSDocument document = new FileDocument(path);
+
+		CMSDocumentValidator validator = new CMSDocumentValidator(document);
+		validator.setCertificateVerifier(new CommonCertificateVerifier(true));
+		Reports reports = validator.validateDocument();
+
+		CMSDocumentValidator streamingValidator = new CMSDocumentValidator(document, true);
+		streamingValidator.setCertificateVerifier(new CommonCertificateVerifier(true));
+		Reports streamingReports = streamingValidator.validateDocument();
+
+		DiagnosticData diagnosticData = reports.getDiagnosticData();
+		DiagnosticData streamingDiagnosticData = streamingReports.getDiagnosticData();
+		assertEquals(diagnosticData.getSignatureIdList(), streamingDiagnosticData.getSignatureIdList());
+		for (String signatureId : diagnosticData.getSignatureIdList()) {
+			SignatureWrapper signature = diagnosticData.getSignatureById(signatureId);
+			SignatureWrapper streamingSignature = streamingDiagnosticData.getSignatureById(signatureId);
+			assertTrue(streamingSignature.isReferenceDataFound());
+			assertEquals(signature.isReferenceDataIntact(), streamingSignature.isReferenceDataIntact());
+			assertEquals(signature.isSignatureIntact(), streamingSignature.isSignatureIntact());
+
+			List<TimestampWrapper> timestamps = signature.getTimestampList();
+			List<TimestampWrapper> streamingTimestamps = streamingSignature.getTimestampList();
+			assertEquals(timestamps.size(), streamingTimestamps.size());
+			for (int i = 0; i < timestamps.size(); i++) {
+				assertEquals(timestamps.get(i).getId(), streamingTimestamps.get(i).getId());
+				assertEquals(timestamps.get(i).isMessageImprintDataIntact(), streamingTimestamps.get(i).isMessageImprintDataIntact());
+			}
+
+			List<DSSDocument> originalDocuments = validator.getOriginalDocuments(signatureId);
+			List<DSSDocument> streamingOriginalDocuments = streamingValidator.getOriginalDocuments(signatureId);
+			// no original document for a counter signature
+			assertEquals(originalDocuments.size(), streamingOriginalDocuments.size());
+			for (int i = 0; i < originalDocuments.size(); i++) {
+				assertArrayEquals(DSSUtils.toByteArray(originalDocuments.get(i)), DSSUtils.toByteArray(streamingOriginalDocuments.get(i)));
+			}
+		}
+	}
+
+}
@@ -13,6 +13,7 @@ import javax.security.auth.x500.X500Principal;
 
 import org.bouncycastle.asn1.ASN1BitString;
 import org.bouncycastle.asn1.ASN1Boolean;
+import org.bouncycastle.asn1.ASN1InputStream;
 import org.bouncycastle.asn1.ASN1Integer;
 import org.bouncycastle.asn1.ASN1ObjectIdentifier;
 import org.bouncycastle.asn1.ASN1Primitive;
@@ -177,6 +178,103 @@ class CRLParser {
 		return null;
 	}
 
+	/**
+	 * This method allows to index the revokedCertificates sequence in one pass. The positions in the index are the
+	 * offsets of the CRL entries in the given DER encoded CRL.
+	 * 
+	 * @param crl
+	 *            the DER encoded CRL
+	 * @return the index of the revoked serial numbers
+	 * @throws IOException
+	 */
+	public CRLSerialNumberIndex retrieveRevokedSerialNumberIndex(byte[] crl) throws IOException {
+		CRLSerialNumberIndex.Builder builder = new CRLSerialNumberIndex.Builder();
+		try (ByteArrayInputStream s = new ByteArrayInputStream(crl)) {
+			// Skip CertificateList Sequence info
+			consumeTagIntro(s);
+
+			// Read TBSCertList Sequence
+			consumeTagIntro(s);
+
+			// Skip all before mandatory thisUpdate
+			int tag = -1;
+			int tagNo = BERTags.NULL;
+			int length = -1;
+			do {
+				tag = DERUtil.readTag(s);
+				tagNo = DERUtil.readTagNumber(s, tag);
+				length = DERUtil.readLength(s);
+				skip(s, length);
+			} while (!isDate(tagNo));
+
+			tag = DERUtil.readTag(s);
+			tagNo = DERUtil.readTagNumber(s, tag);
+			length = DERUtil.readLength(s);
+
+			// TBSCertList -> nextUpdate (optional)
+			if (isDate(tagNo)) {
+				skip(s, length);
+
+				tag = DERUtil.readTag(s);
+				tagNo = DERUtil.readTagNumber(s, tag);
+				length = DERUtil.readLength(s);
+			}
+
+			if (tagNo == BERTags.SEQUENCE) {
+				final int end = getOffset(crl, s) + length;
+				while (getOffset(crl, s) < end) {
+					final int entryOffset = getOffset(crl, s);
+					tag = DERUtil.readTag(s);
+					tagNo = DERUtil.readTagNumber(s, tag);
+					length = DERUtil.readLength(s);
+					final int entryEnd = getOffset(crl, s) + length;
+
+					if (tagNo == BERTags.SEQUENCE) {
+						int entryTag = DERUtil.readTag(s);
+						int entryTagNo = DERUtil.readTagNumber(s, entryTag);
+						int entryLength = DERUtil.readLength(s);
+
+						// SerialNumber
+						if (BERTags.INTEGER == entryTagNo) {
+							builder.add(new BigInteger(readNbBytes(s, entryLength)), entryOffset);
+						}
+					} else {
+						LOG.debug("Should only contain SEQUENCEs : tagNo = {} (ignored)", tagNo);
+					}
+					skip(s, entryEnd - getOffset(crl, s));
+				}
+			}
+		}
+		return builder.build();
+	}
+
+	/**
+	 * This method returns the revocation data of the CRL entry at the given offset if it matches the serial number
+	 * 
+	 * @param crl
+	 *            the DER encoded CRL
+	 * @param offset
+	 *            the offset of the CRL entry (see {@link #retrieveRevokedSerialNumberIndex(byte[])})
+	 * @param serialNumber
+	 *            the certificate's serial number
+	 * @return the X509CRLEntry with the revocation date, the reason,... or null if the entry is not related to the
+	 *         serial number
+	 * @throws IOException
+	 */
+	public X509CRLEntry retrieveRevocationInfo(byte[] crl, int offset, BigInteger serialNumber) throws IOException {
+		try (ASN1InputStream is = new ASN1InputStream(new ByteArrayInputStream(crl, offset, crl.length - offset))) {
+			CRLEntry crlEntry = CRLEntry.getInstance(is.readObject());
+			if (serialNumber.equals(crlEntry.getUserCertificate().getValue())) {
+				return new X509CRLEntryObject(crlEntry);
+			}
+		}
+		return null;
+	}
+
+	private int getOffset(byte[] crl, ByteArrayInputStream s) {
+		return crl.length - s.available();
+	}
+
 	/**
 	 * This method allows to retrieve common CRL informations (thisUpdate, nextUpdate, signatureAlgorithm,
 	 * signatureValue, extensions,...). It voluntary doesn't parse the revokedCertificates sequence.
@@ -81,13 +81,23 @@ public class CRLUtilsStreamImpl extends AbstractCRLUtils implements ICRLUtils {
 	@Override
 	public X509CRLEntry getRevocationInfo(CRLValidity crlValidity, BigInteger serialNumber) {
 		CRLParser parser = new CRLParser();
-		X509CRLEntry crlEntry = null;
-		try (InputStream is = crlValidity.getCrlInputStream()) {
-			crlEntry = parser.retrieveRevocationInfo(is, serialNumber);
+		try {
+			final byte[] crlEncoded = crlValidity.getCrlEncoded();
+			CRLSerialNumberIndex index = crlValidity.getRevokedSerialNumberIndex();
+			if (index == null) {
+				index = parser.retrieveRevokedSerialNumberIndex(crlEncoded);
+				crlValidity.setRevokedSerialNumberIndex(index);
+			}
+			for (int offset : index.getPositions(serialNumber)) {
+				X509CRLEntry crlEntry = parser.retrieveRevocationInfo(crlEncoded, offset, serialNumber);
+				if (crlEntry != null) {
+					return crlEntry;
+				}
+			}
 		} catch (IOException e) {
 			LOG.error("Unable to retrieve the revocation status", e);
 		}
-		return crlEntry;
+		return null;
 	}
 
 	private void checkSignatureValue(CRLValidity crlValidity, byte[] signatureValue, byte[] expectedDigest, CertificateToken signer) {
@@ -12,11 +12,18 @@ import java.security.cert.CertificateException;
 import java.security.cert.CertificateFactory;
 import java.security.cert.X509CRL;
 import java.security.cert.X509CRLEntry;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
 
 import javax.security.auth.x500.X500Principal;
 
+import org.bouncycastle.asn1.x509.CertificateList;
 import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.TBSCertList;
+import org.bouncycastle.asn1.x509.TBSCertList.CRLEntry;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.jce.provider.X509CRLEntryObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -108,10 +115,45 @@ public class CRLUtilsX509CRLImpl extends AbstractCRLUtils implements ICRLUtils {
 
 	@Override
 	public X509CRLEntry getRevocationInfo(CRLValidity crlValidity, BigInteger serialNumber) {
+		if (crlValidity instanceof X509CRLValidity) {
+			X509CRLValidity x509Validity = (X509CRLValidity) crlValidity;
+			X509CRLEntry[] revokedCertificates = getIndexedRevokedCertificates(x509Validity);
+			for (int position : x509Validity.getRevokedSerialNumberIndex().getPositions(serialNumber)) {
+				X509CRLEntry crlEntry = revokedCertificates[position];
+				if (serialNumber.equals(crlEntry.getSerialNumber())) {
+					return crlEntry;
+				}
+			}
+			return null;
+		}
 		X509CRL crl = getCRL(crlValidity);
 		return crl.getRevokedCertificate(serialNumber);
 	}
 
+	/**
+	 * The revoked certificates are extracted once (in the CRL order) and indexed by serial number (the positions in
+	 * the index are the positions in the returned array)
+	 */
+	@SuppressWarnings("deprecation")
+	private X509CRLEntry[] getIndexedRevokedCertificates(X509CRLValidity x509Validity) {
+		synchronized (x509Validity) {
+			if (x509Validity.getRevokedSerialNumberIndex() == null) {
+				TBSCertList tbsCertList = CertificateList.getInstance(x509Validity.getCrlEncoded()).getTBSCertList();
+				List<X509CRLEntry> entries = new ArrayList<X509CRLEntry>();
+				CRLSerialNumberIndex.Builder builder = new CRLSerialNumberIndex.Builder();
+				Enumeration<?> enumeration = tbsCertList.getRevokedCertificateEnumeration();
+				while (enumeration.hasMoreElements()) {
+					CRLEntry crlEntry = (CRLEntry) enumeration.nextElement();
+					builder.add(crlEntry.getUserCertificate().getValue(), entries.size());
+					entries.add(new X509CRLEntryObject(crlEntry));
+				}
+				x509Validity.setRevokedCertificates(entries.toArray(new X509CRLEntry[entries.size()]));
+				x509Validity.setRevokedSerialNumberIndex(builder.build());
+			}
+			return x509Validity.getRevokedCertificates();
+		}
+	}
+
 	private X509CRL getCRL(CRLValidity crlValidity) {
 		X509CRL crl = null;
 		if (crlValidity instanceof X509CRLValidity) {
@@ -1,11 +1,14 @@
 package eu.europa.esig.dss.crl;
 
 import java.security.cert.X509CRL;
+import java.security.cert.X509CRLEntry;
 
 public class X509CRLValidity extends CRLValidity {
 
 	private X509CRL x509CRL;
 
+	private X509CRLEntry[] revokedCertificates;
+
 	public X509CRL getX509CRL() {
 		return x509CRL;
 	}
@@ -14,4 +17,12 @@ public class X509CRLValidity extends CRLValidity {
 		x509CRL = x509crl;
 	}
 
+	public X509CRLEntry[] getRevokedCertificates() {
+		return revokedCertificates;
+	}
+
+	public void setRevokedCertificates(X509CRLEntry[] revokedCertificates) {
+		this.revokedCertificates = revokedCertificates;
+	}
+
 }
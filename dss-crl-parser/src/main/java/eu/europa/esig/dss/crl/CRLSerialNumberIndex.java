@@ -0,0 +1,128 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.crl;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * This class is an index of the revoked serial numbers of a CRL. It is built in one pass over the revokedCertificates
+ * sequence and allows to find the candidate entries of a serial number with a binary search.
+ * 
+ * Each entry is a long : the hash of the serial number (upper 32 bits) and the position of the CRL entry (lower 32
+ * bits). The position depends on the CRL implementation (eg: the offset of the entry in the DER encoded CRL). As
+ * different serial numbers can have the same hash, the entries at the returned positions need to be checked.
+ */
+public class CRLSerialNumberIndex {
+
+	private static final int[] NO_POSITION = new int[0];
+
+	private final long[] entries;
+
+	private CRLSerialNumberIndex(long[] entries) {
+		this.entries = entries;
+	}
+
+	/**
+	 * This method returns the positions of the CRL entries which can match the given serial number
+	 * 
+	 * @param serialNumber
+	 *            the certificate serial number to search
+	 * @return the positions of the candidate entries (empty if the serial number is not revoked)
+	 */
+	public int[] getPositions(BigInteger serialNumber) {
+		final int hash = serialNumber.hashCode();
+		int index = Arrays.binarySearch(entries, toEntry(hash, 0));
+		if (index < 0) {
+			// insertion point : first entry with this hash (if any)
+			index = -index - 1;
+		}
+		int end = index;
+		while ((end < entries.length) && (getHash(entries[end]) == hash)) {
+			end++;
+		}
+		if (end == index) {
+			return NO_POSITION;
+		}
+		int[] positions = new int[end - index];
+		for (int i = index; i < end; i++) {
+			positions[i - index] = getPosition(entries[i]);
+		}
+		return positions;
+	}
+
+	/**
+	 * @return the number of indexed entries
+	 */
+	public int size() {
+		return entries.length;
+	}
+
+	private static long toEntry(int hash, int position) {
+		return ((long) hash << 32) | (position & 0xFFFFFFFFL);
+	}
+
+	private static int getHash(long entry) {
+		return (int) (entry >> 32);
+	}
+
+	private static int getPosition(long entry) {
+		return (int) entry;
+	}
+
+	/**
+	 * This class collects the revoked serial numbers with their positions
+	 */
+	public static class Builder {
+
+		private long[] entries = new long[64];
+
+		private int size = 0;
+
+		/**
+		 * Adds a revoked serial number
+		 * 
+		 * @param serialNumber
+		 *            the revoked serial number
+		 * @param position
+		 *            the (positive) position of the CRL entry
+		 * @return the builder
+		 */
+		public Builder add(BigInteger serialNumber, int position) {
+			if (size == entries.length) {
+				entries = Arrays.copyOf(entries, size * 2);
+			}
+			entries[size++] = toEntry(serialNumber.hashCode(), position);
+			return this;
+		}
+
+		/**
+		 * @return the sorted index
+		 */
+		public CRLSerialNumberIndex build() {
+			long[] sorted = Arrays.copyOf(entries, size);
+			Arrays.sort(sorted);
+			return new CRLSerialNumberIndex(sorted);
+		}
+
+	}
+
+}
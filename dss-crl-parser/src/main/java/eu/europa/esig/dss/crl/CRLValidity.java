@@ -47,6 +47,8 @@ public class CRLValidity {
 	private String signatureInvalidityReason;
 	private String url;
 
+	private volatile CRLSerialNumberIndex revokedSerialNumberIndex;
+
 	public String getKey() {
 		return key;
 	}
@@ -155,6 +157,20 @@ public class CRLValidity {
 		this.url = url;
 	}
 
+	/**
+	 * Returns the index of the revoked serial numbers. The index is built by the {@code ICRLUtils} implementation at
+	 * the first revocation lookup.
+	 *
+	 * @return the index or null if not yet built
+	 */
+	public CRLSerialNumberIndex getRevokedSerialNumberIndex() {
+		return revokedSerialNumberIndex;
+	}
+
+	public void setRevokedSerialNumberIndex(CRLSerialNumberIndex revokedSerialNumberIndex) {
+		this.revokedSerialNumberIndex = revokedSerialNumberIndex;
+	}
+
 	/**
 	 * This method indicates if the CRL is valid. To be valid the CRL must full
 	 * fill the following requirements:
@@ -13,8 +13,10 @@ import java.security.NoSuchProviderException;
 import java.security.Security;
 import java.security.cert.CertificateException;
 import java.security.cert.CertificateFactory;
+import java.security.cert.X509CRL;
 import java.security.cert.X509CRLEntry;
 import java.security.cert.X509Certificate;
+import java.util.Set;
 
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.junit.Test;
@@ -192,6 +194,38 @@ public abstract class AbstractTestCRLUtils {
 		}
 	}
 
+	@Test
+	public void retrieveAllRevokedSerialNumbers() throws Exception {
+		try (InputStream is = AbstractTestCRLUtils.class.getResourceAsStream("/http___crl.globalsign.com_gs_gspersonalsign2sha2g2.crl");
+				InputStream isCer = AbstractTestCRLUtils.class.getResourceAsStream("/citizen_ca.cer")) {
+
+			CertificateToken certificateToken = loadCert(isCer);
+
+			CRLValidity validity = CRLUtils.isValidCRL(is, certificateToken);
+
+			X509CRL x509CRL = (X509CRL) certificateFactory.generateCRL(validity.getCrlInputStream());
+			Set<? extends X509CRLEntry> revokedCertificates = x509CRL.getRevokedCertificates();
+			assertFalse(revokedCertificates.isEmpty());
+
+			int i = 0;
+			for (X509CRLEntry revokedCertificate : revokedCertificates) {
+				if (i++ % 50 != 0) {
+					continue;
+				}
+				// the CRL contains duplicate serial numbers : the first entry is returned
+				X509CRLEntry expected = x509CRL.getRevokedCertificate(revokedCertificate.getSerialNumber());
+				X509CRLEntry entry = CRLUtils.getRevocationInfo(validity, expected.getSerialNumber());
+				assertNotNull(entry);
+				assertEquals(expected.getSerialNumber(), entry.getSerialNumber());
+				assertEquals(expected.getRevocationDate(), entry.getRevocationDate());
+			}
+
+			assertNotNull(validity.getRevokedSerialNumberIndex());
+			assertEquals(revokedCertificates.size(), validity.getRevokedSerialNumberIndex().size());
+			assertNull(CRLUtils.getRevocationInfo(validity, new BigInteger("111111111111111111111111111")));
+		}
+	}
+
 	@Test
 	public void testARLFile() throws Exception {
 		try (InputStream is = AbstractTestCRLUtils.class.getResourceAsStream("/notaires2020.arl");
@@ -44,6 +44,8 @@ public abstract class AbstractSignatureService<SP extends AbstractSignatureParam
 
 	protected final CertificateVerifier certificateVerifier;
 
+	protected SigningSessionCache signingSessionCache;
+
 	/**
 	 * To construct a signature service the <code>CertificateVerifier</code> must be set and cannot be null.
 	 *
@@ -63,6 +65,18 @@ public abstract class AbstractSignatureService<SP extends AbstractSignatureParam
 		this.tspSource = tspSource;
 	}
 
+	/**
+	 * This method enables the reuse of the structures prepared by {@code getDataToSign} when {@code signDocument} is
+	 * called with other parameters instances (eg: two requests of a remote signing). By default (null), the
+	 * structures are only kept in the parameters.
+	 *
+	 * @param signingSessionCache
+	 *            the cache of the signing sessions or null
+	 */
+	public void setSigningSessionCache(final SigningSessionCache signingSessionCache) {
+		this.signingSessionCache = signingSessionCache;
+	}
+
 	/**
 	 * This method raises an exception if the signing rules forbid the use on an expired certificate.
 	 *
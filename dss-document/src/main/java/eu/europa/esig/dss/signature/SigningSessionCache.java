@@ -0,0 +1,238 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.signature;
+
+import java.security.PublicKey;
+import java.security.Signature;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.europa.esig.dss.AbstractSignatureParameters;
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.SignatureAlgorithm;
+import eu.europa.esig.dss.SignatureValue;
+import eu.europa.esig.dss.ToBeSigned;
+import eu.europa.esig.dss.x509.CertificateToken;
+
+/**
+ * This class keeps the structures prepared by the signature services between {@code getDataToSign} and
+ * {@code signDocument}, so that the second phase only injects the signature value instead of rebuilding the signature.
+ * It is useful when both phases are executed in separate requests (remote signing) : the parameters are then different
+ * instances and cannot carry the prepared structure.
+ * 
+ * The sessions are identified by the deterministic id of the parameters (signing date and signing certificate). A
+ * session is only reused if the documents to sign have the same digests as in the first phase and if the signature
+ * value is valid for the cached data to be signed : otherwise (another document, parameters changed between the two
+ * phases,...) the signature is rebuilt. A session is used once, expires after the time to live and the number of kept
+ * sessions is limited (the least recently used session is evicted first).
+ * 
+ * The digests of the documents are computed with the digest algorithm of the parameters. To avoid reading the content
+ * again in the second phase, the documents can be given as {@code DigestDocument}s with this digest : the prepared
+ * signature does not need the content.
+ * 
+ * The cache is opt-in : it is set on the signature service with {@code setSigningSessionCache}. It can be shared by
+ * several services.
+ */
+public class SigningSessionCache {
+
+	private static final Logger LOG = LoggerFactory.getLogger(SigningSessionCache.class);
+
+	private final Map<String, Session> sessions;
+
+	private final long timeToLive;
+
+	/**
+	 * The default constructor for SigningSessionCache.
+	 *
+	 * @param maxSize
+	 *            the maximum number of sessions kept in memory
+	 * @param timeToLive
+	 *            the time (in milliseconds) after which an unused session is discarded
+	 */
+	public SigningSessionCache(final int maxSize, final long timeToLive) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("The maximum size must be positive");
+		}
+		if (timeToLive < 1) {
+			throw new IllegalArgumentException("The time to live must be positive");
+		}
+		this.timeToLive = timeToLive;
+		this.sessions = Collections.synchronizedMap(new LinkedHashMap<String, Session>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Session> eldest) {
+				return size() > maxSize;
+			}
+
+		});
+	}
+
+	/**
+	 * This method stores the structure prepared during {@code getDataToSign}. Nothing is stored if the parameters
+	 * do not contain the signing certificate (the signature value could not be checked).
+	 *
+	 * @param parameters
+	 *            the parameters of the signature
+	 * @param documents
+	 *            the documents to sign
+	 * @param dataToSign
+	 *            the computed data to be signed
+	 * @param state
+	 *            the prepared structure
+	 */
+	public void put(final AbstractSignatureParameters parameters, final List<DSSDocument> documents, final ToBeSigned dataToSign,
+			final Object state) {
+		if (parameters.getSigningCertificate() == null || dataToSign == null || state == null) {
+			return;
+		}
+		final List<String> documentDigests = getDigests(parameters, documents);
+		if (documentDigests == null) {
+			return;
+		}
+		sessions.put(parameters.getDeterministicId(),
+				new Session(documentDigests, dataToSign.getBytes(), state, System.currentTimeMillis() + timeToLive));
+	}
+
+	/**
+	 * This method returns (and removes) the structure prepared for the parameters if the documents are the ones of
+	 * the first phase and if the signature value matches the cached data to be signed.
+	 *
+	 * @param parameters
+	 *            the parameters of the signature
+	 * @param documents
+	 *            the documents to sign (their content is not read if they are {@code DigestDocument}s)
+	 * @param signatureValue
+	 *            the signature value which will be injected
+	 * @param stateClass
+	 *            the expected type of the prepared structure
+	 * @return the prepared structure or null
+	 */
+	public <T> T get(final AbstractSignatureParameters parameters, final List<DSSDocument> documents, final SignatureValue signatureValue,
+			final Class<T> stateClass) {
+		if (parameters.getSigningCertificate() == null || signatureValue == null) {
+			return null;
+		}
+		final String sessionId = parameters.getDeterministicId();
+		final Session session = sessions.remove(sessionId);
+		if (session == null) {
+			return null;
+		}
+		if (session.expirationTime < System.currentTimeMillis()) {
+			LOG.debug("Signing session '{}' expired", sessionId);
+			return null;
+		}
+		if (!stateClass.isInstance(session.state)) {
+			return null;
+		}
+		if (!session.documentDigests.equals(getDigests(parameters, documents))) {
+			LOG.info("The documents do not match the signing session '{}' : the signature is rebuilt", sessionId);
+			return null;
+		}
+		SignatureAlgorithm signatureAlgorithm = signatureValue.getAlgorithm();
+		if (signatureAlgorithm == null) {
+			signatureAlgorithm = parameters.getSignatureAlgorithm();
+		}
+		if (!isSignatureValid(session.dataToSign, signatureValue.getValue(), signatureAlgorithm, parameters.getSigningCertificate())) {
+			LOG.info("The signature value does not match the signing session '{}' : the signature is rebuilt", sessionId);
+			return null;
+		}
+		return stateClass.cast(session.state);
+	}
+
+	/**
+	 * @return the number of kept sessions (including the expired ones which are not yet evicted)
+	 */
+	public int size() {
+		return sessions.size();
+	}
+
+	/**
+	 * This method removes all the sessions
+	 */
+	public void clear() {
+		sessions.clear();
+	}
+
+	/**
+	 * Returns the digests of the documents with the digest algorithm of the signature (the one available with a
+	 * {@code DigestDocument}), or null if a digest cannot be computed.
+	 */
+	private List<String> getDigests(final AbstractSignatureParameters parameters, final List<DSSDocument> documents) {
+		if (documents == null || parameters.getDigestAlgorithm() == null) {
+			return null;
+		}
+		final List<String> digests = new ArrayList<String>();
+		try {
+			for (final DSSDocument document : documents) {
+				digests.add(document.getDigest(parameters.getDigestAlgorithm()));
+			}
+		} catch (Exception e) {
+			LOG.debug("Unable to compute the digest of a document : {}", e.getMessage());
+			return null;
+		}
+		return digests;
+	}
+
+	private boolean isSignatureValid(final byte[] dataToSign, final byte[] signatureValue, final SignatureAlgorithm signatureAlgorithm,
+			final CertificateToken signingCertificate) {
+		if (signatureAlgorithm == null || signatureValue == null) {
+			return false;
+		}
+		try {
+			final PublicKey publicKey = signingCertificate.getPublicKey();
+			final Signature signature = Signature.getInstance(signatureAlgorithm.getJCEId());
+			signature.initVerify(publicKey);
+			signature.update(dataToSign);
+			return signature.verify(signatureValue);
+		} catch (Exception e) {
+			LOG.debug("Unable to verify the signature value : {}", e.getMessage());
+			return false;
+		}
+	}
+
+	private static class Session {
+
+		private final List<String> documentDigests;
+
+		private final byte[] dataToSign;
+
+		private final Object state;
+
+		private final long expirationTime;
+
+		private Session(List<String> documentDigests, byte[] dataToSign, Object state, long expirationTime) {
+			this.documentDigests = documentDigests;
+			this.dataToSign = dataToSign;
+			this.state = state;
+			this.expirationTime = expirationTime;
+		}
+
+	}
+
+}
@@ -4,11 +4,9 @@ import java.util.Date;
 
 import eu.europa.esig.dss.jaxb.diagnostic.DiagnosticData;
 import eu.europa.esig.dss.validation.executor.CertificateProcessExecutor;
-import eu.europa.esig.dss.validation.policy.EtsiValidationPolicy;
 import eu.europa.esig.dss.validation.policy.ValidationPolicy;
 import eu.europa.esig.dss.validation.reports.CertificateReports;
 import eu.europa.esig.dss.x509.CertificateToken;
-import eu.europa.esig.jaxb.policy.ConstraintsParameters;
 
 public class CertificateValidator {
 
@@ -33,9 +31,7 @@ public class CertificateValidator {
 	}
 
 	public CertificateReports validate() {
-		final ConstraintsParameters validationPolicyJaxb = ValidationResourceManager.loadPolicyData(null);
-		final ValidationPolicy validationPolicy = new EtsiValidationPolicy(validationPolicyJaxb);
-		return validate(validationPolicy);
+		return validate(ValidationResourceManager.loadValidationPolicy(null));
 	}
 
 	public CertificateReports validate(ValidationPolicy validationPolicy) {
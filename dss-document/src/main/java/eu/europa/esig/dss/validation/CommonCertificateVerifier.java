@@ -20,6 +20,8 @@
  */
 package eu.europa.esig.dss.validation;
 
+import java.util.concurrent.ExecutorService;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,6 +29,7 @@ import eu.europa.esig.dss.client.http.DataLoader;
 import eu.europa.esig.dss.client.http.NativeHTTPDataLoader;
 import eu.europa.esig.dss.x509.CertificatePool;
 import eu.europa.esig.dss.x509.CertificateSource;
+import eu.europa.esig.dss.x509.VerifiedSignatureCache;
 import eu.europa.esig.dss.x509.crl.CRLSource;
 import eu.europa.esig.dss.x509.crl.ListCRLSource;
 import eu.europa.esig.dss.x509.ocsp.ListOCSPSource;
@@ -85,6 +88,32 @@ public class CommonCertificateVerifier implements CertificateVerifier {
 	 */
 	private ListOCSPSource signatureOCSPSource;
 
+	/**
+	 * The executor used to verify the tokens concurrently (optional).
+	 */
+	private ExecutorService executorService;
+
+	/**
+	 * The valid certificate signatures, shared by the validation pools of this verifier : a signature is verified once
+	 * for all the validations.
+	 */
+	private final VerifiedSignatureCache verifiedSignatureCache = new VerifiedSignatureCache();
+
+	/**
+	 * This method returns the {@code ExecutorService} of the given verifier, which is only supported by
+	 * {@code CommonCertificateVerifier}.
+	 *
+	 * @param certificateVerifier
+	 *            the certificate verifier
+	 * @return the executor service or null (sequential validation)
+	 */
+	static ExecutorService getExecutorService(final CertificateVerifier certificateVerifier) {
+		if (certificateVerifier instanceof CommonCertificateVerifier) {
+			return ((CommonCertificateVerifier) certificateVerifier).getExecutorService();
+		}
+		return null;
+	}
+
 	/**
 	 * The default constructor. The {@code DataLoader} is created to allow the retrieval of certificates through AIA.
 	 */
@@ -247,7 +276,7 @@ public class CommonCertificateVerifier implements CertificateVerifier {
 
 	@Override
 	public CertificatePool createValidationPool() {
-		final CertificatePool validationPool = new CertificatePool();
+		final CertificatePool validationPool = new CertificatePool(verifiedSignatureCache);
 		if (trustedCertSource != null) {
 			validationPool.merge(trustedCertSource.getCertificatePool());
 		}
@@ -256,4 +285,37 @@ public class CommonCertificateVerifier implements CertificateVerifier {
 		}
 		return validationPool;
 	}
+
+	/**
+	 * Returns the cache of the valid certificate signatures shared by the validation pools (see
+	 * {@link #createValidationPool()}).
+	 *
+	 * @return the cache of the verified signatures
+	 */
+	public VerifiedSignatureCache getVerifiedSignatureCache() {
+		return verifiedSignatureCache;
+	}
+
+	/**
+	 * Returns the {@code ExecutorService} used to retrieve the issuers and the revocation data and to validate the
+	 * signatures concurrently.
+	 *
+	 * @return the executor service or null (sequential validation)
+	 */
+	public ExecutorService getExecutorService() {
+		return executorService;
+	}
+
+	/**
+	 * Sets the {@code ExecutorService} used to retrieve the issuers and the revocation data and to validate the
+	 * signatures concurrently. If this property is not set, the tokens and the signatures are verified one after
+	 * another. The executor is not shut down by DSS.
+	 *
+	 * @param executorService
+	 *            the executor service to use
+	 */
+	public void setExecutorService(final ExecutorService executorService) {
+		this.executorService = executorService;
+	}
+
 }
@@ -429,6 +429,42 @@ public abstract class DefaultAdvancedSignature implements AdvancedSignature {
 		}
 	}
 
+	/**
+	 * This method checks the message imprint of a content timestamp. It can be overridden when the timestamped content
+	 * is a document which should be digested without being loaded in memory.
+	 *
+	 * @param timestampToken
+	 *            the content timestamp to check
+	 */
+	protected void matchContentTimestamp(final TimestampToken timestampToken) {
+		final byte[] timestampBytes = getContentTimestampData(timestampToken);
+		timestampToken.matchData(timestampBytes);
+	}
+
+	/**
+	 * This method checks the message imprint of a signature timestamp. It can be overridden when the timestamped data
+	 * can be digested without being loaded in memory.
+	 *
+	 * @param timestampToken
+	 *            the signature timestamp to check
+	 */
+	protected void matchSignatureTimestamp(final TimestampToken timestampToken) {
+		final byte[] timestampBytes = getSignatureTimestampData(timestampToken, null);
+		timestampToken.matchData(timestampBytes);
+	}
+
+	/**
+	 * This method checks the message imprint of an archive timestamp. It can be overridden when the timestamped data
+	 * can be digested without being loaded in memory.
+	 *
+	 * @param timestampToken
+	 *            the archive timestamp to check
+	 */
+	protected void matchArchiveTimestamp(final TimestampToken timestampToken) {
+		final byte[] timestampData = getArchiveTimestampData(timestampToken, null);
+		timestampToken.matchData(timestampData);
+	}
+
 	/**
 	 * This method adds all timestamps to be validated.
 	 */
@@ -439,16 +475,14 @@ public abstract class DefaultAdvancedSignature implements AdvancedSignature {
 		 * This validates the content-timestamp tokensToProcess present in the signature.
 		 */
 		for (final TimestampToken timestampToken : getContentTimestamps()) {
-			final byte[] timestampBytes = getContentTimestampData(timestampToken);
-			timestampToken.matchData(timestampBytes);
+			matchContentTimestamp(timestampToken);
 		}
 
 		/*
 		 * This validates the signature timestamp tokensToProcess present in the signature.
 		 */
 		for (final TimestampToken timestampToken : getSignatureTimestamps()) {
-			final byte[] timestampBytes = getSignatureTimestampData(timestampToken, null);
-			timestampToken.matchData(timestampBytes);
+			matchSignatureTimestamp(timestampToken);
 		}
 
 		/*
@@ -472,8 +506,7 @@ public abstract class DefaultAdvancedSignature implements AdvancedSignature {
 		 */
 		for (final TimestampToken timestampToken : getArchiveTimestamps()) {
 			if (!timestampToken.isProcessed()) {
-				final byte[] timestampData = getArchiveTimestampData(timestampToken, null);
-				timestampToken.matchData(timestampData);
+				matchArchiveTimestamp(timestampToken);
 			}
 		}
 	}
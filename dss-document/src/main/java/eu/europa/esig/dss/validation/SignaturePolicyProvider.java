@@ -1,7 +1,11 @@
 package eu.europa.esig.dss.validation;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,15 +15,26 @@ import eu.europa.esig.dss.InMemoryDocument;
 import eu.europa.esig.dss.client.http.DataLoader;
 import eu.europa.esig.dss.utils.Utils;
 
+/**
+ * This class provides the signature policies by id or by url. The policies are cached in concurrent maps : the
+ * provider can be shared by concurrent validations. The download of a url is made once at a time (the concurrent
+ * requests for the same url wait for the result) and outside of any lock, the requests for other urls are not
+ * blocked.
+ */
 public class SignaturePolicyProvider {
 
 	private static final Logger LOG = LoggerFactory.getLogger(SignaturePolicyProvider.class);
 
 	private DataLoader dataLoader;
 
-	private Map<String, DSSDocument> signaturePoliciesById = new HashMap<String, DSSDocument>();
+	private Map<String, DSSDocument> signaturePoliciesById = new ConcurrentHashMap<String, DSSDocument>();
 
-	private Map<String, DSSDocument> signaturePoliciesByUrl = new HashMap<String, DSSDocument>();
+	private Map<String, DSSDocument> signaturePoliciesByUrl = new ConcurrentHashMap<String, DSSDocument>();
+
+	/**
+	 * The downloads in progress with the url as key
+	 */
+	private final ConcurrentMap<String, FutureTask<DSSDocument>> downloads = new ConcurrentHashMap<String, FutureTask<DSSDocument>>();
 
 	public DataLoader getDataLoader() {
 		return dataLoader;
@@ -33,11 +48,20 @@ public class SignaturePolicyProvider {
 		return signaturePoliciesById;
 	}
 
+	/**
+	 * This method sets the signature policies by id. The entries are copied in a concurrent map.
+	 *
+	 * @param signaturePoliciesById
+	 *            the signature policies with the policy id as key
+	 */
 	public void setSignaturePoliciesById(Map<String, DSSDocument> signaturePoliciesById) {
-		this.signaturePoliciesById = signaturePoliciesById;
+		this.signaturePoliciesById = new ConcurrentHashMap<String, DSSDocument>(signaturePoliciesById);
 	}
 
 	public DSSDocument getSignaturePolicyById(String policyId) {
+		if (policyId == null) {
+			return null;
+		}
 		return signaturePoliciesById.get(policyId);
 	}
 
@@ -45,33 +69,79 @@ public class SignaturePolicyProvider {
 		return signaturePoliciesByUrl;
 	}
 
+	/**
+	 * This method sets the signature policies by url. The entries are copied in a concurrent map.
+	 *
+	 * @param signaturePoliciesByUrl
+	 *            the signature policies with the url as key
+	 */
 	public void setSignaturePoliciesByUrl(Map<String, DSSDocument> signaturePoliciesByUrl) {
-		this.signaturePoliciesByUrl = signaturePoliciesByUrl;
+		this.signaturePoliciesByUrl = new ConcurrentHashMap<String, DSSDocument>(signaturePoliciesByUrl);
 	}
 
-	public DSSDocument getSignaturePolicyByUrl(String url) {
+	public DSSDocument getSignaturePolicyByUrl(final String url) {
+		if (url == null) {
+			return null;
+		}
 		DSSDocument dssDocument = signaturePoliciesByUrl.get(url);
 		if (dssDocument == null && Utils.isStringNotBlank(url) && dataLoader != null) {
-			try {
-				byte[] bytes = dataLoader.get(url);
-				if (Utils.isArrayEmpty(bytes)) {
-					LOG.warn("Empty content for url '{}'", url);
-					return null;
+			FutureTask<DSSDocument> task = downloads.get(url);
+			if (task == null) {
+				final FutureTask<DSSDocument> newTask = new FutureTask<DSSDocument>(new Callable<DSSDocument>() {
+					@Override
+					public DSSDocument call() {
+						return download(url);
+					}
+				});
+				task = downloads.putIfAbsent(url, newTask);
+				if (task == null) {
+					task = newTask;
+					try {
+						task.run();
+					} finally {
+						// a failed download is tried again by the next request
+						downloads.remove(url, task);
+					}
 				}
-				dssDocument = new InMemoryDocument(bytes);
-				signaturePoliciesByUrl.put(url, dssDocument);
-			} catch (Exception e) {
-				LOG.warn("Unable to download the signature policy with url '{}'", url, e);
 			}
+			dssDocument = getResult(url, task);
 		}
 		return dssDocument;
 	}
 
+	private DSSDocument download(String url) {
+		try {
+			byte[] bytes = dataLoader.get(url);
+			if (Utils.isArrayEmpty(bytes)) {
+				LOG.warn("Empty content for url '{}'", url);
+				return null;
+			}
+			DSSDocument dssDocument = new InMemoryDocument(bytes);
+			signaturePoliciesByUrl.put(url, dssDocument);
+			return dssDocument;
+		} catch (Exception e) {
+			LOG.warn("Unable to download the signature policy with url '{}'", url, e);
+			return null;
+		}
+	}
+
+	private DSSDocument getResult(String url, FutureTask<DSSDocument> task) {
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			LOG.warn("Interrupted while waiting for the signature policy with url '{}'", url);
+		} catch (ExecutionException e) {
+			LOG.warn("Unable to download the signature policy with url '{}'", url, e.getCause());
+		}
+		return null;
+	}
+
 	public DSSDocument getSignaturePolicy(String policyId, String url) {
 		DSSDocument dssDocument = getSignaturePolicyById(policyId);
 		if (dssDocument == null) {
 			dssDocument = getSignaturePolicyByUrl(url);
-			if (dssDocument != null) {
+			if (dssDocument != null && policyId != null) {
 				signaturePoliciesById.put(policyId, dssDocument);
 			}
 		}
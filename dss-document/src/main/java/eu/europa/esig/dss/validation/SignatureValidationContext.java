@@ -26,10 +26,21 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.security.auth.x500.X500Principal;
 
@@ -46,8 +57,12 @@ import eu.europa.esig.dss.x509.CertificateSourceType;
 import eu.europa.esig.dss.x509.CertificateToken;
 import eu.europa.esig.dss.x509.RevocationToken;
 import eu.europa.esig.dss.x509.Token;
+import eu.europa.esig.dss.x509.crl.AsyncCRLSource;
 import eu.europa.esig.dss.x509.crl.CRLSource;
+import eu.europa.esig.dss.x509.crl.CRLToken;
+import eu.europa.esig.dss.x509.ocsp.AsyncOCSPSource;
 import eu.europa.esig.dss.x509.ocsp.OCSPSource;
+import eu.europa.esig.dss.x509.ocsp.OCSPToken;
 
 /**
  * During the validation of a signature, the software retrieves different X509 artifacts like Certificate, CRL and OCSP
@@ -59,15 +74,44 @@ public class SignatureValidationContext implements ValidationContext {
 
 	private static final Logger LOG = LoggerFactory.getLogger(SignatureValidationContext.class);
 
-	private final Set<CertificateToken> processedCertificates = new HashSet<CertificateToken>();
-	private final Set<RevocationToken> processedRevocations = new HashSet<RevocationToken>();
-	private final Set<TimestampToken> processedTimestamps = new HashSet<TimestampToken>();
+	private final Set<CertificateToken> processedCertificates = Collections.synchronizedSet(new HashSet<CertificateToken>());
+	private final Set<RevocationToken> processedRevocations = Collections.synchronizedSet(new HashSet<RevocationToken>());
+	private final Set<TimestampToken> processedTimestamps = Collections.synchronizedSet(new HashSet<TimestampToken>());
 
 	/**
 	 * The data loader used to access AIA certificate source.
 	 */
 	private DataLoader dataLoader;
 
+	/**
+	 * The executor used to verify the tokens concurrently. If null, the tokens are verified one after another.
+	 */
+	private ExecutorService executorService;
+
+	/**
+	 * The AIA downloads (in progress or done) with the concatenated AIA urls as key. It avoids to download twice the
+	 * same issuer for certificates of the same chain level.
+	 */
+	private final ConcurrentMap<String, Future<Collection<CertificateToken>>> aiaDownloads = new ConcurrentHashMap<String, Future<Collection<CertificateToken>>>();
+
+	/**
+	 * The online revocation requests (in progress or done) with the ids of the certificate and of its issuer as key. It
+	 * avoids to request twice the OCSP responder / CRL for the same certificate.
+	 */
+	private final ConcurrentMap<String, Future<RevocationToken>> revocationRequests = new ConcurrentHashMap<String, Future<RevocationToken>>();
+
+	/**
+	 * The OCSP requests sent in advance through an {@code AsyncOCSPSource} and not yet collected, with the same key as
+	 * the revocation requests.
+	 */
+	private final ConcurrentMap<String, Future<OCSPToken>> ocspRequests = new ConcurrentHashMap<String, Future<OCSPToken>>();
+
+	/**
+	 * The CRL requests sent in advance through an {@code AsyncCRLSource} and not yet collected, with the same key as
+	 * the revocation requests.
+	 */
+	private final ConcurrentMap<String, Future<CRLToken>> crlRequests = new ConcurrentHashMap<String, Future<CRLToken>>();
+
 	/**
 	 * The certificate pool which encapsulates all certificates used during the validation process and extracted from
 	 * all used sources
@@ -136,6 +180,7 @@ public class SignatureValidationContext implements ValidationContext {
 		this.dataLoader = certificateVerifier.getDataLoader();
 		this.signatureCRLSource = certificateVerifier.getSignatureCRLSource();
 		this.signatureOCSPSource = certificateVerifier.getSignatureOCSPSource();
+		this.executorService = CommonCertificateVerifier.getExecutorService(certificateVerifier);
 	}
 
 	@Override
@@ -152,22 +197,22 @@ public class SignatureValidationContext implements ValidationContext {
 	}
 
 	/**
-	 * This method returns a token to verify. If there is no more tokens to verify null is returned.
+	 * This method returns all the tokens to verify and marks them as in progress. If there is no more tokens to verify
+	 * an empty list is returned.
 	 *
-	 * @return token to verify or null
+	 * @return the list of tokens to verify
 	 */
-	private Token getNotYetVerifiedToken() {
+	private List<Token> getNotYetVerifiedTokens() {
+		final List<Token> tokens = new ArrayList<Token>();
 		synchronized (tokensToProcess) {
 			for (final Entry<Token, Boolean> entry : tokensToProcess.entrySet()) {
-
 				if (entry.getValue() == null) {
-
 					entry.setValue(true);
-					return entry.getKey();
+					tokens.add(entry.getKey());
 				}
 			}
-			return null;
 		}
+		return tokens;
 	}
 
 	/**
@@ -175,10 +220,13 @@ public class SignatureValidationContext implements ValidationContext {
 	 *
 	 * @param token
 	 *            the token for which the issuer must be obtained.
+	 * @param fullChain
+	 *            true if the issuers of the found issuer must be retrieved too. In the concurrent mode, the issuer is
+	 *            verified by its own task, the chain is not followed.
 	 * @return the issuer certificate token of the given token or null if not found.
 	 * @throws eu.europa.esig.dss.DSSException
 	 */
-	private CertificateToken getIssuerCertificate(final Token token) throws DSSException {
+	private CertificateToken getIssuerCertificate(final Token token, final boolean fullChain) throws DSSException {
 
 		if (token.isTrusted()) {
 
@@ -206,10 +254,10 @@ public class SignatureValidationContext implements ValidationContext {
 
 			token.extraInfo().infoTheSigningCertNotFound();
 		}
-		if ((issuerCertificateToken != null) && !issuerCertificateToken.isTrusted() && !issuerCertificateToken.isSelfSigned()) {
+		if (fullChain && (issuerCertificateToken != null) && !issuerCertificateToken.isTrusted() && !issuerCertificateToken.isSelfSigned()) {
 
 			// The full chain is retrieved for each certificate
-			getIssuerCertificate(issuerCertificateToken);
+			getIssuerCertificate(issuerCertificateToken, true);
 		}
 		return issuerCertificateToken;
 	}
@@ -223,13 +271,13 @@ public class SignatureValidationContext implements ValidationContext {
 	 */
 	private CertificateToken getIssuerFromAIA(final CertificateToken token) {
 		LOG.info("Retrieving {} certificate's issuer using AIA.", token.getAbbreviation());
-		Collection<CertificateToken> candidates = DSSUtils.loadPotentialIssuerCertificates(token, dataLoader);
+		Collection<CertificateToken> candidates = loadPotentialIssuerCertificates(token);
 		if (Utils.isCollectionNotEmpty(candidates)) {
 			for (CertificateToken candidate : candidates) {
 				addCertificateTokenForVerification(validationCertificatePool.getInstance(candidate, CertificateSourceType.AIA));
 			}
 			for (CertificateToken candidate : candidates) {
-				if (token.isSignedBy(candidate)) {
+				if (validationCertificatePool.isSignedBy(token, candidate)) {
 					if (!token.getIssuerX500Principal().equals(candidate.getSubjectX500Principal())) {
 						LOG.info("There is AIA extension, but the issuer subject name and subject name does not match.");
 						LOG.info("CERT ISSUER    : " + token.getIssuerX500Principal().toString());
@@ -243,6 +291,67 @@ public class SignatureValidationContext implements ValidationContext {
 		return null;
 	}
 
+	/**
+	 * Downloads the potential issuers of the given certificate. Concurrent requests for the same AIA urls are executed
+	 * only once and share the result.
+	 *
+	 * @param token
+	 *            {@code CertificateToken} for which the issuer is sought.
+	 * @return the downloaded certificates (or an empty collection)
+	 */
+	private Collection<CertificateToken> loadPotentialIssuerCertificates(final CertificateToken token) {
+		final List<String> urls = DSSASN1Utils.getCAAccessLocations(token);
+		if (Utils.isCollectionEmpty(urls)) {
+			return DSSUtils.loadPotentialIssuerCertificates(token, dataLoader);
+		}
+
+		return execute(aiaDownloads, urls.toString(), new Callable<Collection<CertificateToken>>() {
+			@Override
+			public Collection<CertificateToken> call() throws Exception {
+				return DSSUtils.loadPotentialIssuerCertificates(token, dataLoader);
+			}
+		});
+	}
+
+	/**
+	 * Executes the request only once for the given key : the concurrent callers with the same key wait for the
+	 * result of the first one.
+	 *
+	 * @param requests
+	 *            the requests in progress or done
+	 * @param key
+	 *            the key of the request
+	 * @param request
+	 *            the request to execute
+	 * @return the result of the request
+	 */
+	private <T> T execute(final ConcurrentMap<String, Future<T>> requests, final String key, final Callable<T> request) {
+		Future<T> task = requests.get(key);
+		if (task == null) {
+			final FutureTask<T> newTask = new FutureTask<T>(request);
+			task = requests.putIfAbsent(key, newTask);
+			if (task == null) {
+				task = newTask;
+				newTask.run();
+			}
+		}
+		return getResult(task);
+	}
+
+	private static <T> T getResult(final Future<T> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DSSException("The validation has been interrupted", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof DSSException) {
+				throw (DSSException) e.getCause();
+			}
+			throw new DSSException(e.getCause());
+		}
+	}
+
 	/**
 	 * This function retrieves the issuer certificate from the validation pool (this pool should contain trusted
 	 * certificates). The check is made if the token is well signed by
@@ -256,11 +365,24 @@ public class SignatureValidationContext implements ValidationContext {
 	 */
 	private CertificateToken getIssuerFromPool(final Token token, final X500Principal issuerX500Principal) {
 
-		final List<CertificateToken> issuerCertList = validationCertificatePool.get(issuerX500Principal);
+		final List<CertificateToken> issuerCertList;
+		if (token instanceof CertificateToken) {
+			// the candidates matching the authority key identifier are tried first
+			issuerCertList = validationCertificatePool.getIssuers((CertificateToken) token);
+		} else {
+			issuerCertList = validationCertificatePool.get(issuerX500Principal);
+		}
 		for (final CertificateToken issuerCertToken : issuerCertList) {
 
-			// We keep the first issuer that signs the certificate
-			if (token.isSignedBy(issuerCertToken)) {
+			// We keep the first issuer that signs the certificate (the valid signatures of certificates are verified
+			// once by the pool)
+			final boolean signed;
+			if (token instanceof CertificateToken) {
+				signed = validationCertificatePool.isSignedBy((CertificateToken) token, issuerCertToken);
+			} else {
+				signed = token.isSignedBy(issuerCertToken);
+			}
+			if (signed) {
 
 				return issuerCertToken;
 			}
@@ -360,26 +482,189 @@ public class SignatureValidationContext implements ValidationContext {
 
 	@Override
 	public void validate() throws DSSException {
-		Token token = null;
-		do {
-			token = getNotYetVerifiedToken();
-			if (token != null) {
-
-				/**
-				 * Gets the issuer certificate of the Token and checks its signature
-				 */
-				final CertificateToken issuerCertToken = getIssuerCertificate(token);
-				if (issuerCertToken != null) {
-					addCertificateTokenForVerification(issuerCertToken);
+		if (executorService != null) {
+			validateConcurrently();
+			return;
+		}
+
+		List<Token> tokens = getNotYetVerifiedTokens();
+		while (!tokens.isEmpty()) {
+			verifyTokens(tokens);
+			tokens = getNotYetVerifiedTokens();
+		}
+	}
+
+	/**
+	 * Verifies the given tokens one after another. The downloads which will be needed are started first : the AIA
+	 * downloads of the issuers which are not in the pool, then the OCSP / CRL requests of the certificates without
+	 * embedded revocation data. With an asynchronous data loader, these requests are in flight at the same time.
+	 *
+	 * @param tokens
+	 *            the tokens to verify
+	 */
+	private void verifyTokens(final List<Token> tokens) {
+		for (final Token token : tokens) {
+			if (token instanceof CertificateToken) {
+				requestIssuerInAdvance((CertificateToken) token);
+			}
+		}
+		for (final Token token : tokens) {
+			final CertificateToken issuerCertToken = getIssuerCertificate(token, true);
+			if (issuerCertToken != null) {
+				addCertificateTokenForVerification(issuerCertToken);
+			}
+		}
+
+		final Map<CertificateToken, List<RevocationToken>> embeddedRevocations = new LinkedHashMap<CertificateToken, List<RevocationToken>>();
+		for (final Token token : tokens) {
+			if (token instanceof CertificateToken) {
+				final CertificateToken certToken = (CertificateToken) token;
+				final List<RevocationToken> revocations = getEmbeddedRevocationData(certToken);
+				if ((revocations != null) && revocations.isEmpty()) {
+					requestRevocationDataInAdvance(certToken);
 				}
+				embeddedRevocations.put(certToken, revocations);
+			}
+		}
+		for (final Entry<CertificateToken, List<RevocationToken>> entry : embeddedRevocations.entrySet()) {
+			addRevocationTokensForVerification(getRevocationData(entry.getKey(), entry.getValue()));
+		}
+	}
 
-				if (token instanceof CertificateToken) {
-					final List<RevocationToken> revocationTokens = getRevocationData((CertificateToken) token);
-					addRevocationTokensForVerification(revocationTokens);
+	/**
+	 * Starts the AIA download of the issuer of the given certificate if no candidate is in the pool. The result is
+	 * collected by {@link #loadPotentialIssuerCertificates(CertificateToken)}.
+	 *
+	 * @param token
+	 *            the certificate for which the issuer will be sought
+	 */
+	private void requestIssuerInAdvance(final CertificateToken token) {
+		if (token.isTrusted() || token.isSelfSigned() || (token.getIssuerToken() != null)
+				|| Utils.isCollectionNotEmpty(validationCertificatePool.get(token.getIssuerX500Principal()))) {
+			return;
+		}
+		final List<String> urls = DSSASN1Utils.getCAAccessLocations(token);
+		if (Utils.isCollectionNotEmpty(urls) && !aiaDownloads.containsKey(urls.toString())) {
+			aiaDownloads.putIfAbsent(urls.toString(), DSSUtils.loadPotentialIssuerCertificatesAsync(token, dataLoader));
+		}
+	}
+
+	/**
+	 * Sends the OCSP request of the given certificate if the OCSP source is asynchronous, and the CRL request if the
+	 * certificate cannot be checked with OCSP and the CRL source is asynchronous. The responses are collected by
+	 * {@link #getOnlineRevocationData(CertificateToken)}.
+	 *
+	 * @param certToken
+	 *            the certificate to check (its issuer is known)
+	 */
+	private void requestRevocationDataInAdvance(final CertificateToken certToken) {
+		final String key = getRevocationRequestKey(certToken);
+		if (revocationRequests.containsKey(key)) {
+			return;
+		}
+		try {
+			if ((ocspSource instanceof AsyncOCSPSource) && !ocspRequests.containsKey(key)) {
+				ocspRequests.putIfAbsent(key, ((AsyncOCSPSource) ocspSource).getOCSPTokenAsync(certToken, certToken.getIssuerToken()));
+			}
+			final boolean ocspAvailable = (ocspSource != null) && Utils.isCollectionNotEmpty(DSSASN1Utils.getOCSPAccessLocations(certToken));
+			if (!ocspAvailable && (crlSource instanceof AsyncCRLSource) && !crlRequests.containsKey(key)) {
+				crlRequests.putIfAbsent(key, ((AsyncCRLSource) crlSource).findCrlAsync(certToken));
+			}
+		} catch (DSSException e) {
+			// the request is sent again (and its failure is reported) when the revocation data is retrieved
+			LOG.debug("Unable to send the revocation request in advance for {} : {}", certToken.getDSSIdAsString(), e.getMessage());
+		}
+	}
+
+	/**
+	 * Verifies the tokens with the configured {@code ExecutorService}. A task is submitted for each token as soon as it
+	 * is discovered : the issuer of a token is verified by its own task, in parallel with the revocation data
+	 * retrieval of the token. Independent chains are processed at the same time. If a task fails, the tasks which are
+	 * not started are skipped and the running ones are awaited before the exception is thrown.
+	 */
+	private void validateConcurrently() {
+		final CompletionService<Void> completionService = new ExecutorCompletionService<Void>(executorService);
+		final List<Future<Void>> futures = new ArrayList<Future<Void>>();
+		final AtomicBoolean aborted = new AtomicBoolean();
+		boolean completed = false;
+		try {
+			int pending = 0;
+			List<Token> tokens = getNotYetVerifiedTokens();
+			while (!tokens.isEmpty() || (pending > 0)) {
+				for (final Token token : tokens) {
+					futures.add(completionService.submit(new Callable<Void>() {
+						@Override
+						public Void call() throws Exception {
+							if (!aborted.get()) {
+								verifyToken(token, false);
+							}
+							return null;
+						}
+					}));
+					pending++;
+				}
+				if (pending > 0) {
+					try {
+						getResult(completionService.take());
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new DSSException("The validation has been interrupted", e);
+					}
+					pending--;
 				}
+				tokens = getNotYetVerifiedTokens();
+			}
+			completed = true;
+		} finally {
+			if (!completed) {
+				aborted.set(true);
+				awaitTermination(futures);
+			}
+		}
+	}
 
+	/**
+	 * Waits for the end of the given tasks (their results are ignored). If the current thread is interrupted, the
+	 * remaining tasks are cancelled.
+	 *
+	 * @param futures
+	 *            the submitted tasks
+	 */
+	private void awaitTermination(final List<Future<Void>> futures) {
+		for (final Future<Void> future : futures) {
+			try {
+				future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				for (final Future<Void> remaining : futures) {
+					remaining.cancel(true);
+				}
+				return;
+			} catch (Exception e) {
+				// the first failure is already reported
+				LOG.debug("Token verification failed : {}", e.getMessage());
 			}
-		} while (token != null);
+		}
+	}
+
+	/**
+	 * Gets the issuer certificate of the Token (and checks its signature) and retrieves its revocation data.
+	 *
+	 * @param token
+	 *            the token to verify
+	 * @param fullChain
+	 *            true if the complete chain must be retrieved
+	 */
+	private void verifyToken(final Token token, final boolean fullChain) {
+		final CertificateToken issuerCertToken = getIssuerCertificate(token, fullChain);
+		if (issuerCertToken != null) {
+			addCertificateTokenForVerification(issuerCertToken);
+		}
+
+		if (token instanceof CertificateToken) {
+			final List<RevocationToken> revocationTokens = getRevocationData((CertificateToken) token);
+			addRevocationTokensForVerification(revocationTokens);
+		}
 	}
 
 	/**
@@ -391,22 +676,63 @@ public class SignatureValidationContext implements ValidationContext {
 	 * @return
 	 */
 	private List<RevocationToken> getRevocationData(final CertificateToken certToken) {
+		return getRevocationData(certToken, getEmbeddedRevocationData(certToken));
+	}
+
+	/**
+	 * Completes the revocation data found in the signature with the online sources if none was found.
+	 *
+	 * @param certToken
+	 *            the certificate to check
+	 * @param revocations
+	 *            the result of {@link #getEmbeddedRevocationData(CertificateToken)}
+	 * @return the revocation data of the certificate
+	 */
+	private List<RevocationToken> getRevocationData(final CertificateToken certToken, final List<RevocationToken> revocations) {
+		if (revocations == null) {
+			return Collections.emptyList();
+		}
+
+		if (revocations.isEmpty()) {
+			// Online resources (OCSP and CRL if OCSP doesn't reply)
+			final RevocationToken onlineRevocationToken = getOnlineRevocationData(certToken);
+			if (onlineRevocationToken != null) {
+				revocations.add(onlineRevocationToken);
+			}
+		}
+
+		if (revocations.isEmpty()) {
+			LOG.warn("No revocation found for certificate {}", certToken.getDSSIdAsString());
+		}
+
+		return revocations;
+	}
+
+	/**
+	 * Retrieves the revocation data embedded in the signature.
+	 *
+	 * @param certToken
+	 *            the certificate to check
+	 * @return the revocation data found in the signature (possibly empty) or null if the revocation data of the
+	 *         certificate is not checked (trust anchor, unknown issuer or id-pkix-ocsp-nocheck extension)
+	 */
+	private List<RevocationToken> getEmbeddedRevocationData(final CertificateToken certToken) {
 
 		if (LOG.isTraceEnabled()) {
 			LOG.trace("Checking revocation data for: " + certToken.getDSSIdAsString());
 		}
 		if (certToken.isSelfSigned() || certToken.isTrusted()) {
 			// This check is not needed for the trust anchor.
-			return Collections.emptyList();
+			return null;
 		} else if (certToken.getIssuerToken() == null) {
 			// It is not possible to check the revocation data without its signing certificate;
 			LOG.warn("Cannot retrieve revocation data (issuer is unknown)");
-			return Collections.emptyList();
+			return null;
 		}
 
 		if (DSSASN1Utils.hasIdPkixOcspNoCheckExtension(certToken)) {
 			certToken.extraInfo().infoOCSPNoCheckPresent();
-			return Collections.emptyList();
+			return null;
 		}
 
 		List<RevocationToken> revocations = new ArrayList<RevocationToken>();
@@ -426,21 +752,55 @@ public class SignatureValidationContext implements ValidationContext {
 			}
 		}
 
-		if (revocations.isEmpty()) {
-			// Online resources (OCSP and CRL if OCSP doesn't reply)
-			final OCSPAndCRLCertificateVerifier onlineVerifier = new OCSPAndCRLCertificateVerifier(crlSource, ocspSource, validationCertificatePool);
-			final RevocationToken onlineRevocationToken = onlineVerifier.check(certToken);
-			// CRL can already exist in the signature
-			if (onlineRevocationToken != null && !revocations.contains(onlineRevocationToken)) {
-				revocations.add(onlineRevocationToken);
+		return revocations;
+	}
+
+	/**
+	 * Requests the revocation data from the online sources (OCSP and CRL if OCSP doesn't reply). Concurrent requests
+	 * for the same certificate and issuer are executed only once and share the result.
+	 *
+	 * @param certToken
+	 *            the certificate to check (its issuer is known)
+	 * @return the revocation data or null
+	 */
+	private RevocationToken getOnlineRevocationData(final CertificateToken certToken) {
+		final String key = getRevocationRequestKey(certToken);
+		return execute(revocationRequests, key, new Callable<RevocationToken>() {
+			@Override
+			public RevocationToken call() throws Exception {
+				final OCSPAndCRLCertificateVerifier onlineVerifier = new OCSPAndCRLCertificateVerifier(getCRLSource(key), getOCSPSource(key),
+						validationCertificatePool);
+				return onlineVerifier.check(certToken);
 			}
-		}
+		});
+	}
 
-		if (revocations.isEmpty()) {
-			LOG.warn("No revocation found for certificate {}", certToken.getDSSIdAsString());
+	private String getRevocationRequestKey(final CertificateToken certToken) {
+		return certToken.getDSSIdAsString() + "/" + certToken.getIssuerToken().getDSSIdAsString();
+	}
+
+	/**
+	 * Returns the OCSP source to use for the given request : the response of the request sent in advance or the
+	 * configured OCSP source.
+	 */
+	private OCSPSource getOCSPSource(final String key) {
+		final Future<OCSPToken> response = ocspRequests.remove(key);
+		if (response == null) {
+			return ocspSource;
 		}
+		return new RequestedOCSPSource(response);
+	}
 
-		return revocations;
+	/**
+	 * Returns the CRL source to use for the given request : the response of the request sent in advance or the
+	 * configured CRL source.
+	 */
+	private CRLSource getCRLSource(final String key) {
+		final Future<CRLToken> response = crlRequests.remove(key);
+		if (response == null) {
+			return crlSource;
+		}
+		return new RequestedCRLSource(response);
 	}
 
 	@Override
@@ -495,4 +855,44 @@ public class SignatureValidationContext implements ValidationContext {
 
 		return toString("");
 	}
+
+	/**
+	 * OCSPSource which returns the response of a request sent in advance.
+	 */
+	private static final class RequestedOCSPSource implements OCSPSource {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient Future<OCSPToken> response;
+
+		private RequestedOCSPSource(final Future<OCSPToken> response) {
+			this.response = response;
+		}
+
+		@Override
+		public OCSPToken getOCSPToken(final CertificateToken certificateToken, final CertificateToken issuerCertificateToken) {
+			return getResult(response);
+		}
+
+	}
+
+	/**
+	 * CRLSource which returns the response of a request sent in advance.
+	 */
+	private static final class RequestedCRLSource implements CRLSource {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient Future<CRLToken> response;
+
+		private RequestedCRLSource(final Future<CRLToken> response) {
+			this.response = response;
+		}
+
+		@Override
+		public CRLToken findCrl(final CertificateToken certificateToken) {
+			return getResult(response);
+		}
+
+	}
 }
@@ -28,6 +28,10 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -251,8 +255,7 @@ public abstract class SignedDocumentValidator implements DocumentValidator {
 	 */
 	@Override
 	public Reports validateDocument(final InputStream policyDataStream) {
-		final ConstraintsParameters validationPolicyJaxb = ValidationResourceManager.loadPolicyData(policyDataStream);
-		return validateDocument(validationPolicyJaxb);
+		return validateDocument(ValidationResourceManager.loadValidationPolicy(policyDataStream));
 	}
 
 	/**
@@ -318,20 +321,81 @@ public abstract class SignedDocumentValidator implements DocumentValidator {
 		validationContext.initialize(certificateVerifier);
 		validationContext.validate();
 
-		for (final AdvancedSignature signature : allSignatureList) {
-			signature.checkSigningCertificate();
-			signature.checkSignatureIntegrity();
-			signature.validateTimestamps();
-			if (structuralValidation) {
-				signature.validateStructure();
+		final ExecutorService executorService = CommonCertificateVerifier.getExecutorService(certificateVerifier);
+		if ((executorService == null) || (allSignatureList.size() < 2) || !isConcurrentSignatureValidationSupported()) {
+			for (final AdvancedSignature signature : allSignatureList) {
+				validateSignature(signature, structuralValidation);
 			}
-			signature.checkSignaturePolicy(signaturePolicyProvider);
+		} else {
+			validateSignaturesConcurrently(allSignatureList, structuralValidation, executorService);
+		}
+		return allSignatureList;
+	}
+
+	/**
+	 * This method returns true if the signatures of the document can be validated concurrently (see
+	 * {@link CommonCertificateVerifier#setExecutorService(ExecutorService)}).
+	 *
+	 * @return true by default
+	 */
+	protected boolean isConcurrentSignatureValidationSupported() {
+		return true;
+	}
 
-			if (signatureScopeFinder != null) {
-				signature.findSignatureScope(signatureScopeFinder);
+	/**
+	 * The signatures are independent once the validation context is validated : each signature is checked in its own
+	 * task. The method returns when all the signatures are processed. If a task fails, the outstanding tasks are
+	 * cancelled.
+	 */
+	private void validateSignaturesConcurrently(final List<AdvancedSignature> allSignatureList, final boolean structuralValidation,
+			final ExecutorService executorService) {
+		final List<Future<Void>> futures = new ArrayList<Future<Void>>();
+		for (final AdvancedSignature signature : allSignatureList) {
+			futures.add(executorService.submit(new Callable<Void>() {
+				@Override
+				public Void call() {
+					validateSignature(signature, structuralValidation);
+					return null;
+				}
+			}));
+		}
+		boolean completed = false;
+		try {
+			for (final Future<Void> future : futures) {
+				try {
+					future.get();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new DSSException("The validation has been interrupted", e);
+				} catch (ExecutionException e) {
+					if (e.getCause() instanceof DSSException) {
+						throw (DSSException) e.getCause();
+					}
+					throw new DSSException(e.getCause());
+				}
+			}
+			completed = true;
+		} finally {
+			if (!completed) {
+				for (final Future<Void> future : futures) {
+					future.cancel(true);
+				}
 			}
 		}
-		return allSignatureList;
+	}
+
+	private void validateSignature(final AdvancedSignature signature, final boolean structuralValidation) {
+		signature.checkSigningCertificate();
+		signature.checkSignatureIntegrity();
+		signature.validateTimestamps();
+		if (structuralValidation) {
+			signature.validateStructure();
+		}
+		signature.checkSignaturePolicy(signaturePolicyProvider);
+
+		if (signatureScopeFinder != null) {
+			signature.findSignatureScope(signatureScopeFinder);
+		}
 	}
 
 	/**
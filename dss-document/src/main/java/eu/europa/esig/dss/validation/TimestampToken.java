@@ -39,11 +39,11 @@ import org.bouncycastle.operator.OperatorCreationException;
 import org.bouncycastle.tsp.TSPException;
 import org.bouncycastle.tsp.TSPValidationException;
 import org.bouncycastle.tsp.TimeStampToken;
-import org.bouncycastle.tsp.TimeStampTokenInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import eu.europa.esig.dss.DSSASN1Utils;
+import eu.europa.esig.dss.DSSDocument;
 import eu.europa.esig.dss.DSSException;
 import eu.europa.esig.dss.DSSUtils;
 import eu.europa.esig.dss.DigestAlgorithm;
@@ -240,19 +240,38 @@ public class TimestampToken extends Token {
 
 		if (messageImprintData) {
 			try {
-				final TimeStampTokenInfo timeStampInfo = timeStamp.getTimeStampInfo();
-				final ASN1ObjectIdentifier hashAlgorithm = timeStampInfo.getHashAlgorithm().getAlgorithm();
-				final DigestAlgorithm digestAlgorithm = DigestAlgorithm.forOID(hashAlgorithm.getId());
-
-				final byte[] computedDigest = DSSUtils.digest(digestAlgorithm, data);
-				final byte[] timestampDigest = timeStampInfo.getMessageImprintDigest();
-				messageImprintIntact = Arrays.equals(computedDigest, timestampDigest);
-				if (!messageImprintIntact && !suppressMatchWarnings) {
-					LOG.warn("Computed digest ({}) on the extracted data from the document : {}", digestAlgorithm, Utils.toHex(computedDigest));
-					LOG.warn("Digest present in TimestampToken: {}", Utils.toHex(timestampDigest));
-					LOG.warn("Digest in TimestampToken matches digest of extracted data from document: {}", messageImprintIntact);
-				}
+				final DigestAlgorithm digestAlgorithm = getMessageImprintDigestAlgorithm();
+				matchDigest(digestAlgorithm, DSSUtils.digest(digestAlgorithm, data), suppressMatchWarnings);
+			} catch (DSSException e) {
+				LOG.warn("Unable to validate the timestamp", e);
+			}
+		} else {
+			LOG.warn("Timestamped data not found !");
+		}
 
+		return messageImprintIntact;
+	}
+
+	/**
+	 * Checks if the {@code TimeStampToken} matches the signed document. Unlike {@link #matchData(byte[])}, the
+	 * document is not loaded in memory : its digest is computed by the document itself (streamed from the file, or
+	 * directly returned by a {@code DigestDocument}).
+	 *
+	 * @param document
+	 *            the timestamped document
+	 * @return true if the document is verified by the TimeStampToken
+	 */
+	public boolean matchData(final DSSDocument document) {
+
+		processed = true;
+
+		messageImprintData = document != null;
+		messageImprintIntact = false;
+
+		if (messageImprintData) {
+			try {
+				final DigestAlgorithm digestAlgorithm = getMessageImprintDigestAlgorithm();
+				matchDigest(digestAlgorithm, Utils.fromBase64(document.getDigest(digestAlgorithm)), false);
 			} catch (DSSException e) {
 				LOG.warn("Unable to validate the timestamp", e);
 			}
@@ -263,6 +282,21 @@ public class TimestampToken extends Token {
 		return messageImprintIntact;
 	}
 
+	private DigestAlgorithm getMessageImprintDigestAlgorithm() {
+		final ASN1ObjectIdentifier hashAlgorithm = timeStamp.getTimeStampInfo().getHashAlgorithm().getAlgorithm();
+		return DigestAlgorithm.forOID(hashAlgorithm.getId());
+	}
+
+	private void matchDigest(final DigestAlgorithm digestAlgorithm, final byte[] computedDigest, final boolean suppressMatchWarnings) {
+		final byte[] timestampDigest = timeStamp.getTimeStampInfo().getMessageImprintDigest();
+		messageImprintIntact = Arrays.equals(computedDigest, timestampDigest);
+		if (!messageImprintIntact && !suppressMatchWarnings) {
+			LOG.warn("Computed digest ({}) on the extracted data from the document : {}", digestAlgorithm, Utils.toHex(computedDigest));
+			LOG.warn("Digest present in TimestampToken: {}", Utils.toHex(timestampDigest));
+			LOG.warn("Digest in TimestampToken matches digest of extracted data from document: {}", messageImprintIntact);
+		}
+	}
+
 	public boolean isProcessed() {
 		return processed;
 	}
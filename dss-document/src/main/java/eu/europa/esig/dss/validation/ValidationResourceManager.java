@@ -20,7 +20,11 @@
  */
 package eu.europa.esig.dss.validation;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import javax.xml.XMLConstants;
 import javax.xml.bind.JAXBContext;
@@ -32,9 +36,14 @@ import javax.xml.validation.SchemaFactory;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.xml.sax.SAXException;
 
 import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.DigestAlgorithm;
 import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.validation.policy.EtsiValidationPolicy;
+import eu.europa.esig.dss.validation.policy.ValidationPolicy;
 import eu.europa.esig.jaxb.policy.ConstraintsParameters;
 import eu.europa.esig.jaxb.policy.ObjectFactory;
 
@@ -45,8 +54,27 @@ public class ValidationResourceManager {
 	public static final String defaultPolicyConstraintsLocation = "/policy/constraint.xml";
 	public static final String defaultPolicyXsdLocation = "/xsd/policy.xsd";
 
+	/**
+	 * The number of compiled validation policies kept in memory
+	 */
+	private static final int POLICY_CACHE_SIZE = 16;
+
+	private static final String DEFAULT_POLICY_KEY = "default";
+
 	private static JAXBContext jaxbContext;
 
+	private static Schema schema;
+
+	@SuppressWarnings("serial")
+	private static final Map<String, ValidationPolicy> policyCache = new LinkedHashMap<String, ValidationPolicy>(POLICY_CACHE_SIZE, 0.75f, true) {
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, ValidationPolicy> eldest) {
+			return size() > POLICY_CACHE_SIZE;
+		}
+
+	};
+
 	static {
 		try {
 			jaxbContext = JAXBContext.newInstance(ObjectFactory.class);
@@ -76,6 +104,43 @@ public class ValidationResourceManager {
 		return null;
 	}
 
+	/**
+	 * This method returns the compiled validation policy corresponding to the policy constraint file. If the
+	 * policyDataStream is null then the default policy is returned. The compiled policies are cached by the digest of
+	 * their content : the same file is parsed and validated against the XSD only once. The returned policy is shared
+	 * and must not be modified.
+	 *
+	 * @param policyDataStream
+	 *            the policy constraint file or null
+	 * @return the compiled validation policy
+	 */
+	public static ValidationPolicy loadValidationPolicy(InputStream policyDataStream) {
+		byte[] policyData = null;
+		String key = DEFAULT_POLICY_KEY;
+		if (policyDataStream != null) {
+			try {
+				policyData = Utils.toByteArray(policyDataStream);
+			} catch (IOException e) {
+				throw new DSSException("Unable to read policy : " + e.getMessage(), e);
+			}
+			key = Utils.toBase64(DSSUtils.digest(DigestAlgorithm.SHA256, policyData));
+		}
+
+		synchronized (policyCache) {
+			ValidationPolicy validationPolicy = policyCache.get(key);
+			if (validationPolicy != null) {
+				return validationPolicy;
+			}
+		}
+
+		final ConstraintsParameters validationPolicyJaxb = loadPolicyData(policyData == null ? null : new ByteArrayInputStream(policyData));
+		final ValidationPolicy validationPolicy = new EtsiValidationPolicy(validationPolicyJaxb);
+		synchronized (policyCache) {
+			policyCache.put(key, validationPolicy);
+		}
+		return validationPolicy;
+	}
+
 	/**
 	 * This method loads the data from the resource file into an {@link java.io.InputStream}.
 	 *
@@ -119,11 +184,8 @@ public class ValidationResourceManager {
 	 */
 	public static ConstraintsParameters load(final InputStream inputStream) throws DSSException {
 		try {
-			SchemaFactory sf = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-			Schema schema = sf.newSchema(new StreamSource(ValidationResourceManager.class.getResourceAsStream(defaultPolicyXsdLocation)));
-
 			Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
-			unmarshaller.setSchema(schema);
+			unmarshaller.setSchema(getSchema());
 
 			return (ConstraintsParameters) unmarshaller.unmarshal(inputStream);
 		} catch (Exception e) {
@@ -131,4 +193,15 @@ public class ValidationResourceManager {
 		}
 	}
 
+	/**
+	 * The policy schema is thread-safe : it is parsed once.
+	 */
+	private static synchronized Schema getSchema() throws SAXException {
+		if (schema == null) {
+			SchemaFactory sf = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+			schema = sf.newSchema(new StreamSource(ValidationResourceManager.class.getResourceAsStream(defaultPolicyXsdLocation)));
+		}
+		return schema;
+	}
+
 }
@@ -1,12 +1,15 @@
 package eu.europa.esig.dss;
 
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 import java.io.FileInputStream;
 
 import org.junit.Test;
 
 import eu.europa.esig.dss.validation.ValidationResourceManager;
+import eu.europa.esig.dss.validation.policy.ValidationPolicy;
 
 public class LoadPolicyTest {
 
@@ -20,4 +23,20 @@ public class LoadPolicyTest {
 		assertNotNull(ValidationResourceManager.loadPolicyData(new FileInputStream("src/test/resources/constraint.xml")));
 	}
 
+	@Test
+	public void testCompiledPolicyIsCached() throws Exception {
+		ValidationPolicy policy = ValidationResourceManager.loadValidationPolicy(new FileInputStream("src/test/resources/constraint.xml"));
+		assertNotNull(policy);
+		assertSame(policy, ValidationResourceManager.loadValidationPolicy(new FileInputStream("src/test/resources/constraint.xml")));
+
+		ValidationPolicy defaultPolicy = ValidationResourceManager.loadValidationPolicy(null);
+		assertNotSame(policy, defaultPolicy);
+		assertSame(defaultPolicy, ValidationResourceManager.loadValidationPolicy(null));
+	}
+
+	@Test(expected = DSSException.class)
+	public void testInvalidCompiledPolicy() throws Exception {
+		ValidationResourceManager.loadValidationPolicy(new FileInputStream("src/test/resources/invalid-policy.xml"));
+	}
+
 }
@@ -0,0 +1,146 @@
+package eu.europa.esig.dss.signature;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.Before;
+import org.junit.Test;
+
+import eu.europa.esig.dss.AbstractSignatureParameters;
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.InMemoryDocument;
+import eu.europa.esig.dss.SignatureAlgorithm;
+import eu.europa.esig.dss.SignatureValue;
+import eu.europa.esig.dss.ToBeSigned;
+import eu.europa.esig.dss.x509.CertificateToken;
+
+public class SigningSessionCacheTest {
+
+	private static final List<DSSDocument> DOCUMENTS = Arrays.<DSSDocument> asList(new InMemoryDocument("document".getBytes()));
+
+	private KeyPair keyPair;
+
+	private CertificateToken certificate;
+
+	@Before
+	public void init() throws Exception {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+		generator.initialize(1024);
+		keyPair = generator.generateKeyPair();
+
+		X500Name subject = new X500Name("CN=Signer");
+		Date notBefore = new Date(System.currentTimeMillis() - 3600000);
+		Date notAfter = new Date(System.currentTimeMillis() + 3600000);
+		JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(subject, BigInteger.ONE, notBefore, notAfter, subject,
+				keyPair.getPublic());
+		certificate = new CertificateToken(
+				new JcaX509CertificateConverter().getCertificate(builder.build(new JcaContentSignerBuilder("SHA256withRSA").build(keyPair.getPrivate()))));
+	}
+
+	@Test
+	public void sessionIsReusedOnce() throws Exception {
+		SigningSessionCache cache = new SigningSessionCache(10, 60000);
+		Object state = new Object();
+		ToBeSigned toBeSigned = new ToBeSigned("data to sign".getBytes());
+
+		cache.put(getParameters(), DOCUMENTS, toBeSigned, state);
+		assertEquals(1, cache.size());
+
+		// other parameters instance with the same signing date and certificate
+		assertSame(state, cache.get(getParameters(), DOCUMENTS, sign(toBeSigned), Object.class));
+		assertEquals(0, cache.size());
+		assertNull(cache.get(getParameters(), DOCUMENTS, sign(toBeSigned), Object.class));
+	}
+
+	@Test
+	public void sessionIsNotReusedWithAnotherSignatureValue() throws Exception {
+		SigningSessionCache cache = new SigningSessionCache(10, 60000);
+		cache.put(getParameters(), DOCUMENTS, new ToBeSigned("data to sign".getBytes()), new Object());
+
+		assertNull(cache.get(getParameters(), DOCUMENTS, sign(new ToBeSigned("other data".getBytes())), Object.class));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void sessionIsNotReusedWithAnotherDocument() throws Exception {
+		SigningSessionCache cache = new SigningSessionCache(10, 60000);
+		ToBeSigned toBeSigned = new ToBeSigned("data to sign".getBytes());
+		cache.put(getParameters(), DOCUMENTS, toBeSigned, new Object());
+
+		List<DSSDocument> otherDocuments = Arrays.<DSSDocument> asList(new InMemoryDocument("other document".getBytes()));
+		assertNull(cache.get(getParameters(), otherDocuments, sign(toBeSigned), Object.class));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void sessionIsNotReusedWithAnotherType() throws Exception {
+		SigningSessionCache cache = new SigningSessionCache(10, 60000);
+		ToBeSigned toBeSigned = new ToBeSigned("data to sign".getBytes());
+		cache.put(getParameters(), DOCUMENTS, toBeSigned, new Object());
+
+		assertNull(cache.get(getParameters(), DOCUMENTS, sign(toBeSigned), String.class));
+	}
+
+	@Test
+	public void expiredSessionIsDiscarded() throws Exception {
+		SigningSessionCache cache = new SigningSessionCache(10, 1);
+		ToBeSigned toBeSigned = new ToBeSigned("data to sign".getBytes());
+		cache.put(getParameters(), DOCUMENTS, toBeSigned, new Object());
+
+		Thread.sleep(10);
+		assertNull(cache.get(getParameters(), DOCUMENTS, sign(toBeSigned), Object.class));
+	}
+
+	@Test
+	public void sizeIsBounded() throws Exception {
+		SigningSessionCache cache = new SigningSessionCache(2, 60000);
+		ToBeSigned toBeSigned = new ToBeSigned("data to sign".getBytes());
+		for (int i = 0; i < 5; i++) {
+			SessionParameters parameters = getParameters();
+			parameters.bLevel().setSigningDate(new Date(i * 1000L));
+			cache.put(parameters, DOCUMENTS, toBeSigned, new Object());
+		}
+		assertEquals(2, cache.size());
+	}
+
+	@Test
+	public void nothingIsKeptWithoutSigningCertificate() {
+		SigningSessionCache cache = new SigningSessionCache(10, 60000);
+		SessionParameters parameters = getParameters();
+		parameters.setSigningCertificate(null);
+		cache.put(parameters, DOCUMENTS, new ToBeSigned("data to sign".getBytes()), new Object());
+		assertEquals(0, cache.size());
+	}
+
+	private SessionParameters getParameters() {
+		SessionParameters parameters = new SessionParameters();
+		parameters.bLevel().setSigningDate(new Date(0));
+		parameters.setSigningCertificate(certificate);
+		return parameters;
+	}
+
+	private SignatureValue sign(ToBeSigned toBeSigned) throws Exception {
+		Signature signature = Signature.getInstance("SHA256withRSA");
+		signature.initSign(keyPair.getPrivate());
+		signature.update(toBeSigned.getBytes());
+		return new SignatureValue(SignatureAlgorithm.RSA_SHA256, signature.sign());
+	}
+
+	@SuppressWarnings("serial")
+	private static class SessionParameters extends AbstractSignatureParameters {
+	}
+
+}
@@ -0,0 +1,130 @@
+package eu.europa.esig.dss.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.InMemoryDocument;
+import eu.europa.esig.dss.client.http.IgnoreDataLoader;
+
+public class SignaturePolicyProviderTest {
+
+	private static final String URL = "http://policy.test/policy.der";
+	private static final String OTHER_URL = "http://policy.test/other.der";
+
+	@Test
+	public void sameUrlIsDownloadedOnce() throws Exception {
+		final CountDownLatch release = new CountDownLatch(1);
+		final AtomicInteger downloads = new AtomicInteger();
+		final SignaturePolicyProvider provider = new SignaturePolicyProvider();
+		provider.setDataLoader(new IgnoreDataLoader() {
+			@Override
+			public byte[] get(String url) {
+				downloads.incrementAndGet();
+				try {
+					release.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return new byte[] { 1, 2, 3 };
+			}
+		});
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<DSSDocument>> results = new ArrayList<Future<DSSDocument>>();
+			for (int i = 0; i < 4; i++) {
+				results.add(executor.submit(new Callable<DSSDocument>() {
+					@Override
+					public DSSDocument call() {
+						return provider.getSignaturePolicy("1.2.3", URL);
+					}
+				}));
+			}
+			Thread.sleep(200);
+			release.countDown();
+
+			DSSDocument first = results.get(0).get();
+			assertNotNull(first);
+			for (Future<DSSDocument> result : results) {
+				assertSame(first, result.get());
+			}
+			assertEquals(1, downloads.get());
+			assertSame(first, provider.getSignaturePolicyById("1.2.3"));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void downloadDoesNotBlockOtherLookups() throws Exception {
+		final CountDownLatch release = new CountDownLatch(1);
+		final SignaturePolicyProvider provider = new SignaturePolicyProvider();
+		provider.getSignaturePoliciesById().put("cached", new InMemoryDocument(new byte[] { 4 }));
+		provider.setDataLoader(new IgnoreDataLoader() {
+			@Override
+			public byte[] get(String url) {
+				if (URL.equals(url)) {
+					try {
+						release.await(10, TimeUnit.SECONDS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+				return new byte[] { 5 };
+			}
+		});
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<DSSDocument> slow = executor.submit(new Callable<DSSDocument>() {
+				@Override
+				public DSSDocument call() {
+					return provider.getSignaturePolicyByUrl(URL);
+				}
+			});
+			Thread.sleep(200);
+
+			// the pending download of URL does not lock the provider
+			assertNotNull(provider.getSignaturePolicyById("cached"));
+			assertNotNull(provider.getSignaturePolicyByUrl(OTHER_URL));
+
+			release.countDown();
+			assertNotNull(slow.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void failedDownloadIsRetried() {
+		final AtomicInteger downloads = new AtomicInteger();
+		SignaturePolicyProvider provider = new SignaturePolicyProvider();
+		provider.setDataLoader(new IgnoreDataLoader() {
+			@Override
+			public byte[] get(String url) {
+				return downloads.incrementAndGet() == 1 ? null : new byte[] { 6 };
+			}
+		});
+
+		assertNull(provider.getSignaturePolicyByUrl(URL));
+		assertNotNull(provider.getSignaturePolicyByUrl(URL));
+		assertNotNull(provider.getSignaturePolicyByUrl(URL));
+		assertEquals(2, downloads.get());
+	}
+
+}
@@ -1,9 +1,28 @@
 package eu.europa.esig.dss.validation;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
 import org.junit.Test;
 
 import eu.europa.esig.dss.DSSUtils;
@@ -13,27 +32,37 @@ import eu.europa.esig.dss.x509.CertificatePool;
 import eu.europa.esig.dss.x509.CertificateSource;
 import eu.europa.esig.dss.x509.CertificateToken;
 import eu.europa.esig.dss.x509.CommonTrustedCertificateSource;
+import eu.europa.esig.dss.x509.RevocationToken;
 import eu.europa.esig.dss.x509.TimestampType;
+import eu.europa.esig.dss.x509.Token;
+import eu.europa.esig.dss.x509.ocsp.AsyncOCSPSource;
+import eu.europa.esig.dss.x509.ocsp.OCSPToken;
 
 public class SignatureValidationContextTest {
 
+	private static final String TRUSTED_CERTIFICATE = "MIIDZDCCAkygAwIBAgICC7gwDQYJKoZIhvcNAQELBQAwRDELMAkGA1UEBhMCTFUxFjAUBgNVBAoTDUx1eFRydXN0IHMuYS4xHTAbBgNVBAMTFEx1eFRydXN0IEdsb2JhbCBSb290MB4XDTExMDMxNzA5NTEzN1oXDTIxMDMxNzA5NTEzN1owRDELMAkGA1UEBhMCTFUxFjAUBgNVBAoTDUx1eFRydXN0IHMuYS4xHTAbBgNVBAMTFEx1eFRydXN0IEdsb2JhbCBSb290MIIBIjANBgkqhkiG9w0BAQEFAAOCAQ8AMIIBCgKCAQEAsn+nQPAiygz267Hxyw6VV0B1r6A/Ps7sqjJX5hmxZ0OYWmt8s7j6eJyqpoSyYBuAQc5jzR8XCJmk9e8+EsdMsFeaXHhAePxFjdqRZ9w6Ubltc+a3OY52OrQfBfVpVfmTz3iISr6qm9d7R1tGBEyCFqY19vx039a0r9jitScRdFmiwmYsaArhmIiIPIoFdRTjuK7zCISbasE/MRivJ6VLm6T9eTHemD0OYcqHmMH4ijCc+j4z1aXEAwfh95Z0GAAnOCfRK6qq4UFFi2/xJcLcopeVx0IUM115hCNq52XAV6DYXaljAeew5Ivo+MVjuOVsdJA9x3f8K7p56aTGEnin/wIDAQABo2AwXjAMBgNVHRMEBTADAQH/MA4GA1UdDwEB/wQEAwIBBjAfBgNVHSMEGDAWgBQXFYWJCS8kh28/HRvk8pZ5g0gTzjAdBgNVHQ4EFgQUFxWFiQkvJIdvPx0b5PKWeYNIE84wDQYJKoZIhvcNAQELBQADggEBAFrwHNDUUM9Bfua4nX3DcNBeNv9ujnov3kgR1TQuPLdFwlQlp+HBHjeDtpSutkVIA+qVvuucarQ3XB8u02uCgUNbCj8RVWOs+nwIAjegPDkEM/6XMshS5dklTbDG7mgfcKpzzlcD3H0KDTPy0lrfCmw7zBFRlxqkIaKFNQLXgCLShLL4wKpov9XrqsMLq6F8K/f1O4fhVFfsBSTveUJO84ton+Ruy4KZycwq3FPCH3CDqyEPVrRI/98HIrOM+R2mBN8tAza53W/+MYhm/2xtRDSvCHc+JtJy9LtHVpM8mGPhM7uZI5K1g3noHZ9nrWLWidb2/CfeMifLhNp3hSGhEiE=";
+
+	private static final String SIGNING_CERTIFICATE = "MIIF7jCCBNagAwIBAgIDFL/YMA0GCSqGSIb3DQEBCwUAME4xCzAJBgNVBAYTAkxVMRYwFAYDVQQKEw1MdXhUcnVzdCBTLkEuMScwJQYDVQQDEx5MdXhUcnVzdCBHbG9iYWwgUXVhbGlmaWVkIENBIDIwHhcNMTUxMTIzMTAwMjM3WhcNMTgxMTIzMTAwMjM3WjCB7jELMAkGA1UEBhMCU0kxCzAJBgNVBAcTAkxVMRwwGgYDVQQKExNQdWJsaWNhdGlvbnMgT2ZmaWNlMQ4wDAYDVQQLEwUwMDAwMDEUMBIGA1UEAxMLSmFuZXogU2V2ZXIxDjAMBgNVBAQTBVNldmVyMQ4wDAYDVQQqEwVKYW5lejEdMBsGA1UEBRMUMTExMDU4NTg2MTAwNTQ5OTA2MDcxMTAvBgkqhkiG9w0BCQEWImphbmV6LnNldmVyQHB1YmxpY2F0aW9ucy5ldXJvcGEuZXUxHDAaBgNVBAwTE1Byb2Zlc3Npb25hbCBQZXJzb24wggEiMA0GCSqGSIb3DQEBAQUAA4IBDwAwggEKAoIBAQCwE1YtW/zh4eyHFpGGMOJWSDuEoTo2effHdypTurBlEObHNyHN3tZi3FS956p85WaYq6Dz4boI+HmbWb//e4RgcuKI1W7uazEkyMy5+O+qvZpBcGLgNJhfdlE3r/zI2JgXKaazkwvkM+zIzl9SbsdOg/FIY3+/0OPnkyvKWXLkoAnJp7ELyoQfA3v0tbHTndqnGEldlbRdhof0AcPRaDQSkXEJuM9getPyjjwZ3he4bnqGczjQh+4+Ay9trOmaXXoJfQMgxydw9hhIZiFzk4WxNpvmoHcPaxj754ZoXYWCt0AaUuV2FuNsX5SZ/6EO6zZaRvuTInvxVVLy71Wnezu/AgMBAAGjggIyMIICLjAMBgNVHRMBAf8EAjAAMGIGCCsGAQUFBwEBBFYwVDAjBggrBgEFBQcwAYYXaHR0cDovL29jc3AubHV4dHJ1c3QubHUwLQYIKwYBBQUHMAKGIWh0dHA6Ly9jYS5sdXh0cnVzdC5sdS9MVEdRQ0EyLmNydDCCAR4GA1UdIASCARUwggERMIIBAwYIK4ErAQEKAwEwgfYwgccGCCsGAQUFBwICMIG6GoG3THV4VHJ1c3QgUXVhbGlmaWVkIENlcnRpZmljYXRlIG9uIFNTQ0QgQ29tcGxpYW50IHdpdGggRVRTSSBUUyAxMDEgNDU2IFFDUCsgY2VydGlmaWNhdGUgcG9saWN5LiBLZXkgR2VuZXJhdGlvbiBieSBDU1AuIFNvbGUgQXV0aG9yaXNlZCBVc2FnZTogU3VwcG9ydCBvZiBRdWFsaWZpZWQgRWxlY3Ryb25pYyBTaWduYXR1cmUuMCoGCCsGAQUFBwIBFh5odHRwczovL3JlcG9zaXRvcnkubHV4dHJ1c3QubHUwCAYGBACLMAEBMCIGCCsGAQUFBwEDBBYwFDAIBgYEAI5GAQEwCAYGBACORgEEMAsGA1UdDwQEAwIGQDAfBgNVHSMEGDAWgBTvlr99ZTpVtNJw+AzsSuLzJwaaUjAzBgNVHR8ELDAqMCigJqAkhiJodHRwOi8vY3JsLmx1eHRydXN0Lmx1L0xUR1FDQTIuY3JsMBEGA1UdDgQKBAhPkkyEGqPT6zANBgkqhkiG9w0BAQsFAAOCAQEAhQ85p0P7vPHPM+obi6Nr/pYFGbRRax+Ncam0ZJT+Ivy6B/En7EsXwIlwKhzP0RYsUTneiJlUx1wxPSw9x/q53ZKIHMxZgOkjTnht3Ddqsf7KUzIzAAV7leDunAwmhuNtDAcksKGbgA94wXHtfLfCzK+J5Z+F7c6+a9ViXwfYaxeLL5fcLIxSL2wbN1msyjF69mLZ+WjXEJhWZokmUmxHZPfJxk2Gg+cCF6sm5r3JRRUWOnkbXzGDFH5/OraYxcY1Xa6Z544sqrgUQrzgMeW/8SAyRf3Zu7TO1GSjB5Vy1X7727zt3BJmUqWg8hnYQ7D1IDFOXU2j1CBynRMgTXj25Q==";
+
+	private static final String TIMESTAMP = "MIIIeQYJKoZIhvcNAQcCoIIIajCCCGYCAQMxDzANBglghkgBZQMEAgEFADCCARcGCyqGSIb3DQEJEAEEoIIBBgSCAQIwgf8CAQEGCisGAQQB+0sFAgIwMTANBglghkgBZQMEAgEFAAQglpOQ7OAK4W1yrehpc9Ru/cM4s30d+ckg6Z+3A76VxqcCFQD3FqBBui0KeqzF5Yw4rKBQ/CqmQhgTMjAxNzA0MjcwNjEwMzcuNDQzWjADgAEBAQH/AgkA9Q8FD+qHq56gfKR6MHgxKTAnBgNVBAMTIFVuaXZlcnNpZ24gVGltZXN0YW1waW5nIFVuaXQgMDE3MRwwGgYDVQQLExMwMDAyIDQzOTEyOTE2NDAwMDI2MSAwHgYDVQQKExdDcnlwdG9sb2cgSW50ZXJuYXRpb25hbDELMAkGA1UEBhMCRlKgggRhMIIEXTCCA0WgAwIBAgIRAIXfg8Wy+RxvNPq4ooTfu3gwDQYJKoZIhvcNAQELBQAwdzELMAkGA1UEBhMCRlIxIDAeBgNVBAoTF0NyeXB0b2xvZyBJbnRlcm5hdGlvbmFsMRwwGgYDVQQLExMwMDAyIDQzOTEyOTE2NDAwMDI2MSgwJgYDVQQDEx9Vbml2ZXJzaWduIFRpbWVzdGFtcGluZyBDQSAyMDE1MB4XDTE3MDMyMzEwMDcxMloXDTIzMDMyMzEwMDcxMloweDEpMCcGA1UEAxMgVW5pdmVyc2lnbiBUaW1lc3RhbXBpbmcgVW5pdCAwMTcxHDAaBgNVBAsTEzAwMDIgNDM5MTI5MTY0MDAwMjYxIDAeBgNVBAoTF0NyeXB0b2xvZyBJbnRlcm5hdGlvbmFsMQswCQYDVQQGEwJGUjCCASIwDQYJKoZIhvcNAQEBBQADggEPADCCAQoCggEBALvkTUmAEMbWX/8JNEsptM/ioLmOQAh3B9l7SMqeBGavDGwRfFQ51nyHT0z2PJ0geNPJOYLSczPcQgkUfkie+WWnevwUpVwEGXsrplvrSwQCaHeOhMzct8Uy6rUPxn2u6vPVkRI4p3xxBiD8TCkqDFTHfMi3r5YFYDrJ2iGYfh5Q/KPS5qZNNIfKHd9cQYYhQFfDcLhItJiKrx6+zemLbKIB+HzqpzRD/MK/PYmva9Y0THOUJ9KW6pPK+HoAcpm5OnfAVrA4x9dVT2pE84viyCZ8MCpgkEJsuS+xImwksQmo9YxtxDlfDDbebDq8JPh1JPvLWWIQG5Sw3MJSFJYfyG0CAwEAAaOB4jCB3zAJBgNVHRMEAjAAMEEGA1UdIAQ6MDgwNgYKKwYBBAH7SwUBATAoMCYGCCsGAQUFBwIBFhpodHRwOi8vZG9jcy51bml2ZXJzaWduLmV1LzBGBgNVHR8EPzA9MDugOaA3hjVodHRwOi8vY3JsLnVuaXZlcnNpZ24uZXUvdW5pdmVyc2lnbl90c2Ffcm9vdF8yMDE1LmNybDAOBgNVHQ8BAf8EBAMCB4AwFgYDVR0lAQH/BAwwCgYIKwYBBQUHAwgwHwYDVR0jBBgwFoAU+k3tVzu9P/ORM5oLOaR/XRLdB0YwDQYJKoZIhvcNAQELBQADggEBAC3hQlq7JdDdSuBvnttN7Z7rJRId3w1awNaC0loQcDQ3txW3aKNnIe6HthwdAkVxhxnkhK5pbBVpYq9me25PpCWlqnanUZsT0kl2FpmIsdw03cHpluihV4f31wp8r+JGu2wj0+91lQkAHfnayB7W/uGiPJjjhlY0sl9Lp2VtTgBfCNJZFNemL725BQlWlzn3qOepv/NTa6vHndu6fah6W/TAxMUNTpbOUQ1hbdqWMBzmg5CH6Lwohnm6/7WGLjm14ENltv9hg3gBXTX6hBCys3IkF4bE9wIUWbhOm55mwKRfSgZbr6dGnq5Nx7KWjE8V3ExkVeZWcE/ivOweUGaZHHUxggLOMIICygIBATCBjDB3MQswCQYDVQQGEwJGUjEgMB4GA1UEChMXQ3J5cHRvbG9nIEludGVybmF0aW9uYWwxHDAaBgNVBAsTEzAwMDIgNDM5MTI5MTY0MDAwMjYxKDAmBgNVBAMTH1VuaXZlcnNpZ24gVGltZXN0YW1waW5nIENBIDIwMTUCEQCF34PFsvkcbzT6uKKE37t4MA0GCWCGSAFlAwQCAQUAoIIBEjAaBgkqhkiG9w0BCQMxDQYLKoZIhvcNAQkQAQQwLwYJKoZIhvcNAQkEMSIEIF/5vrW6p1HJTWPzFj9+f+BC7fA6dqxqUSKUDEcnArVFMIHCBgsqhkiG9w0BCRACDDGBsjCBrzCBrDCBqQQUbvEQFkqwfgLnwZQ2qPkKt6JIND8wgZAwe6R5MHcxCzAJBgNVBAYTAkZSMSAwHgYDVQQKExdDcnlwdG9sb2cgSW50ZXJuYXRpb25hbDEcMBoGA1UECxMTMDAwMiA0MzkxMjkxNjQwMDAyNjEoMCYGA1UEAxMfVW5pdmVyc2lnbiBUaW1lc3RhbXBpbmcgQ0EgMjAxNQIRAIXfg8Wy+RxvNPq4ooTfu3gwDQYJKoZIhvcNAQELBQAEggEAIinJKkZU7I+6g1aSmh/7pbpbN8tLAiaQCS24G8MziaBfqP4aNyAXO0LChwFlELFXNH/AowZTj9PlP1ProPXRjli8arAO3D7drWRPJotdoG9ZkYf/4JFbKGpeogAVYk+vrfLSHhScm4gtXaffGgta29gFn8XjTLXtA89B8crfOjyiz0atbxXkL+7m0oj2iF+8N9y5pXfQ5JyYjC5Ni7HMmGnL4VDn9kd/sQXLcHw2Bq4BHL7tHXu4gRy3vHK05Z8JLP9AxpiGvXqgs9VjXLeYGv2t6oU2KQXUtqEfzzoflT4Ec5QsV9ukjEaZ0GRHb/pwHI7dmXzC27hpRacmztSgxA==";
+
 	@Test
 	public void test() throws Exception {
 		CertificateVerifier certificateVerifier = new CommonCertificateVerifier();
 		CertificateSource certSource = new CommonTrustedCertificateSource();
 		certSource.addCertificate(DSSUtils.loadCertificateFromBase64EncodedString(
-				"MIIDZDCCAkygAwIBAgICC7gwDQYJKoZIhvcNAQELBQAwRDELMAkGA1UEBhMCTFUxFjAUBgNVBAoTDUx1eFRydXN0IHMuYS4xHTAbBgNVBAMTFEx1eFRydXN0IEdsb2JhbCBSb290MB4XDTExMDMxNzA5NTEzN1oXDTIxMDMxNzA5NTEzN1owRDELMAkGA1UEBhMCTFUxFjAUBgNVBAoTDUx1eFRydXN0IHMuYS4xHTAbBgNVBAMTFEx1eFRydXN0IEdsb2JhbCBSb290MIIBIjANBgkqhkiG9w0BAQEFAAOCAQ8AMIIBCgKCAQEAsn+nQPAiygz267Hxyw6VV0B1r6A/Ps7sqjJX5hmxZ0OYWmt8s7j6eJyqpoSyYBuAQc5jzR8XCJmk9e8+EsdMsFeaXHhAePxFjdqRZ9w6Ubltc+a3OY52OrQfBfVpVfmTz3iISr6qm9d7R1tGBEyCFqY19vx039a0r9jitScRdFmiwmYsaArhmIiIPIoFdRTjuK7zCISbasE/MRivJ6VLm6T9eTHemD0OYcqHmMH4ijCc+j4z1aXEAwfh95Z0GAAnOCfRK6qq4UFFi2/xJcLcopeVx0IUM115hCNq52XAV6DYXaljAeew5Ivo+MVjuOVsdJA9x3f8K7p56aTGEnin/wIDAQABo2AwXjAMBgNVHRMEBTADAQH/MA4GA1UdDwEB/wQEAwIBBjAfBgNVHSMEGDAWgBQXFYWJCS8kh28/HRvk8pZ5g0gTzjAdBgNVHQ4EFgQUFxWFiQkvJIdvPx0b5PKWeYNIE84wDQYJKoZIhvcNAQELBQADggEBAFrwHNDUUM9Bfua4nX3DcNBeNv9ujnov3kgR1TQuPLdFwlQlp+HBHjeDtpSutkVIA+qVvuucarQ3XB8u02uCgUNbCj8RVWOs+nwIAjegPDkEM/6XMshS5dklTbDG7mgfcKpzzlcD3H0KDTPy0lrfCmw7zBFRlxqkIaKFNQLXgCLShLL4wKpov9XrqsMLq6F8K/f1O4fhVFfsBSTveUJO84ton+Ruy4KZycwq3FPCH3CDqyEPVrRI/98HIrOM+R2mBN8tAza53W/+MYhm/2xtRDSvCHc+JtJy9LtHVpM8mGPhM7uZI5K1g3noHZ9nrWLWidb2/CfeMifLhNp3hSGhEiE="));
+				TRUSTED_CERTIFICATE));
 		certificateVerifier.setTrustedCertSource(certSource);
 
 		SignatureValidationContext svc = new SignatureValidationContext();
 		svc.initialize(certificateVerifier);
 		CertificateToken certificateToken = DSSUtils.loadCertificateFromBase64EncodedString(
-				"MIIF7jCCBNagAwIBAgIDFL/YMA0GCSqGSIb3DQEBCwUAME4xCzAJBgNVBAYTAkxVMRYwFAYDVQQKEw1MdXhUcnVzdCBTLkEuMScwJQYDVQQDEx5MdXhUcnVzdCBHbG9iYWwgUXVhbGlmaWVkIENBIDIwHhcNMTUxMTIzMTAwMjM3WhcNMTgxMTIzMTAwMjM3WjCB7jELMAkGA1UEBhMCU0kxCzAJBgNVBAcTAkxVMRwwGgYDVQQKExNQdWJsaWNhdGlvbnMgT2ZmaWNlMQ4wDAYDVQQLEwUwMDAwMDEUMBIGA1UEAxMLSmFuZXogU2V2ZXIxDjAMBgNVBAQTBVNldmVyMQ4wDAYDVQQqEwVKYW5lejEdMBsGA1UEBRMUMTExMDU4NTg2MTAwNTQ5OTA2MDcxMTAvBgkqhkiG9w0BCQEWImphbmV6LnNldmVyQHB1YmxpY2F0aW9ucy5ldXJvcGEuZXUxHDAaBgNVBAwTE1Byb2Zlc3Npb25hbCBQZXJzb24wggEiMA0GCSqGSIb3DQEBAQUAA4IBDwAwggEKAoIBAQCwE1YtW/zh4eyHFpGGMOJWSDuEoTo2effHdypTurBlEObHNyHN3tZi3FS956p85WaYq6Dz4boI+HmbWb//e4RgcuKI1W7uazEkyMy5+O+qvZpBcGLgNJhfdlE3r/zI2JgXKaazkwvkM+zIzl9SbsdOg/FIY3+/0OPnkyvKWXLkoAnJp7ELyoQfA3v0tbHTndqnGEldlbRdhof0AcPRaDQSkXEJuM9getPyjjwZ3he4bnqGczjQh+4+Ay9trOmaXXoJfQMgxydw9hhIZiFzk4WxNpvmoHcPaxj754ZoXYWCt0AaUuV2FuNsX5SZ/6EO6zZaRvuTInvxVVLy71Wnezu/AgMBAAGjggIyMIICLjAMBgNVHRMBAf8EAjAAMGIGCCsGAQUFBwEBBFYwVDAjBggrBgEFBQcwAYYXaHR0cDovL29jc3AubHV4dHJ1c3QubHUwLQYIKwYBBQUHMAKGIWh0dHA6Ly9jYS5sdXh0cnVzdC5sdS9MVEdRQ0EyLmNydDCCAR4GA1UdIASCARUwggERMIIBAwYIK4ErAQEKAwEwgfYwgccGCCsGAQUFBwICMIG6GoG3THV4VHJ1c3QgUXVhbGlmaWVkIENlcnRpZmljYXRlIG9uIFNTQ0QgQ29tcGxpYW50IHdpdGggRVRTSSBUUyAxMDEgNDU2IFFDUCsgY2VydGlmaWNhdGUgcG9saWN5LiBLZXkgR2VuZXJhdGlvbiBieSBDU1AuIFNvbGUgQXV0aG9yaXNlZCBVc2FnZTogU3VwcG9ydCBvZiBRdWFsaWZpZWQgRWxlY3Ryb25pYyBTaWduYXR1cmUuMCoGCCsGAQUFBwIBFh5odHRwczovL3JlcG9zaXRvcnkubHV4dHJ1c3QubHUwCAYGBACLMAEBMCIGCCsGAQUFBwEDBBYwFDAIBgYEAI5GAQEwCAYGBACORgEEMAsGA1UdDwQEAwIGQDAfBgNVHSMEGDAWgBTvlr99ZTpVtNJw+AzsSuLzJwaaUjAzBgNVHR8ELDAqMCigJqAkhiJodHRwOi8vY3JsLmx1eHRydXN0Lmx1L0xUR1FDQTIuY3JsMBEGA1UdDgQKBAhPkkyEGqPT6zANBgkqhkiG9w0BAQsFAAOCAQEAhQ85p0P7vPHPM+obi6Nr/pYFGbRRax+Ncam0ZJT+Ivy6B/En7EsXwIlwKhzP0RYsUTneiJlUx1wxPSw9x/q53ZKIHMxZgOkjTnht3Ddqsf7KUzIzAAV7leDunAwmhuNtDAcksKGbgA94wXHtfLfCzK+J5Z+F7c6+a9ViXwfYaxeLL5fcLIxSL2wbN1msyjF69mLZ+WjXEJhWZokmUmxHZPfJxk2Gg+cCF6sm5r3JRRUWOnkbXzGDFH5/OraYxcY1Xa6Z544sqrgUQrzgMeW/8SAyRf3Zu7TO1GSjB5Vy1X7727zt3BJmUqWg8hnYQ7D1IDFOXU2j1CBynRMgTXj25Q==");
+				SIGNING_CERTIFICATE);
 		svc.addCertificateTokenForVerification(certificateToken);
 		svc.addCertificateTokenForVerification(certificateToken); // add twice for test
 
 		TimestampToken timestampToken = new TimestampToken(Utils.fromBase64(
-				"MIIIeQYJKoZIhvcNAQcCoIIIajCCCGYCAQMxDzANBglghkgBZQMEAgEFADCCARcGCyqGSIb3DQEJEAEEoIIBBgSCAQIwgf8CAQEGCisGAQQB+0sFAgIwMTANBglghkgBZQMEAgEFAAQglpOQ7OAK4W1yrehpc9Ru/cM4s30d+ckg6Z+3A76VxqcCFQD3FqBBui0KeqzF5Yw4rKBQ/CqmQhgTMjAxNzA0MjcwNjEwMzcuNDQzWjADgAEBAQH/AgkA9Q8FD+qHq56gfKR6MHgxKTAnBgNVBAMTIFVuaXZlcnNpZ24gVGltZXN0YW1waW5nIFVuaXQgMDE3MRwwGgYDVQQLExMwMDAyIDQzOTEyOTE2NDAwMDI2MSAwHgYDVQQKExdDcnlwdG9sb2cgSW50ZXJuYXRpb25hbDELMAkGA1UEBhMCRlKgggRhMIIEXTCCA0WgAwIBAgIRAIXfg8Wy+RxvNPq4ooTfu3gwDQYJKoZIhvcNAQELBQAwdzELMAkGA1UEBhMCRlIxIDAeBgNVBAoTF0NyeXB0b2xvZyBJbnRlcm5hdGlvbmFsMRwwGgYDVQQLExMwMDAyIDQzOTEyOTE2NDAwMDI2MSgwJgYDVQQDEx9Vbml2ZXJzaWduIFRpbWVzdGFtcGluZyBDQSAyMDE1MB4XDTE3MDMyMzEwMDcxMloXDTIzMDMyMzEwMDcxMloweDEpMCcGA1UEAxMgVW5pdmVyc2lnbiBUaW1lc3RhbXBpbmcgVW5pdCAwMTcxHDAaBgNVBAsTEzAwMDIgNDM5MTI5MTY0MDAwMjYxIDAeBgNVBAoTF0NyeXB0b2xvZyBJbnRlcm5hdGlvbmFsMQswCQYDVQQGEwJGUjCCASIwDQYJKoZIhvcNAQEBBQADggEPADCCAQoCggEBALvkTUmAEMbWX/8JNEsptM/ioLmOQAh3B9l7SMqeBGavDGwRfFQ51nyHT0z2PJ0geNPJOYLSczPcQgkUfkie+WWnevwUpVwEGXsrplvrSwQCaHeOhMzct8Uy6rUPxn2u6vPVkRI4p3xxBiD8TCkqDFTHfMi3r5YFYDrJ2iGYfh5Q/KPS5qZNNIfKHd9cQYYhQFfDcLhItJiKrx6+zemLbKIB+HzqpzRD/MK/PYmva9Y0THOUJ9KW6pPK+HoAcpm5OnfAVrA4x9dVT2pE84viyCZ8MCpgkEJsuS+xImwksQmo9YxtxDlfDDbebDq8JPh1JPvLWWIQG5Sw3MJSFJYfyG0CAwEAAaOB4jCB3zAJBgNVHRMEAjAAMEEGA1UdIAQ6MDgwNgYKKwYBBAH7SwUBATAoMCYGCCsGAQUFBwIBFhpodHRwOi8vZG9jcy51bml2ZXJzaWduLmV1LzBGBgNVHR8EPzA9MDugOaA3hjVodHRwOi8vY3JsLnVuaXZlcnNpZ24uZXUvdW5pdmVyc2lnbl90c2Ffcm9vdF8yMDE1LmNybDAOBgNVHQ8BAf8EBAMCB4AwFgYDVR0lAQH/BAwwCgYIKwYBBQUHAwgwHwYDVR0jBBgwFoAU+k3tVzu9P/ORM5oLOaR/XRLdB0YwDQYJKoZIhvcNAQELBQADggEBAC3hQlq7JdDdSuBvnttN7Z7rJRId3w1awNaC0loQcDQ3txW3aKNnIe6HthwdAkVxhxnkhK5pbBVpYq9me25PpCWlqnanUZsT0kl2FpmIsdw03cHpluihV4f31wp8r+JGu2wj0+91lQkAHfnayB7W/uGiPJjjhlY0sl9Lp2VtTgBfCNJZFNemL725BQlWlzn3qOepv/NTa6vHndu6fah6W/TAxMUNTpbOUQ1hbdqWMBzmg5CH6Lwohnm6/7WGLjm14ENltv9hg3gBXTX6hBCys3IkF4bE9wIUWbhOm55mwKRfSgZbr6dGnq5Nx7KWjE8V3ExkVeZWcE/ivOweUGaZHHUxggLOMIICygIBATCBjDB3MQswCQYDVQQGEwJGUjEgMB4GA1UEChMXQ3J5cHRvbG9nIEludGVybmF0aW9uYWwxHDAaBgNVBAsTEzAwMDIgNDM5MTI5MTY0MDAwMjYxKDAmBgNVBAMTH1VuaXZlcnNpZ24gVGltZXN0YW1waW5nIENBIDIwMTUCEQCF34PFsvkcbzT6uKKE37t4MA0GCWCGSAFlAwQCAQUAoIIBEjAaBgkqhkiG9w0BCQMxDQYLKoZIhvcNAQkQAQQwLwYJKoZIhvcNAQkEMSIEIF/5vrW6p1HJTWPzFj9+f+BC7fA6dqxqUSKUDEcnArVFMIHCBgsqhkiG9w0BCRACDDGBsjCBrzCBrDCBqQQUbvEQFkqwfgLnwZQ2qPkKt6JIND8wgZAwe6R5MHcxCzAJBgNVBAYTAkZSMSAwHgYDVQQKExdDcnlwdG9sb2cgSW50ZXJuYXRpb25hbDEcMBoGA1UECxMTMDAwMiA0MzkxMjkxNjQwMDAyNjEoMCYGA1UEAxMfVW5pdmVyc2lnbiBUaW1lc3RhbXBpbmcgQ0EgMjAxNQIRAIXfg8Wy+RxvNPq4ooTfu3gwDQYJKoZIhvcNAQELBQAEggEAIinJKkZU7I+6g1aSmh/7pbpbN8tLAiaQCS24G8MziaBfqP4aNyAXO0LChwFlELFXNH/AowZTj9PlP1ProPXRjli8arAO3D7drWRPJotdoG9ZkYf/4JFbKGpeogAVYk+vrfLSHhScm4gtXaffGgta29gFn8XjTLXtA89B8crfOjyiz0atbxXkL+7m0oj2iF+8N9y5pXfQ5JyYjC5Ni7HMmGnL4VDn9kd/sQXLcHw2Bq4BHL7tHXu4gRy3vHK05Z8JLP9AxpiGvXqgs9VjXLeYGv2t6oU2KQXUtqEfzzoflT4Ec5QsV9ukjEaZ0GRHb/pwHI7dmXzC27hpRacmztSgxA=="),
+				TIMESTAMP),
 				TimestampType.SIGNATURE_TIMESTAMP, new CertificatePool());
 		svc.addTimestampTokenForVerification(timestampToken);
 		svc.addTimestampTokenForVerification(timestampToken); // add twice for test
@@ -52,7 +81,7 @@ public class SignatureValidationContextTest {
 		CertificateVerifier certificateVerifier = new CommonCertificateVerifier();
 		CertificateSource certSource = new CommonTrustedCertificateSource();
 		certSource.addCertificate(DSSUtils.loadCertificateFromBase64EncodedString(
-				"MIIDZDCCAkygAwIBAgICC7gwDQYJKoZIhvcNAQELBQAwRDELMAkGA1UEBhMCTFUxFjAUBgNVBAoTDUx1eFRydXN0IHMuYS4xHTAbBgNVBAMTFEx1eFRydXN0IEdsb2JhbCBSb290MB4XDTExMDMxNzA5NTEzN1oXDTIxMDMxNzA5NTEzN1owRDELMAkGA1UEBhMCTFUxFjAUBgNVBAoTDUx1eFRydXN0IHMuYS4xHTAbBgNVBAMTFEx1eFRydXN0IEdsb2JhbCBSb290MIIBIjANBgkqhkiG9w0BAQEFAAOCAQ8AMIIBCgKCAQEAsn+nQPAiygz267Hxyw6VV0B1r6A/Ps7sqjJX5hmxZ0OYWmt8s7j6eJyqpoSyYBuAQc5jzR8XCJmk9e8+EsdMsFeaXHhAePxFjdqRZ9w6Ubltc+a3OY52OrQfBfVpVfmTz3iISr6qm9d7R1tGBEyCFqY19vx039a0r9jitScRdFmiwmYsaArhmIiIPIoFdRTjuK7zCISbasE/MRivJ6VLm6T9eTHemD0OYcqHmMH4ijCc+j4z1aXEAwfh95Z0GAAnOCfRK6qq4UFFi2/xJcLcopeVx0IUM115hCNq52XAV6DYXaljAeew5Ivo+MVjuOVsdJA9x3f8K7p56aTGEnin/wIDAQABo2AwXjAMBgNVHRMEBTADAQH/MA4GA1UdDwEB/wQEAwIBBjAfBgNVHSMEGDAWgBQXFYWJCS8kh28/HRvk8pZ5g0gTzjAdBgNVHQ4EFgQUFxWFiQkvJIdvPx0b5PKWeYNIE84wDQYJKoZIhvcNAQELBQADggEBAFrwHNDUUM9Bfua4nX3DcNBeNv9ujnov3kgR1TQuPLdFwlQlp+HBHjeDtpSutkVIA+qVvuucarQ3XB8u02uCgUNbCj8RVWOs+nwIAjegPDkEM/6XMshS5dklTbDG7mgfcKpzzlcD3H0KDTPy0lrfCmw7zBFRlxqkIaKFNQLXgCLShLL4wKpov9XrqsMLq6F8K/f1O4fhVFfsBSTveUJO84ton+Ruy4KZycwq3FPCH3CDqyEPVrRI/98HIrOM+R2mBN8tAza53W/+MYhm/2xtRDSvCHc+JtJy9LtHVpM8mGPhM7uZI5K1g3noHZ9nrWLWidb2/CfeMifLhNp3hSGhEiE="));
+				TRUSTED_CERTIFICATE));
 		certificateVerifier.setTrustedCertSource(certSource);
 
 		certificateVerifier.setDataLoader(new IgnoreDataLoader());
@@ -60,11 +89,11 @@ public class SignatureValidationContextTest {
 		ValidationContext vc = new SignatureValidationContext();
 		vc.initialize(certificateVerifier);
 		CertificateToken certificateToken = DSSUtils.loadCertificateFromBase64EncodedString(
-				"MIIF7jCCBNagAwIBAgIDFL/YMA0GCSqGSIb3DQEBCwUAME4xCzAJBgNVBAYTAkxVMRYwFAYDVQQKEw1MdXhUcnVzdCBTLkEuMScwJQYDVQQDEx5MdXhUcnVzdCBHbG9iYWwgUXVhbGlmaWVkIENBIDIwHhcNMTUxMTIzMTAwMjM3WhcNMTgxMTIzMTAwMjM3WjCB7jELMAkGA1UEBhMCU0kxCzAJBgNVBAcTAkxVMRwwGgYDVQQKExNQdWJsaWNhdGlvbnMgT2ZmaWNlMQ4wDAYDVQQLEwUwMDAwMDEUMBIGA1UEAxMLSmFuZXogU2V2ZXIxDjAMBgNVBAQTBVNldmVyMQ4wDAYDVQQqEwVKYW5lejEdMBsGA1UEBRMUMTExMDU4NTg2MTAwNTQ5OTA2MDcxMTAvBgkqhkiG9w0BCQEWImphbmV6LnNldmVyQHB1YmxpY2F0aW9ucy5ldXJvcGEuZXUxHDAaBgNVBAwTE1Byb2Zlc3Npb25hbCBQZXJzb24wggEiMA0GCSqGSIb3DQEBAQUAA4IBDwAwggEKAoIBAQCwE1YtW/zh4eyHFpGGMOJWSDuEoTo2effHdypTurBlEObHNyHN3tZi3FS956p85WaYq6Dz4boI+HmbWb//e4RgcuKI1W7uazEkyMy5+O+qvZpBcGLgNJhfdlE3r/zI2JgXKaazkwvkM+zIzl9SbsdOg/FIY3+/0OPnkyvKWXLkoAnJp7ELyoQfA3v0tbHTndqnGEldlbRdhof0AcPRaDQSkXEJuM9getPyjjwZ3he4bnqGczjQh+4+Ay9trOmaXXoJfQMgxydw9hhIZiFzk4WxNpvmoHcPaxj754ZoXYWCt0AaUuV2FuNsX5SZ/6EO6zZaRvuTInvxVVLy71Wnezu/AgMBAAGjggIyMIICLjAMBgNVHRMBAf8EAjAAMGIGCCsGAQUFBwEBBFYwVDAjBggrBgEFBQcwAYYXaHR0cDovL29jc3AubHV4dHJ1c3QubHUwLQYIKwYBBQUHMAKGIWh0dHA6Ly9jYS5sdXh0cnVzdC5sdS9MVEdRQ0EyLmNydDCCAR4GA1UdIASCARUwggERMIIBAwYIK4ErAQEKAwEwgfYwgccGCCsGAQUFBwICMIG6GoG3THV4VHJ1c3QgUXVhbGlmaWVkIENlcnRpZmljYXRlIG9uIFNTQ0QgQ29tcGxpYW50IHdpdGggRVRTSSBUUyAxMDEgNDU2IFFDUCsgY2VydGlmaWNhdGUgcG9saWN5LiBLZXkgR2VuZXJhdGlvbiBieSBDU1AuIFNvbGUgQXV0aG9yaXNlZCBVc2FnZTogU3VwcG9ydCBvZiBRdWFsaWZpZWQgRWxlY3Ryb25pYyBTaWduYXR1cmUuMCoGCCsGAQUFBwIBFh5odHRwczovL3JlcG9zaXRvcnkubHV4dHJ1c3QubHUwCAYGBACLMAEBMCIGCCsGAQUFBwEDBBYwFDAIBgYEAI5GAQEwCAYGBACORgEEMAsGA1UdDwQEAwIGQDAfBgNVHSMEGDAWgBTvlr99ZTpVtNJw+AzsSuLzJwaaUjAzBgNVHR8ELDAqMCigJqAkhiJodHRwOi8vY3JsLmx1eHRydXN0Lmx1L0xUR1FDQTIuY3JsMBEGA1UdDgQKBAhPkkyEGqPT6zANBgkqhkiG9w0BAQsFAAOCAQEAhQ85p0P7vPHPM+obi6Nr/pYFGbRRax+Ncam0ZJT+Ivy6B/En7EsXwIlwKhzP0RYsUTneiJlUx1wxPSw9x/q53ZKIHMxZgOkjTnht3Ddqsf7KUzIzAAV7leDunAwmhuNtDAcksKGbgA94wXHtfLfCzK+J5Z+F7c6+a9ViXwfYaxeLL5fcLIxSL2wbN1msyjF69mLZ+WjXEJhWZokmUmxHZPfJxk2Gg+cCF6sm5r3JRRUWOnkbXzGDFH5/OraYxcY1Xa6Z544sqrgUQrzgMeW/8SAyRf3Zu7TO1GSjB5Vy1X7727zt3BJmUqWg8hnYQ7D1IDFOXU2j1CBynRMgTXj25Q==");
+				SIGNING_CERTIFICATE);
 		vc.addCertificateTokenForVerification(certificateToken);
 
 		TimestampToken timestampToken = new TimestampToken(Utils.fromBase64(
-				"MIIIeQYJKoZIhvcNAQcCoIIIajCCCGYCAQMxDzANBglghkgBZQMEAgEFADCCARcGCyqGSIb3DQEJEAEEoIIBBgSCAQIwgf8CAQEGCisGAQQB+0sFAgIwMTANBglghkgBZQMEAgEFAAQglpOQ7OAK4W1yrehpc9Ru/cM4s30d+ckg6Z+3A76VxqcCFQD3FqBBui0KeqzF5Yw4rKBQ/CqmQhgTMjAxNzA0MjcwNjEwMzcuNDQzWjADgAEBAQH/AgkA9Q8FD+qHq56gfKR6MHgxKTAnBgNVBAMTIFVuaXZlcnNpZ24gVGltZXN0YW1waW5nIFVuaXQgMDE3MRwwGgYDVQQLExMwMDAyIDQzOTEyOTE2NDAwMDI2MSAwHgYDVQQKExdDcnlwdG9sb2cgSW50ZXJuYXRpb25hbDELMAkGA1UEBhMCRlKgggRhMIIEXTCCA0WgAwIBAgIRAIXfg8Wy+RxvNPq4ooTfu3gwDQYJKoZIhvcNAQELBQAwdzELMAkGA1UEBhMCRlIxIDAeBgNVBAoTF0NyeXB0b2xvZyBJbnRlcm5hdGlvbmFsMRwwGgYDVQQLExMwMDAyIDQzOTEyOTE2NDAwMDI2MSgwJgYDVQQDEx9Vbml2ZXJzaWduIFRpbWVzdGFtcGluZyBDQSAyMDE1MB4XDTE3MDMyMzEwMDcxMloXDTIzMDMyMzEwMDcxMloweDEpMCcGA1UEAxMgVW5pdmVyc2lnbiBUaW1lc3RhbXBpbmcgVW5pdCAwMTcxHDAaBgNVBAsTEzAwMDIgNDM5MTI5MTY0MDAwMjYxIDAeBgNVBAoTF0NyeXB0b2xvZyBJbnRlcm5hdGlvbmFsMQswCQYDVQQGEwJGUjCCASIwDQYJKoZIhvcNAQEBBQADggEPADCCAQoCggEBALvkTUmAEMbWX/8JNEsptM/ioLmOQAh3B9l7SMqeBGavDGwRfFQ51nyHT0z2PJ0geNPJOYLSczPcQgkUfkie+WWnevwUpVwEGXsrplvrSwQCaHeOhMzct8Uy6rUPxn2u6vPVkRI4p3xxBiD8TCkqDFTHfMi3r5YFYDrJ2iGYfh5Q/KPS5qZNNIfKHd9cQYYhQFfDcLhItJiKrx6+zemLbKIB+HzqpzRD/MK/PYmva9Y0THOUJ9KW6pPK+HoAcpm5OnfAVrA4x9dVT2pE84viyCZ8MCpgkEJsuS+xImwksQmo9YxtxDlfDDbebDq8JPh1JPvLWWIQG5Sw3MJSFJYfyG0CAwEAAaOB4jCB3zAJBgNVHRMEAjAAMEEGA1UdIAQ6MDgwNgYKKwYBBAH7SwUBATAoMCYGCCsGAQUFBwIBFhpodHRwOi8vZG9jcy51bml2ZXJzaWduLmV1LzBGBgNVHR8EPzA9MDugOaA3hjVodHRwOi8vY3JsLnVuaXZlcnNpZ24uZXUvdW5pdmVyc2lnbl90c2Ffcm9vdF8yMDE1LmNybDAOBgNVHQ8BAf8EBAMCB4AwFgYDVR0lAQH/BAwwCgYIKwYBBQUHAwgwHwYDVR0jBBgwFoAU+k3tVzu9P/ORM5oLOaR/XRLdB0YwDQYJKoZIhvcNAQELBQADggEBAC3hQlq7JdDdSuBvnttN7Z7rJRId3w1awNaC0loQcDQ3txW3aKNnIe6HthwdAkVxhxnkhK5pbBVpYq9me25PpCWlqnanUZsT0kl2FpmIsdw03cHpluihV4f31wp8r+JGu2wj0+91lQkAHfnayB7W/uGiPJjjhlY0sl9Lp2VtTgBfCNJZFNemL725BQlWlzn3qOepv/NTa6vHndu6fah6W/TAxMUNTpbOUQ1hbdqWMBzmg5CH6Lwohnm6/7WGLjm14ENltv9hg3gBXTX6hBCys3IkF4bE9wIUWbhOm55mwKRfSgZbr6dGnq5Nx7KWjE8V3ExkVeZWcE/ivOweUGaZHHUxggLOMIICygIBATCBjDB3MQswCQYDVQQGEwJGUjEgMB4GA1UEChMXQ3J5cHRvbG9nIEludGVybmF0aW9uYWwxHDAaBgNVBAsTEzAwMDIgNDM5MTI5MTY0MDAwMjYxKDAmBgNVBAMTH1VuaXZlcnNpZ24gVGltZXN0YW1waW5nIENBIDIwMTUCEQCF34PFsvkcbzT6uKKE37t4MA0GCWCGSAFlAwQCAQUAoIIBEjAaBgkqhkiG9w0BCQMxDQYLKoZIhvcNAQkQAQQwLwYJKoZIhvcNAQkEMSIEIF/5vrW6p1HJTWPzFj9+f+BC7fA6dqxqUSKUDEcnArVFMIHCBgsqhkiG9w0BCRACDDGBsjCBrzCBrDCBqQQUbvEQFkqwfgLnwZQ2qPkKt6JIND8wgZAwe6R5MHcxCzAJBgNVBAYTAkZSMSAwHgYDVQQKExdDcnlwdG9sb2cgSW50ZXJuYXRpb25hbDEcMBoGA1UECxMTMDAwMiA0MzkxMjkxNjQwMDAyNjEoMCYGA1UEAxMfVW5pdmVyc2lnbiBUaW1lc3RhbXBpbmcgQ0EgMjAxNQIRAIXfg8Wy+RxvNPq4ooTfu3gwDQYJKoZIhvcNAQELBQAEggEAIinJKkZU7I+6g1aSmh/7pbpbN8tLAiaQCS24G8MziaBfqP4aNyAXO0LChwFlELFXNH/AowZTj9PlP1ProPXRjli8arAO3D7drWRPJotdoG9ZkYf/4JFbKGpeogAVYk+vrfLSHhScm4gtXaffGgta29gFn8XjTLXtA89B8crfOjyiz0atbxXkL+7m0oj2iF+8N9y5pXfQ5JyYjC5Ni7HMmGnL4VDn9kd/sQXLcHw2Bq4BHL7tHXu4gRy3vHK05Z8JLP9AxpiGvXqgs9VjXLeYGv2t6oU2KQXUtqEfzzoflT4Ec5QsV9ukjEaZ0GRHb/pwHI7dmXzC27hpRacmztSgxA=="),
+				TIMESTAMP),
 				TimestampType.SIGNATURE_TIMESTAMP, new CertificatePool());
 		vc.addTimestampTokenForVerification(timestampToken);
 
@@ -77,4 +106,209 @@ public class SignatureValidationContextTest {
 		assertEquals(1, processedTimestamps.size());
 	}
 
+	@Test
+	public void testConcurrentCannotDownload() throws Exception {
+		ValidationContext sequential = validateWithoutDownload(null);
+
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try {
+			ValidationContext concurrent = validateWithoutDownload(executorService);
+
+			assertEquals(describeCertificates(sequential.getProcessedCertificates()), describeCertificates(concurrent.getProcessedCertificates()));
+			assertEquals(describeTimestamps(sequential.getProcessedTimestamps()), describeTimestamps(concurrent.getProcessedTimestamps()));
+			assertEquals(2, concurrent.getProcessedCertificates().size()); // cert + tsp cert
+			assertEquals(1, concurrent.getProcessedTimestamps().size());
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	public void revocationRequestsAreSentBeforeTheResponsesAreCollected() throws Exception {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+		generator.initialize(1024);
+		KeyPair rootKeyPair = generator.generateKeyPair();
+		CertificateToken root = createCertificate("CN=Root", BigInteger.ONE, rootKeyPair, rootKeyPair, true);
+		CertificateToken first = createCertificate("CN=First", BigInteger.valueOf(2), generator.generateKeyPair(), rootKeyPair, false);
+		CertificateToken second = createCertificate("CN=Second", BigInteger.valueOf(3), generator.generateKeyPair(), rootKeyPair, false);
+
+		CommonCertificateVerifier certificateVerifier = new CommonCertificateVerifier();
+		CertificateSource certSource = new CommonTrustedCertificateSource();
+		certSource.addCertificate(root);
+		certificateVerifier.setTrustedCertSource(certSource);
+		certificateVerifier.setDataLoader(new IgnoreDataLoader());
+		RecordingOCSPSource ocspSource = new RecordingOCSPSource();
+		certificateVerifier.setOcspSource(ocspSource);
+
+		ValidationContext vc = new SignatureValidationContext();
+		vc.initialize(certificateVerifier);
+		vc.addCertificateTokenForVerification(first);
+		vc.addCertificateTokenForVerification(second);
+		vc.validate();
+
+		assertEquals(3, vc.getProcessedCertificates().size());
+		// the requests of both certificates are in flight before the first response is collected
+		List<String> events = ocspSource.events;
+		assertEquals(4, events.size());
+		assertEquals(new TreeSet<String>(Arrays.asList("request " + first.getDSSIdAsString(), "request " + second.getDSSIdAsString())),
+				new TreeSet<String>(events.subList(0, 2)));
+		assertEquals(new TreeSet<String>(Arrays.asList("collect " + first.getDSSIdAsString(), "collect " + second.getDSSIdAsString())),
+				new TreeSet<String>(events.subList(2, 4)));
+	}
+
+	@Test
+	public void verifiedSignaturesAreSharedBetweenValidations() throws Exception {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+		generator.initialize(1024);
+		KeyPair rootKeyPair = generator.generateKeyPair();
+		CertificateToken root = createCertificate("CN=Root", BigInteger.ONE, rootKeyPair, rootKeyPair, true);
+		CertificateToken signer = createCertificate("CN=Signer", BigInteger.valueOf(2), generator.generateKeyPair(), rootKeyPair, false);
+
+		CommonCertificateVerifier certificateVerifier = new CommonCertificateVerifier();
+		CertificateSource certSource = new CommonTrustedCertificateSource();
+		certSource.addCertificate(root);
+		certificateVerifier.setTrustedCertSource(certSource);
+		certificateVerifier.setDataLoader(new IgnoreDataLoader());
+
+		CountingCertificateToken first = new CountingCertificateToken(signer);
+		validate(certificateVerifier, first);
+		assertEquals(1, first.signatureChecks);
+		assertEquals(1, certificateVerifier.getVerifiedSignatureCache().size());
+
+		// the second validation uses a new pool and a new token of the same certificate
+		CountingCertificateToken second = new CountingCertificateToken(signer);
+		validate(certificateVerifier, second);
+		assertEquals(0, second.signatureChecks);
+		assertSame(root, second.getIssuerToken());
+	}
+
+	private void validate(CertificateVerifier certificateVerifier, CertificateToken certificate) {
+		ValidationContext vc = new SignatureValidationContext();
+		vc.initialize(certificateVerifier);
+		vc.addCertificateTokenForVerification(certificate);
+		vc.validate();
+	}
+
+	private CertificateToken createCertificate(String subject, BigInteger serialNumber, KeyPair keyPair, KeyPair issuerKeyPair, boolean ca)
+			throws Exception {
+		Date notBefore = new Date(System.currentTimeMillis() - 3600000);
+		Date notAfter = new Date(System.currentTimeMillis() + 3600000);
+		JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(new X500Name("CN=Root"), serialNumber, notBefore, notAfter,
+				new X500Name(subject), keyPair.getPublic());
+		builder.addExtension(Extension.basicConstraints, true, new BasicConstraints(ca));
+		return DSSUtils.loadCertificate(builder.build(new JcaContentSignerBuilder("SHA256withRSA").build(issuerKeyPair.getPrivate())).getEncoded());
+	}
+
+	private ValidationContext validateWithoutDownload(ExecutorService executorService) throws Exception {
+		CommonCertificateVerifier certificateVerifier = new CommonCertificateVerifier();
+		CertificateSource certSource = new CommonTrustedCertificateSource();
+		certSource.addCertificate(DSSUtils.loadCertificateFromBase64EncodedString(TRUSTED_CERTIFICATE));
+		certificateVerifier.setTrustedCertSource(certSource);
+		certificateVerifier.setDataLoader(new IgnoreDataLoader());
+		certificateVerifier.setExecutorService(executorService);
+
+		ValidationContext vc = new SignatureValidationContext();
+		vc.initialize(certificateVerifier);
+		vc.addCertificateTokenForVerification(DSSUtils.loadCertificateFromBase64EncodedString(SIGNING_CERTIFICATE));
+		vc.addTimestampTokenForVerification(new TimestampToken(Utils.fromBase64(TIMESTAMP), TimestampType.SIGNATURE_TIMESTAMP, new CertificatePool()));
+		vc.validate();
+		return vc;
+	}
+
+	private Set<String> describeCertificates(Set<CertificateToken> certificates) {
+		Set<String> descriptions = new TreeSet<String>();
+		for (CertificateToken certificate : certificates) {
+			Set<String> revocations = new TreeSet<String>();
+			if (certificate.getRevocationTokens() != null) {
+				for (RevocationToken revocation : certificate.getRevocationTokens()) {
+					revocations.add(describe(revocation) + " status=" + revocation.getStatus());
+				}
+			}
+			descriptions.add(describe(certificate) + " revocations=" + revocations);
+		}
+		return descriptions;
+	}
+
+	private Set<String> describeTimestamps(Set<TimestampToken> timestamps) {
+		Set<String> descriptions = new TreeSet<String>();
+		for (TimestampToken timestamp : timestamps) {
+			descriptions.add(describe(timestamp));
+		}
+		return descriptions;
+	}
+
+	private String describe(Token token) {
+		CertificateToken issuer = token.getIssuerToken();
+		return token.getDSSIdAsString() + " issuer=" + (issuer == null ? null : issuer.getDSSIdAsString()) + " signatureValid="
+				+ token.isSignatureValid() + " info=" + token.getValidationInfo();
+	}
+
+	/**
+	 * CertificateToken which counts the verifications of its signature.
+	 */
+	@SuppressWarnings("serial")
+	private static class CountingCertificateToken extends CertificateToken {
+
+		private int signatureChecks;
+
+		CountingCertificateToken(CertificateToken certificate) {
+			super(certificate.getCertificate());
+		}
+
+		@Override
+		public boolean isSignedBy(CertificateToken issuerToken) {
+			signatureChecks++;
+			return super.isSignedBy(issuerToken);
+		}
+
+	}
+
+	/**
+	 * AsyncOCSPSource which records when the requests are sent and when the responses are collected.
+	 */
+	@SuppressWarnings("serial")
+	private static class RecordingOCSPSource implements AsyncOCSPSource {
+
+		private final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+
+		@Override
+		public OCSPToken getOCSPToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+			throw new UnsupportedOperationException("The request must be sent asynchronously");
+		}
+
+		@Override
+		public Future<OCSPToken> getOCSPTokenAsync(final CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+			events.add("request " + certificateToken.getDSSIdAsString());
+			return new Future<OCSPToken>() {
+
+				@Override
+				public boolean cancel(boolean mayInterruptIfRunning) {
+					return false;
+				}
+
+				@Override
+				public boolean isCancelled() {
+					return false;
+				}
+
+				@Override
+				public boolean isDone() {
+					return true;
+				}
+
+				@Override
+				public OCSPToken get() {
+					events.add("collect " + certificateToken.getDSSIdAsString());
+					return null;
+				}
+
+				@Override
+				public OCSPToken get(long timeout, TimeUnit unit) {
+					return get();
+				}
+			};
+		}
+
+	}
+
 }
@@ -0,0 +1,176 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class holds the values decoded from the extensions of a certificate. Each value is decoded on first use (see
+ * {@code DSSASN1Utils}) and shared by all the users of the {@code CertificateToken}. A null value means that the
+ * extension is not decoded yet.
+ * 
+ * The values are only set by {@code DSSASN1Utils} : the lists are unmodifiable and the arrays are copied, so that the
+ * decoded values of a certificate cannot be changed by their users.
+ */
+public final class CertificateExtensions {
+
+	private volatile List<CertificatePolicy> certificatePolicies;
+
+	private volatile List<String> qcStatementsIds;
+
+	private volatile List<String> qcTypesIds;
+
+	/**
+	 * An empty array if the certificate has no SKI extension
+	 */
+	private volatile byte[] ski;
+
+	/**
+	 * An empty array if the certificate has no AKI extension (or no key identifier in it)
+	 */
+	private volatile byte[] aki;
+
+	/**
+	 * The SHA-1 digest of the subjectPublicKey (not an extension, computed on first use)
+	 */
+	private volatile byte[] publicKeyHash;
+
+	private volatile List<String> caAccessLocations;
+
+	private volatile List<String> ocspAccessLocations;
+
+	private volatile List<String> crlUrls;
+
+	private volatile List<String> extendedKeyUsages;
+
+	private volatile Boolean idPkixOcspNoCheck;
+
+	/**
+	 * The instance of a certificate is created by the {@code CertificateToken}
+	 */
+	public CertificateExtensions() {
+	}
+
+	public List<CertificatePolicy> getCertificatePolicies() {
+		return certificatePolicies;
+	}
+
+	void setCertificatePolicies(List<CertificatePolicy> certificatePolicies) {
+		this.certificatePolicies = unmodifiableCopy(certificatePolicies);
+	}
+
+	public List<String> getQcStatementsIds() {
+		return qcStatementsIds;
+	}
+
+	void setQcStatementsIds(List<String> qcStatementsIds) {
+		this.qcStatementsIds = unmodifiableCopy(qcStatementsIds);
+	}
+
+	public List<String> getQcTypesIds() {
+		return qcTypesIds;
+	}
+
+	void setQcTypesIds(List<String> qcTypesIds) {
+		this.qcTypesIds = unmodifiableCopy(qcTypesIds);
+	}
+
+	public byte[] getSki() {
+		return copy(ski);
+	}
+
+	void setSki(byte[] ski) {
+		this.ski = copy(ski);
+	}
+
+	public byte[] getAki() {
+		return copy(aki);
+	}
+
+	void setAki(byte[] aki) {
+		this.aki = copy(aki);
+	}
+
+	public byte[] getPublicKeyHash() {
+		return copy(publicKeyHash);
+	}
+
+	void setPublicKeyHash(byte[] publicKeyHash) {
+		this.publicKeyHash = copy(publicKeyHash);
+	}
+
+	public List<String> getCaAccessLocations() {
+		return caAccessLocations;
+	}
+
+	void setCaAccessLocations(List<String> caAccessLocations) {
+		this.caAccessLocations = unmodifiableCopy(caAccessLocations);
+	}
+
+	public List<String> getOcspAccessLocations() {
+		return ocspAccessLocations;
+	}
+
+	void setOcspAccessLocations(List<String> ocspAccessLocations) {
+		this.ocspAccessLocations = unmodifiableCopy(ocspAccessLocations);
+	}
+
+	public List<String> getCrlUrls() {
+		return crlUrls;
+	}
+
+	void setCrlUrls(List<String> crlUrls) {
+		this.crlUrls = unmodifiableCopy(crlUrls);
+	}
+
+	public List<String> getExtendedKeyUsages() {
+		return extendedKeyUsages;
+	}
+
+	void setExtendedKeyUsages(List<String> extendedKeyUsages) {
+		this.extendedKeyUsages = unmodifiableCopy(extendedKeyUsages);
+	}
+
+	public Boolean getIdPkixOcspNoCheck() {
+		return idPkixOcspNoCheck;
+	}
+
+	void setIdPkixOcspNoCheck(Boolean idPkixOcspNoCheck) {
+		this.idPkixOcspNoCheck = idPkixOcspNoCheck;
+	}
+
+	private static <T> List<T> unmodifiableCopy(List<T> list) {
+		if (list == null) {
+			return null;
+		}
+		return Collections.unmodifiableList(new ArrayList<T>(list));
+	}
+
+	private static byte[] copy(byte[] array) {
+		if (array == null) {
+			return null;
+		}
+		return array.clone();
+	}
+
+}
@@ -37,6 +37,7 @@ import java.util.Set;
 
 import javax.security.auth.x500.X500Principal;
 
+import eu.europa.esig.dss.CertificateExtensions;
 import eu.europa.esig.dss.DSSException;
 import eu.europa.esig.dss.DigestAlgorithm;
 import eu.europa.esig.dss.EncryptionAlgorithm;
@@ -58,6 +59,11 @@ public class CertificateToken extends Token {
 	 */
 	private X509Certificate x509Certificate;
 
+	/**
+	 * The subject of the certificate (decoded once : some providers return a new instance at each call)
+	 */
+	private X500Principal subjectX500Principal;
+
 	/**
 	 * This array contains the different sources for this certificate.
 	 */
@@ -95,7 +101,12 @@ public class CertificateToken extends Token {
 	/**
 	 * The key usage bits used in the certificate
 	 */
-	private Set<KeyUsageBit> keyUsageBits;
+	private volatile Set<KeyUsageBit> keyUsageBits;
+
+	/**
+	 * The decoded extensions of the certificate (created on first use, not serialized)
+	 */
+	private transient volatile CertificateExtensions extensions;
 
 	/**
 	 * This method returns an instance of {@link eu.europa.esig.dss.x509.CertificateToken}.
@@ -120,6 +131,7 @@ public class CertificateToken extends Token {
 		}
 
 		this.x509Certificate = x509Certificate;
+		this.subjectX500Principal = x509Certificate.getSubjectX500Principal();
 		this.issuerX500Principal = x509Certificate.getIssuerX500Principal();
 		// The Algorithm OID is used and not the name {@code x509Certificate.getSigAlgName()}
 		this.signatureAlgorithm = SignatureAlgorithm.forOID(x509Certificate.getSigAlgOID());
@@ -129,6 +141,34 @@ public class CertificateToken extends Token {
 		this.extraInfo = new TokenValidationExtraInfo();
 	}
 
+	/**
+	 * Creates a copy of this CertificateToken with the same certificate, sources and trust service information. The
+	 * values computed from the certificate itself (digests, extensions,...) are kept. The data collected during a
+	 * validation (issuer, revocation data,...) is not copied.
+	 *
+	 * @return the copy of this CertificateToken
+	 */
+	public CertificateToken copy() {
+		return new CertificateToken(this);
+	}
+
+	private CertificateToken(CertificateToken certificateToken) {
+		super(certificateToken);
+		this.x509Certificate = certificateToken.x509Certificate;
+		this.subjectX500Principal = certificateToken.subjectX500Principal;
+		this.issuerX500Principal = certificateToken.issuerX500Principal;
+		this.signatureAlgorithm = certificateToken.signatureAlgorithm;
+		this.digestAlgorithm = certificateToken.digestAlgorithm;
+		this.encryptionAlgorithm = certificateToken.encryptionAlgorithm;
+		this.sources.addAll(certificateToken.sources);
+		this.associatedTSPS.addAll(certificateToken.associatedTSPS);
+		this.selfSigned = certificateToken.selfSigned;
+		this.keyUsageBits = certificateToken.keyUsageBits;
+		this.extensions = certificateToken.extensions;
+
+		this.extraInfo = new TokenValidationExtraInfo();
+	}
+
 	/**
 	 * This method adds the source type of the certificate (what is its origin). Each source is present only once.
 	 *
@@ -393,7 +433,7 @@ public class CertificateToken extends Token {
 	 * @return the Subject X500Principal
 	 */
 	public X500Principal getSubjectX500Principal() {
-		return x509Certificate.getSubjectX500Principal();
+		return subjectX500Principal;
 	}
 
 	@Override
@@ -404,10 +444,7 @@ public class CertificateToken extends Token {
 
 			final PublicKey publicKey = issuerToken.getCertificate().getPublicKey();
 			x509Certificate.verify(publicKey);
-			signatureValid = true;
-			if (!isSelfSigned() && !this.equals(issuerToken)) {
-				this.issuerToken = issuerToken;
-			}
+			setSignedBy(issuerToken);
 		} catch (InvalidKeyException e) {
 			signatureInvalidityReason = "InvalidKeyException - on incorrect key.";
 		} catch (CertificateException e) {
@@ -422,6 +459,21 @@ public class CertificateToken extends Token {
 		return signatureValid;
 	}
 
+	/**
+	 * This method records that the signature of the certificate is valid with the public key of the given issuer. It
+	 * is used by the {@code CertificatePool} to restore a signature it already verified.
+	 *
+	 * @param issuerToken
+	 *            the issuer whose public key verifies the signature
+	 */
+	void setSignedBy(final CertificateToken issuerToken) {
+		signatureValid = true;
+		signatureInvalidityReason = "";
+		if (!isSelfSigned() && !this.equals(issuerToken)) {
+			this.issuerToken = issuerToken;
+		}
+	}
+
 	/**
 	 * Returns the used digest algorithm when the certificate was signed
 	 * 
@@ -575,18 +627,40 @@ public class CertificateToken extends Token {
 	 * @return {@code List} of {@code KeyUsageBit}s of different certificate's key usages
 	 */
 	public Set<KeyUsageBit> getKeyUsageBits() {
-		if (keyUsageBits == null) {
+		Set<KeyUsageBit> result = keyUsageBits;
+		if (result == null) {
 			boolean[] keyUsageArray = x509Certificate.getKeyUsage();
-			keyUsageBits = new HashSet<KeyUsageBit>();
+			result = new HashSet<KeyUsageBit>();
 			if (keyUsageArray != null) {
 				for (KeyUsageBit keyUsageBit : KeyUsageBit.values()) {
 					if (keyUsageArray[keyUsageBit.getIndex()]) {
-						keyUsageBits.add(keyUsageBit);
+						result.add(keyUsageBit);
 					}
 				}
 			}
+			keyUsageBits = result;
+		}
+		return result;
+	}
+
+	/**
+	 * This method returns the holder of the decoded extensions of the certificate. The holder is shared by all the
+	 * users of this token.
+	 *
+	 * @return the decoded extensions
+	 */
+	public CertificateExtensions getExtensions() {
+		CertificateExtensions result = extensions;
+		if (result == null) {
+			synchronized (this) {
+				result = extensions;
+				if (result == null) {
+					result = new CertificateExtensions();
+					extensions = result;
+				}
+			}
 		}
-		return keyUsageBits;
+		return result;
 	}
 
 	/**
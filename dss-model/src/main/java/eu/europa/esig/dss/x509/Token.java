@@ -22,9 +22,9 @@ package eu.europa.esig.dss.x509;
 
 import java.io.Serializable;
 import java.security.MessageDigest;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.security.auth.x500.X500Principal;
 
@@ -78,7 +78,28 @@ public abstract class Token implements Serializable {
 	 */
 	private TokenIdentifier tokenIdentifier;
 
-	private Map<DigestAlgorithm, byte[]> digests = new HashMap<DigestAlgorithm, byte[]>();
+	/**
+	 * The computed digests, concurrent because a token can be shared between validations
+	 */
+	private Map<DigestAlgorithm, byte[]> digests = new ConcurrentHashMap<DigestAlgorithm, byte[]>();
+
+	/**
+	 * The default constructor.
+	 */
+	protected Token() {
+	}
+
+	/**
+	 * Creates a token with the identifier and the digests of the given token : they are not computed again.
+	 *
+	 * @param token
+	 *            the token to take the identifier from
+	 */
+	protected Token(Token token) {
+		this.tokenIdentifier = token.getDSSId();
+		this.dssId = token.getDSSIdAsString();
+		this.digests.putAll(token.digests);
+	}
 
 	@Override
 	public final boolean equals(Object obj) {
@@ -35,6 +35,7 @@ import eu.europa.esig.dss.pades.validation.PDFDocumentValidator;
 import eu.europa.esig.dss.pdf.DSSDictionaryCallback;
 import eu.europa.esig.dss.pdf.PDFSignatureService;
 import eu.europa.esig.dss.pdf.PdfObjFactory;
+import eu.europa.esig.dss.pdf.PdfTemporaryDocument;
 import eu.europa.esig.dss.signature.SignatureExtension;
 import eu.europa.esig.dss.validation.AdvancedSignature;
 import eu.europa.esig.dss.validation.CertificateVerifier;
@@ -69,30 +70,36 @@ class PAdESLevelBaselineLT implements SignatureExtension<PAdESSignatureParameter
 		PDFDocumentValidator pdfDocumentValidator = new PDFDocumentValidator(document);
 		pdfDocumentValidator.setCertificateVerifier(certificateVerifier);
 
+		DSSDocument timestampedDocument = document;
 		List<AdvancedSignature> signatures = pdfDocumentValidator.getSignatures();
 		for (final AdvancedSignature signature : signatures) {
 			if (!signature.isDataForSignatureLevelPresent(SignatureLevel.PAdES_BASELINE_T)) {
 				final PAdESLevelBaselineT padesLevelBaselineT = new PAdESLevelBaselineT(tspSource);
-				document = padesLevelBaselineT.extendSignatures(document, parameters);
+				timestampedDocument = padesLevelBaselineT.extendSignatures(document, parameters);
 
-				pdfDocumentValidator = new PDFDocumentValidator(document);
+				pdfDocumentValidator = new PDFDocumentValidator(timestampedDocument);
 				pdfDocumentValidator.setCertificateVerifier(certificateVerifier);
 				break;
 			}
 		}
 
-		signatures = pdfDocumentValidator.getSignatures();
+		try {
+			signatures = pdfDocumentValidator.getSignatures();
 
-		// create DSS dictionary
-		List<DSSDictionaryCallback> callbacks = new ArrayList<DSSDictionaryCallback>();
-		for (final AdvancedSignature signature : signatures) {
-			if (signature instanceof PAdESSignature) {
-				callbacks.add(validate((PAdESSignature) signature));
+			// create DSS dictionary
+			List<DSSDictionaryCallback> callbacks = new ArrayList<DSSDictionaryCallback>();
+			for (final AdvancedSignature signature : signatures) {
+				if (signature instanceof PAdESSignature) {
+					callbacks.add(validate((PAdESSignature) signature));
+				}
 			}
-		}
 
-		final PDFSignatureService signatureService = PdfObjFactory.getInstance().newPAdESSignatureService();
-		return signatureService.addDssDictionary(document, callbacks);
+			final PDFSignatureService signatureService = PdfObjFactory.getInstance().newPAdESSignatureService();
+			return signatureService.addDssDictionary(timestampedDocument, callbacks);
+		} finally {
+			// the timestamped revision is replaced by the revision with the DSS dictionary
+			PdfTemporaryDocument.deleteIntermediate(timestampedDocument, document);
+		}
 
 	}
 
@@ -27,6 +27,7 @@ import eu.europa.esig.dss.DSSException;
 import eu.europa.esig.dss.SignatureLevel;
 import eu.europa.esig.dss.pades.PAdESSignatureParameters;
 import eu.europa.esig.dss.pades.validation.PDFDocumentValidator;
+import eu.europa.esig.dss.pdf.PdfTemporaryDocument;
 import eu.europa.esig.dss.signature.SignatureExtension;
 import eu.europa.esig.dss.validation.AdvancedSignature;
 import eu.europa.esig.dss.validation.CertificateVerifier;
@@ -54,15 +55,20 @@ class PAdESLevelBaselineLTA implements SignatureExtension<PAdESSignatureParamete
 		final PDFDocumentValidator pdfDocumentValidator = new PDFDocumentValidator(document);
 		pdfDocumentValidator.setCertificateVerifier(certificateVerifier);
 
+		DSSDocument ltDocument = document;
 		List<AdvancedSignature> signatures = pdfDocumentValidator.getSignatures();
 		for (final AdvancedSignature signature : signatures) {
 			if (!signature.isDataForSignatureLevelPresent(SignatureLevel.PAdES_BASELINE_LT)) {
-				document = padesLevelBaselineLT.extendSignatures(document, parameters);
+				ltDocument = padesLevelBaselineLT.extendSignatures(document, parameters);
 				break;
 			}
 		}
 
-		// Will add a Document TimeStamp (not CMS)
-		return padesLevelBaselineT.extendSignatures(document, parameters);
+		try {
+			// Will add a Document TimeStamp (not CMS)
+			return padesLevelBaselineT.extendSignatures(ltDocument, parameters);
+		} finally {
+			PdfTemporaryDocument.deleteIntermediate(ltDocument, document);
+		}
 	}
 }
\ No newline at end of file
@@ -46,6 +46,7 @@ import eu.europa.esig.dss.pades.PAdESSignatureParameters;
 import eu.europa.esig.dss.pades.SignatureFieldParameters;
 import eu.europa.esig.dss.pdf.PDFSignatureService;
 import eu.europa.esig.dss.pdf.PdfObjFactory;
+import eu.europa.esig.dss.pdf.PdfTemporaryDocument;
 import eu.europa.esig.dss.signature.AbstractSignatureService;
 import eu.europa.esig.dss.signature.SignatureExtension;
 import eu.europa.esig.dss.validation.CertificateVerifier;
@@ -157,7 +158,12 @@ public class PAdESService extends AbstractSignatureService<PAdESSignatureParamet
 
 		final SignatureExtension<PAdESSignatureParameters> extension = getExtensionProfile(signatureLevel);
 		if ((signatureLevel != SignatureLevel.PAdES_BASELINE_B) && (signatureLevel != SignatureLevel.PAdES_BASELINE_T) && (extension != null)) {
-			signature = extension.extendSignatures(signature, parameters);
+			final DSSDocument signedRevision = signature;
+			try {
+				signature = extension.extendSignatures(signedRevision, parameters);
+			} finally {
+				PdfTemporaryDocument.deleteIntermediate(signedRevision, toSignDocument);
+			}
 		}
 
 		parameters.reinitDeterministicId();
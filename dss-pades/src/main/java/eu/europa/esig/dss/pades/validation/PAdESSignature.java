@@ -295,19 +295,61 @@ public class PAdESSignature extends CAdESSignature {
 		if (super.getSignatureTimestamps().contains(timestampToken)) {
 			return super.getSignatureTimestampData(timestampToken, null);
 		} else {
-			for (final PdfSignatureOrDocTimestampInfo signatureInfo : pdfSignatureInfo.getOuterSignatures()) {
-				if (signatureInfo instanceof PdfDocTimestampInfo) {
-					PdfDocTimestampInfo pdfTimestampInfo = (PdfDocTimestampInfo) signatureInfo;
-					if (pdfTimestampInfo.getTimestampToken().equals(timestampToken)) {
-						final byte[] signedDocumentBytes = pdfTimestampInfo.getSignedDocumentBytes();
-						return signedDocumentBytes;
-					}
-				}
+			final PdfDocTimestampInfo pdfTimestampInfo = getDocTimestampInfo(timestampToken);
+			if (pdfTimestampInfo != null) {
+				return pdfTimestampInfo.getSignedDocumentBytes();
 			}
 		}
 		throw new DSSException("Timestamp Data not found");
 	}
 
+	/**
+	 * The document timestamps are shared by the signatures of the document : their byte range is digested by streaming
+	 * the PDF document, once.
+	 */
+	@Override
+	protected void matchSignatureTimestamp(final TimestampToken timestampToken) {
+		final PdfDocTimestampInfo docTimestampInfo = getDocTimestampInfo(timestampToken);
+		if (docTimestampInfo == null) {
+			super.matchSignatureTimestamp(timestampToken);
+		} else {
+			matchDocTimestamp(timestampToken, docTimestampInfo);
+		}
+	}
+
+	@Override
+	protected void matchArchiveTimestamp(final TimestampToken timestampToken) {
+		final PdfDocTimestampInfo docTimestampInfo = getDocTimestampInfo(timestampToken);
+		if (docTimestampInfo == null) {
+			super.matchArchiveTimestamp(timestampToken);
+		} else {
+			matchDocTimestamp(timestampToken, docTimestampInfo);
+		}
+	}
+
+	/**
+	 * The signatures of the document can be validated concurrently : the shared token is matched once, under its lock.
+	 */
+	private void matchDocTimestamp(final TimestampToken timestampToken, final PdfDocTimestampInfo docTimestampInfo) {
+		synchronized (timestampToken) {
+			if (!timestampToken.isProcessed()) {
+				timestampToken.matchData(docTimestampInfo.getSignedDocument());
+			}
+		}
+	}
+
+	private PdfDocTimestampInfo getDocTimestampInfo(final TimestampToken timestampToken) {
+		for (final PdfSignatureOrDocTimestampInfo signatureInfo : pdfSignatureInfo.getOuterSignatures()) {
+			if (signatureInfo instanceof PdfDocTimestampInfo) {
+				PdfDocTimestampInfo pdfTimestampInfo = (PdfDocTimestampInfo) signatureInfo;
+				if (pdfTimestampInfo.getTimestampToken().equals(timestampToken)) {
+					return pdfTimestampInfo;
+				}
+			}
+		}
+		return null;
+	}
+
 	@Override
 	public byte[] getTimestampX1Data(final TimestampToken timestampToken, String canonicalizationMethod) {
 		/* Not applicable for PAdES */
@@ -329,14 +371,9 @@ public class PAdESSignature extends CAdESSignature {
 
 	@Override
 	public byte[] getArchiveTimestampData(TimestampToken timestampToken, String canonicalizationMethod) {
-		for (final PdfSignatureOrDocTimestampInfo signatureInfo : pdfSignatureInfo.getOuterSignatures()) {
-			if (signatureInfo instanceof PdfDocTimestampInfo) {
-				PdfDocTimestampInfo pdfTimestampInfo = (PdfDocTimestampInfo) signatureInfo;
-				if (pdfTimestampInfo.getTimestampToken().equals(timestampToken)) {
-					final byte[] signedDocumentBytes = pdfTimestampInfo.getSignedDocumentBytes();
-					return signedDocumentBytes;
-				}
-			}
+		final PdfDocTimestampInfo pdfTimestampInfo = getDocTimestampInfo(timestampToken);
+		if (pdfTimestampInfo != null) {
+			return pdfTimestampInfo.getSignedDocumentBytes();
 		}
 		throw new DSSException("Timestamp Data not found");
 	}
@@ -0,0 +1,242 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.pdf;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import eu.europa.esig.dss.CommonDocument;
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.MimeType;
+
+/**
+ * View of the parts of a PDF document designated by a byte range (pairs of offset and length, as in a signature
+ * /ByteRange). The bytes are not copied : each call of {@link #openStream()} reads the ranges from the underlying
+ * file (with a {@code FileChannel}) or from the byte array of the whole document, which is shared by all the views.
+ * The digests are computed by streaming the ranges.
+ */
+@SuppressWarnings("serial")
+public class PdfByteRangeDocument extends CommonDocument {
+
+	private final File file;
+
+	private final byte[] content;
+
+	private final int[] byteRange;
+
+	/**
+	 * Creates a view of the given file.
+	 *
+	 * @param file
+	 *            the PDF document
+	 * @param byteRange
+	 *            the pairs of offset and length of the parts of the document
+	 */
+	public PdfByteRangeDocument(final File file, final int[] byteRange) {
+		this(file, null, byteRange);
+	}
+
+	/**
+	 * Creates a view of the given binaries. The array is not copied and must not be modified afterwards.
+	 *
+	 * @param content
+	 *            the binaries of the whole PDF document
+	 * @param byteRange
+	 *            the pairs of offset and length of the parts of the document
+	 */
+	public PdfByteRangeDocument(final byte[] content, final int[] byteRange) {
+		this(null, content, byteRange);
+	}
+
+	private PdfByteRangeDocument(final File file, final byte[] content, final int[] byteRange) {
+		if ((file == null) && (content == null)) {
+			throw new NullPointerException();
+		}
+		if ((byteRange == null) || (byteRange.length % 2 != 0)) {
+			throw new DSSException("The byte range must contain pairs of offset and length");
+		}
+		for (int value : byteRange) {
+			if (value < 0) {
+				throw new DSSException("The byte range cannot contain negative values");
+			}
+		}
+		this.file = file;
+		this.content = content;
+		this.byteRange = byteRange.clone();
+		this.mimeType = MimeType.PDF;
+		if (file != null) {
+			this.name = file.getName();
+		}
+	}
+
+	/**
+	 * Returns another view of the same document.
+	 *
+	 * @param otherByteRange
+	 *            the pairs of offset and length of the parts of the document
+	 * @return a view of the same PDF document
+	 */
+	public PdfByteRangeDocument getView(final int[] otherByteRange) {
+		return new PdfByteRangeDocument(file, content, otherByteRange);
+	}
+
+	/**
+	 * @return the pairs of offset and length of the parts of the document
+	 */
+	public int[] getByteRange() {
+		return byteRange.clone();
+	}
+
+	/**
+	 * @return the number of bytes covered by the byte range
+	 */
+	public long getLength() {
+		long length = 0;
+		for (int i = 1; i < byteRange.length; i += 2) {
+			length += byteRange[i];
+		}
+		return length;
+	}
+
+	@Override
+	public InputStream openStream() throws DSSException {
+		if (file == null) {
+			return new ArrayRangeInputStream(content, byteRange);
+		}
+		try {
+			return new ChannelRangeInputStream(new RandomAccessFile(file, "r").getChannel(), byteRange);
+		} catch (IOException e) {
+			throw new DSSException(e);
+		}
+	}
+
+	@Override
+	public String getAbsolutePath() {
+		if (file != null) {
+			return file.getAbsolutePath();
+		}
+		return super.getAbsolutePath();
+	}
+
+	/**
+	 * Reads successively the ranges of a source which supports positional reads.
+	 */
+	private abstract static class RangeInputStream extends InputStream {
+
+		private final int[] byteRange;
+
+		private final byte[] single = new byte[1];
+
+		private int index = -2;
+
+		private long position;
+
+		private long remaining;
+
+		RangeInputStream(int[] byteRange) {
+			this.byteRange = byteRange;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int count = read(single, 0, 1);
+			return count == -1 ? -1 : single[0] & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			while (remaining == 0) {
+				index += 2;
+				if (index >= byteRange.length) {
+					return -1;
+				}
+				position = byteRange[index];
+				remaining = byteRange[index + 1];
+			}
+			int count = readAt(position, b, off, (int) Math.min(len, remaining));
+			if (count <= 0) {
+				throw new EOFException("The byte range exceeds the document length");
+			}
+			position += count;
+			remaining -= count;
+			return count;
+		}
+
+		/**
+		 * Reads up to {@code len} bytes at the given position of the source.
+		 *
+		 * @return the number of bytes read, or -1 at the end of the source
+		 */
+		protected abstract int readAt(long sourcePosition, byte[] b, int off, int len) throws IOException;
+
+	}
+
+	private static class ArrayRangeInputStream extends RangeInputStream {
+
+		private final byte[] content;
+
+		ArrayRangeInputStream(byte[] content, int[] byteRange) {
+			super(byteRange);
+			this.content = content;
+		}
+
+		@Override
+		protected int readAt(long sourcePosition, byte[] b, int off, int len) {
+			if (sourcePosition >= content.length) {
+				return -1;
+			}
+			int count = (int) Math.min(len, content.length - sourcePosition);
+			System.arraycopy(content, (int) sourcePosition, b, off, count);
+			return count;
+		}
+
+	}
+
+	private static class ChannelRangeInputStream extends RangeInputStream {
+
+		private final FileChannel channel;
+
+		ChannelRangeInputStream(FileChannel channel, int[] byteRange) {
+			super(byteRange);
+			this.channel = channel;
+		}
+
+		@Override
+		protected int readAt(long sourcePosition, byte[] b, int off, int len) throws IOException {
+			return channel.read(ByteBuffer.wrap(b, off, len), sourcePosition);
+		}
+
+		@Override
+		public void close() throws IOException {
+			channel.close();
+		}
+
+	}
+
+}
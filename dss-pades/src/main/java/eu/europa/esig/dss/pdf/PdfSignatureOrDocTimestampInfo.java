@@ -23,6 +23,8 @@ package eu.europa.esig.dss.pdf;
 import java.util.Date;
 import java.util.Set;
 
+import eu.europa.esig.dss.DSSDocument;
+
 /**
  * The usage of this interface permit the user to choose the underlying PDF library use to created PDF signatures.
  */
@@ -46,6 +48,11 @@ public interface PdfSignatureOrDocTimestampInfo {
 
 	byte[] getContent();
 
+	/**
+	 * @return a view of what is signed (without signature, but with the placeholder), read on demand
+	 */
+	DSSDocument getSignedDocument();
+
 	/**
 	 * @return the byte of what is signed (without signature, but with the placeholder)
 	 */
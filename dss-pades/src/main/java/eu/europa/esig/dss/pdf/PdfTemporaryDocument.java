@@ -0,0 +1,76 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.pdf;
+
+import java.io.File;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.FileDocument;
+import eu.europa.esig.dss.MimeType;
+
+/**
+ * A PDF revision written by DSS in a temporary file (see
+ * {@link eu.europa.esig.dss.pdf.pdfbox.PdfBoxTempFileObjectFactory}). The intermediate revisions created during a
+ * signature or an extension are deleted by DSS once the next revision is written, and the file of a failed operation
+ * is deleted. The file of the returned document belongs to the caller, who deletes it when it is no longer needed.
+ */
+public class PdfTemporaryDocument extends FileDocument {
+
+	private static final Logger LOG = LoggerFactory.getLogger(PdfTemporaryDocument.class);
+
+	public PdfTemporaryDocument(File file) {
+		super(file);
+		setMimeType(MimeType.PDF);
+	}
+
+	/**
+	 * Deletes the temporary file
+	 *
+	 * @return true if the file is deleted
+	 */
+	public boolean delete() {
+		File file = new File(getAbsolutePath());
+		boolean deleted = !file.exists() || file.delete();
+		if (!deleted) {
+			LOG.warn("Unable to delete the temporary file '{}'", file.getAbsolutePath());
+		}
+		return deleted;
+	}
+
+	/**
+	 * Deletes an intermediate revision : nothing is done if the document is not a temporary document created by DSS
+	 * or if it is the given input (which belongs to the caller).
+	 *
+	 * @param intermediate
+	 *            the intermediate revision
+	 * @param input
+	 *            the document given by the caller
+	 */
+	public static void deleteIntermediate(DSSDocument intermediate, DSSDocument input) {
+		if ((intermediate != input) && (intermediate instanceof PdfTemporaryDocument)) {
+			((PdfTemporaryDocument) intermediate).delete();
+		}
+	}
+
+}
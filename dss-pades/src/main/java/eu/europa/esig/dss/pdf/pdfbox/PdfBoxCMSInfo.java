@@ -30,8 +30,10 @@ import org.apache.pdfbox.pdmodel.interactive.digitalsignature.PDSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import eu.europa.esig.dss.DSSDocument;
 import eu.europa.esig.dss.DSSUtils;
 import eu.europa.esig.dss.DigestAlgorithm;
+import eu.europa.esig.dss.pdf.PdfByteRangeDocument;
 import eu.europa.esig.dss.pdf.PdfDict;
 import eu.europa.esig.dss.pdf.PdfDssDict;
 import eu.europa.esig.dss.pdf.PdfSignatureOrDocTimestampInfo;
@@ -53,9 +55,9 @@ abstract class PdfBoxCMSInfo implements PdfSignatureOrDocTimestampInfo {
 	private final byte[] cms;
 
 	/**
-	 * The original signed pdf document
+	 * The signed parts of the pdf document, read on demand
 	 */
-	private final byte[] signedBytes;
+	private final PdfByteRangeDocument signedContent;
 
 	private final boolean coverAllOriginalBytes;
 	private boolean verified;
@@ -72,11 +74,11 @@ abstract class PdfBoxCMSInfo implements PdfSignatureOrDocTimestampInfo {
 	 * @param cms
 	 *            the signature binary
 	 * @param signedContent
-	 *            the signed content
+	 *            the view of the signed content
 	 * @param coverAllOriginalBytes
 	 *            true if the signature covers all original bytes
 	 */
-	PdfBoxCMSInfo(PDSignature signature, PdfDict dict, PdfDssDict dssDictionary, byte[] cms, byte[] signedContent, boolean coverAllOriginalBytes) {
+	PdfBoxCMSInfo(PDSignature signature, PdfDict dict, PdfDssDict dssDictionary, byte[] cms, PdfByteRangeDocument signedContent, boolean coverAllOriginalBytes) {
 		this.cms = cms;
 		this.location = signature.getLocation();
 		this.reason = signature.getReason();
@@ -87,7 +89,7 @@ abstract class PdfBoxCMSInfo implements PdfSignatureOrDocTimestampInfo {
 		this.signatureByteRange = signature.getByteRange();
 		this.signaturedictionary = dict;
 		this.dssDictionary = dssDictionary;
-		this.signedBytes = signedContent;
+		this.signedContent = signedContent;
 		this.coverAllOriginalBytes = coverAllOriginalBytes;
 	}
 
@@ -95,27 +97,29 @@ abstract class PdfBoxCMSInfo implements PdfSignatureOrDocTimestampInfo {
 	public void checkIntegrity() {
 		if (!verified) {
 			checkIntegrityOnce();
-			LOG.debug("Verify embedded CAdES Signature on signedBytes size {}.", signedBytes.length);
+			LOG.debug("Verify embedded CAdES Signature on signedBytes size {}.", signedContent.getLength());
 			verified = true;
 		}
 	}
 
 	protected abstract void checkIntegrityOnce();
 
+	@Override
+	public DSSDocument getSignedDocument() {
+		return signedContent;
+	}
+
 	/**
 	 * @return the byte of the originally signed document
 	 */
 	@Override
 	public byte[] getSignedDocumentBytes() {
-		return signedBytes;
+		return DSSUtils.toByteArray(signedContent);
 	}
 
 	@Override
 	public byte[] getOriginalBytes() {
-		final int length = signatureByteRange[1];
-		final byte[] result = new byte[length];
-		System.arraycopy(signedBytes, 0, result, 0, length);
-		return result;
+		return DSSUtils.toByteArray(signedContent.getView(new int[] { 0, signatureByteRange[1] }));
 	}
 
 	@Override
@@ -23,6 +23,7 @@ package eu.europa.esig.dss.pdf.pdfbox;
 import java.io.IOException;
 
 import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.interactive.digitalsignature.PDSignature;
 import org.apache.pdfbox.pdmodel.interactive.digitalsignature.SignatureOptions;
@@ -45,6 +46,14 @@ class PdfBoxDocTimeStampService extends PdfBoxSignatureService implements PDFTim
 	 */
 	public static final COSName SUB_FILTER_ETSI_RFC3161 = COSName.getPDFName("ETSI.RFC3161");
 
+	PdfBoxDocTimeStampService() {
+		super();
+	}
+
+	PdfBoxDocTimeStampService(MemoryUsageSetting memoryUsageSetting) {
+		super(memoryUsageSetting);
+	}
+
 	@Override
 	protected COSName getType() {
 		return COSName.DOC_TIME_STAMP;
@@ -25,6 +25,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.pdf.PdfByteRangeDocument;
 import eu.europa.esig.dss.pdf.PdfDict;
 import eu.europa.esig.dss.pdf.PdfDocTimestampInfo;
 import eu.europa.esig.dss.pdf.PdfDssDict;
@@ -55,12 +56,12 @@ class PdfBoxDocTimestampInfo extends PdfBoxCMSInfo implements PdfDocTimestampInf
 	 *            true if the signature covers all bytes
 	 * @param isArchiveTimestamp
 	 *            true if the timestamp is an archive timestamp
-	 * @param inputStream
-	 *            the stream of the whole signed document
+	 * @param signedContent
+	 *            the view of the timestamped content
 	 * @throws DSSException
 	 */
 	PdfBoxDocTimestampInfo(CertificatePool validationCertPool, PDSignature signature, PdfDict dictionary, PdfDssDict dssDictionary, byte[] cms,
-			byte[] signedContent, boolean coverCompleteRevision, boolean isArchiveTimestamp) throws DSSException {
+			PdfByteRangeDocument signedContent, boolean coverCompleteRevision, boolean isArchiveTimestamp) throws DSSException {
 		super(signature, dictionary, dssDictionary, cms, signedContent, coverCompleteRevision);
 		try {
 			TimestampType timestampType = TimestampType.SIGNATURE_TIMESTAMP;
@@ -81,10 +82,10 @@ class PdfBoxDocTimestampInfo extends PdfBoxCMSInfo implements PdfDocTimestampInf
 		signatureCryptographicVerification.setReferenceDataFound(false);
 		signatureCryptographicVerification.setReferenceDataIntact(false);
 		signatureCryptographicVerification.setSignatureIntact(false);
-		if (getSignedDocumentBytes() != null) {
+		if (getSignedDocument() != null) {
 			signatureCryptographicVerification.setReferenceDataFound(true);
 		}
-		signatureCryptographicVerification.setReferenceDataIntact(timestampToken.matchData(getSignedDocumentBytes()));
+		signatureCryptographicVerification.setReferenceDataIntact(timestampToken.matchData(getSignedDocument()));
 		signatureCryptographicVerification.setSignatureIntact(timestampToken.isSignatureValid());
 	}
 
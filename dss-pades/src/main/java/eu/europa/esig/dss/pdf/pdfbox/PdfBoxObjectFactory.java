@@ -20,20 +20,39 @@
  */
 package eu.europa.esig.dss.pdf.pdfbox;
 
+import org.apache.pdfbox.io.MemoryUsageSetting;
+
 import eu.europa.esig.dss.pdf.PDFSignatureService;
 import eu.europa.esig.dss.pdf.PDFTimestampService;
 import eu.europa.esig.dss.pdf.PdfObjFactory;
 
 public class PdfBoxObjectFactory extends PdfObjFactory {
 
+	/**
+	 * The PDFBox memory usage setting. If null (default), the documents are fully loaded in memory.
+	 */
+	private MemoryUsageSetting memoryUsageSetting;
+
+	/**
+	 * This method allows to limit the memory usage with large PDF documents : the documents are loaded with the given
+	 * setting (eg : {@code MemoryUsageSetting.setupTempFileOnly()}), a {@code FileDocument} is read with random
+	 * accesses and the signed/extended documents are written to temporary files ({@code FileDocument}).
+	 * 
+	 * @param memoryUsageSetting
+	 *            the PDFBox memory usage setting or null to work in memory
+	 */
+	public void setMemoryUsageSetting(MemoryUsageSetting memoryUsageSetting) {
+		this.memoryUsageSetting = memoryUsageSetting;
+	}
+
 	@Override
 	public PDFSignatureService newPAdESSignatureService() {
-		return new PdfBoxSignatureService();
+		return new PdfBoxSignatureService(memoryUsageSetting);
 	}
 
 	@Override
 	public PDFTimestampService newTimestampSignatureService() {
-		return new PdfBoxDocTimeStampService();
+		return new PdfBoxDocTimeStampService(memoryUsageSetting);
 	}
 
 }
\ No newline at end of file
@@ -26,9 +26,8 @@ import java.util.Arrays;
 import org.apache.pdfbox.pdmodel.interactive.digitalsignature.PDSignature;
 import org.bouncycastle.cms.CMSException;
 
-import eu.europa.esig.dss.DSSDocument;
-import eu.europa.esig.dss.InMemoryDocument;
 import eu.europa.esig.dss.cades.validation.CAdESSignature;
+import eu.europa.esig.dss.pdf.PdfByteRangeDocument;
 import eu.europa.esig.dss.pdf.PdfDict;
 import eu.europa.esig.dss.pdf.PdfDssDict;
 import eu.europa.esig.dss.pdf.PdfSignatureInfo;
@@ -46,18 +45,17 @@ class PdfBoxSignatureInfo extends PdfBoxCMSInfo implements PdfSignatureInfo {
 	 *            the DSS dictionary
 	 * @param cms
 	 *            the CMS (CAdES) bytes
-	 * @param originalBytes
-	 *            the original bytes of the whole signed document
+	 * @param signedContent
+	 *            the view of the signed content
 	 * @throws IOException
 	 */
 	PdfBoxSignatureInfo(CertificatePool validationCertPool, PDSignature signature, PdfDict dictionary, PdfDssDict dssDictionary, byte[] cms,
-			byte[] originalBytes, boolean coverCompleteRevision) throws IOException {
-		super(signature, dictionary, dssDictionary, cms, originalBytes, coverCompleteRevision);
+			PdfByteRangeDocument signedContent, boolean coverCompleteRevision) throws IOException {
+		super(signature, dictionary, dssDictionary, cms, signedContent, coverCompleteRevision);
 		try {
 			cades = new CAdESSignature(cms, validationCertPool);
 			content = cms;
-			final DSSDocument detachedContent = new InMemoryDocument(getSignedDocumentBytes());
-			cades.setDetachedContents(Arrays.asList(detachedContent));
+			cades.setDetachedContents(Arrays.asList(getSignedDocument()));
 		} catch (CMSException e) {
 			throw new IOException(e);
 		}
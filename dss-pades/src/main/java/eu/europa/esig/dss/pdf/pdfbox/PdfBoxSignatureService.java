@@ -20,8 +20,11 @@
  */
 package eu.europa.esig.dss.pdf.pdfbox;
 
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -32,16 +35,21 @@ import java.util.Calendar;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.Map.Entry;
 
 import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
 import org.apache.pdfbox.cos.COSDictionary;
 import org.apache.pdfbox.cos.COSName;
 import org.apache.pdfbox.cos.COSStream;
 import org.apache.pdfbox.cos.COSString;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.io.RandomAccessBuffer;
+import org.apache.pdfbox.io.RandomAccessBufferedFileInputStream;
+import org.apache.pdfbox.io.RandomAccessRead;
+import org.apache.pdfbox.pdfparser.PDFParser;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDResources;
@@ -63,6 +71,7 @@ import eu.europa.esig.dss.DSSDocument;
 import eu.europa.esig.dss.DSSException;
 import eu.europa.esig.dss.DSSUtils;
 import eu.europa.esig.dss.DigestAlgorithm;
+import eu.europa.esig.dss.FileDocument;
 import eu.europa.esig.dss.InMemoryDocument;
 import eu.europa.esig.dss.MimeType;
 import eu.europa.esig.dss.pades.PAdESSignatureParameters;
@@ -72,11 +81,13 @@ import eu.europa.esig.dss.pades.signature.visible.ImageAndResolution;
 import eu.europa.esig.dss.pades.signature.visible.ImageUtils;
 import eu.europa.esig.dss.pdf.DSSDictionaryCallback;
 import eu.europa.esig.dss.pdf.PDFSignatureService;
+import eu.europa.esig.dss.pdf.PdfByteRangeDocument;
 import eu.europa.esig.dss.pdf.PdfDict;
 import eu.europa.esig.dss.pdf.PdfDssDict;
 import eu.europa.esig.dss.pdf.PdfSignatureInfo;
 import eu.europa.esig.dss.pdf.PdfSignatureOrDocTimestampInfo;
 import eu.europa.esig.dss.pdf.PdfSignatureOrDocTimestampInfoComparator;
+import eu.europa.esig.dss.pdf.PdfTemporaryDocument;
 import eu.europa.esig.dss.pdf.SignatureValidationCallback;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.x509.CertificatePool;
@@ -89,14 +100,31 @@ class PdfBoxSignatureService implements PDFSignatureService {
 
 	private static final Logger LOG = LoggerFactory.getLogger(PdfBoxSignatureService.class);
 
+	/**
+	 * The memory usage setting used to load the PDF documents and to store the produced documents. If null, the
+	 * documents are fully loaded in memory and {@code InMemoryDocument}s are returned.
+	 */
+	private final MemoryUsageSetting memoryUsageSetting;
+
+	PdfBoxSignatureService() {
+		this(null);
+	}
+
+	/**
+	 * @param memoryUsageSetting
+	 *            the PDFBox memory usage setting (scratch file), null to work in memory
+	 */
+	PdfBoxSignatureService(MemoryUsageSetting memoryUsageSetting) {
+		this.memoryUsageSetting = memoryUsageSetting;
+	}
+
 	@Override
 	public byte[] digest(final DSSDocument toSignDocument, final PAdESSignatureParameters parameters, final DigestAlgorithm digestAlgorithm)
 			throws DSSException {
 
 		final byte[] signatureValue = DSSUtils.EMPTY_BYTE_ARRAY;
-		try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-				InputStream is = toSignDocument.openStream();
-				PDDocument pdDocument = PDDocument.load(is)) {
+		// only the digest of the byte ranges is needed, the signed document is not kept
+		try (OutputStream outputStream = new DigestOnlyOutputStream(); PDDocument pdDocument = loadPDDocument(toSignDocument)) {
 
 			PDSignature pdSignature = createSignatureDictionary(parameters, pdDocument);
 			return signDocumentAndReturnDigest(parameters, signatureValue, outputStream, pdDocument, pdSignature, digestAlgorithm);
@@ -109,21 +137,162 @@ class PdfBoxSignatureService implements PDFSignatureService {
 	public DSSDocument sign(final DSSDocument toSignDocument, final byte[] signatureValue, final PAdESSignatureParameters parameters,
 			final DigestAlgorithm digestAlgorithm) throws DSSException {
 
-		try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
-				InputStream is = toSignDocument.openStream();
-				PDDocument pdDocument = PDDocument.load(is)) {
+		try (PDDocument pdDocument = loadPDDocument(toSignDocument)) {
 
 			final PDSignature pdSignature = createSignatureDictionary(parameters, pdDocument);
-			signDocumentAndReturnDigest(parameters, signatureValue, baos, pdDocument, pdSignature, digestAlgorithm);
-
-			DSSDocument signature = new InMemoryDocument(baos.toByteArray());
-			signature.setMimeType(MimeType.PDF);
-			return signature;
+			final PdfBoxOutput output = createOutput();
+			try {
+				try (OutputStream os = output.getOutputStream()) {
+					signDocumentAndReturnDigest(parameters, signatureValue, os, pdDocument, pdSignature, digestAlgorithm);
+				}
+				return output.getDocument();
+			} catch (IOException | RuntimeException e) {
+				output.discard();
+				throw e;
+			}
 		} catch (IOException e) {
 			throw new DSSException(e);
 		}
 	}
 
+	/**
+	 * Loads the PDF document. With a {@code MemoryUsageSetting}, a {@code FileDocument} is read with random accesses
+	 * on the file (not copied in memory) and other documents are buffered according to the setting.
+	 *
+	 * @param document
+	 *            the PDF document to load
+	 * @return the loaded {@code PDDocument}
+	 * @throws IOException
+	 *             if the document cannot be parsed
+	 */
+	protected PDDocument loadPDDocument(final DSSDocument document) throws IOException {
+		if (memoryUsageSetting == null) {
+			try (InputStream is = document.openStream()) {
+				return PDDocument.load(is);
+			}
+		}
+		if (document instanceof FileDocument) {
+			return PDDocument.load(new File(document.getAbsolutePath()), memoryUsageSetting);
+		}
+		try (InputStream is = document.openStream()) {
+			return PDDocument.load(is, memoryUsageSetting);
+		}
+	}
+
+	/**
+	 * Creates the destination of a new revision : in memory by default or in a temporary file (in the temp directory
+	 * of the {@code MemoryUsageSetting} if defined). The temporary file is deleted if the revision cannot be written,
+	 * otherwise it is returned as a {@code PdfTemporaryDocument} (see its lifecycle).
+	 *
+	 * @return the output
+	 * @throws IOException
+	 *             if the temporary file cannot be created
+	 */
+	protected PdfBoxOutput createOutput() throws IOException {
+		if (memoryUsageSetting == null) {
+			return new PdfBoxOutput(null);
+		}
+		return new PdfBoxOutput(File.createTempFile("dss-pades-", ".pdf", memoryUsageSetting.getTempDir()));
+	}
+
+	/**
+	 * The validated PDF document : a file which is read in place, or the binaries of the document which are shared by
+	 * all the byte range views.
+	 */
+	private static class PdfSource {
+
+		private final File file;
+
+		private final byte[] bytes;
+
+		PdfSource(DSSDocument document) {
+			if (document instanceof FileDocument) {
+				file = new File(document.getAbsolutePath());
+				bytes = null;
+			} else if (document instanceof InMemoryDocument) {
+				file = null;
+				bytes = ((InMemoryDocument) document).getBytes();
+			} else {
+				file = null;
+				bytes = DSSUtils.toByteArray(document);
+			}
+		}
+
+		long length() {
+			return file != null ? file.length() : bytes.length;
+		}
+
+		PDDocument load() throws IOException {
+			return file != null ? PDDocument.load(file) : PDDocument.load(bytes);
+		}
+
+		RandomAccessRead open() throws IOException {
+			return file != null ? new RandomAccessBufferedFileInputStream(file) : new RandomAccessBuffer(bytes);
+		}
+
+		PdfByteRangeDocument getView(int[] byteRange) {
+			return file != null ? new PdfByteRangeDocument(file, byteRange) : new PdfByteRangeDocument(bytes, byteRange);
+		}
+
+	}
+
+	/**
+	 * The output of a new PDF revision : a {@code ByteArrayOutputStream} or a temporary file
+	 */
+	protected static class PdfBoxOutput {
+
+		private final File file;
+		private final ByteArrayOutputStream baos;
+
+		PdfBoxOutput(File file) {
+			this.file = file;
+			this.baos = (file == null) ? new ByteArrayOutputStream() : null;
+		}
+
+		OutputStream getOutputStream() throws IOException {
+			if (file == null) {
+				return baos;
+			}
+			return new BufferedOutputStream(new FileOutputStream(file));
+		}
+
+		DSSDocument getDocument() {
+			if (file == null) {
+				DSSDocument document = new InMemoryDocument(baos.toByteArray());
+				document.setMimeType(MimeType.PDF);
+				return document;
+			}
+			return new PdfTemporaryDocument(file);
+		}
+
+		/**
+		 * Deletes the temporary file of a revision which cannot be written
+		 */
+		void discard() {
+			if ((file != null) && file.exists() && !file.delete()) {
+				LOG.warn("Unable to delete the temporary file '{}'", file.getAbsolutePath());
+			}
+		}
+
+	}
+
+	/**
+	 * This OutputStream ignores the written bytes : the digest is computed by PDFBox on the byte ranges
+	 */
+	private static class DigestOnlyOutputStream extends OutputStream {
+
+		@Override
+		public void write(int b) {
+			// ignored
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			// ignored
+		}
+
+	}
+
 	private byte[] signDocumentAndReturnDigest(final PAdESSignatureParameters parameters, final byte[] signatureBytes, final OutputStream fileOutputStream,
 			final PDDocument pdDocument, final PDSignature pdSignature, final DigestAlgorithm digestAlgorithm) throws DSSException {
 
@@ -302,21 +471,17 @@ class PdfBoxSignatureService implements PDFSignatureService {
 	@Override
 	public void validateSignatures(CertificatePool validationCertPool, DSSDocument document, SignatureValidationCallback callback) throws DSSException {
 		// recursive search of signature
-		try (InputStream inputStream = document.openStream()) {
-			List<PdfSignatureOrDocTimestampInfo> signaturesFound = getSignatures(validationCertPool, Utils.toByteArray(inputStream));
-			for (PdfSignatureOrDocTimestampInfo pdfSignatureOrDocTimestampInfo : signaturesFound) {
-				callback.validate(pdfSignatureOrDocTimestampInfo);
-			}
-		} catch (IOException e) {
-			LOG.error("Cannot validate signatures : " + e.getMessage(), e);
+		List<PdfSignatureOrDocTimestampInfo> signaturesFound = getSignatures(validationCertPool, new PdfSource(document));
+		for (PdfSignatureOrDocTimestampInfo pdfSignatureOrDocTimestampInfo : signaturesFound) {
+			callback.validate(pdfSignatureOrDocTimestampInfo);
 		}
 	}
 
-	private List<PdfSignatureOrDocTimestampInfo> getSignatures(CertificatePool validationCertPool, byte[] originalBytes) {
+	private List<PdfSignatureOrDocTimestampInfo> getSignatures(CertificatePool validationCertPool, PdfSource source) {
 		List<PdfSignatureOrDocTimestampInfo> signatures = new ArrayList<PdfSignatureOrDocTimestampInfo>();
-		try (PDDocument doc = PDDocument.load(originalBytes)) {
+		try (PDDocument doc = source.load()) {
 
-			int originalBytesLength = originalBytes.length;
+			long originalBytesLength = source.length();
 
 			List<PDSignature> pdSignatures = doc.getSignatureDictionaries();
 
@@ -326,6 +491,9 @@ class PdfBoxSignatureService implements PDFSignatureService {
 				PdfDict catalog = new PdfBoxDict(doc.getDocumentCatalog().getCOSObject(), doc);
 				PdfDssDict dssDictionary = PdfDssDict.extract(catalog);
 
+				// presence of the DSS dictionary by revision length, each revision is parsed once
+				Map<Integer, Boolean> dssDictionaryInRevisions = new HashMap<Integer, Boolean>();
+
 				for (PDSignature signature : pdSignatures) {
 					String subFilter = signature.getSubFilter();
 					int[] byteRange = signature.getByteRange();
@@ -336,7 +504,7 @@ class PdfBoxSignatureService implements PDFSignatureService {
 					COSString item = (COSString) dict.getDictionaryObject(COSName.CONTENTS);
 					byte[] cms = item.getBytes();
 
-					byte[] cmsWithByteRange = signature.getContents(originalBytes);
+					byte[] cmsWithByteRange = getContents(source, byteRange);
 
 					if (!Arrays.equals(cmsWithByteRange, cms)) {
 						LOG.warn("The byte range doesn't match found /Content value!");
@@ -347,13 +515,13 @@ class PdfBoxSignatureService implements PDFSignatureService {
 						continue;
 					}
 
-					byte[] signedContent = signature.getSignedContent(originalBytes);
+					PdfByteRangeDocument signedContent = source.getView(byteRange);
 
 					// /ByteRange [0 575649 632483 10206]
 					int beforeSignatureLength = byteRange[1] - byteRange[0];
 					int expectedCMSLength = byteRange[2] - byteRange[1];
 					int afterSignatureLength = byteRange[3];
-					int totalCoveredByByteRange = beforeSignatureLength + expectedCMSLength + afterSignatureLength;
+					long totalCoveredByByteRange = (long) beforeSignatureLength + expectedCMSLength + afterSignatureLength;
 
 					boolean coverAllOriginalBytes = (originalBytesLength == totalCoveredByByteRange);
 
@@ -365,7 +533,7 @@ class PdfBoxSignatureService implements PDFSignatureService {
 						// LT or LTA
 						if (dssDictionary != null) {
 							// check is DSS dictionary already exist
-							if (isDSSDictionaryPresentInPreviousRevision(getOriginalBytes(byteRange, signedContent))) {
+							if (isDSSDictionaryPresentInPreviousRevision(source, byteRange[1], dssDictionaryInRevisions)) {
 								isArchiveTimestamp = true;
 							}
 						}
@@ -397,6 +565,14 @@ class PdfBoxSignatureService implements PDFSignatureService {
 		return signatures;
 	}
 
+	/**
+	 * Reads the /Contents value between the two parts of the byte range, without its delimiters.
+	 */
+	private byte[] getContents(PdfSource source, int[] byteRange) throws IOException {
+		PdfByteRangeDocument contents = source.getView(new int[] { byteRange[1] + 1, Math.max(0, byteRange[2] - byteRange[1] - 2) });
+		return COSString.parseHex(new String(DSSUtils.toByteArray(contents), "ISO-8859-1")).getBytes();
+	}
+
 	private void validateByteRange(int[] byteRange) {
 
 		if (byteRange == null || byteRange.length != 4) {
@@ -438,13 +614,30 @@ class PdfBoxSignatureService implements PDFSignatureService {
 		}
 	}
 
-	private boolean isDSSDictionaryPresentInPreviousRevision(byte[] originalBytes) {
+	private boolean isDSSDictionaryPresentInPreviousRevision(PdfSource source, int revisionLength, Map<Integer, Boolean> dssDictionaryInRevisions) {
+		Boolean present = dssDictionaryInRevisions.get(revisionLength);
+		if (present == null) {
+			present = isDSSDictionaryPresentInRevision(source, revisionLength);
+			dssDictionaryInRevisions.put(revisionLength, present);
+		}
+		return present;
+	}
+
+	/**
+	 * The revision is parsed in place : only its cross-reference sections, its trailer and the objects reached from
+	 * the catalog are read.
+	 */
+	private boolean isDSSDictionaryPresentInRevision(PdfSource source, int revisionLength) {
 		PdfDssDict dssDictionary = null;
-		try (PDDocument doc = PDDocument.load(originalBytes)) {
-			List<PDSignature> pdSignatures = doc.getSignatureDictionaries();
-			if (Utils.isCollectionNotEmpty(pdSignatures)) {
-				PdfDict catalog = new PdfBoxDict(doc.getDocumentCatalog().getCOSObject(), doc);
-				dssDictionary = PdfDssDict.extract(catalog);
+		try (RandomAccessRead revision = new RevisionRandomAccessRead(source.open(), revisionLength)) {
+			PDFParser parser = new PDFParser(revision);
+			parser.parse();
+			try (PDDocument doc = parser.getPDDocument()) {
+				List<PDSignature> pdSignatures = doc.getSignatureDictionaries();
+				if (Utils.isCollectionNotEmpty(pdSignatures)) {
+					PdfDict catalog = new PdfBoxDict(doc.getDocumentCatalog().getCOSObject(), doc);
+					dssDictionary = PdfDssDict.extract(catalog);
+				}
 			}
 		} catch (Exception e) {
 			LOG.warn("Cannot check in previous revisions if DSS dictionary already exist : " + e.getMessage(), e);
@@ -453,44 +646,56 @@ class PdfBoxSignatureService implements PDFSignatureService {
 		return dssDictionary != null;
 	}
 
-	private byte[] getOriginalBytes(int[] byteRange, byte[] signedContent) {
-		final int length = byteRange[1];
-		final byte[] result = new byte[length];
-		System.arraycopy(signedContent, 0, result, 0, length);
-		return result;
-	}
-
 	@Override
 	public DSSDocument addDssDictionary(DSSDocument document, List<DSSDictionaryCallback> callbacks) {
-		try (ByteArrayOutputStream baos = new ByteArrayOutputStream(); InputStream is = document.openStream(); PDDocument pdDocument = PDDocument.load(is)) {
+		try (PDDocument pdDocument = loadPDDocument(document)) {
 
 			if (Utils.isCollectionNotEmpty(callbacks)) {
 				final COSDictionary cosDictionary = pdDocument.getDocumentCatalog().getCOSObject();
-				cosDictionary.setItem("DSS", buildDSSDictionary(callbacks));
+				cosDictionary.setItem("DSS", buildDSSDictionary(cosDictionary, callbacks));
 				cosDictionary.setNeedToBeUpdated(true);
 			}
 
-			pdDocument.saveIncremental(baos);
-
-			DSSDocument inMemoryDocument = new InMemoryDocument(baos.toByteArray());
-			inMemoryDocument.setMimeType(MimeType.PDF);
-			return inMemoryDocument;
+			final PdfBoxOutput output = createOutput();
+			try {
+				try (OutputStream os = output.getOutputStream()) {
+					pdDocument.saveIncremental(os);
+				}
+				return output.getDocument();
+			} catch (IOException | RuntimeException e) {
+				output.discard();
+				throw e;
+			}
 
 		} catch (Exception e) {
 			throw new DSSException(e);
 		}
 	}
 
-	private COSDictionary buildDSSDictionary(List<DSSDictionaryCallback> callbacks) throws Exception {
+	/**
+	 * Builds the DSS dictionary of the new revision. The validation data of the DSS dictionary of the previous revision
+	 * are kept by reference and matched by digest with the validation data of the callbacks : only the new validation
+	 * data are written, in compressed streams.
+	 */
+	private COSDictionary buildDSSDictionary(COSDictionary catalog, List<DSSDictionaryCallback> callbacks) throws Exception {
 		COSDictionary dss = new COSDictionary();
 
-		Map<String, COSStream> streams = new HashMap<String, COSStream>();
+		// streams by digest of their decoded content
+		Map<String, COSBase> streams = new HashMap<String, COSBase>();
 
-		Set<CRLToken> allCrls = new HashSet<CRLToken>();
-		Set<OCSPToken> allOcsps = new HashSet<OCSPToken>();
-		Set<CertificateToken> allCertificates = new HashSet<CertificateToken>();
+		COSDictionary previousDss = getDictionary(catalog, "DSS");
+		COSArray arrayAllCerts = getPreviousStreams(previousDss, "Certs", streams);
+		COSArray arrayAllOcsps = getPreviousStreams(previousDss, "OCSPs", streams);
+		COSArray arrayAllCrls = getPreviousStreams(previousDss, "CRLs", streams);
 
 		COSDictionary vriDictionary = new COSDictionary();
+		COSDictionary previousVriDictionary = getDictionary(previousDss, "VRI");
+		if (previousVriDictionary != null) {
+			for (Entry<COSName, COSBase> entry : previousVriDictionary.entrySet()) {
+				vriDictionary.setItem(entry.getKey(), entry.getValue());
+			}
+		}
+
 		for (DSSDictionaryCallback callback : callbacks) {
 			COSDictionary sigVriDictionary = new COSDictionary();
 			sigVriDictionary.setDirect(true);
@@ -498,8 +703,7 @@ class PdfBoxSignatureService implements PDFSignatureService {
 			if (Utils.isCollectionNotEmpty(callback.getCertificates())) {
 				COSArray vriCertArray = new COSArray();
 				for (CertificateToken token : callback.getCertificates()) {
-					vriCertArray.add(getStream(streams, token));
-					allCertificates.add(token);
+					vriCertArray.add(getStream(streams, token, arrayAllCerts));
 				}
 				sigVriDictionary.setItem("Cert", vriCertArray);
 			}
@@ -507,8 +711,7 @@ class PdfBoxSignatureService implements PDFSignatureService {
 			if (Utils.isCollectionNotEmpty(callback.getOcsps())) {
 				COSArray vriOcspArray = new COSArray();
 				for (OCSPToken token : callback.getOcsps()) {
-					vriOcspArray.add(getStream(streams, token));
-					allOcsps.add(token);
+					vriOcspArray.add(getStream(streams, token, arrayAllOcsps));
 				}
 				sigVriDictionary.setItem("OCSP", vriOcspArray);
 			}
@@ -516,8 +719,7 @@ class PdfBoxSignatureService implements PDFSignatureService {
 			if (Utils.isCollectionNotEmpty(callback.getCrls())) {
 				COSArray vriCrlArray = new COSArray();
 				for (CRLToken token : callback.getCrls()) {
-					vriCrlArray.add(getStream(streams, token));
-					allCrls.add(token);
+					vriCrlArray.add(getStream(streams, token, arrayAllCrls));
 				}
 				sigVriDictionary.setItem("CRL", vriCrlArray);
 			}
@@ -531,44 +733,79 @@ class PdfBoxSignatureService implements PDFSignatureService {
 		}
 		dss.setItem("VRI", vriDictionary);
 
-		if (Utils.isCollectionNotEmpty(allCertificates)) {
-			COSArray arrayAllCerts = new COSArray();
-			for (CertificateToken token : allCertificates) {
-				arrayAllCerts.add(getStream(streams, token));
-			}
+		if (arrayAllCerts.size() > 0) {
 			dss.setItem("Certs", arrayAllCerts);
 		}
 
-		if (Utils.isCollectionNotEmpty(allOcsps)) {
-			COSArray arrayAllOcsps = new COSArray();
-			for (OCSPToken token : allOcsps) {
-				arrayAllOcsps.add(getStream(streams, token));
-			}
+		if (arrayAllOcsps.size() > 0) {
 			dss.setItem("OCSPs", arrayAllOcsps);
 		}
 
-		if (Utils.isCollectionNotEmpty(allCrls)) {
-			COSArray arrayAllCrls = new COSArray();
-			for (CRLToken token : allCrls) {
-				arrayAllCrls.add(getStream(streams, token));
-			}
+		if (arrayAllCrls.size() > 0) {
 			dss.setItem("CRLs", arrayAllCrls);
 		}
 
 		return dss;
 	}
 
-	private COSStream getStream(Map<String, COSStream> streams, Token token) throws IOException {
-		COSStream stream = streams.get(token.getDSSIdAsString());
+	private COSDictionary getDictionary(COSDictionary parent, String name) {
+		if (parent != null) {
+			COSBase value = parent.getDictionaryObject(name);
+			if (value instanceof COSDictionary) {
+				return (COSDictionary) value;
+			}
+		}
+		return null;
+	}
 
-		if (stream == null) {
-			stream = new COSStream();
+	/**
+	 * Returns a new array with the references of the streams of the given array of the previous DSS dictionary. The
+	 * streams are registered by digest, duplicates are dropped.
+	 */
+	private COSArray getPreviousStreams(COSDictionary previousDss, String name, Map<String, COSBase> streams) throws IOException {
+		COSArray array = new COSArray();
+		if (previousDss != null) {
+			COSBase value = previousDss.getDictionaryObject(name);
+			if (value instanceof COSArray) {
+				COSArray previousArray = (COSArray) value;
+				for (int i = 0; i < previousArray.size(); i++) {
+					COSBase object = previousArray.getObject(i);
+					if (object instanceof COSStream) {
+						String digest;
+						try (InputStream is = ((COSStream) object).createInputStream()) {
+							digest = Utils.toBase64(DSSUtils.digest(DigestAlgorithm.SHA256, is));
+						}
+						if (!streams.containsKey(digest)) {
+							// the reference, not the stream, to keep the existing object
+							COSBase item = previousArray.get(i);
+							streams.put(digest, item);
+							array.add(item);
+						}
+					}
+				}
+			}
+		}
+		return array;
+	}
 
-			try (OutputStream unfilteredStream = stream.createOutputStream()) {
-				unfilteredStream.write(token.getEncoded());
-				unfilteredStream.flush();
+	/**
+	 * Returns the stream of the token, a new FlateDecode stream if the token is not already present, which is then
+	 * added to the given array.
+	 */
+	private COSBase getStream(Map<String, COSBase> streams, Token token, COSArray allTokensArray) throws IOException {
+		final byte[] encoded = token.getEncoded();
+		final String digest = Utils.toBase64(DSSUtils.digest(DigestAlgorithm.SHA256, encoded));
+		COSBase stream = streams.get(digest);
+
+		if (stream == null) {
+			COSStream newStream = new COSStream();
+			try (OutputStream filteredStream = newStream.createOutputStream(COSName.FLATE_DECODE)) {
+				filteredStream.write(encoded);
+				filteredStream.flush();
 			}
-			streams.put(token.getDSSIdAsString(), stream);
+			streams.put(digest, newStream);
+			allTokensArray.add(newStream);
+			stream = newStream;
 		}
 		return stream;
 	}
@@ -0,0 +1,133 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.pdf.pdfbox;
+
+import java.io.EOFException;
+import java.io.IOException;
+
+import org.apache.pdfbox.io.RandomAccessRead;
+
+/**
+ * Exposes the beginning of a PDF document, up to the end of a previous revision, so that this revision can be parsed
+ * by PDFBox without copying its bytes.
+ */
+class RevisionRandomAccessRead implements RandomAccessRead {
+
+	private final RandomAccessRead source;
+
+	private final long length;
+
+	/**
+	 * @param source
+	 *            the whole PDF document
+	 * @param length
+	 *            the number of bytes of the revision
+	 */
+	RevisionRandomAccessRead(RandomAccessRead source, long length) {
+		this.source = source;
+		this.length = length;
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (isEOF()) {
+			return -1;
+		}
+		return source.read();
+	}
+
+	@Override
+	public int read(byte[] b) throws IOException {
+		return read(b, 0, b.length);
+	}
+
+	@Override
+	public int read(byte[] b, int offset, int len) throws IOException {
+		long available = length - source.getPosition();
+		if (available <= 0) {
+			return -1;
+		}
+		return source.read(b, offset, (int) Math.min(len, available));
+	}
+
+	@Override
+	public long getPosition() throws IOException {
+		return source.getPosition();
+	}
+
+	@Override
+	public void seek(long position) throws IOException {
+		source.seek(Math.min(position, length));
+	}
+
+	@Override
+	public long length() throws IOException {
+		return length;
+	}
+
+	@Override
+	public boolean isClosed() {
+		return source.isClosed();
+	}
+
+	@Override
+	public int peek() throws IOException {
+		if (isEOF()) {
+			return -1;
+		}
+		return source.peek();
+	}
+
+	@Override
+	public void rewind(int bytes) throws IOException {
+		source.rewind(bytes);
+	}
+
+	@Override
+	public byte[] readFully(int len) throws IOException {
+		byte[] bytes = new byte[len];
+		int offset = 0;
+		while (offset < len) {
+			int count = read(bytes, offset, len - offset);
+			if (count == -1) {
+				throw new EOFException("Premature end of revision");
+			}
+			offset += count;
+		}
+		return bytes;
+	}
+
+	@Override
+	public boolean isEOF() throws IOException {
+		return source.getPosition() >= length;
+	}
+
+	@Override
+	public int available() throws IOException {
+		return (int) Math.max(0, Math.min(Integer.MAX_VALUE, length - source.getPosition()));
+	}
+
+	@Override
+	public void close() throws IOException {
+		source.close();
+	}
+
+}
@@ -0,0 +1,117 @@
+package eu.europa.esig.dss.pades;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.FileDocument;
+import eu.europa.esig.dss.pades.validation.PAdESSignature;
+import eu.europa.esig.dss.pades.validation.PDFDocumentValidator;
+import eu.europa.esig.dss.pdf.DSSDictionaryCallback;
+import eu.europa.esig.dss.pdf.PdfObjFactory;
+import eu.europa.esig.dss.validation.AdvancedSignature;
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.x509.CertificateToken;
+
+public class DSSDictionaryIncrementTest {
+
+	@Test
+	public void onlyNewValidationDataAreWritten() throws Exception {
+		DSSDocument document = new FileDocument("src/test/resources/plugtest/esig2014/ESIG-PAdES/AT/Signature-P-AT-1.pdf");
+		assertNull(getDSSArray(document, "Certs"));
+
+		DSSDocument first = addDssDictionary(document);
+		List<Integer> firstCerts = getObjectNumbers(first, "Certs");
+		assertFalse(firstCerts.isEmpty());
+		assertTrue(areCompressed(first, "Certs"));
+
+		DSSDocument second = addDssDictionary(first);
+		// the certificates of the previous revision are referenced, not written again
+		assertEquals(firstCerts, getObjectNumbers(second, "Certs"));
+
+		long firstGrowth = DSSUtils.toByteArray(first).length - DSSUtils.toByteArray(document).length;
+		long secondGrowth = DSSUtils.toByteArray(second).length - DSSUtils.toByteArray(first).length;
+		assertTrue(secondGrowth < firstGrowth);
+	}
+
+	private DSSDocument addDssDictionary(DSSDocument document) {
+		PDFDocumentValidator validator = new PDFDocumentValidator(document);
+		validator.setCertificateVerifier(new CommonCertificateVerifier(true));
+
+		List<DSSDictionaryCallback> callbacks = new ArrayList<DSSDictionaryCallback>();
+		for (AdvancedSignature signature : validator.getSignatures()) {
+			DSSDictionaryCallback callback = new DSSDictionaryCallback();
+			callback.setSignature((PAdESSignature) signature);
+			callback.setCertificates(new HashSet<CertificateToken>(signature.getCertificates()));
+			callbacks.add(callback);
+		}
+		assertFalse(callbacks.isEmpty());
+		return PdfObjFactory.getInstance().newPAdESSignatureService().addDssDictionary(document, callbacks);
+	}
+
+	private List<Integer> getObjectNumbers(DSSDocument document, String name) throws Exception {
+		List<Integer> result = new ArrayList<Integer>();
+		try (InputStream is = document.openStream(); PDDocument pdDocument = PDDocument.load(is)) {
+			COSArray array = getDSSArray(pdDocument, name);
+			assertNotNull(array);
+			Set<Long> distinct = new HashSet<Long>();
+			for (int i = 0; i < array.size(); i++) {
+				COSObject object = (COSObject) array.get(i);
+				assertTrue(distinct.add(object.getObjectNumber()));
+				result.add((int) object.getObjectNumber());
+			}
+		}
+		return result;
+	}
+
+	private boolean areCompressed(DSSDocument document, String name) throws Exception {
+		try (InputStream is = document.openStream(); PDDocument pdDocument = PDDocument.load(is)) {
+			COSArray array = getDSSArray(pdDocument, name);
+			for (int i = 0; i < array.size(); i++) {
+				COSStream stream = (COSStream) array.getObject(i);
+				if (!COSName.FLATE_DECODE.equals(stream.getFilters())) {
+					return false;
+				}
+				// the content is still readable by the DSS dictionary parser
+				try (InputStream streamContent = stream.createInputStream()) {
+					assertNotNull(DSSUtils.loadCertificate(streamContent));
+				}
+			}
+		}
+		return true;
+	}
+
+	private COSArray getDSSArray(DSSDocument document, String name) throws Exception {
+		try (InputStream is = document.openStream(); PDDocument pdDocument = PDDocument.load(is)) {
+			return getDSSArray(pdDocument, name);
+		}
+	}
+
+	private COSArray getDSSArray(PDDocument pdDocument, String name) {
+		COSBase dss = pdDocument.getDocumentCatalog().getCOSObject().getDictionaryObject("DSS");
+		if (dss instanceof COSDictionary) {
+			return (COSArray) ((COSDictionary) dss).getDictionaryObject(name);
+		}
+		return null;
+	}
+
+}
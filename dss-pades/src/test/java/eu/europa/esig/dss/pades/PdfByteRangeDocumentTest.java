@@ -0,0 +1,73 @@
+package eu.europa.esig.dss.pades;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.DigestAlgorithm;
+import eu.europa.esig.dss.pdf.PdfByteRangeDocument;
+import eu.europa.esig.dss.utils.Utils;
+
+public class PdfByteRangeDocumentTest {
+
+	private static final File FILE = new File("src/test/resources/sample.pdf");
+
+	private static final int[] BYTE_RANGE = new int[] { 0, 100, 150, 1000 };
+
+	@Test
+	public void viewOfBinaries() throws Exception {
+		byte[] content = DSSUtils.toByteArray(FILE);
+		checkView(new PdfByteRangeDocument(content, BYTE_RANGE), content);
+	}
+
+	@Test
+	public void viewOfFile() throws Exception {
+		checkView(new PdfByteRangeDocument(FILE, BYTE_RANGE), DSSUtils.toByteArray(FILE));
+	}
+
+	@Test
+	public void otherView() {
+		byte[] content = DSSUtils.toByteArray(FILE);
+		PdfByteRangeDocument revision = new PdfByteRangeDocument(FILE, BYTE_RANGE).getView(new int[] { 0, 100 });
+		assertArrayEquals(copyOf(content, 0, 100), DSSUtils.toByteArray(revision));
+	}
+
+	@Test(expected = IOException.class)
+	public void rangeAfterTheEndOfTheDocument() throws Exception {
+		PdfByteRangeDocument document = new PdfByteRangeDocument(new byte[10], new int[] { 0, 5, 8, 5 });
+		try (InputStream is = document.openStream()) {
+			Utils.toByteArray(is);
+		}
+	}
+
+	@Test(expected = DSSException.class)
+	public void oddByteRange() {
+		new PdfByteRangeDocument(FILE, new int[] { 0, 100, 150 });
+	}
+
+	private void checkView(PdfByteRangeDocument document, byte[] content) {
+		byte[] expected = new byte[1100];
+		System.arraycopy(content, 0, expected, 0, 100);
+		System.arraycopy(content, 150, expected, 100, 1000);
+
+		assertEquals(1100, document.getLength());
+		assertArrayEquals(expected, DSSUtils.toByteArray(document));
+		// can be read several times
+		assertArrayEquals(expected, DSSUtils.toByteArray(document));
+		assertEquals(Utils.toBase64(DSSUtils.digest(DigestAlgorithm.SHA256, expected)), document.getDigest(DigestAlgorithm.SHA256));
+	}
+
+	private byte[] copyOf(byte[] content, int offset, int length) {
+		byte[] result = new byte[length];
+		System.arraycopy(content, offset, result, 0, length);
+		return result;
+	}
+
+}
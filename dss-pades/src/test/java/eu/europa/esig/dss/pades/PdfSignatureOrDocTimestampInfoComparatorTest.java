@@ -11,6 +11,7 @@ import java.util.Set;
 import org.junit.Before;
 import org.junit.Test;
 
+import eu.europa.esig.dss.DSSDocument;
 import eu.europa.esig.dss.pdf.PdfDict;
 import eu.europa.esig.dss.pdf.PdfDssDict;
 import eu.europa.esig.dss.pdf.PdfSignatureOrDocTimestampInfo;
@@ -124,6 +125,11 @@ public class PdfSignatureOrDocTimestampInfoComparatorTest {
 			return null;
 		}
 
+		@Override
+		public DSSDocument getSignedDocument() {
+			return null;
+		}
+
 		@Override
 		public byte[] getSignedDocumentBytes() {
 			return null;
@@ -0,0 +1,95 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.pades.signature;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Date;
+
+import org.junit.After;
+import org.junit.Before;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.FileDocument;
+import eu.europa.esig.dss.SignatureLevel;
+import eu.europa.esig.dss.pades.PAdESSignatureParameters;
+import eu.europa.esig.dss.pdf.PdfObjFactory;
+import eu.europa.esig.dss.pdf.pdfbox.PdfBoxTempFileObjectFactory;
+import eu.europa.esig.dss.signature.DocumentSignatureService;
+
+public class PAdESLevelBTempFileTest extends AbstractPAdESTestSignature {
+
+	private DocumentSignatureService<PAdESSignatureParameters> service;
+	private PAdESSignatureParameters signatureParameters;
+	private DSSDocument documentToSign;
+
+	@Before
+	public void init() throws Exception {
+		PdfObjFactory.setInstance(new PdfBoxTempFileObjectFactory());
+
+		documentToSign = new FileDocument(new File("src/test/resources/sample.pdf"));
+
+		signatureParameters = new PAdESSignatureParameters();
+		signatureParameters.bLevel().setSigningDate(new Date());
+		signatureParameters.setSigningCertificate(getSigningCert());
+		signatureParameters.setCertificateChain(getCertificateChain());
+		signatureParameters.setSignatureLevel(SignatureLevel.PAdES_BASELINE_B);
+		signatureParameters.setLocation("Luxembourg");
+		signatureParameters.setReason("DSS testing");
+		signatureParameters.setContactInfo("Jira");
+
+		service = new PAdESService(getCompleteCertificateVerifier());
+	}
+
+	@After
+	public void reset() {
+		PdfObjFactory.setInstance(null);
+	}
+
+	@Override
+	protected DSSDocument sign() {
+		DSSDocument signedDocument = super.sign();
+		assertTrue(signedDocument instanceof FileDocument);
+		return signedDocument;
+	}
+
+	@Override
+	protected DocumentSignatureService<PAdESSignatureParameters> getService() {
+		return service;
+	}
+
+	@Override
+	protected PAdESSignatureParameters getSignatureParameters() {
+		return signatureParameters;
+	}
+
+	@Override
+	protected DSSDocument getDocumentToSign() {
+		return documentToSign;
+	}
+
+	@Override
+	protected String getSigningAlias() {
+		return GOOD_USER;
+	}
+
+}
@@ -0,0 +1,87 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.pades.validation;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.FileDocument;
+import eu.europa.esig.dss.client.http.IgnoreDataLoader;
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.validation.reports.Reports;
+import eu.europa.esig.dss.validation.reports.wrapper.SignatureWrapper;
+import eu.europa.esig.dss.validation.reports.wrapper.TimestampWrapper;
+
+public class PAdESConcurrentValidationTest {
+
+	private static final String FILE_PATH = "src/test/resources/validation/pades-5-signatures-and-1-document-timestamp.pdf";
+
+	@Test
+	public void sameResultsAsSequentialValidation() {
+		List<SignatureWrapper> sequential = validate(null).getDiagnosticData().getSignatures();
+
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try {
+			List<SignatureWrapper> concurrent = validate(executorService).getDiagnosticData().getSignatures();
+
+			assertEquals(5, concurrent.size());
+			assertEquals(sequential.size(), concurrent.size());
+			for (int i = 0; i < sequential.size(); i++) {
+				SignatureWrapper expected = sequential.get(i);
+				SignatureWrapper signature = concurrent.get(i);
+				assertEquals(expected.getId(), signature.getId());
+				assertEquals(expected.isSignatureIntact(), signature.isSignatureIntact());
+				assertEquals(expected.isReferenceDataIntact(), signature.isReferenceDataIntact());
+				assertEquals(expected.getSigningCertificateId(), signature.getSigningCertificateId());
+				assertEquals(expected.getTimestampIdsList(), signature.getTimestampIdsList());
+				assertEquals(expected.getSignatureScopes().size(), signature.getSignatureScopes().size());
+				List<TimestampWrapper> expectedTimestamps = expected.getTimestampList();
+				List<TimestampWrapper> timestamps = signature.getTimestampList();
+				for (int j = 0; j < expectedTimestamps.size(); j++) {
+					assertEquals(expectedTimestamps.get(j).isMessageImprintDataFound(), timestamps.get(j).isMessageImprintDataFound());
+					assertEquals(expectedTimestamps.get(j).isMessageImprintDataIntact(), timestamps.get(j).isMessageImprintDataIntact());
+				}
+			}
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	private Reports validate(ExecutorService executorService) {
+		DSSDocument signDocument = new FileDocument(new File(FILE_PATH));
+		CommonCertificateVerifier certificateVerifier = new CommonCertificateVerifier();
+		certificateVerifier.setDataLoader(new IgnoreDataLoader());
+		certificateVerifier.setExecutorService(executorService);
+
+		SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(signDocument);
+		validator.setCertificateVerifier(certificateVerifier);
+		return validator.validateDocument();
+	}
+
+}
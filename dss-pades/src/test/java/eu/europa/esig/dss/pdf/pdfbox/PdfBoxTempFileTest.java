@@ -0,0 +1,104 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.pdf.pdfbox;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.util.Date;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.DigestAlgorithm;
+import eu.europa.esig.dss.FileDocument;
+import eu.europa.esig.dss.pades.PAdESSignatureParameters;
+import eu.europa.esig.dss.pdf.PdfTemporaryDocument;
+
+public class PdfBoxTempFileTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private File tempDir;
+	private PdfBoxSignatureService service;
+	private PAdESSignatureParameters parameters;
+	private DSSDocument document;
+
+	@Before
+	public void init() throws Exception {
+		tempDir = temporaryFolder.newFolder();
+		service = new PdfBoxSignatureService(MemoryUsageSetting.setupTempFileOnly().setTempDir(tempDir));
+
+		parameters = new PAdESSignatureParameters();
+		parameters.bLevel().setSigningDate(new Date());
+		document = new FileDocument(new File("src/test/resources/sample.pdf"));
+	}
+
+	@Test
+	public void signedRevisionBelongsToTheCaller() {
+		DSSDocument signed = service.sign(document, new byte[] { 1, 2, 3 }, parameters, DigestAlgorithm.SHA256);
+		assertTrue(signed instanceof PdfTemporaryDocument);
+		assertEquals(1, tempDir.listFiles().length);
+
+		assertTrue(((PdfTemporaryDocument) signed).delete());
+		assertEquals(0, tempDir.listFiles().length);
+	}
+
+	@Test
+	public void failedRevisionIsDeleted() {
+		// the signature value does not fit in the reserved space
+		parameters.setSignatureSize(16);
+		try {
+			service.sign(document, new byte[1024], parameters, DigestAlgorithm.SHA256);
+			fail("The signature value must not fit");
+		} catch (DSSException e) {
+			assertEquals(0, tempDir.listFiles().length);
+		}
+	}
+
+	@Test
+	public void intermediateRevisionIsDeleted() {
+		DSSDocument signed = service.sign(document, new byte[] { 1, 2, 3 }, parameters, DigestAlgorithm.SHA256);
+		DSSDocument extended = service.addDssDictionary(signed, null);
+		assertEquals(2, tempDir.listFiles().length);
+
+		// the input of the caller is kept
+		PdfTemporaryDocument.deleteIntermediate(signed, signed);
+		PdfTemporaryDocument.deleteIntermediate(document, extended);
+		assertEquals(2, tempDir.listFiles().length);
+		assertTrue(new File(document.getAbsolutePath()).exists());
+
+		PdfTemporaryDocument.deleteIntermediate(signed, document);
+		assertEquals(1, tempDir.listFiles().length);
+		assertFalse(new File(signed.getAbsolutePath()).exists());
+		assertTrue(new File(extended.getAbsolutePath()).exists());
+	}
+
+}
@@ -20,15 +20,8 @@
  */
 package eu.europa.esig.dss.validation.reports;
 
-import java.io.InputStream;
-import java.io.StringWriter;
-
-import javax.xml.XMLConstants;
-import javax.xml.bind.JAXBContext;
-import javax.xml.bind.Marshaller;
-import javax.xml.transform.stream.StreamSource;
-import javax.xml.validation.Schema;
-import javax.xml.validation.SchemaFactory;
+import java.io.IOException;
+import java.io.OutputStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -160,23 +153,50 @@ public abstract class AbstractReports {
 		return xmlDetailedReport;
 	}
 
-	protected String getJAXBObjectAsString(Object obj, String contextPath, String xsdFile) {
-		try {
+	/**
+	 * This method writes the XML representation of the JAXB DiagnosticData to the given OutputStream
+	 * 
+	 * @param os
+	 *            the OutputStream to write to (not closed)
+	 */
+	public void writeXmlDiagnosticData(OutputStream os) {
+		writeJAXBObject(diagnosticData, eu.europa.esig.dss.jaxb.diagnostic.DiagnosticData.class.getPackage().getName(), "/xsd/DiagnosticData.xsd", os);
+	}
 
-			JAXBContext context = JAXBContext.newInstance(contextPath);
-			Marshaller marshaller = context.createMarshaller();
-			marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+	/**
+	 * This method writes the XML representation of the JAXB DetailedReport to the given OutputStream
+	 * 
+	 * @param os
+	 *            the OutputStream to write to (not closed)
+	 */
+	public void writeXmlDetailedReport(OutputStream os) {
+		writeJAXBObject(detailedReport, eu.europa.esig.dss.jaxb.detailedreport.DetailedReport.class.getPackage().getName(), "/xsd/DetailedReport.xsd",
+				os);
+	}
 
-			if (validateXml) {
-				SchemaFactory sf = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-				InputStream schemaStream = AbstractReports.class.getResourceAsStream(xsdFile);
-				Schema schema = sf.newSchema(new StreamSource(schemaStream));
-				marshaller.setSchema(schema);
-			}
+	/**
+	 * This method writes the XML representation of the JAXB simple report to the given OutputStream (UTF-8). By
+	 * default, the content of {@code getXmlSimpleReport} is written : the subclasses marshal their simple report
+	 * directly to the stream.
+	 * 
+	 * @param os
+	 *            the OutputStream to write to (not closed)
+	 */
+	public void writeXmlSimpleReport(OutputStream os) {
+		final String xmlSimpleReport = getXmlSimpleReport();
+		if (xmlSimpleReport == null) {
+			return;
+		}
+		try {
+			os.write(xmlSimpleReport.getBytes("UTF-8"));
+		} catch (IOException e) {
+			throw new RuntimeException("Unable to write the XML simple report : " + e.getMessage(), e);
+		}
+	}
 
-			StringWriter writer = new StringWriter();
-			marshaller.marshal(obj, writer);
-			return writer.toString();
+	protected String getJAXBObjectAsString(Object obj, String contextPath, String xsdFile) {
+		try {
+			return ReportsMarshaller.marshallToString(obj, contextPath, xsdFile, validateXml);
 		} catch (Exception e) {
 			if (validateXml) {
 				throw new RuntimeException(e);
@@ -187,4 +207,12 @@ public abstract class AbstractReports {
 		}
 	}
 
+	protected void writeJAXBObject(Object obj, String contextPath, String xsdFile, OutputStream os) {
+		try {
+			ReportsMarshaller.writeTo(obj, contextPath, xsdFile, validateXml, os);
+		} catch (Exception e) {
+			throw new RuntimeException("Unable to write the XML content for context " + contextPath + " : " + e.getMessage(), e);
+		}
+	}
+
 }
@@ -20,6 +20,8 @@
  */
 package eu.europa.esig.dss.validation.reports;
 
+import java.io.OutputStream;
+
 /**
  * This class is a container for all reports generated by the certificate validation
  * process: diagnostic data, detailed report and simple report.
@@ -85,4 +87,9 @@ public class CertificateReports extends AbstractReports {
 		return xmlSimpleReport;
 	}
 
+	@Override
+	public void writeXmlSimpleReport(OutputStream os) {
+		writeJAXBObject(simpleReport, eu.europa.esig.dss.jaxb.simplecertificatereport.SimpleCertificateReport.class.getPackage().getName(), "/xsd/SimpleCertificateReport.xsd", os);
+	}
+
 }
@@ -20,6 +20,8 @@
  */
 package eu.europa.esig.dss.validation.reports;
 
+import java.io.OutputStream;
+
 /**
  * This class is a container for all reports generated by the signature validation
  * process: diagnostic data, detailed report and simple report.
@@ -84,4 +86,9 @@ public class Reports extends AbstractReports {
 		return xmlSimpleReport;
 	}
 
+	@Override
+	public void writeXmlSimpleReport(OutputStream os) {
+		writeJAXBObject(simpleReport, eu.europa.esig.dss.jaxb.simplereport.SimpleReport.class.getPackage().getName(), "/xsd/SimpleReport.xsd", os);
+	}
+
 }
@@ -0,0 +1,172 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation.reports;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.xml.XMLConstants;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+
+/**
+ * This class marshalls the JAXB reports (diagnostic data, detailed report, simple reports). The JAXBContext and the
+ * XSD Schema are created only once by context path / XSD file and shared for the life of the process. The marshallers
+ * are not thread-safe : they are pooled and reused between the calls.
+ */
+public final class ReportsMarshaller {
+
+	/**
+	 * Maximum number of idle marshallers kept by context path
+	 */
+	private static final int MAX_POOLED_MARSHALLERS = 16;
+
+	private static final ConcurrentMap<String, JAXBContext> contexts = new ConcurrentHashMap<String, JAXBContext>();
+
+	private static final ConcurrentMap<String, Schema> schemas = new ConcurrentHashMap<String, Schema>();
+
+	private static final ConcurrentMap<String, Queue<Marshaller>> marshallers = new ConcurrentHashMap<String, Queue<Marshaller>>();
+
+	private ReportsMarshaller() {
+	}
+
+	/**
+	 * This method returns the XML representation of the given JAXB object
+	 *
+	 * @param jaxbObject
+	 *            the JAXB object to marshall
+	 * @param contextPath
+	 *            the JAXB context path (package of the ObjectFactory)
+	 * @param xsdFile
+	 *            the XSD resource used to validate the output (only used if validateXml is true)
+	 * @param validateXml
+	 *            true if the output needs to be valid against the XSD
+	 * @return the XML content as String
+	 * @throws Exception
+	 *             if the JAXB object cannot be marshalled or is not valid
+	 */
+	public static String marshallToString(Object jaxbObject, String contextPath, String xsdFile, boolean validateXml) throws Exception {
+		StringWriter writer = new StringWriter();
+		marshall(jaxbObject, contextPath, xsdFile, validateXml, writer);
+		return writer.toString();
+	}
+
+	/**
+	 * This method writes the XML representation of the given JAXB object to the given OutputStream (UTF-8). The stream
+	 * is not closed.
+	 *
+	 * @param jaxbObject
+	 *            the JAXB object to marshall
+	 * @param contextPath
+	 *            the JAXB context path (package of the ObjectFactory)
+	 * @param xsdFile
+	 *            the XSD resource used to validate the output (only used if validateXml is true)
+	 * @param validateXml
+	 *            true if the output needs to be valid against the XSD
+	 * @param os
+	 *            the OutputStream to write to
+	 * @throws Exception
+	 *             if the JAXB object cannot be marshalled or is not valid
+	 */
+	public static void writeTo(Object jaxbObject, String contextPath, String xsdFile, boolean validateXml, OutputStream os) throws Exception {
+		Marshaller marshaller = acquire(contextPath, xsdFile, validateXml);
+		marshaller.marshal(jaxbObject, os);
+		// not returned to the pool in case of error
+		release(contextPath, xsdFile, validateXml, marshaller);
+	}
+
+	private static void marshall(Object jaxbObject, String contextPath, String xsdFile, boolean validateXml, Writer writer) throws Exception {
+		Marshaller marshaller = acquire(contextPath, xsdFile, validateXml);
+		marshaller.marshal(jaxbObject, writer);
+		// not returned to the pool in case of error
+		release(contextPath, xsdFile, validateXml, marshaller);
+	}
+
+	private static Marshaller acquire(String contextPath, String xsdFile, boolean validateXml) throws Exception {
+		Marshaller marshaller = getPool(contextPath, xsdFile, validateXml).poll();
+		if (marshaller == null) {
+			marshaller = getContext(contextPath).createMarshaller();
+			marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+			if (validateXml) {
+				marshaller.setSchema(getSchema(xsdFile));
+			}
+		}
+		return marshaller;
+	}
+
+	private static void release(String contextPath, String xsdFile, boolean validateXml, Marshaller marshaller) {
+		Queue<Marshaller> pool = getPool(contextPath, xsdFile, validateXml);
+		if (pool.size() < MAX_POOLED_MARSHALLERS) {
+			pool.offer(marshaller);
+		}
+	}
+
+	private static Queue<Marshaller> getPool(String contextPath, String xsdFile, boolean validateXml) {
+		String key = validateXml ? contextPath + "|" + xsdFile : contextPath;
+		Queue<Marshaller> pool = marshallers.get(key);
+		if (pool == null) {
+			Queue<Marshaller> newPool = new ConcurrentLinkedQueue<Marshaller>();
+			pool = marshallers.putIfAbsent(key, newPool);
+			if (pool == null) {
+				pool = newPool;
+			}
+		}
+		return pool;
+	}
+
+	private static JAXBContext getContext(String contextPath) throws JAXBException {
+		JAXBContext context = contexts.get(contextPath);
+		if (context == null) {
+			context = JAXBContext.newInstance(contextPath);
+			JAXBContext existing = contexts.putIfAbsent(contextPath, context);
+			if (existing != null) {
+				context = existing;
+			}
+		}
+		return context;
+	}
+
+	private static Schema getSchema(String xsdFile) throws Exception {
+		Schema schema = schemas.get(xsdFile);
+		if (schema == null) {
+			SchemaFactory sf = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+			try (InputStream schemaStream = ReportsMarshaller.class.getResourceAsStream(xsdFile)) {
+				schema = sf.newSchema(new StreamSource(schemaStream));
+			}
+			Schema existing = schemas.putIfAbsent(xsdFile, schema);
+			if (existing != null) {
+				schema = existing;
+			}
+		}
+		return schema;
+	}
+
+}
@@ -26,6 +26,8 @@ public class CertificateWrapper extends AbstractTokenProxy {
 
 	private final XmlCertificate certificate;
 
+	private volatile Set<RevocationWrapper> revocations;
+
 	public CertificateWrapper(XmlCertificate certificate) {
 		this.certificate = certificate;
 	}
@@ -72,12 +74,15 @@ public class CertificateWrapper extends AbstractTokenProxy {
 
 	public Set<RevocationWrapper> getRevocationData() {
 		if (isRevocationDataAvailable()) {
-			List<XmlRevocation> revocation = certificate.getRevocations();
-			Set<RevocationWrapper> result = new HashSet<RevocationWrapper>();
-			for (XmlRevocation xmlRevocationType : revocation) {
-				result.add(new RevocationWrapper(xmlRevocationType));
+			if (revocations == null) {
+				List<XmlRevocation> revocation = certificate.getRevocations();
+				Set<RevocationWrapper> result = new HashSet<RevocationWrapper>();
+				for (XmlRevocation xmlRevocationType : revocation) {
+					result.add(new RevocationWrapper(xmlRevocationType));
+				}
+				revocations = Collections.unmodifiableSet(result);
 			}
-			return result;
+			return revocations;
 		}
 		return Collections.emptySet();
 	}
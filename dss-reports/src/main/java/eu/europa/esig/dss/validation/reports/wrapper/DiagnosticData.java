@@ -22,8 +22,10 @@ package eu.europa.esig.dss.validation.reports.wrapper;
 
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import eu.europa.esig.dss.DigestAlgorithm;
@@ -44,11 +46,46 @@ public class DiagnosticData {
 
 	private final eu.europa.esig.dss.jaxb.diagnostic.DiagnosticData diagnosticData;
 
-	private List<SignatureWrapper> foundSignatures;
-	private List<CertificateWrapper> usedCertificates;
+	private final List<SignatureWrapper> foundSignatures = new ArrayList<SignatureWrapper>();
+	private final List<CertificateWrapper> usedCertificates = new ArrayList<CertificateWrapper>();
+
+	/*
+	 * The wrappers by identifier, built once with the wrapped model : when an identifier is present several times, the
+	 * first wrapper is kept, as with a sequential search.
+	 */
+	private final Map<String, SignatureWrapper> signaturesById = new HashMap<String, SignatureWrapper>();
+	private final Map<String, TimestampWrapper> timestampsById = new HashMap<String, TimestampWrapper>();
+	private final Map<String, CertificateWrapper> certificatesById = new HashMap<String, CertificateWrapper>();
 
 	public DiagnosticData(final eu.europa.esig.dss.jaxb.diagnostic.DiagnosticData diagnosticData) {
 		this.diagnosticData = diagnosticData;
+
+		List<XmlSignature> xmlSignatures = diagnosticData.getSignatures();
+		if (Utils.isCollectionNotEmpty(xmlSignatures)) {
+			for (XmlSignature xmlSignature : xmlSignatures) {
+				SignatureWrapper signature = new SignatureWrapper(xmlSignature);
+				foundSignatures.add(signature);
+				index(signaturesById, signature);
+				for (TimestampWrapper timestamp : signature.getTimestampList()) {
+					index(timestampsById, timestamp);
+				}
+			}
+		}
+
+		List<XmlCertificate> xmlCertificates = diagnosticData.getUsedCertificates();
+		if (Utils.isCollectionNotEmpty(xmlCertificates)) {
+			for (XmlCertificate xmlCertificate : xmlCertificates) {
+				CertificateWrapper certificate = new CertificateWrapper(xmlCertificate);
+				usedCertificates.add(certificate);
+				index(certificatesById, certificate);
+			}
+		}
+	}
+
+	private static <T extends TokenProxy> void index(Map<String, T> wrappersById, T wrapper) {
+		if (!wrappersById.containsKey(wrapper.getId())) {
+			wrappersById.put(wrapper.getId(), wrapper);
+		}
 	}
 
 	public String getDocumentName() {
@@ -503,38 +540,32 @@ public class DiagnosticData {
 	 * @return a signature wrapper or null
 	 */
 	public SignatureWrapper getSignatureById(String id) {
-		List<SignatureWrapper> signatures = getSignatures();
-		if (Utils.isCollectionNotEmpty(signatures)) {
-			for (SignatureWrapper xmlSignature : signatures) {
-				if (Utils.areStringsEqual(id, xmlSignature.getId())) {
-					return xmlSignature;
-				}
-			}
-		}
-		return null;
+		return signaturesById.get(id);
 	}
 
 	private SignatureWrapper getSignatureByIdNullSafe(String id) {
-		List<SignatureWrapper> signatures = getSignatures();
-		if (Utils.isCollectionNotEmpty(signatures)) {
-			for (SignatureWrapper xmlSignature : signatures) {
-				if (Utils.areStringsEqual(id, xmlSignature.getId())) {
-					return xmlSignature;
-				}
-			}
+		SignatureWrapper signature = signaturesById.get(id);
+		if (signature != null) {
+			return signature;
 		}
 		return new SignatureWrapper(new XmlSignature()); // TODO improve ?
 	}
 
+	/**
+	 * This method returns a timestamp wrapper for the given timestamp id
+	 * 
+	 * @param id
+	 *            the timestamp id
+	 * @return a timestamp wrapper or null
+	 */
+	public TimestampWrapper getTimestampById(String id) {
+		return timestampsById.get(id);
+	}
+
 	private TimestampWrapper getTimestampByIdNullSafe(String id) {
-		List<SignatureWrapper> signatures = getSignatures();
-		for (SignatureWrapper signatureWrapper : signatures) {
-			List<TimestampWrapper> timestampList = signatureWrapper.getTimestampList();
-			for (TimestampWrapper timestampWrapper : timestampList) {
-				if (Utils.areStringsEqual(id, timestampWrapper.getId())) {
-					return timestampWrapper;
-				}
-			}
+		TimestampWrapper timestamp = timestampsById.get(id);
+		if (timestamp != null) {
+			return timestamp;
 		}
 		return new TimestampWrapper(new XmlTimestamp());
 	}
@@ -547,13 +578,9 @@ public class DiagnosticData {
 	 * @return a certificate wrapper (or empty object)
 	 */
 	public CertificateWrapper getUsedCertificateByIdNullSafe(String id) {
-		List<CertificateWrapper> certificates = getUsedCertificates();
-		if (Utils.isCollectionNotEmpty(certificates)) {
-			for (CertificateWrapper certificate : certificates) {
-				if (Utils.areStringsEqual(id, certificate.getId())) {
-					return certificate;
-				}
-			}
+		CertificateWrapper certificate = certificatesById.get(id);
+		if (certificate != null) {
+			return certificate;
 		}
 		return new CertificateWrapper(new XmlCertificate()); // TODO improve ?
 	}
@@ -566,15 +593,7 @@ public class DiagnosticData {
 	 * @return a certificate wrapper or null
 	 */
 	public CertificateWrapper getUsedCertificateById(String id) {
-		List<CertificateWrapper> certificates = getUsedCertificates();
-		if (Utils.isCollectionNotEmpty(certificates)) {
-			for (CertificateWrapper certificate : certificates) {
-				if (Utils.areStringsEqual(id, certificate.getId())) {
-					return certificate;
-				}
-			}
-		}
-		return null;
+		return certificatesById.get(id);
 	}
 
 	/**
@@ -583,15 +602,6 @@ public class DiagnosticData {
 	 * @return a list of signature wrappers.
 	 */
 	public List<SignatureWrapper> getSignatures() {
-		if (foundSignatures == null) {
-			foundSignatures = new ArrayList<SignatureWrapper>();
-			List<XmlSignature> xmlSignatures = diagnosticData.getSignatures();
-			if (Utils.isCollectionNotEmpty(xmlSignatures)) {
-				for (XmlSignature xmlSignature : xmlSignatures) {
-					foundSignatures.add(new SignatureWrapper(xmlSignature));
-				}
-			}
-		}
 		return foundSignatures;
 	}
 
@@ -601,15 +611,6 @@ public class DiagnosticData {
 	 * @return a list of certificate wrappers
 	 */
 	public List<CertificateWrapper> getUsedCertificates() {
-		if (usedCertificates == null) {
-			usedCertificates = new ArrayList<CertificateWrapper>();
-			List<XmlCertificate> xmlCertificates = diagnosticData.getUsedCertificates();
-			if (Utils.isCollectionNotEmpty(xmlCertificates)) {
-				for (XmlCertificate certificate : xmlCertificates) {
-					usedCertificates.add(new CertificateWrapper(certificate));
-				}
-			}
-		}
 		return usedCertificates;
 	}
 
@@ -652,14 +653,8 @@ public class DiagnosticData {
 	 */
 	public Set<RevocationWrapper> getAllRevocationData() {
 		Set<RevocationWrapper> revocationData = new HashSet<RevocationWrapper>();
-		List<CertificateWrapper> certificates = getUsedCertificates();
-		if (Utils.isCollectionNotEmpty(certificates)) {
-			for (CertificateWrapper certificate : certificates) {
-				Set<RevocationWrapper> revocations = certificate.getRevocationData();
-				if (revocations != null) {
-					revocationData.addAll(revocations);
-				}
-			}
+		for (CertificateWrapper certificate : usedCertificates) {
+			revocationData.addAll(certificate.getRevocationData());
 		}
 		return revocationData;
 	}
@@ -670,14 +665,7 @@ public class DiagnosticData {
 	 * @return a list of timestamp wrappers
 	 */
 	public Set<TimestampWrapper> getAllTimestamps() {
-		Set<TimestampWrapper> allTimestamps = new HashSet<TimestampWrapper>();
-		List<SignatureWrapper> signatures = getSignatures();
-		if (Utils.isCollectionNotEmpty(signatures)) {
-			for (SignatureWrapper signatureWrapper : signatures) {
-				allTimestamps.addAll(signatureWrapper.getTimestampList());
-			}
-		}
-		return allTimestamps;
+		return new HashSet<TimestampWrapper>(timestampsById.values());
 	}
 
 	/**
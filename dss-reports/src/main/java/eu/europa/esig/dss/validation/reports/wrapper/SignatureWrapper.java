@@ -23,6 +23,8 @@ public class SignatureWrapper extends AbstractTokenProxy {
 
 	private final XmlSignature signature;
 
+	private volatile List<TimestampWrapper> timestamps;
+
 	public SignatureWrapper(XmlSignature signature) {
 		this.signature = signature;
 	}
@@ -83,15 +85,23 @@ public class SignatureWrapper extends AbstractTokenProxy {
 		return Utils.isTrue(signature.isCounterSignature());
 	}
 
+	/**
+	 * The timestamp wrappers are created once : each call returns a new list of the same instances.
+	 *
+	 * @return the timestamps of the signature
+	 */
 	public List<TimestampWrapper> getTimestampList() {
-		List<TimestampWrapper> tsps = new ArrayList<TimestampWrapper>();
-		List<XmlTimestamp> timestamps = signature.getTimestamps();
-		if (Utils.isCollectionNotEmpty(timestamps)) {
-			for (XmlTimestamp timestamp : timestamps) {
-				tsps.add(new TimestampWrapper(timestamp));
+		if (timestamps == null) {
+			List<TimestampWrapper> tsps = new ArrayList<TimestampWrapper>();
+			List<XmlTimestamp> xmlTimestamps = signature.getTimestamps();
+			if (Utils.isCollectionNotEmpty(xmlTimestamps)) {
+				for (XmlTimestamp timestamp : xmlTimestamps) {
+					tsps.add(new TimestampWrapper(timestamp));
+				}
 			}
+			timestamps = tsps;
 		}
-		return tsps;
+		return new ArrayList<TimestampWrapper>(timestamps);
 	}
 
 	public List<TimestampWrapper> getTimestampListByType(final TimestampType timestampType) {
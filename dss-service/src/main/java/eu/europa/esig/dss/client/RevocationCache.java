@@ -0,0 +1,227 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.client;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+import eu.europa.esig.dss.DSSException;
+
+/**
+ * In-memory cache used by the caching revocation sources. The entries expire at a given date and the number of
+ * entries is limited : the least recently used entry is evicted first. Concurrent loads of the same key are collapsed
+ * into one call. An entry which is about to expire can be refreshed in the background.
+ *
+ * @param <T>
+ *            the type of the cached values
+ */
+public class RevocationCache<T> {
+
+	private final Map<String, CachedEntry<T>> entries;
+
+	private final ConcurrentMap<String, FutureTask<T>> pendingLoads = new ConcurrentHashMap<String, FutureTask<T>>();
+
+	/**
+	 * The default constructor for RevocationCache.
+	 *
+	 * @param maxSize
+	 *            the maximum number of entries kept in memory
+	 */
+	public RevocationCache(final int maxSize) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("The maximum size must be positive");
+		}
+		this.entries = Collections.synchronizedMap(new LinkedHashMap<String, CachedEntry<T>>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CachedEntry<T>> eldest) {
+				return size() > maxSize;
+			}
+
+		});
+	}
+
+	/**
+	 * This method returns the cached value if it is not yet expired
+	 *
+	 * @param key
+	 *            the key of the entry
+	 * @return the cached value or null
+	 */
+	public T get(final String key) {
+		final CachedEntry<T> entry = entries.get(key);
+		if (entry == null) {
+			return null;
+		}
+		if (entry.isExpired(new Date())) {
+			entries.remove(key);
+			return null;
+		}
+		return entry.value;
+	}
+
+	/**
+	 * This method stores the value until the expiration date. Nothing is stored if the value is already expired.
+	 *
+	 * @param key
+	 *            the key of the entry
+	 * @param value
+	 *            the value to store
+	 * @param expirationDate
+	 *            the date after which the value must not be returned anymore
+	 */
+	public void put(final String key, final T value, final Date expirationDate) {
+		if ((value == null) || (expirationDate == null) || !expirationDate.after(new Date())) {
+			return;
+		}
+		entries.put(key, new CachedEntry<T>(value, expirationDate));
+	}
+
+	/**
+	 * This method executes the loader. If the same key is already being loaded by another thread, the current thread
+	 * waits for its result instead of executing the loader.
+	 *
+	 * @param key
+	 *            the key of the entry
+	 * @param loader
+	 *            the loader (which is expected to store the value with {@link #put(String, Object, Date)})
+	 * @return the loaded value
+	 */
+	public T load(final String key, final Callable<T> loader) {
+		FutureTask<T> task = new FutureTask<T>(loader);
+		FutureTask<T> pendingTask = pendingLoads.putIfAbsent(key, task);
+		if (pendingTask == null) {
+			pendingTask = task;
+			try {
+				task.run();
+			} finally {
+				pendingLoads.remove(key, task);
+			}
+		}
+		try {
+			return pendingTask.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DSSException("Interrupted while loading '" + key + "'", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof DSSException) {
+				throw (DSSException) e.getCause();
+			}
+			throw new DSSException(e.getCause());
+		}
+	}
+
+	/**
+	 * This method executes the loader in the background if the entry expires before the given date. Nothing is done if
+	 * the entry is not cached or if the same key is already being loaded. The threads which call
+	 * {@link #load(String, Callable)} for this key during the refresh wait for its result.
+	 *
+	 * @param key
+	 *            the key of the entry
+	 * @param date
+	 *            the date before which the entry is refreshed
+	 * @param loader
+	 *            the loader (which is expected to store the value with {@link #put(String, Object, Date)})
+	 * @param executor
+	 *            the executor which runs the loader (the current thread runs it if the executor rejects it)
+	 * @return true if the refresh is started
+	 */
+	public boolean refreshIfExpiresBefore(final String key, final Date date, final Callable<T> loader, final Executor executor) {
+		final CachedEntry<T> entry = entries.get(key);
+		if ((entry == null) || !entry.isExpired(date)) {
+			return false;
+		}
+		final FutureTask<T> task = new FutureTask<T>(loader);
+		if (pendingLoads.putIfAbsent(key, task) != null) {
+			return false;
+		}
+		final Runnable refresh = new Runnable() {
+			@Override
+			public void run() {
+				try {
+					task.run();
+				} finally {
+					pendingLoads.remove(key, task);
+				}
+			}
+		};
+		try {
+			executor.execute(refresh);
+		} catch (RejectedExecutionException e) {
+			// the threads waiting for this key must not be blocked
+			refresh.run();
+		}
+		return true;
+	}
+
+	/**
+	 * This method removes the entry
+	 *
+	 * @param key
+	 *            the key of the entry
+	 */
+	public void remove(final String key) {
+		entries.remove(key);
+	}
+
+	/**
+	 * This method removes all the entries
+	 */
+	public void clear() {
+		entries.clear();
+	}
+
+	/**
+	 * @return the number of cached entries (including the expired ones which are not yet evicted)
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	private static class CachedEntry<T> {
+
+		private final T value;
+
+		private final Date expirationDate;
+
+		private CachedEntry(T value, Date expirationDate) {
+			this.value = value;
+			this.expirationDate = expirationDate;
+		}
+
+		private boolean isExpired(Date now) {
+			return !expirationDate.after(now);
+		}
+
+	}
+
+}
@@ -0,0 +1,183 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.client.crl;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.europa.esig.dss.DSSASN1Utils;
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.client.RevocationCache;
+import eu.europa.esig.dss.crl.CRLValidity;
+import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.x509.CertificateToken;
+import eu.europa.esig.dss.x509.crl.CRLSource;
+import eu.europa.esig.dss.x509.crl.CRLToken;
+
+/**
+ * CRLSource which keeps the CRLs in memory. The CRLs are retrieved with the cached source (eg:
+ * {@code OnlineCRLSource}) and are kept by CRL URL until their nextUpdate. The number of kept CRLs is limited (the
+ * least recently used CRL is evicted first).
+ */
+public class CachingCRLSource implements CRLSource {
+
+	private static final Logger LOG = LoggerFactory.getLogger(CachingCRLSource.class);
+
+	private static final int DEFAULT_MAX_SIZE = 100;
+
+	private CRLSource cachedSource;
+
+	private RevocationCache<CRLToken> cache = new RevocationCache<CRLToken>(DEFAULT_MAX_SIZE);
+
+	/**
+	 * Time (in milliseconds) after the thisUpdate during which a CRL without nextUpdate is kept. By default, such a
+	 * CRL is not kept.
+	 */
+	private long defaultNextUpdateDelay = 0;
+
+	/**
+	 * The default constructor for CachingCRLSource.
+	 */
+	public CachingCRLSource() {
+	}
+
+	/**
+	 * This constructor allows to set the cached source.
+	 *
+	 * @param cachedSource
+	 *            the source used to retrieve the CRLs (eg: {@code OnlineCRLSource})
+	 */
+	public CachingCRLSource(final CRLSource cachedSource) {
+		this.cachedSource = cachedSource;
+	}
+
+	/**
+	 * @param cachedSource
+	 *            the cachedSource to set
+	 */
+	public void setCachedSource(final CRLSource cachedSource) {
+		this.cachedSource = cachedSource;
+	}
+
+	/**
+	 * This method sets the maximum number of CRLs kept in memory. The current content of the cache is discarded.
+	 *
+	 * @param maxSize
+	 *            the maximum number of CRLs (100 by default)
+	 */
+	public void setMaxSize(final int maxSize) {
+		this.cache = new RevocationCache<CRLToken>(maxSize);
+	}
+
+	/**
+	 * This method sets the time during which a CRL without nextUpdate is kept.
+	 *
+	 * @param defaultNextUpdateDelay
+	 *            the time in milliseconds after the thisUpdate (0 : the CRLs without nextUpdate are not kept)
+	 */
+	public void setDefaultNextUpdateDelay(final long defaultNextUpdateDelay) {
+		this.defaultNextUpdateDelay = defaultNextUpdateDelay;
+	}
+
+	@Override
+	public CRLToken findCrl(final CertificateToken certificateToken) throws DSSException {
+		if (certificateToken == null) {
+			return null;
+		}
+		final CertificateToken issuerToken = certificateToken.getIssuerToken();
+		if (issuerToken == null) {
+			return null;
+		}
+		final List<String> crlUrls = DSSASN1Utils.getCrlUrls(certificateToken);
+		if (Utils.isCollectionEmpty(crlUrls)) {
+			return null;
+		}
+		final String key = crlUrls.get(0);
+
+		CRLToken cachedToken = cache.get(key);
+		if (cachedToken != null) {
+			final CRLToken crlToken = getCRLToken(certificateToken, cachedToken);
+			if (crlToken != null) {
+				LOG.debug("CRL '{}' in cache", key);
+				return crlToken;
+			}
+		}
+		if (cachedSource == null) {
+			LOG.debug("CRL '{}' not in cache and no cached source is set", key);
+			return null;
+		}
+
+		final CRLToken[] downloadedToken = new CRLToken[1];
+		cachedToken = cache.load(key, new Callable<CRLToken>() {
+			@Override
+			public CRLToken call() {
+				LOG.debug("CRL '{}' not in cache", key);
+				final CRLToken crlToken = cachedSource.findCrl(certificateToken);
+				if ((crlToken != null) && crlToken.isValid()) {
+					cache.put(key, crlToken, getExpirationDate(crlToken.getCrlValidity()));
+				}
+				downloadedToken[0] = crlToken;
+				return crlToken;
+			}
+		});
+		if ((cachedToken == null) || (downloadedToken[0] != null)) {
+			// not found or downloaded by the current thread
+			return cachedToken;
+		}
+		final CRLToken crlToken = getCRLToken(certificateToken, cachedToken);
+		if (crlToken != null) {
+			return crlToken;
+		}
+		// another certificate issuer with the same CRL url
+		return cachedSource.findCrl(certificateToken);
+	}
+
+	/**
+	 * Creates the CRLToken of the certificate from the downloaded CRL (the revocation status is specific to the
+	 * certificate)
+	 */
+	private CRLToken getCRLToken(final CertificateToken certificateToken, final CRLToken downloadedToken) {
+		try {
+			final CRLToken crlToken = new CRLToken(certificateToken, downloadedToken.getCrlValidity());
+			crlToken.setSourceURL(downloadedToken.getSourceURL());
+			crlToken.setAvailable(downloadedToken.isAvailable());
+			return crlToken;
+		} catch (DSSException e) {
+			LOG.debug("The CRL '{}' does not match the certificate : {}", downloadedToken.getSourceURL(), e.getMessage());
+			return null;
+		}
+	}
+
+	private Date getExpirationDate(final CRLValidity crlValidity) {
+		if (crlValidity.getNextUpdate() != null) {
+			return crlValidity.getNextUpdate();
+		}
+		if ((defaultNextUpdateDelay > 0) && (crlValidity.getThisUpdate() != null)) {
+			return new Date(crlValidity.getThisUpdate().getTime() + defaultNextUpdateDelay);
+		}
+		return null;
+	}
+
+}
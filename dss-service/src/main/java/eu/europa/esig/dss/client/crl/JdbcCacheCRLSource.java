@@ -20,6 +20,11 @@
  */
 package eu.europa.esig.dss.client.crl;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.security.cert.X509CRLEntry;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -27,11 +32,23 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Timestamp;
 import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 
 import javax.sql.DataSource;
 
+import org.bouncycastle.asn1.x509.CertificateList;
+import org.bouncycastle.asn1.x509.TBSCertList.CRLEntry;
+import org.bouncycastle.jce.provider.X509CRLEntryObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -111,10 +128,61 @@ public class JdbcCacheCRLSource implements CRLSource {
 	 */
 	private static final String SQL_FIND_UPDATE = "UPDATE CACHED_CRL SET DATA = ?, SIGNATURE_ALGORITHM = ?, THIS_UPDATE = ?, NEXT_UPDATE = ?, EXPIRED_CERTS_ON_CRL = ?, ISSUER = ?, ISSUER_PRINCIPAL_MATCH = ?, SIGNATURE_INTACT = ?, CRL_SIGN_KEY_USAGE = ?, UNKNOWN_CRITICAL_EXTENSION = ?, SIGNATURE_INVALID_REASON = ?  WHERE ID = ?";
 
+	/**
+	 * used in the init method to check if the table of the revoked serial numbers exists
+	 */
+	private static final String SQL_INIT_CHECK_REVOKED_EXISTENCE = "SELECT COUNT(*) FROM CACHED_CRL_REVOKED";
+
+	/**
+	 * used in the init method to create the table of the revoked serial numbers : CRL_ID (the ID of the CRL),
+	 * CRL_THIS_UPDATE (the thisUpdate in milliseconds of the CRL version the entries come from), SERIAL_NUMBER
+	 * (decimal) and ENTRY (the DER encoded CRL entry)
+	 */
+	private static final String SQL_INIT_CREATE_REVOKED_TABLE = "CREATE TABLE CACHED_CRL_REVOKED (CRL_ID CHAR(40), CRL_THIS_UPDATE BIGINT, SERIAL_NUMBER VARCHAR(64), ENTRY LONGVARBINARY)";
+
+	private static final String SQL_INIT_CREATE_REVOKED_INDEX = "CREATE INDEX CACHED_CRL_REVOKED_IDX ON CACHED_CRL_REVOKED (CRL_ID, CRL_THIS_UPDATE, SERIAL_NUMBER)";
+
+	/**
+	 * used in the find method to select the crl information (without the binaries) via the id
+	 */
+	private static final String SQL_FIND_INFO_QUERY = "SELECT ID, SIGNATURE_ALGORITHM, THIS_UPDATE, NEXT_UPDATE, EXPIRED_CERTS_ON_CRL, ISSUER, ISSUER_PRINCIPAL_MATCH, SIGNATURE_INTACT, CRL_SIGN_KEY_USAGE, UNKNOWN_CRITICAL_EXTENSION, SIGNATURE_INVALID_REASON FROM CACHED_CRL WHERE ID = ?";
+
+	/**
+	 * used to load the crl binaries on demand
+	 */
+	private static final String SQL_FIND_DATA_QUERY = "SELECT DATA FROM CACHED_CRL WHERE ID = ?";
+
+	private static final String SQL_FIND_REVOKED_QUERY = "SELECT SERIAL_NUMBER, ENTRY FROM CACHED_CRL_REVOKED WHERE CRL_ID = ? AND CRL_THIS_UPDATE = ? AND SERIAL_NUMBER IN ";
+
+	private static final String SQL_FIND_REVOKED_QUERY_SERIAL_NUMBER = "SERIAL_NUMBER";
+
+	private static final String SQL_FIND_REVOKED_QUERY_ENTRY = "ENTRY";
+
+	private static final String SQL_DELETE_REVOKED = "DELETE FROM CACHED_CRL_REVOKED WHERE CRL_ID = ?";
+
+	private static final String SQL_INSERT_REVOKED = "INSERT INTO CACHED_CRL_REVOKED (CRL_ID, CRL_THIS_UPDATE, SERIAL_NUMBER, ENTRY) VALUES (?, ?, ?, ?)";
+
+	/**
+	 * The SERIAL_NUMBER of the row stored with the entries of a CRL version : it differentiates a certificate which is
+	 * not revoked from a CRL version without stored entries
+	 */
+	private static final String STORED_ENTRIES_MARKER = "CRL";
+
+	/**
+	 * Maximum number of serial numbers by query / inserted entries by batch
+	 */
+	private static final int BATCH_SIZE = 500;
+
 	private OnlineCRLSource cachedSource;
 
 	private DataSource dataSource;
 
+	/**
+	 * If true, the revoked serial numbers are stored in a dedicated table : a lookup reads one row and the CRL
+	 * binaries are only loaded on demand.
+	 */
+	private boolean storeRevokedSerialNumbers = false;
+
 	/**
 	 * The default constructor for JdbcCRLSource.
 	 */
@@ -130,43 +198,183 @@ public class JdbcCacheCRLSource implements CRLSource {
 		if (issuerToken == null) {
 			return null;
 		}
+		final String crlUrl = getCrlUrl(certificateToken);
+		if (crlUrl == null) {
+			return null;
+		}
+		LOG.info("CRL's URL for " + certificateToken.getAbbreviation() + " : " + crlUrl);
+		final List<CRLToken> crlTokens = findCrls(Collections.singletonList(certificateToken), crlUrl);
+		return crlTokens == null ? null : crlTokens.get(0);
+	}
+
+	/**
+	 * This method retrieves the CRLTokens of several certificates. The certificates with the same CRL are processed
+	 * together : the CRL is retrieved once and, if the revoked serial numbers are stored (see
+	 * {@link #setStoreRevokedSerialNumbers(boolean)}), their statuses are read with a few queries.
+	 *
+	 * @param certificateTokens
+	 *            the certificates to check
+	 * @return the CRLTokens by certificate (the certificates without CRL are not present)
+	 */
+	public Map<CertificateToken, CRLToken> findCrls(final List<CertificateToken> certificateTokens) {
+		final Map<String, List<CertificateToken>> certificatesByCrlUrl = new LinkedHashMap<String, List<CertificateToken>>();
+		for (final CertificateToken certificateToken : certificateTokens) {
+			final String crlUrl = (certificateToken.getIssuerToken() == null) ? null : getCrlUrl(certificateToken);
+			if (crlUrl != null) {
+				List<CertificateToken> certificates = certificatesByCrlUrl.get(crlUrl);
+				if (certificates == null) {
+					certificates = new ArrayList<CertificateToken>();
+					certificatesByCrlUrl.put(crlUrl, certificates);
+				}
+				certificates.add(certificateToken);
+			}
+		}
+
+		final Map<CertificateToken, CRLToken> result = new LinkedHashMap<CertificateToken, CRLToken>();
+		for (final Entry<String, List<CertificateToken>> entry : certificatesByCrlUrl.entrySet()) {
+			final List<CertificateToken> certificates = entry.getValue();
+			final List<CRLToken> crlTokens = findCrls(certificates, entry.getKey());
+			if (crlTokens != null) {
+				for (int i = 0; i < certificates.size(); i++) {
+					if (crlTokens.get(i) != null) {
+						result.put(certificates.get(i), crlTokens.get(i));
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	private String getCrlUrl(final CertificateToken certificateToken) {
 		final List<String> crlUrls = DSSASN1Utils.getCrlUrls(certificateToken);
 		if (Utils.isCollectionEmpty(crlUrls)) {
 			return null;
 		}
-		final String crlUrl = crlUrls.get(0);
-		LOG.info("CRL's URL for " + certificateToken.getAbbreviation() + " : " + crlUrl);
-		try {
+		return crlUrls.get(0);
+	}
 
+	/**
+	 * Returns the CRLTokens of certificates with the same CRL url (in the same order) or null if the CRL cannot be
+	 * retrieved. All the tokens are built from the same version of the CRL. The token of a certificate which is not
+	 * covered by the CRL (another issuer with the same CRL url) is null.
+	 */
+	private List<CRLToken> findCrls(final List<CertificateToken> certificateTokens, final String crlUrl) {
+		try {
 			final String key = DSSUtils.getSHA1Digest(crlUrl);
-			final CRLValidity storedValidity = findCrlInDB(key);
+			CRLValidity storedValidity = findCrlInDB(key, !storeRevokedSerialNumbers);
 			if (storedValidity != null) {
-				if (storedValidity.getNextUpdate().after(new Date())) {
+				if (storedValidity.getNextUpdate().after(new Date()) && storedValidity.isValid()) {
 					LOG.debug("CRL in cache");
-					final CRLToken crlToken = new CRLToken(certificateToken, storedValidity);
-					crlToken.setSourceURL(crlUrl);
-					if (crlToken.isValid()) {
-						return crlToken;
+					final List<CRLToken> crlTokens = getCachedTokens(certificateTokens, storedValidity, key);
+					if (crlTokens != null) {
+						for (final CRLToken crlToken : crlTokens) {
+							if (crlToken != null) {
+								crlToken.setSourceURL(crlUrl);
+							}
+						}
+						return crlTokens;
 					}
 				}
 			}
-			final CRLToken crlToken = cachedSource.findCrl(certificateToken);
-			if ((crlToken != null) && crlToken.isValid()) {
-				if (storedValidity == null) {
-					LOG.info("CRL '{}' not in cache", crlUrl);
-					insertCrlInDb(key, crlToken.getCrlValidity());
-				} else {
-					LOG.debug("CRL '{}' expired", crlUrl);
-					updateCrlInDb(key, crlToken.getCrlValidity());
+
+			final CRLToken crlToken = downloadCrl(certificateTokens.get(0), crlUrl, key, storedValidity != null);
+			if (crlToken == null) {
+				return null;
+			}
+			final List<CRLToken> crlTokens = new ArrayList<CRLToken>();
+			crlTokens.add(crlToken);
+			// the statuses of the other certificates come from the downloaded CRL, stored or not
+			for (final CertificateToken certificateToken : certificateTokens.subList(1, certificateTokens.size())) {
+				final CRLToken otherToken = createCRLToken(certificateToken, crlToken.getCrlValidity(), false, null);
+				if (otherToken != null) {
+					otherToken.setSourceURL(crlUrl);
+					otherToken.setAvailable(crlToken.isAvailable());
 				}
+				crlTokens.add(otherToken);
 			}
-			return crlToken;
+			return crlTokens;
 		} catch (SQLException e) {
 			LOG.info("Error with the cache data store", e);
 		}
 		return null;
 	}
 
+	/**
+	 * Returns the CRLTokens from the cached CRL or null if the CRL is no longer in the cache. If the entries of this CRL
+	 * version are not stored (the CRL was cached while the revoked serial numbers were not stored), the statuses are
+	 * read from the stored CRL and its entries are stored for the next lookups.
+	 */
+	private List<CRLToken> getCachedTokens(final List<CertificateToken> certificateTokens, CRLValidity storedValidity, final String key)
+			throws SQLException {
+		final List<CRLToken> crlTokens = new ArrayList<CRLToken>();
+		if (storeRevokedSerialNumbers) {
+			final Map<BigInteger, X509CRLEntry> crlEntries = findCrlEntriesInDB(key, storedValidity.getThisUpdate(), certificateTokens);
+			if (crlEntries != null) {
+				for (final CertificateToken certificateToken : certificateTokens) {
+					crlTokens.add(createCRLToken(certificateToken, storedValidity, true, crlEntries.get(certificateToken.getSerialNumber())));
+				}
+				return crlTokens;
+			}
+
+			LOG.debug("The entries of the CRL '{}' are not stored", key);
+			// the row and its binaries are read together : the CRL may have been refreshed in the meantime
+			storedValidity = findCrlInDB(key, true);
+			if (storedValidity == null) {
+				return null;
+			}
+			storeCrlEntriesInDb(key, storedValidity);
+		}
+		for (final CertificateToken certificateToken : certificateTokens) {
+			crlTokens.add(createCRLToken(certificateToken, storedValidity, false, null));
+		}
+		return crlTokens;
+	}
+
+	/**
+	 * Creates the CRLToken of the certificate or returns null if the CRL is not issued by the issuer of the
+	 * certificate : only this certificate is skipped, not the other certificates of the batch.
+	 */
+	private CRLToken createCRLToken(final CertificateToken certificateToken, final CRLValidity crlValidity, final boolean knownEntry,
+			final X509CRLEntry crlEntry) {
+		try {
+			if (knownEntry) {
+				return new CRLToken(certificateToken, crlValidity, crlEntry);
+			}
+			return new CRLToken(certificateToken, crlValidity);
+		} catch (DSSException e) {
+			LOG.warn("The CRL does not cover the certificate '{}' : {}", certificateToken.getDSSIdAsString(), e.getMessage());
+			return null;
+		}
+	}
+
+	private CRLToken downloadCrl(final CertificateToken certificateToken, final String crlUrl, final String key, final boolean stored) throws SQLException {
+		final CRLToken crlToken = cachedSource.findCrl(certificateToken);
+		if ((crlToken != null) && crlToken.isValid()) {
+			/* The CRL and its entries are stored in the same transaction */
+			Connection c = null;
+			boolean committed = false;
+			try {
+				c = getDataSource().getConnection();
+				c.setAutoCommit(false);
+				if (!stored) {
+					LOG.info("CRL '{}' not in cache", crlUrl);
+					insertCrlInDb(c, key, crlToken.getCrlValidity());
+				} else {
+					LOG.debug("CRL '{}' expired", crlUrl);
+					updateCrlInDb(c, key, crlToken.getCrlValidity());
+				}
+				if (storeRevokedSerialNumbers) {
+					storeCrlEntriesInDb(c, key, crlToken.getCrlValidity());
+				}
+				c.commit();
+				committed = true;
+			} finally {
+				endTransaction(c, committed);
+			}
+		}
+		return crlToken;
+	}
+
 	/**
 	 * @param cachedSource
 	 *            the cachedSource to set
@@ -175,15 +383,37 @@ public class JdbcCacheCRLSource implements CRLSource {
 		this.cachedSource = cachedSource;
 	}
 
+	/**
+	 * If true, the revoked serial numbers of the CRLs are stored in the table CACHED_CRL_REVOKED. The revocation
+	 * status of a certificate is then read from one row (the CRL is not parsed and its binaries are only loaded on
+	 * demand).
+	 *
+	 * @param storeRevokedSerialNumbers
+	 *            true to store the revoked serial numbers (false by default)
+	 */
+	public void setStoreRevokedSerialNumbers(boolean storeRevokedSerialNumbers) {
+		this.storeRevokedSerialNumbers = storeRevokedSerialNumbers;
+		if (dataSource != null) {
+			try {
+				initDao();
+			} catch (SQLException e) {
+				throw new DSSException("Unable to create the table CACHED_CRL_REVOKED", e);
+			}
+		}
+	}
+
 	/**
 	 * Initialise the DAO by creating the table if it does not exist.
 	 *
-	 * @throws Exception
+	 * @throws java.sql.SQLException
 	 */
-	private void initDao() throws Exception {
+	private void initDao() throws SQLException {
 		/* Create the table if it doesn't exist. */
-		if (!tableExists()) {
-			createTable();
+		if (!tableExists(SQL_INIT_CHECK_EXISTENCE)) {
+			createTable(SQL_INIT_CREATE_TABLE);
+		}
+		if (storeRevokedSerialNumbers && !tableExists(SQL_INIT_CHECK_REVOKED_EXISTENCE)) {
+			createTable(SQL_INIT_CREATE_REVOKED_TABLE, SQL_INIT_CREATE_REVOKED_INDEX);
 		}
 	}
 
@@ -192,13 +422,15 @@ public class JdbcCacheCRLSource implements CRLSource {
 	 *
 	 * @throws java.sql.SQLException
 	 */
-	private void createTable() throws SQLException {
+	private void createTable(String... queries) throws SQLException {
 		Connection c = null;
 		Statement s = null;
 		try {
 			c = getDataSource().getConnection();
 			s = c.createStatement();
-			s.executeQuery(SQL_INIT_CREATE_TABLE);
+			for (String query : queries) {
+				s.execute(query);
+			}
 			c.commit();
 		} finally {
 			closeQuietly(c, s, null);
@@ -210,14 +442,14 @@ public class JdbcCacheCRLSource implements CRLSource {
 	 *
 	 * @return true if the table exists.
 	 */
-	private boolean tableExists() {
+	private boolean tableExists(String checkQuery) {
 		Connection c = null;
 		Statement s = null;
 		boolean tableExists;
 		try {
 			c = getDataSource().getConnection();
 			s = c.createStatement();
-			s.executeQuery(SQL_INIT_CHECK_EXISTENCE);
+			s.executeQuery(checkQuery);
 			tableExists = true;
 		} catch (SQLException e) {
 			tableExists = false;
@@ -232,22 +464,29 @@ public class JdbcCacheCRLSource implements CRLSource {
 	 *
 	 * @param key
 	 *            the key of the CRL
+	 * @param withData
+	 *            true to read the CRL binaries, otherwise they are loaded on demand
 	 * @return the cached crl
 	 * @throws java.sql.SQLException
 	 */
-	private CRLValidity findCrlInDB(String key) throws SQLException {
+	private CRLValidity findCrlInDB(String key, boolean withData) throws SQLException {
 		Connection c = null;
 		PreparedStatement s = null;
 		ResultSet rs = null;
 		try {
 			c = getDataSource().getConnection();
-			s = c.prepareStatement(SQL_FIND_QUERY);
+			s = c.prepareStatement(withData ? SQL_FIND_QUERY : SQL_FIND_INFO_QUERY);
 			s.setString(1, key);
 			rs = s.executeQuery();
 			if (rs.next()) {
-				CRLValidity cached = new CRLValidity();
+				CRLValidity cached;
+				if (withData) {
+					cached = new CRLValidity();
+					cached.setCrlEncoded(rs.getBytes(SQL_FIND_QUERY_DATA));
+				} else {
+					cached = new LazyCRLValidity();
+				}
 				cached.setKey(rs.getString(SQL_FIND_QUERY_ID));
-				cached.setCrlEncoded(rs.getBytes(SQL_FIND_QUERY_DATA));
 				cached.setSignatureAlgorithm(SignatureAlgorithm.valueOf(rs.getString(SQL_FIND_QUERY_SIGNATURE_ALGO)));
 				cached.setThisUpdate(rs.getTimestamp(SQL_FIND_QUERY_THIS_UPDATE));
 				cached.setNextUpdate(rs.getTimestamp(SQL_FIND_QUERY_NEXT_UPDATE));
@@ -268,20 +507,190 @@ public class JdbcCacheCRLSource implements CRLSource {
 	}
 
 	/**
-	 * Insert a new CRL into the cache
+	 * Get the CRL binaries from the datasource
 	 *
 	 * @param key
-	 *            the key
-	 * @param encoded
-	 *            the encoded CRL
+	 *            the key of the CRL
+	 * @return the CRL binaries or null
 	 * @throws java.sql.SQLException
 	 */
-	private void insertCrlInDb(String key, CRLValidity token) throws SQLException {
+	private byte[] findCrlDataInDB(String key) throws SQLException {
 		Connection c = null;
 		PreparedStatement s = null;
 		ResultSet rs = null;
 		try {
 			c = getDataSource().getConnection();
+			s = c.prepareStatement(SQL_FIND_DATA_QUERY);
+			s.setString(1, key);
+			rs = s.executeQuery();
+			if (rs.next()) {
+				return rs.getBytes(SQL_FIND_QUERY_DATA);
+			}
+		} finally {
+			closeQuietly(c, s, rs);
+		}
+		return null;
+	}
+
+	/**
+	 * Get the stored CRL entries of the given certificates
+	 *
+	 * @param key
+	 *            the key of the CRL
+	 * @param thisUpdate
+	 *            the thisUpdate of the cached CRL
+	 * @param certificateTokens
+	 *            the certificates to check
+	 * @return the CRL entries by serial number (the certificates which are not revoked are not present) or null if the
+	 *         entries of this CRL version are not stored
+	 * @throws java.sql.SQLException
+	 */
+	private Map<BigInteger, X509CRLEntry> findCrlEntriesInDB(String key, Date thisUpdate, List<CertificateToken> certificateTokens)
+			throws SQLException {
+		if (thisUpdate == null) {
+			return null;
+		}
+		Map<BigInteger, X509CRLEntry> result = new HashMap<BigInteger, X509CRLEntry>();
+		boolean stored = false;
+		Connection c = null;
+		try {
+			c = getDataSource().getConnection();
+			for (int start = 0; start < certificateTokens.size(); start += BATCH_SIZE) {
+				List<CertificateToken> batch = certificateTokens.subList(start, Math.min(start + BATCH_SIZE, certificateTokens.size()));
+				StringBuilder query = new StringBuilder(SQL_FIND_REVOKED_QUERY).append("(?");
+				for (int i = 0; i < batch.size(); i++) {
+					query.append(", ?");
+				}
+				query.append(')');
+
+				PreparedStatement s = null;
+				ResultSet rs = null;
+				try {
+					s = c.prepareStatement(query.toString());
+					s.setString(1, key);
+					s.setLong(2, thisUpdate.getTime());
+					s.setString(3, STORED_ENTRIES_MARKER);
+					for (int i = 0; i < batch.size(); i++) {
+						s.setString(i + 4, batch.get(i).getSerialNumber().toString());
+					}
+					rs = s.executeQuery();
+					while (rs.next()) {
+						String serialNumber = rs.getString(SQL_FIND_REVOKED_QUERY_SERIAL_NUMBER);
+						if (STORED_ENTRIES_MARKER.equals(serialNumber)) {
+							stored = true;
+						} else {
+							CRLEntry crlEntry = CRLEntry.getInstance(rs.getBytes(SQL_FIND_REVOKED_QUERY_ENTRY));
+							result.put(new BigInteger(serialNumber), new X509CRLEntryObject(crlEntry));
+						}
+					}
+				} finally {
+					closeQuietly(null, s, rs);
+				}
+				if (!stored) {
+					return null;
+				}
+			}
+		} finally {
+			closeQuietly(c, null, null);
+		}
+		return result;
+	}
+
+	/**
+	 * Replace the stored CRL entries with the entries of the given CRL, in a dedicated transaction
+	 *
+	 * @param key
+	 *            the key of the CRL
+	 * @param crlValidity
+	 *            the CRL
+	 * @throws java.sql.SQLException
+	 */
+	private void storeCrlEntriesInDb(String key, CRLValidity crlValidity) throws SQLException {
+		Connection c = null;
+		boolean committed = false;
+		try {
+			c = getDataSource().getConnection();
+			c.setAutoCommit(false);
+			storeCrlEntriesInDb(c, key, crlValidity);
+			c.commit();
+			committed = true;
+		} finally {
+			endTransaction(c, committed);
+		}
+	}
+
+	/**
+	 * Replace the stored CRL entries with the entries of the given CRL (only the first entry of a serial number is
+	 * kept). The entries are stored with the thisUpdate of the CRL and with a marker row.
+	 *
+	 * @param c
+	 *            the connection of the current transaction
+	 * @param key
+	 *            the key of the CRL
+	 * @param crlValidity
+	 *            the CRL
+	 * @throws java.sql.SQLException
+	 */
+	private void storeCrlEntriesInDb(Connection c, String key, CRLValidity crlValidity) throws SQLException {
+		PreparedStatement s = null;
+		try {
+			s = c.prepareStatement(SQL_DELETE_REVOKED);
+			s.setString(1, key);
+			s.executeUpdate();
+			s.close();
+
+			if (crlValidity.getThisUpdate() == null) {
+				return;
+			}
+			final long thisUpdate = crlValidity.getThisUpdate().getTime();
+			s = c.prepareStatement(SQL_INSERT_REVOKED);
+			s.setString(1, key);
+			s.setLong(2, thisUpdate);
+			s.setString(3, STORED_ENTRIES_MARKER);
+			s.setNull(4, Types.LONGVARBINARY);
+			s.addBatch();
+			Set<BigInteger> storedSerialNumbers = new HashSet<BigInteger>();
+			int batchCount = 1;
+			Enumeration<?> revokedCertificates = CertificateList.getInstance(crlValidity.getCrlEncoded()).getTBSCertList()
+					.getRevokedCertificateEnumeration();
+			while (revokedCertificates.hasMoreElements()) {
+				CRLEntry crlEntry = (CRLEntry) revokedCertificates.nextElement();
+				BigInteger serialNumber = crlEntry.getUserCertificate().getValue();
+				if (storedSerialNumbers.add(serialNumber)) {
+					s.setString(1, key);
+					s.setLong(2, thisUpdate);
+					s.setString(3, serialNumber.toString());
+					s.setBytes(4, crlEntry.getEncoded());
+					s.addBatch();
+					if (++batchCount % BATCH_SIZE == 0) {
+						s.executeBatch();
+					}
+				}
+			}
+			if (batchCount % BATCH_SIZE != 0) {
+				s.executeBatch();
+			}
+		} catch (IOException e) {
+			throw new DSSException("Unable to store the CRL entries", e);
+		} finally {
+			closeQuietly(null, s, null);
+		}
+	}
+
+	/**
+	 * Insert a new CRL into the cache
+	 *
+	 * @param c
+	 *            the connection of the current transaction
+	 * @param key
+	 *            the key
+	 * @param token
+	 *            the CRL
+	 * @throws java.sql.SQLException
+	 */
+	private void insertCrlInDb(Connection c, String key, CRLValidity token) throws SQLException {
+		PreparedStatement s = null;
+		try {
 			s = c.prepareStatement(SQL_FIND_INSERT);
 
 			s.setString(1, key);
@@ -316,25 +725,24 @@ public class JdbcCacheCRLSource implements CRLSource {
 			s.setString(12, token.getSignatureInvalidityReason());
 			s.executeUpdate();
 		} finally {
-			closeQuietly(c, s, rs);
+			closeQuietly(null, s, null);
 		}
 	}
 
 	/**
 	 * Update the cache with the CRL
 	 *
+	 * @param c
+	 *            the connection of the current transaction
 	 * @param key
 	 *            the key
-	 * @param encoded
-	 *            the encoded CRL
+	 * @param token
+	 *            the CRL
 	 * @throws java.sql.SQLException
 	 */
-	private void updateCrlInDb(String key, CRLValidity token) throws SQLException {
-		Connection c = null;
+	private void updateCrlInDb(Connection c, String key, CRLValidity token) throws SQLException {
 		PreparedStatement s = null;
-		ResultSet rs = null;
 		try {
-			c = getDataSource().getConnection();
 			s = c.prepareStatement(SQL_FIND_UPDATE);
 			s.setBytes(1, token.getCrlEncoded());
 
@@ -368,11 +776,34 @@ public class JdbcCacheCRLSource implements CRLSource {
 			s.setString(12, key);
 			s.executeUpdate();
 		} finally {
-			closeQuietly(c, s, rs);
+			closeQuietly(null, s, null);
 		}
 
 	}
 
+	/**
+	 * Roll back the transaction if it is not committed, restore the auto-commit mode and close the connection
+	 *
+	 * @param c
+	 *            the connection
+	 * @param committed
+	 *            true if the transaction is committed
+	 */
+	private void endTransaction(Connection c, boolean committed) {
+		if (c == null) {
+			return;
+		}
+		try {
+			if (!committed) {
+				c.rollback();
+			}
+			c.setAutoCommit(true);
+		} catch (SQLException e) {
+			LOG.warn("Unable to end the transaction", e);
+		}
+		closeQuietly(c, null, null);
+	}
+
 	/**
 	 * @return the dataSource
 	 */
@@ -415,4 +846,31 @@ public class JdbcCacheCRLSource implements CRLSource {
 			// purposely empty
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * CRLValidity with the binaries loaded from the datasource on demand
+	 */
+	private class LazyCRLValidity extends CRLValidity {
+
+		@Override
+		public synchronized byte[] getCrlEncoded() {
+			byte[] crlEncoded = super.getCrlEncoded();
+			if (crlEncoded == null) {
+				try {
+					crlEncoded = findCrlDataInDB(getKey());
+				} catch (SQLException e) {
+					throw new DSSException("Unable to load the CRL binaries", e);
+				}
+				setCrlEncoded(crlEncoded);
+			}
+			return crlEncoded;
+		}
+
+		@Override
+		public InputStream getCrlInputStream() {
+			return new ByteArrayInputStream(getCrlEncoded());
+		}
+
+	}
+
+}
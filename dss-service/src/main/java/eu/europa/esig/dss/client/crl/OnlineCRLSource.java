@@ -21,8 +21,10 @@
 package eu.europa.esig.dss.client.crl;
 
 import java.io.ByteArrayInputStream;
+import java.io.Closeable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Future;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,13 +32,14 @@ import org.slf4j.LoggerFactory;
 import eu.europa.esig.dss.DSSASN1Utils;
 import eu.europa.esig.dss.DSSException;
 import eu.europa.esig.dss.client.http.DataLoader;
+import eu.europa.esig.dss.client.http.DataLoaderFuture;
 import eu.europa.esig.dss.client.http.Protocol;
 import eu.europa.esig.dss.client.http.commons.CommonsDataLoader;
 import eu.europa.esig.dss.crl.CRLUtils;
 import eu.europa.esig.dss.crl.CRLValidity;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.x509.CertificateToken;
-import eu.europa.esig.dss.x509.crl.CRLSource;
+import eu.europa.esig.dss.x509.crl.AsyncCRLSource;
 import eu.europa.esig.dss.x509.crl.CRLToken;
 
 /**
@@ -49,7 +52,7 @@ import eu.europa.esig.dss.x509.crl.CRLToken;
  *
  */
 
-public class OnlineCRLSource implements CRLSource {
+public class OnlineCRLSource implements AsyncCRLSource, Closeable {
 
 	private static final Logger LOG = LoggerFactory.getLogger(OnlineCRLSource.class);
 
@@ -64,12 +67,19 @@ public class OnlineCRLSource implements CRLSource {
 	 */
 	private DataLoader dataLoader;
 
+	/**
+	 * The {@code CommonsDataLoader} created by this source (its pool of connections is released by {@link #close()} or
+	 * when another data loader is set)
+	 */
+	private CommonsDataLoader defaultDataLoader;
+
 	/**
 	 * The default constructor. A {@code CommonsDataLoader is created}.
 	 */
 	public OnlineCRLSource() {
 
-		dataLoader = new CommonsDataLoader();
+		defaultDataLoader = new CommonsDataLoader();
+		dataLoader = defaultDataLoader;
 		LOG.trace("+OnlineCRLSource with the default data loader.");
 	}
 
@@ -106,12 +116,75 @@ public class OnlineCRLSource implements CRLSource {
 	 */
 	public void setDataLoader(final DataLoader dataLoader) {
 
+		close();
 		this.dataLoader = dataLoader;
 	}
 
+	/**
+	 * Releases the connections of the default {@code CommonsDataLoader}. A data loader set with
+	 * {@link #setDataLoader(DataLoader)} is not closed.
+	 */
+	@Override
+	public void close() {
+		if (defaultDataLoader != null) {
+			defaultDataLoader.close();
+		}
+	}
+
 	@Override
 	public CRLToken findCrl(final CertificateToken certificateToken) throws DSSException {
 
+		final List<String> crlUrls = getCrlUrls(certificateToken);
+		if (Utils.isCollectionEmpty(crlUrls)) {
+			return null;
+		}
+
+		final DataLoader.DataAndUrl dataAndUrl = downloadCrl(crlUrls);
+		return buildCRLToken(certificateToken, dataAndUrl);
+	}
+
+	/**
+	 * Asynchronous version of {@link #findCrl(CertificateToken)} : the first CRL url is requested asynchronously if the
+	 * {@code DataLoader} is an {@code AsyncDataLoader}. The CRL is parsed and validated when the result is collected;
+	 * the other urls are only requested if the first one fails.
+	 *
+	 * @param certificateToken
+	 *            The {@code CertificateToken} for which the request is made
+	 * @return the {@code Future} of the {@code CRLToken} (null if no CRL is obtained)
+	 */
+	@Override
+	public Future<CRLToken> findCrlAsync(final CertificateToken certificateToken) {
+
+		final List<String> crlUrls = getCrlUrls(certificateToken);
+		if (Utils.isCollectionEmpty(crlUrls)) {
+			return DataLoaderFuture.completed(null);
+		}
+
+		final String firstUrl = crlUrls.get(0);
+		final List<String> otherUrls = crlUrls.subList(1, crlUrls.size());
+		return new DataLoaderFuture<CRLToken>(DataLoaderFuture.get(dataLoader, firstUrl)) {
+
+			@Override
+			protected CRLToken transform(byte[] data) {
+				if (Utils.isArrayNotEmpty(data)) {
+					return buildCRLToken(certificateToken, new DataLoader.DataAndUrl(data, firstUrl));
+				}
+				return buildCRLToken(certificateToken, downloadCrl(otherUrls));
+			}
+
+			@Override
+			protected CRLToken recover(Throwable cause) {
+				LOG.warn("Unable to download CRL from URL {} : {}", firstUrl, cause.getMessage());
+				return buildCRLToken(certificateToken, downloadCrl(otherUrls));
+			}
+		};
+	}
+
+	/**
+	 * Returns the prioritized CRL urls of the certificate, or null if the CRL cannot be validated
+	 */
+	private List<String> getCrlUrls(final CertificateToken certificateToken) {
+
 		if (certificateToken == null) {
 			return null;
 		}
@@ -126,13 +199,16 @@ public class OnlineCRLSource implements CRLSource {
 		}
 
 		prioritize(crlUrls);
-		final DataLoader.DataAndUrl dataAndUrl = downloadCrl(crlUrls);
+		return crlUrls;
+	}
+
+	private CRLToken buildCRLToken(final CertificateToken certificateToken, final DataLoader.DataAndUrl dataAndUrl) {
 		if (dataAndUrl == null) {
 			return null;
 		}
 
 		try (ByteArrayInputStream bais = new ByteArrayInputStream(dataAndUrl.data)) {
-			final CRLValidity crlValidity = CRLUtils.isValidCRL(bais, issuerToken);
+			final CRLValidity crlValidity = CRLUtils.isValidCRL(bais, certificateToken.getIssuerToken());
 			final CRLToken crlToken = new CRLToken(certificateToken, crlValidity);
 			crlToken.setSourceURL(dataAndUrl.urlString);
 			crlToken.setAvailable(true);
@@ -151,6 +227,9 @@ public class OnlineCRLSource implements CRLSource {
 	 * @return {@code X509CRL} or null if it was not possible to download the CRL
 	 */
 	private DataLoader.DataAndUrl downloadCrl(final List<String> downloadUrls) {
+		if (downloadUrls.isEmpty()) {
+			return null;
+		}
 		try {
 			return dataLoader.get(downloadUrls);
 		} catch (DSSException e) {
@@ -21,6 +21,7 @@
 package eu.europa.esig.dss.client.http.commons;
 
 import java.io.ByteArrayInputStream;
+import java.io.Closeable;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -36,6 +37,13 @@ import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
 
 import javax.naming.Context;
 import javax.naming.directory.Attribute;
@@ -57,6 +65,7 @@ import org.apache.http.client.CredentialsProvider;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.config.RegistryBuilder;
@@ -76,6 +85,7 @@ import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
 import org.apache.http.impl.conn.DefaultProxyRoutePlanner;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
 import org.apache.http.protocol.HttpContext;
 import org.apache.http.ssl.SSLContextBuilder;
 import org.apache.http.util.EntityUtils;
@@ -84,6 +94,7 @@ import org.slf4j.LoggerFactory;
 
 import eu.europa.esig.dss.DSSException;
 import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.client.http.AsyncDataLoader;
 import eu.europa.esig.dss.client.http.DataLoader;
 import eu.europa.esig.dss.client.http.Protocol;
 import eu.europa.esig.dss.client.http.proxy.ProxyConfig;
@@ -97,8 +108,19 @@ import eu.europa.esig.dss.utils.Utils;
  * having to add the certificate to the JVM TrustStore. It takes into account a
  * proxy management through {@code ProxyPreferenceManager}. The authentication
  * is also supported.
+ * <p>
+ * The {@code HttpClient}s and their pool of connections are created at the first request and shared by all the
+ * following ones, which allows to keep the connections alive. The idle connections are closed when a new request is
+ * executed (no background thread is started). When the configuration changes (except for the connection limits,
+ * which are applied to the existing pool), the next requests use a new pool and the previous one is released once its
+ * running requests are finished. {@link #close()} releases the pool the same way. The clients are built by
+ * {@link #getHttpClient(String, HttpClientConnectionManager)}, which can be overridden.
+ * <p>
+ * The asynchronous requests ({@link #getAsync(String)} and {@link #postAsync(String, byte[])}) are executed by the
+ * {@code ExecutorService} set with {@link #setExecutorService(ExecutorService)}, on the same pool of connections.
+ * Without executor service, they are executed by the current thread.
  */
-public class CommonsDataLoader implements DataLoader {
+public class CommonsDataLoader implements AsyncDataLoader, Closeable {
 
 	private static final Logger LOG = LoggerFactory.getLogger(CommonsDataLoader.class);
 
@@ -110,6 +132,8 @@ public class CommonsDataLoader implements DataLoader {
 
 	public static final int CONNECTIONS_MAX_PER_ROUTE = 2;
 
+	public static final int CONNECTION_IDLE_TIME = 60000;
+
 	public static final String CONTENT_TYPE = "Content-Type";
 
 	public static final List<Integer> ACCEPTED_HTTP_STATUS = Arrays.asList(HttpStatus.SC_OK);
@@ -129,11 +153,29 @@ public class CommonsDataLoader implements DataLoader {
 	private int timeoutSocket = TIMEOUT_SOCKET;
 	private int connectionsMaxTotal = CONNECTIONS_MAX_TOTAL;
 	private int connectionsMaxPerRoute = CONNECTIONS_MAX_PER_ROUTE;
+	private int connectionIdleTime = CONNECTION_IDLE_TIME;
 	private boolean redirectsEnabled = true;
 	private List<Integer> acceptedHttpStatus = ACCEPTED_HTTP_STATUS;
 
 	private final Map<HttpHost, UsernamePasswordCredentials> authenticationMap = new HashMap<HttpHost, UsernamePasswordCredentials>();
 
+	private final Map<HttpHost, Integer> connectionsMaxPerHost = new HashMap<HttpHost, Integer>();
+
+	/**
+	 * The shared pool of connections and its clients (created at the first request)
+	 */
+	private transient HttpClientPool httpClientPool;
+
+	/**
+	 * The pool whose client is being built, used by {@link #getHttpClient(String)} (guarded by this)
+	 */
+	private transient HttpClientPool buildingPool;
+
+	/**
+	 * The executor service of the asynchronous requests (not shut down by this class)
+	 */
+	private transient ExecutorService executorService;
+
 	/**
 	 * Used SSL protocol
 	 */
@@ -182,21 +224,29 @@ public class CommonsDataLoader implements DataLoader {
 		this.contentType = contentType;
 	}
 
-	private HttpClientConnectionManager getConnectionManager() throws DSSException {
-
+	private PoolingHttpClientConnectionManager createConnectionManager() throws DSSException {
 		RegistryBuilder<ConnectionSocketFactory> socketFactoryRegistryBuilder = RegistryBuilder.create();
 		socketFactoryRegistryBuilder = setConnectionManagerSchemeHttp(socketFactoryRegistryBuilder);
 		socketFactoryRegistryBuilder = setConnectionManagerSchemeHttps(socketFactoryRegistryBuilder);
 
 		final PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(socketFactoryRegistryBuilder.build());
+		configureConnectionLimits(connectionManager);
+		return connectionManager;
+	}
 
+	private void configureConnectionLimits(final PoolingHttpClientConnectionManager connectionManager) {
 		connectionManager.setMaxTotal(getConnectionsMaxTotal());
 		connectionManager.setDefaultMaxPerRoute(getConnectionsMaxPerRoute());
+		for (final Map.Entry<HttpHost, Integer> entry : connectionsMaxPerHost.entrySet()) {
+			connectionManager.setMaxPerRoute(getDirectRoute(entry.getKey()), entry.getValue());
+		}
 
 		LOG.debug("PoolingHttpClientConnectionManager: max total: " + connectionManager.getMaxTotal());
 		LOG.debug("PoolingHttpClientConnectionManager: max per route: " + connectionManager.getDefaultMaxPerRoute());
+	}
 
-		return connectionManager;
+	private HttpRoute getDirectRoute(final HttpHost httpHost) {
+		return new HttpRoute(httpHost, null, Protocol.isHttps(httpHost.getSchemeName()));
 	}
 
 	private RegistryBuilder<ConnectionSocketFactory> setConnectionManagerSchemeHttp(RegistryBuilder<ConnectionSocketFactory> socketFactoryRegistryBuilder) {
@@ -239,7 +289,90 @@ public class CommonsDataLoader implements DataLoader {
 		}
 	}
 
+	/**
+	 * Returns the current pool of connections, which cannot be released before the matching call to
+	 * {@link HttpClientPool#release()}. The idle connections of the pool are closed.
+	 */
+	private HttpClientPool acquireHttpClientPool() throws DSSException {
+		final HttpClientPool pool;
+		synchronized (this) {
+			if (httpClientPool == null) {
+				httpClientPool = new HttpClientPool(createConnectionManager());
+			}
+			pool = httpClientPool;
+			pool.acquire();
+		}
+		pool.closeIdleConnections(connectionIdleTime);
+		return pool;
+	}
+
+	/**
+	 * Returns the {@code HttpClient} of the pool to use for the given url. The client must not be closed by the caller.
+	 *
+	 * @param pool
+	 *            the acquired pool of connections
+	 * @param url
+	 *            the url to access
+	 * @return the {@code HttpClient}
+	 */
+	private CloseableHttpClient getHttpClient(final HttpClientPool pool, final String url) throws DSSException {
+		final String protocol = getURL(url).getProtocol();
+		final CloseableHttpClient httpClient = pool.httpClients.get(protocol);
+		if (httpClient != null) {
+			return httpClient;
+		}
+		return createHttpClient(pool, protocol, url);
+	}
+
+	private synchronized CloseableHttpClient createHttpClient(final HttpClientPool pool, final String protocol, final String url) throws DSSException {
+		CloseableHttpClient httpClient = pool.httpClients.get(protocol);
+		if (httpClient != null) {
+			return httpClient;
+		}
+		buildingPool = pool;
+		try {
+			httpClient = getHttpClient(url);
+		} finally {
+			buildingPool = null;
+		}
+		pool.httpClients.put(protocol, httpClient);
+		return httpClient;
+	}
+
+	/**
+	 * Builds the {@code HttpClient} used for the requests with the protocol of the given url, with the connection
+	 * manager of the pool. This method is still called for each new client and delegates to
+	 * {@link #getHttpClient(String, HttpClientConnectionManager)}.
+	 *
+	 * @param url
+	 *            the url to access
+	 * @return the {@code HttpClient}
+	 * @deprecated the client is shared and closed with the pool : override
+	 *             {@link #getHttpClient(String, HttpClientConnectionManager)} instead
+	 */
+	@Deprecated
 	protected synchronized CloseableHttpClient getHttpClient(final String url) throws DSSException {
+		HttpClientPool pool = buildingPool;
+		if (pool == null) {
+			if (httpClientPool == null) {
+				httpClientPool = new HttpClientPool(createConnectionManager());
+			}
+			pool = httpClientPool;
+		}
+		return getHttpClient(url, pool.connectionManager);
+	}
+
+	/**
+	 * Builds the {@code HttpClient} used for the requests with the protocol of the given url. The client is kept with
+	 * the pool of connections and closed with it : it must use the given connection manager, without closing it.
+	 *
+	 * @param url
+	 *            the url to access
+	 * @param connectionManager
+	 *            the shared connection manager of the pool
+	 * @return the {@code HttpClient}
+	 */
+	protected CloseableHttpClient getHttpClient(final String url, final HttpClientConnectionManager connectionManager) throws DSSException {
 		HttpClientBuilder httpClientBuilder = HttpClients.custom();
 
 		httpClientBuilder = configCredentials(httpClientBuilder, url);
@@ -251,10 +384,38 @@ public class CommonsDataLoader implements DataLoader {
 
 		final RequestConfig requestConfig = custom.build();
 		httpClientBuilder = httpClientBuilder.setDefaultRequestConfig(requestConfig);
-		httpClientBuilder.setConnectionManager(getConnectionManager());
+		httpClientBuilder.setConnectionManager(connectionManager);
+		// the pool is shared by the clients and released with them
+		httpClientBuilder.setConnectionManagerShared(true);
+		// all the requests are executed with the same identity : the connections authenticated with the SSL client
+		// certificate can be reused
+		httpClientBuilder.disableConnectionState();
+
+		return httpClientBuilder.build();
+	}
 
-		CloseableHttpClient httpClient = httpClientBuilder.build();
-		return httpClient;
+	/**
+	 * Releases the shared {@code HttpClient}s and their connections once the running requests are finished. A new pool
+	 * is created if this data loader is used afterwards.
+	 */
+	@Override
+	public synchronized void close() {
+		if (httpClientPool != null) {
+			httpClientPool.retire();
+			httpClientPool = null;
+		}
+	}
+
+	/**
+	 * Returns the statistics of the pool of connections (for monitoring purposes)
+	 *
+	 * @return the {@code PoolStats} or null if no request has been executed yet
+	 */
+	public synchronized PoolStats getConnectionPoolStats() {
+		if (httpClientPool == null) {
+			return null;
+		}
+		return httpClientPool.connectionManager.getTotalStats();
 	}
 
 	/**
@@ -498,7 +659,7 @@ public class CommonsDataLoader implements DataLoader {
 
 		HttpGet httpRequest = null;
 		HttpResponse httpResponse = null;
-		CloseableHttpClient client = null;
+		HttpClientPool pool = null;
 		try {
 
 			final URI uri = new URI(url.trim());
@@ -507,7 +668,8 @@ public class CommonsDataLoader implements DataLoader {
 				httpRequest.setHeader(CONTENT_TYPE, contentType);
 			}
 
-			client = getHttpClient(url);
+			pool = acquireHttpClientPool();
+			final CloseableHttpClient client = getHttpClient(pool, url);
 			httpResponse = getHttpResponse(client, httpRequest, url);
 
 			final byte[] returnedBytes = readHttpResponse(url, httpResponse);
@@ -517,17 +679,7 @@ public class CommonsDataLoader implements DataLoader {
 			throw new DSSException(e);
 
 		} finally {
-
-			try {
-				if (httpRequest != null) {
-					httpRequest.releaseConnection();
-				}
-				if (httpResponse != null) {
-					EntityUtils.consumeQuietly(httpResponse.getEntity());
-				}
-			} finally {
-				closeClient(client);
-			}
+			releaseConnection(pool, httpRequest, httpResponse);
 		}
 	}
 
@@ -538,7 +690,7 @@ public class CommonsDataLoader implements DataLoader {
 
 		HttpPost httpRequest = null;
 		HttpResponse httpResponse = null;
-		CloseableHttpClient client = null;
+		HttpClientPool pool = null;
 		try {
 			final URI uri = URI.create(url.trim());
 			httpRequest = new HttpPost(uri);
@@ -558,7 +710,8 @@ public class CommonsDataLoader implements DataLoader {
 				httpRequest.setHeader(CONTENT_TYPE, contentType);
 			}
 
-			client = getHttpClient(url);
+			pool = acquireHttpClientPool();
+			final CloseableHttpClient client = getHttpClient(pool, url);
 			httpResponse = getHttpResponse(client, httpRequest, url);
 
 			final byte[] returnedBytes = readHttpResponse(url, httpResponse);
@@ -566,27 +719,66 @@ public class CommonsDataLoader implements DataLoader {
 		} catch (IOException e) {
 			throw new DSSException(e);
 		} finally {
-			try {
-				if (httpRequest != null) {
-					httpRequest.releaseConnection();
-				}
-				if (httpResponse != null) {
-					EntityUtils.consumeQuietly(httpResponse.getEntity());
-				}
-			} finally {
-				closeClient(client);
+			releaseConnection(pool, httpRequest, httpResponse);
+		}
+	}
+
+	@Override
+	public Future<byte[]> getAsync(final String url) {
+		return execute(new Callable<byte[]>() {
+
+			@Override
+			public byte[] call() {
+				return get(url);
+			}
+		});
+	}
+
+	@Override
+	public Future<byte[]> postAsync(final String url, final byte[] content) {
+		return execute(new Callable<byte[]>() {
+
+			@Override
+			public byte[] call() {
+				return post(url, content);
+			}
+		});
+	}
+
+	private Future<byte[]> execute(final Callable<byte[]> request) {
+		final ExecutorService currentExecutorService = executorService;
+		if (currentExecutorService != null) {
+			return currentExecutorService.submit(request);
+		}
+		final FutureTask<byte[]> task = new FutureTask<byte[]>(request);
+		task.run();
+		return task;
+	}
+
+	/**
+	 * The response is consumed first, so that the connection can be kept alive and returned to the pool
+	 */
+	private void releaseConnection(final HttpClientPool pool, final HttpUriRequest httpRequest, final HttpResponse httpResponse) {
+		try {
+			if (httpResponse != null) {
+				EntityUtils.consumeQuietly(httpResponse.getEntity());
+			}
+			if (httpRequest instanceof HttpRequestBase) {
+				((HttpRequestBase) httpRequest).releaseConnection();
+			}
+		} finally {
+			if (pool != null) {
+				pool.release();
 			}
 		}
 	}
 
-	void closeClient(CloseableHttpClient httpClient) {
+	static void closeClient(CloseableHttpClient httpClient) {
 		if (httpClient != null) {
 			try {
 				httpClient.close();
 			} catch (Exception ex) {
 				LOG.warn("Cound not close client", ex);
-			} finally {
-				httpClient = null;
 			}
 		}
 	}
@@ -663,6 +855,7 @@ public class CommonsDataLoader implements DataLoader {
 	public void setTimeoutConnection(final int timeoutConnection) {
 
 		this.timeoutConnection = timeoutConnection;
+		close();
 	}
 
 	/**
@@ -683,6 +876,7 @@ public class CommonsDataLoader implements DataLoader {
 	public void setTimeoutSocket(final int timeoutSocket) {
 
 		this.timeoutSocket = timeoutSocket;
+		close();
 	}
 
 	/**
@@ -695,13 +889,16 @@ public class CommonsDataLoader implements DataLoader {
 	}
 
 	/**
-	 * Used when the {@code HttpClient} is created.
+	 * Used when the {@code HttpClient} is created. The value is also applied to the existing pool of connections.
 	 *
 	 * @param connectionsMaxTotal
 	 *            maximum number of connections
 	 */
-	public void setConnectionsMaxTotal(int connectionsMaxTotal) {
+	public synchronized void setConnectionsMaxTotal(int connectionsMaxTotal) {
 		this.connectionsMaxTotal = connectionsMaxTotal;
+		if (httpClientPool != null) {
+			httpClientPool.connectionManager.setMaxTotal(connectionsMaxTotal);
+		}
 	}
 
 	/**
@@ -714,13 +911,56 @@ public class CommonsDataLoader implements DataLoader {
 	}
 
 	/**
-	 * Used when the {@code HttpClient} is created.
+	 * Used when the {@code HttpClient} is created. The value is also applied to the existing pool of connections.
 	 *
 	 * @param connectionsMaxPerRoute
 	 *            maximum number of connections per one route
 	 */
-	public void setConnectionsMaxPerRoute(int connectionsMaxPerRoute) {
+	public synchronized void setConnectionsMaxPerRoute(int connectionsMaxPerRoute) {
 		this.connectionsMaxPerRoute = connectionsMaxPerRoute;
+		if (httpClientPool != null) {
+			httpClientPool.connectionManager.setDefaultMaxPerRoute(connectionsMaxPerRoute);
+		}
+	}
+
+	/**
+	 * Overrides the maximum number of connections for the direct route to the given host (eg : a heavily used OCSP
+	 * responder). The value is also applied to the existing pool of connections.
+	 *
+	 * @param host
+	 *            host
+	 * @param port
+	 *            port
+	 * @param scheme
+	 *            scheme
+	 * @param connectionsMax
+	 *            maximum number of connections to this host
+	 */
+	public synchronized void setConnectionsMaxPerHost(final String host, final int port, final String scheme, final int connectionsMax) {
+		final HttpHost httpHost = new HttpHost(host, port, scheme);
+		connectionsMaxPerHost.put(httpHost, connectionsMax);
+		if (httpClientPool != null) {
+			httpClientPool.connectionManager.setMaxPerRoute(getDirectRoute(httpHost), connectionsMax);
+		}
+	}
+
+	/**
+	 * Used when a request is executed.
+	 *
+	 * @return the time (millis) after which the idle connections are closed
+	 */
+	public int getConnectionIdleTime() {
+		return connectionIdleTime;
+	}
+
+	/**
+	 * Used when a request is executed : the connections of the pool which are idle for more than this time are closed.
+	 *
+	 * @param connectionIdleTime
+	 *            the time (millis) after which the idle connections are closed (0 to keep them)
+	 */
+	public void setConnectionIdleTime(int connectionIdleTime) {
+		this.connectionIdleTime = connectionIdleTime;
 	}
 
 	/**
@@ -740,6 +980,25 @@ public class CommonsDataLoader implements DataLoader {
 	 */
 	public void setRedirectsEnabled(boolean redirectsEnabled) {
 		this.redirectsEnabled = redirectsEnabled;
+		close();
+	}
+
+	/**
+	 * @return the executor service of the asynchronous requests
+	 */
+	public ExecutorService getExecutorService() {
+		return executorService;
+	}
+
+	/**
+	 * This method sets the executor service which executes the asynchronous requests (eg: the OCSP, CRL and AIA
+	 * requests sent in advance by the validation). The executor service is not shut down by this class.
+	 *
+	 * @param executorService
+	 *            the executor service to use (null to execute the asynchronous requests by the current thread)
+	 */
+	public void setExecutorService(final ExecutorService executorService) {
+		this.executorService = executorService;
 	}
 
 	/**
@@ -787,6 +1046,7 @@ public class CommonsDataLoader implements DataLoader {
 	 */
 	public void setProxyConfig(final ProxyConfig proxyConfig) {
 		this.proxyConfig = proxyConfig;
+		close();
 	}
 
 	/**
@@ -797,30 +1057,37 @@ public class CommonsDataLoader implements DataLoader {
 	 */
 	public void setSslProtocol(String sslProtocol) {
 		this.sslProtocol = sslProtocol;
+		close();
 	}
 
 	public void setSslKeystorePath(String sslKeystorePath) {
 		this.sslKeystorePath = sslKeystorePath;
+		close();
 	}
 
 	public void setSslKeystoreType(String sslKeystoreType) {
 		this.sslKeystoreType = sslKeystoreType;
+		close();
 	}
 
 	public void setSslKeystorePassword(String sslKeystorePassword) {
 		this.sslKeystorePassword = sslKeystorePassword;
+		close();
 	}
 
 	public void setSslTruststorePath(final String sslTruststorePath) {
 		this.sslTruststorePath = sslTruststorePath;
+		close();
 	}
 
 	public void setSslTruststorePassword(final String sslTruststorePassword) {
 		this.sslTruststorePassword = sslTruststorePassword;
+		close();
 	}
 
 	public void setSslTruststoreType(String sslTruststoreType) {
 		this.sslTruststoreType = sslTruststoreType;
+		close();
 	}
 
 	/**
@@ -841,6 +1108,7 @@ public class CommonsDataLoader implements DataLoader {
 		final HttpHost httpHost = new HttpHost(host, port, scheme);
 		final UsernamePasswordCredentials credentials = new UsernamePasswordCredentials(login, password);
 		authenticationMap.put(httpHost, credentials);
+		close();
 
 		return this;
 	}
@@ -864,4 +1132,76 @@ public class CommonsDataLoader implements DataLoader {
 		}
 	}
 
-}
\ No newline at end of file
+	/**
+	 * A pool of connections and the clients which use it. The pool is retired when the configuration changes or when
+	 * the data loader is closed : it is shut down when its last running request is finished.
+	 */
+	private static final class HttpClientPool {
+
+		private final PoolingHttpClientConnectionManager connectionManager;
+
+		/**
+		 * The clients by protocol (the proxy configuration depends on the protocol)
+		 */
+		private final ConcurrentMap<String, CloseableHttpClient> httpClients = new ConcurrentHashMap<String, CloseableHttpClient>();
+
+		private int runningRequests;
+
+		private boolean retired;
+
+		private volatile long lastIdleCheck;
+
+		private HttpClientPool(final PoolingHttpClientConnectionManager connectionManager) {
+			this.connectionManager = connectionManager;
+			this.lastIdleCheck = System.currentTimeMillis();
+		}
+
+		private synchronized void acquire() {
+			runningRequests++;
+		}
+
+		private void release() {
+			final boolean shutdown;
+			synchronized (this) {
+				runningRequests--;
+				shutdown = retired && (runningRequests == 0);
+			}
+			if (shutdown) {
+				shutdown();
+			}
+		}
+
+		private void retire() {
+			final boolean shutdown;
+			synchronized (this) {
+				retired = true;
+				shutdown = runningRequests == 0;
+			}
+			if (shutdown) {
+				shutdown();
+			}
+		}
+
+		/**
+		 * Closes the expired connections and the ones which are idle for more than the given time (checked at most
+		 * once per idle time)
+		 */
+		private void closeIdleConnections(final int idleTime) {
+			final long now = System.currentTimeMillis();
+			if ((idleTime > 0) && (now - lastIdleCheck >= idleTime)) {
+				lastIdleCheck = now;
+				connectionManager.closeExpiredConnections();
+				connectionManager.closeIdleConnections(idleTime, TimeUnit.MILLISECONDS);
+			}
+		}
+
+		private void shutdown() {
+			for (final CloseableHttpClient httpClient : httpClients.values()) {
+				closeClient(httpClient);
+			}
+			connectionManager.shutdown();
+		}
+
+	}
+
+}
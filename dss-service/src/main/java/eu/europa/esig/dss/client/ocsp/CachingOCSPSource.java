@@ -0,0 +1,327 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.client.ocsp;
+
+import java.util.Date;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import org.bouncycastle.cert.ocsp.BasicOCSPResp;
+import org.bouncycastle.cert.ocsp.CertificateID;
+import org.bouncycastle.cert.ocsp.SingleResp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.europa.esig.dss.DSSRevocationUtils;
+import eu.europa.esig.dss.client.RevocationCache;
+import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.x509.CertificateToken;
+import eu.europa.esig.dss.x509.ocsp.OCSPSource;
+import eu.europa.esig.dss.x509.ocsp.OCSPToken;
+
+/**
+ * OCSPSource which keeps the OCSP responses in memory. The responses are retrieved with the cached source (eg:
+ * {@code OnlineOCSPSource}) and are kept by {@code CertificateID} (issuer name hash, issuer key hash and serial number)
+ * until their nextUpdate. The number of kept responses is limited (the least recently used response is evicted first).
+ * <p>
+ * Only the responses obtained without nonce are kept : a response bound to the nonce of its request cannot be reused
+ * for another request. The cached source must be used without {@code NonceSource} to benefit from the cache.
+ * <p>
+ * If a refresh executor is set, a response which is requested shortly before its expiration is refreshed in the
+ * background, so that the frequently requested responses stay in the cache.
+ */
+public class CachingOCSPSource implements OCSPSource {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final Logger LOG = LoggerFactory.getLogger(CachingOCSPSource.class);
+
+	private static final int DEFAULT_MAX_SIZE = 10000;
+
+	private OCSPSource cachedSource;
+
+	private RevocationCache<OCSPToken> cache = new RevocationCache<OCSPToken>(DEFAULT_MAX_SIZE);
+
+	/**
+	 * Time (in milliseconds) after the thisUpdate during which a response without nextUpdate is kept. By default,
+	 * such a response is not kept.
+	 */
+	private long defaultNextUpdateDelay = 0;
+
+	/**
+	 * Maximum time (in milliseconds) after the thisUpdate during which a response is kept, even if its nextUpdate is
+	 * later. By default, the nextUpdate is used.
+	 */
+	private long maxResponseAge = 0;
+
+	/**
+	 * Time (in milliseconds) before the expiration during which a requested response is refreshed in the background
+	 */
+	private long refreshBeforeExpiration = 0;
+
+	private transient Executor refreshExecutor;
+
+	/**
+	 * The default constructor for CachingOCSPSource.
+	 */
+	public CachingOCSPSource() {
+	}
+
+	/**
+	 * This constructor allows to set the cached source.
+	 *
+	 * @param cachedSource
+	 *            the source used to retrieve the OCSP responses (eg: {@code OnlineOCSPSource})
+	 */
+	public CachingOCSPSource(final OCSPSource cachedSource) {
+		this.cachedSource = cachedSource;
+	}
+
+	/**
+	 * @param cachedSource
+	 *            the cachedSource to set
+	 */
+	public void setCachedSource(final OCSPSource cachedSource) {
+		this.cachedSource = cachedSource;
+	}
+
+	/**
+	 * This method sets the maximum number of OCSP responses kept in memory. The current content of the cache is
+	 * discarded.
+	 *
+	 * @param maxSize
+	 *            the maximum number of responses (10000 by default)
+	 */
+	public void setMaxSize(final int maxSize) {
+		this.cache = new RevocationCache<OCSPToken>(maxSize);
+	}
+
+	/**
+	 * This method sets the time during which a response without nextUpdate is kept.
+	 *
+	 * @param defaultNextUpdateDelay
+	 *            the time in milliseconds after the thisUpdate (0 : the responses without nextUpdate are not kept)
+	 */
+	public void setDefaultNextUpdateDelay(final long defaultNextUpdateDelay) {
+		this.defaultNextUpdateDelay = defaultNextUpdateDelay;
+	}
+
+	/**
+	 * This method sets the maximum time during which a response is kept (freshness window). It also applies to the
+	 * responses without nextUpdate.
+	 *
+	 * @param maxResponseAge
+	 *            the time in milliseconds after the thisUpdate (0 : the responses are kept until their nextUpdate)
+	 */
+	public void setMaxResponseAge(final long maxResponseAge) {
+		this.maxResponseAge = maxResponseAge;
+	}
+
+	/**
+	 * This method enables the background refresh of the responses which are requested shortly before their expiration.
+	 *
+	 * @param refreshExecutor
+	 *            the executor which downloads the new responses (null to disable the background refresh)
+	 * @param refreshBeforeExpiration
+	 *            the time in milliseconds before the expiration during which a requested response is refreshed
+	 */
+	public void setRefreshExecutor(final Executor refreshExecutor, final long refreshBeforeExpiration) {
+		this.refreshExecutor = refreshExecutor;
+		this.refreshBeforeExpiration = refreshBeforeExpiration;
+	}
+
+	@Override
+	public OCSPToken getOCSPToken(final CertificateToken certificateToken, final CertificateToken issuerCertificateToken) {
+		if ((certificateToken == null) || (issuerCertificateToken == null)) {
+			return null;
+		}
+		final String key = getKey(certificateToken, issuerCertificateToken);
+
+		final OCSPToken cachedToken = cache.get(key);
+		if (cachedToken != null) {
+			LOG.debug("OCSP response for '{}' in cache", key);
+			refreshIfNeeded(key, certificateToken, issuerCertificateToken);
+			return copy(cachedToken);
+		}
+		if (cachedSource == null) {
+			LOG.debug("OCSP response for '{}' not in cache and no cached source is set", key);
+			return null;
+		}
+
+		final Loader loader = new Loader(key, certificateToken, issuerCertificateToken, false);
+		final OCSPToken loadedToken = cache.load(key, loader);
+		if ((loadedToken == null) || (loader.downloadedToken != null)) {
+			// not found or downloaded by the current thread
+			return loadedToken;
+		}
+		return copy(loadedToken);
+	}
+
+	/**
+	 * This method loads the OCSP response of the certificate (if it is not yet cached), eg : for the certificates of
+	 * the known signers. The response is downloaded by the refresh executor if it is set, by the current thread
+	 * otherwise.
+	 *
+	 * @param certificateToken
+	 *            the certificate
+	 * @param issuerCertificateToken
+	 *            the issuer of the certificate
+	 */
+	public void prefetch(final CertificateToken certificateToken, final CertificateToken issuerCertificateToken) {
+		final Runnable prefetch = new Runnable() {
+			@Override
+			public void run() {
+				try {
+					getOCSPToken(certificateToken, issuerCertificateToken);
+				} catch (Exception e) {
+					LOG.warn("Unable to prefetch the OCSP response for '{}' : {}", certificateToken.getDSSIdAsString(), e.getMessage());
+				}
+			}
+		};
+		if (refreshExecutor != null) {
+			refreshExecutor.execute(prefetch);
+		} else {
+			prefetch.run();
+		}
+	}
+
+	/**
+	 * This method removes all the cached responses
+	 */
+	public void clear() {
+		cache.clear();
+	}
+
+	private String getKey(final CertificateToken certificateToken, final CertificateToken issuerCertificateToken) {
+		final CertificateID certId = DSSRevocationUtils.getOCSPCertificateID(certificateToken, issuerCertificateToken);
+		return Utils.toHex(certId.getIssuerNameHash()) + ":" + Utils.toHex(certId.getIssuerKeyHash()) + ":" + certId.getSerialNumber();
+	}
+
+	private void refreshIfNeeded(final String key, final CertificateToken certificateToken, final CertificateToken issuerCertificateToken) {
+		if ((refreshExecutor == null) || (refreshBeforeExpiration <= 0)) {
+			return;
+		}
+		final Date refreshDate = new Date(System.currentTimeMillis() + refreshBeforeExpiration);
+		if (cache.refreshIfExpiresBefore(key, refreshDate, new Loader(key, certificateToken, issuerCertificateToken, true), refreshExecutor)) {
+			LOG.debug("OCSP response for '{}' is refreshed in the background", key);
+		}
+	}
+
+	private void store(final String key, final OCSPToken ocspToken) {
+		if ((ocspToken == null) || (ocspToken.getBasicOCSPResp() == null)) {
+			return;
+		}
+		if (ocspToken.isUseNonce()) {
+			LOG.debug("OCSP response for '{}' is bound to its nonce and is not cached", key);
+			return;
+		}
+		cache.put(key, ocspToken, getExpirationDate(ocspToken));
+	}
+
+	/**
+	 * The returned tokens are completed during the validation : each caller receives its own instance
+	 */
+	private OCSPToken copy(final OCSPToken cachedToken) {
+		final OCSPToken ocspToken = new OCSPToken();
+		ocspToken.setResponseStatus(cachedToken.getResponseStatus());
+		ocspToken.setSourceURL(cachedToken.getSourceURL());
+		ocspToken.setCertId(cachedToken.getCertId());
+		ocspToken.setAvailable(cachedToken.isAvailable());
+		ocspToken.setBasicOCSPResp(cachedToken.getBasicOCSPResp());
+		ocspToken.setUseNonce(cachedToken.isUseNonce());
+		ocspToken.setNonceMatch(cachedToken.isNonceMatch());
+		return ocspToken;
+	}
+
+	private Date getExpirationDate(final OCSPToken ocspToken) {
+		final SingleResp singleResp = getLatestSingleResp(ocspToken.getBasicOCSPResp(), ocspToken);
+		if (singleResp == null) {
+			return null;
+		}
+		final Date thisUpdate = singleResp.getThisUpdate();
+		Date expirationDate = null;
+		if (singleResp.getNextUpdate() != null) {
+			expirationDate = singleResp.getNextUpdate();
+		} else if (defaultNextUpdateDelay > 0) {
+			expirationDate = new Date(thisUpdate.getTime() + defaultNextUpdateDelay);
+		}
+		if (maxResponseAge > 0) {
+			final Date maxDate = new Date(thisUpdate.getTime() + maxResponseAge);
+			if ((expirationDate == null) || maxDate.before(expirationDate)) {
+				expirationDate = maxDate;
+			}
+		}
+		return expirationDate;
+	}
+
+	private SingleResp getLatestSingleResp(final BasicOCSPResp basicOCSPResp, final OCSPToken ocspToken) {
+		SingleResp latestSingleResp = null;
+		for (final SingleResp singleResp : basicOCSPResp.getResponses()) {
+			if (DSSRevocationUtils.matches(ocspToken.getCertId(), singleResp)) {
+				if ((latestSingleResp == null) || singleResp.getThisUpdate().after(latestSingleResp.getThisUpdate())) {
+					latestSingleResp = singleResp;
+				}
+			}
+		}
+		return latestSingleResp;
+	}
+
+	private class Loader implements Callable<OCSPToken> {
+
+		private final String key;
+
+		private final CertificateToken certificateToken;
+
+		private final CertificateToken issuerCertificateToken;
+
+		private final boolean background;
+
+		private OCSPToken downloadedToken;
+
+		private Loader(String key, CertificateToken certificateToken, CertificateToken issuerCertificateToken, boolean background) {
+			this.key = key;
+			this.certificateToken = certificateToken;
+			this.issuerCertificateToken = issuerCertificateToken;
+			this.background = background;
+		}
+
+		@Override
+		public OCSPToken call() {
+			LOG.debug("OCSP response for '{}' not in cache", key);
+			final OCSPToken ocspToken;
+			try {
+				ocspToken = cachedSource.getOCSPToken(certificateToken, issuerCertificateToken);
+			} catch (RuntimeException e) {
+				if (!background) {
+					throw e;
+				}
+				// the cached response stays available until its expiration
+				LOG.warn("Unable to refresh the OCSP response for '{}' : {}", key, e.getMessage());
+				return cache.get(key);
+			}
+			store(key, ocspToken);
+			downloadedToken = ocspToken;
+			return ocspToken;
+		}
+
+	}
+
+}
@@ -20,10 +20,12 @@
  */
 package eu.europa.esig.dss.client.ocsp;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.security.Security;
 import java.util.List;
+import java.util.concurrent.Future;
 
 import org.bouncycastle.asn1.ASN1OctetString;
 import org.bouncycastle.asn1.ASN1Primitive;
@@ -46,18 +48,19 @@ import eu.europa.esig.dss.DSSException;
 import eu.europa.esig.dss.DSSRevocationUtils;
 import eu.europa.esig.dss.client.NonceSource;
 import eu.europa.esig.dss.client.http.DataLoader;
+import eu.europa.esig.dss.client.http.DataLoaderFuture;
 import eu.europa.esig.dss.client.http.commons.OCSPDataLoader;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.x509.CertificateToken;
+import eu.europa.esig.dss.x509.ocsp.AsyncOCSPSource;
 import eu.europa.esig.dss.x509.ocsp.OCSPRespStatus;
-import eu.europa.esig.dss.x509.ocsp.OCSPSource;
 import eu.europa.esig.dss.x509.ocsp.OCSPToken;
 
 /**
  * Online OCSP repository. This implementation will contact the OCSP Responder to retrieve the OCSP response.
  */
 @SuppressWarnings("serial")
-public class OnlineOCSPSource implements OCSPSource {
+public class OnlineOCSPSource implements AsyncOCSPSource, Closeable {
 
 	private static final Logger LOG = LoggerFactory.getLogger(OnlineOCSPSource.class);
 
@@ -75,13 +78,20 @@ public class OnlineOCSPSource implements OCSPSource {
 	 */
 	private DataLoader dataLoader;
 
+	/**
+	 * The {@code OCSPDataLoader} created by this source (its pool of connections is released by {@link #close()} or
+	 * when another data loader is set)
+	 */
+	private OCSPDataLoader defaultDataLoader;
+
 	/**
 	 * Create an OCSP source The default constructor for OnlineOCSPSource. The default {@code OCSPDataLoader} is set. It
 	 * is possible to change it with {@code
 	 * #setDataLoader}.
 	 */
 	public OnlineOCSPSource() {
-		dataLoader = new OCSPDataLoader();
+		defaultDataLoader = new OCSPDataLoader();
+		dataLoader = defaultDataLoader;
 	}
 
 	/**
@@ -91,11 +101,24 @@ public class OnlineOCSPSource implements OCSPSource {
 	 *            the component that allows to retrieve the OCSP response using HTTP.
 	 */
 	public void setDataLoader(final DataLoader dataLoader) {
+		close();
 		this.dataLoader = dataLoader;
 	}
 
 	/**
-	 * Set the NonceSource to use for querying the OCSP server.
+	 * Releases the connections of the default {@code OCSPDataLoader}. A data loader set with
+	 * {@link #setDataLoader(DataLoader)} is not closed.
+	 */
+	@Override
+	public void close() {
+		if (defaultDataLoader != null) {
+			defaultDataLoader.close();
+		}
+	}
+
+	/**
+	 * Set the NonceSource to use for querying the OCSP server. Without NonceSource (by default), the requests are
+	 * nonce-less and the responses can be reused (eg: by {@code CachingOCSPSource}).
 	 *
 	 * @param nonceSource
 	 *            the component that prevents the replay attack.
@@ -110,32 +133,80 @@ public class OnlineOCSPSource implements OCSPSource {
 			throw new NullPointerException("DataLoader is not provided !");
 		}
 
-		try {
-			final String dssIdAsString = certificateToken.getDSSIdAsString();
-			LOG.trace("--> OnlineOCSPSource queried for " + dssIdAsString);
-			final List<String> ocspAccessLocations = DSSASN1Utils.getOCSPAccessLocations(certificateToken);
-			if (Utils.isCollectionEmpty(ocspAccessLocations)) {
-				LOG.debug("No OCSP location found for " + dssIdAsString);
-				certificateToken.extraInfo().infoNoOcspUriFoundInCertificate();
-				return null;
-			}
+		final String ocspAccessLocation = getOCSPAccessLocation(certificateToken);
+		if (ocspAccessLocation == null) {
+			return null;
+		}
 
-			String ocspAccessLocation = ocspAccessLocations.get(0);
+		final CertificateID certId = DSSRevocationUtils.getOCSPCertificateID(certificateToken, issuerCertificateToken);
+		final BigInteger nonce = getNonce();
+		final byte[] content = buildOCSPRequest(certId, nonce);
 
-			final CertificateID certId = DSSRevocationUtils.getOCSPCertificateID(certificateToken, issuerCertificateToken);
+		final byte[] ocspRespBytes = dataLoader.post(ocspAccessLocation, content);
+		return buildOCSPToken(certificateToken, ocspAccessLocation, certId, nonce, ocspRespBytes);
+	}
 
-			BigInteger nonce = null;
-			if (nonceSource != null) {
-				nonce = nonceSource.getNonce();
-			}
+	/**
+	 * Asynchronous version of {@link #getOCSPToken(CertificateToken, CertificateToken)} : the request is sent
+	 * asynchronously if the {@code DataLoader} is an {@code AsyncDataLoader} and the response is parsed when the
+	 * result is collected.
+	 *
+	 * @param certificateToken
+	 *            the {@code CertificateToken} for which the request is made
+	 * @param issuerCertificateToken
+	 *            the {@code CertificateToken} which is the issuer of the certificateToken
+	 * @return the {@code Future} of the {@code OCSPToken} (null if no response is obtained)
+	 */
+	@Override
+	public Future<OCSPToken> getOCSPTokenAsync(final CertificateToken certificateToken, final CertificateToken issuerCertificateToken) {
+		if (dataLoader == null) {
+			throw new NullPointerException("DataLoader is not provided !");
+		}
 
-			final byte[] content = buildOCSPRequest(certId, nonce);
+		final String ocspAccessLocation = getOCSPAccessLocation(certificateToken);
+		if (ocspAccessLocation == null) {
+			return DataLoaderFuture.completed(null);
+		}
 
-			final byte[] ocspRespBytes = dataLoader.post(ocspAccessLocation, content);
-			if (Utils.isArrayEmpty(ocspRespBytes)) {
-				return null;
+		final CertificateID certId = DSSRevocationUtils.getOCSPCertificateID(certificateToken, issuerCertificateToken);
+		final BigInteger nonce = getNonce();
+		final byte[] content = buildOCSPRequest(certId, nonce);
+
+		return new DataLoaderFuture<OCSPToken>(DataLoaderFuture.post(dataLoader, ocspAccessLocation, content)) {
+
+			@Override
+			protected OCSPToken transform(byte[] ocspRespBytes) {
+				return buildOCSPToken(certificateToken, ocspAccessLocation, certId, nonce, ocspRespBytes);
 			}
+		};
+	}
 
+	private String getOCSPAccessLocation(final CertificateToken certificateToken) {
+		final String dssIdAsString = certificateToken.getDSSIdAsString();
+		LOG.trace("--> OnlineOCSPSource queried for " + dssIdAsString);
+		final List<String> ocspAccessLocations = DSSASN1Utils.getOCSPAccessLocations(certificateToken);
+		if (Utils.isCollectionEmpty(ocspAccessLocations)) {
+			LOG.debug("No OCSP location found for " + dssIdAsString);
+			certificateToken.extraInfo().infoNoOcspUriFoundInCertificate();
+			return null;
+		}
+		return ocspAccessLocations.get(0);
+	}
+
+	private BigInteger getNonce() {
+		if (nonceSource != null) {
+			return nonceSource.getNonce();
+		}
+		return null;
+	}
+
+	private OCSPToken buildOCSPToken(final CertificateToken certificateToken, final String ocspAccessLocation, final CertificateID certId,
+			final BigInteger nonce, final byte[] ocspRespBytes) {
+		if (Utils.isArrayEmpty(ocspRespBytes)) {
+			return null;
+		}
+
+		try {
 			final OCSPResp ocspResp = new OCSPResp(ocspRespBytes);
 
 			OCSPRespStatus status = OCSPRespStatus.fromInt(ocspResp.getStatus());
@@ -148,7 +219,7 @@ public class OnlineOCSPSource implements OCSPSource {
 				final BasicOCSPResp basicOCSPResp = (BasicOCSPResp) ocspResp.getResponseObject();
 				ocspToken.setBasicOCSPResp(basicOCSPResp);
 
-				if (nonceSource != null) {
+				if (nonce != null) {
 					ocspToken.setUseNonce(true);
 					ocspToken.setNonceMatch(isNonceMatch(basicOCSPResp, nonce));
 				}
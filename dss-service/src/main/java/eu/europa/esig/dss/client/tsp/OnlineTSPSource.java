@@ -127,35 +127,46 @@ public class OnlineTSPSource implements TSPSource {
 
 	@Override
 	public TimeStampToken getTimeStampResponse(final DigestAlgorithm digestAlgorithm, final byte[] digest) throws DSSException {
+		final TimeStampRequest timeStampRequest = buildTimeStampRequest(digestAlgorithm, digest);
 		try {
-			if (LOG.isTraceEnabled()) {
-				LOG.trace("Timestamp digest algorithm: " + digestAlgorithm.getName());
-				LOG.trace("Timestamp digest value    : " + Utils.toHex(digest));
-			}
+			// Call the communications layer
+			byte[] respBytes = getDataLoader().post(tspServer, timeStampRequest.getEncoded());
+			return getTimeStampToken(timeStampRequest, respBytes);
+		} catch (IOException e) {
+			throw new DSSException(e);
+		}
+	}
 
-			// Setup the time stamp request
-			final TimeStampRequestGenerator tsqGenerator = new TimeStampRequestGenerator();
-			tsqGenerator.setCertReq(true);
-			if (policyOid != null) {
-				tsqGenerator.setReqPolicy(policyOid);
-			}
+	private DataLoader getDataLoader() {
+		if (dataLoader == null) {
+			dataLoader = new NativeHTTPDataLoader();
+		}
+		return dataLoader;
+	}
 
-			ASN1ObjectIdentifier asn1ObjectIdentifier = new ASN1ObjectIdentifier(digestAlgorithm.getOid());
-			TimeStampRequest timeStampRequest = null;
-			if (nonceSource == null) {
-				timeStampRequest = tsqGenerator.generate(asn1ObjectIdentifier, digest);
-			} else {
-				timeStampRequest = tsqGenerator.generate(asn1ObjectIdentifier, digest, nonceSource.getNonce());
-			}
+	private TimeStampRequest buildTimeStampRequest(final DigestAlgorithm digestAlgorithm, final byte[] digest) {
+		if (LOG.isTraceEnabled()) {
+			LOG.trace("Timestamp digest algorithm: " + digestAlgorithm.getName());
+			LOG.trace("Timestamp digest value    : " + Utils.toHex(digest));
+		}
 
-			final byte[] requestBytes = timeStampRequest.getEncoded();
+		// Setup the time stamp request
+		final TimeStampRequestGenerator tsqGenerator = new TimeStampRequestGenerator();
+		tsqGenerator.setCertReq(true);
+		if (policyOid != null) {
+			tsqGenerator.setReqPolicy(policyOid);
+		}
 
-			// Call the communications layer
-			if (dataLoader == null) {
-				dataLoader = new NativeHTTPDataLoader();
-			}
-			byte[] respBytes = dataLoader.post(tspServer, requestBytes);
+		ASN1ObjectIdentifier asn1ObjectIdentifier = new ASN1ObjectIdentifier(digestAlgorithm.getOid());
+		if (nonceSource == null) {
+			return tsqGenerator.generate(asn1ObjectIdentifier, digest);
+		} else {
+			return tsqGenerator.generate(asn1ObjectIdentifier, digest, nonceSource.getNonce());
+		}
+	}
 
+	private TimeStampToken getTimeStampToken(final TimeStampRequest timeStampRequest, final byte[] respBytes) {
+		try {
 			// Handle the TSA response
 			final TimeStampResponse timeStampResponse = new TimeStampResponse(respBytes);
 
@@ -0,0 +1,156 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class RevocationCacheTest {
+
+	@Test
+	public void expiration() {
+		RevocationCache<String> cache = new RevocationCache<String>(10);
+		cache.put("valid", "value", new Date(System.currentTimeMillis() + 60000));
+		cache.put("expired", "value", new Date(System.currentTimeMillis() - 1));
+		cache.put("noExpiration", "value", null);
+
+		assertEquals("value", cache.get("valid"));
+		assertNull(cache.get("expired"));
+		assertNull(cache.get("noExpiration"));
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	public void leastRecentlyUsedEviction() {
+		Date expirationDate = new Date(System.currentTimeMillis() + 60000);
+		RevocationCache<String> cache = new RevocationCache<String>(2);
+		cache.put("a", "1", expirationDate);
+		cache.put("b", "2", expirationDate);
+		cache.get("a");
+		cache.put("c", "3", expirationDate);
+
+		assertEquals(2, cache.size());
+		assertEquals("1", cache.get("a"));
+		assertNull(cache.get("b"));
+		assertEquals("3", cache.get("c"));
+	}
+
+	@Test
+	public void concurrentLoadsAreCollapsed() throws Exception {
+		final RevocationCache<String> cache = new RevocationCache<String>(10);
+		final AtomicInteger calls = new AtomicInteger();
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+
+		final Callable<String> loader = new Callable<String>() {
+			@Override
+			public String call() throws Exception {
+				calls.incrementAndGet();
+				started.countDown();
+				release.await(10, TimeUnit.SECONDS);
+				return "loaded";
+			}
+		};
+
+		ExecutorService executor = Executors.newFixedThreadPool(5);
+		try {
+			List<Future<String>> results = new ArrayList<Future<String>>();
+			results.add(executor.submit(new Callable<String>() {
+				@Override
+				public String call() {
+					return cache.load("key", loader);
+				}
+			}));
+			started.await(10, TimeUnit.SECONDS);
+			for (int i = 0; i < 4; i++) {
+				results.add(executor.submit(new Callable<String>() {
+					@Override
+					public String call() {
+						return cache.load("key", loader);
+					}
+				}));
+			}
+			Thread.sleep(200);
+			release.countDown();
+
+			for (Future<String> result : results) {
+				assertEquals("loaded", result.get());
+			}
+			assertEquals(1, calls.get());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void refreshBeforeExpiration() {
+		final RevocationCache<String> cache = new RevocationCache<String>(10);
+		final Date expirationDate = new Date(System.currentTimeMillis() + 60000);
+		final AtomicInteger calls = new AtomicInteger();
+		final Callable<String> loader = new Callable<String>() {
+			@Override
+			public String call() {
+				calls.incrementAndGet();
+				cache.put("key", "refreshed", new Date(expirationDate.getTime() + 60000));
+				return "refreshed";
+			}
+		};
+		final List<Runnable> tasks = new ArrayList<Runnable>();
+		final Executor executor = new Executor() {
+			@Override
+			public void execute(Runnable command) {
+				tasks.add(command);
+			}
+		};
+
+		assertFalse(cache.refreshIfExpiresBefore("key", new Date(), loader, executor));
+
+		cache.put("key", "value", expirationDate);
+		assertFalse(cache.refreshIfExpiresBefore("key", new Date(), loader, executor));
+		assertTrue(cache.refreshIfExpiresBefore("key", new Date(expirationDate.getTime() + 1), loader, executor));
+		// already pending
+		assertFalse(cache.refreshIfExpiresBefore("key", new Date(expirationDate.getTime() + 1), loader, executor));
+		assertEquals("value", cache.get("key"));
+
+		assertEquals(1, tasks.size());
+		tasks.get(0).run();
+		assertEquals(1, calls.get());
+		assertEquals("refreshed", cache.get("key"));
+		assertFalse(cache.refreshIfExpiresBefore("key", new Date(expirationDate.getTime() + 1), loader, executor));
+	}
+
+}
@@ -0,0 +1,359 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.client.crl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.CRLDistPoint;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.asn1.x509.DistributionPoint;
+import org.bouncycastle.asn1.x509.DistributionPointName;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.asn1.x509.IssuingDistributionPoint;
+import org.bouncycastle.asn1.x509.KeyUsage;
+import org.bouncycastle.asn1.x509.ReasonFlags;
+import org.bouncycastle.cert.X509v2CRLBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.client.http.DataLoader;
+import eu.europa.esig.dss.x509.CertificateToken;
+import eu.europa.esig.dss.x509.crl.CRLToken;
+
+public class JdbcCacheCRLSourceTest {
+
+	private static final String CRL_URL = "http://crl.dss.test/ca.crl";
+
+	private static final long HOUR = 3600000L;
+
+	private static final BigInteger REVOKED_SERIAL_NUMBER = BigInteger.valueOf(100);
+
+	private static final BigInteger GOOD_SERIAL_NUMBER = BigInteger.valueOf(101);
+
+	private KeyPair caKey;
+	private X500Name caName;
+	private CertificateToken caCertificate;
+	private CertificateToken revokedCertificate;
+	private CertificateToken goodCertificate;
+
+	private Connection connection;
+	private CRLDataLoader dataLoader;
+	private JdbcCacheCRLSource crlSource;
+
+	@Before
+	public void init() throws Exception {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+		generator.initialize(1024);
+		caKey = generator.generateKeyPair();
+		caName = new X500Name("CN=CRL Cache Test CA");
+		caCertificate = createCACertificate();
+		revokedCertificate = createCertificate("CN=Revoked", REVOKED_SERIAL_NUMBER, generator.generateKeyPair());
+		goodCertificate = createCertificate("CN=Good", GOOD_SERIAL_NUMBER, generator.generateKeyPair());
+
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:crl-cache-test;DB_CLOSE_DELAY=-1");
+		// the in-memory database lives as long as a connection is opened
+		connection = dataSource.getConnection();
+
+		dataLoader = new CRLDataLoader();
+		crlSource = new JdbcCacheCRLSource();
+		crlSource.setCachedSource(new OnlineCRLSource(dataLoader));
+		crlSource.setDataSource(dataSource);
+	}
+
+	@After
+	public void close() throws Exception {
+		Statement s = connection.createStatement();
+		s.execute("DROP ALL OBJECTS");
+		s.close();
+		connection.close();
+	}
+
+	@Test
+	public void revokedAndNotRevokedFromStoredEntries() throws Exception {
+		crlSource.setStoreRevokedSerialNumbers(true);
+		dataLoader.crl = createCRL(new Date(), HOUR, REVOKED_SERIAL_NUMBER);
+
+		// downloaded
+		assertRevoked(crlSource.findCrl(revokedCertificate));
+		assertEquals(1, dataLoader.calls);
+		// revoked entry + marker
+		assertEquals(2, countStoredEntries());
+
+		// from the cache
+		assertRevoked(crlSource.findCrl(revokedCertificate));
+		assertGood(crlSource.findCrl(goodCertificate));
+
+		Map<CertificateToken, CRLToken> crlTokens = crlSource.findCrls(Arrays.asList(goodCertificate, revokedCertificate));
+		assertGood(crlTokens.get(goodCertificate));
+		assertRevoked(crlTokens.get(revokedCertificate));
+		assertEquals(1, dataLoader.calls);
+	}
+
+	@Test
+	public void refreshedCRL() throws Exception {
+		crlSource.setStoreRevokedSerialNumbers(true);
+		dataLoader.crl = createCRL(new Date(System.currentTimeMillis() - 2 * HOUR), HOUR);
+		assertGood(crlSource.findCrl(revokedCertificate));
+
+		// the cached CRL is expired
+		dataLoader.crl = createCRL(new Date(), HOUR, REVOKED_SERIAL_NUMBER);
+		Map<CertificateToken, CRLToken> crlTokens = crlSource.findCrls(Arrays.asList(goodCertificate, revokedCertificate));
+		assertEquals(2, dataLoader.calls);
+		assertGood(crlTokens.get(goodCertificate));
+		assertRevoked(crlTokens.get(revokedCertificate));
+
+		crlTokens = crlSource.findCrls(Arrays.asList(goodCertificate, revokedCertificate));
+		assertEquals(2, dataLoader.calls);
+		assertGood(crlTokens.get(goodCertificate));
+		assertRevoked(crlTokens.get(revokedCertificate));
+	}
+
+	@Test
+	public void invalidDownloadIsNotMixedWithTheCache() throws Exception {
+		crlSource.setStoreRevokedSerialNumbers(true);
+		dataLoader.crl = createCRL(new Date(System.currentTimeMillis() - 2 * HOUR), HOUR, REVOKED_SERIAL_NUMBER);
+		assertRevoked(crlSource.findCrl(revokedCertificate));
+
+		// the cached CRL is expired and the new one is invalid : it is not stored
+		dataLoader.crl = createCRL(new Date(), HOUR, true);
+		Map<CertificateToken, CRLToken> crlTokens = crlSource.findCrls(Arrays.asList(goodCertificate, revokedCertificate));
+		assertEquals(2, crlTokens.size());
+		assertFalse(crlTokens.get(goodCertificate).isValid());
+		assertFalse(crlTokens.get(revokedCertificate).isValid());
+		// the statuses come from the downloaded CRL, not from the entries of the cached one
+		assertSame(crlTokens.get(goodCertificate).getCrlValidity(), crlTokens.get(revokedCertificate).getCrlValidity());
+		assertGood(crlTokens.get(revokedCertificate));
+		assertEquals(0, countStoredEntries(new Date()));
+	}
+
+	@Test
+	public void revokedSerialNumbersStoredAfterRefresh() throws Exception {
+		crlSource.setStoreRevokedSerialNumbers(true);
+		dataLoader.crl = createCRL(new Date(System.currentTimeMillis() - 2 * HOUR), HOUR);
+		assertGood(crlSource.findCrl(revokedCertificate));
+
+		// refreshed while the entries are not stored
+		crlSource.setStoreRevokedSerialNumbers(false);
+		dataLoader.crl = createCRL(new Date(), HOUR, REVOKED_SERIAL_NUMBER);
+		assertRevoked(crlSource.findCrl(revokedCertificate));
+		assertEquals(2, dataLoader.calls);
+
+		// the stored entries are from the previous CRL
+		crlSource.setStoreRevokedSerialNumbers(true);
+		Map<CertificateToken, CRLToken> crlTokens = crlSource.findCrls(Arrays.asList(goodCertificate, revokedCertificate));
+		assertGood(crlTokens.get(goodCertificate));
+		assertRevoked(crlTokens.get(revokedCertificate));
+		assertRevoked(crlSource.findCrl(revokedCertificate));
+		assertEquals(2, dataLoader.calls);
+		assertEquals(2, countStoredEntries());
+	}
+
+	@Test
+	public void revokedSerialNumbersNotStored() throws Exception {
+		dataLoader.crl = createCRL(new Date(), HOUR, REVOKED_SERIAL_NUMBER);
+		assertRevoked(crlSource.findCrl(revokedCertificate));
+		assertRevoked(crlSource.findCrl(revokedCertificate));
+		assertGood(crlSource.findCrl(goodCertificate));
+		assertEquals(1, dataLoader.calls);
+
+		// the CRL cached without its entries
+		crlSource.setStoreRevokedSerialNumbers(true);
+		assertRevoked(crlSource.findCrl(revokedCertificate));
+		assertGood(crlSource.findCrl(goodCertificate));
+		assertEquals(1, dataLoader.calls);
+		assertEquals(2, countStoredEntries());
+	}
+
+	@Test
+	public void certificateOfAnotherIssuerIsSkipped() throws Exception {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+		generator.initialize(1024);
+		KeyPair otherCaKey = generator.generateKeyPair();
+		X500Name otherCaName = new X500Name("CN=Other CA with the same CRL url");
+		CertificateToken otherCaCertificate = createCACertificate(otherCaName, otherCaKey);
+		CertificateToken otherCertificate = createCertificate("CN=Other", GOOD_SERIAL_NUMBER, generator.generateKeyPair(), otherCaName, otherCaKey,
+				otherCaCertificate);
+
+		crlSource.setStoreRevokedSerialNumbers(true);
+		dataLoader.crl = createCRL(new Date(), HOUR, REVOKED_SERIAL_NUMBER);
+
+		// downloaded
+		Map<CertificateToken, CRLToken> crlTokens = crlSource.findCrls(Arrays.asList(revokedCertificate, otherCertificate, goodCertificate));
+		assertEquals(2, crlTokens.size());
+		assertRevoked(crlTokens.get(revokedCertificate));
+		assertGood(crlTokens.get(goodCertificate));
+
+		// from the cache
+		crlTokens = crlSource.findCrls(Arrays.asList(otherCertificate, goodCertificate, revokedCertificate));
+		assertEquals(2, crlTokens.size());
+		assertGood(crlTokens.get(goodCertificate));
+		assertRevoked(crlTokens.get(revokedCertificate));
+		assertEquals(1, dataLoader.calls);
+	}
+
+	private void assertRevoked(CRLToken crlToken) {
+		assertNotNull(crlToken);
+		assertFalse(crlToken.getStatus());
+		assertNotNull(crlToken.getRevocationDate());
+		assertEquals("keyCompromise", crlToken.getReason());
+	}
+
+	private void assertGood(CRLToken crlToken) {
+		assertNotNull(crlToken);
+		assertTrue(crlToken.getStatus());
+	}
+
+	private int countStoredEntries() throws Exception {
+		Statement s = connection.createStatement();
+		ResultSet rs = s.executeQuery("SELECT COUNT(*) FROM CACHED_CRL_REVOKED");
+		rs.next();
+		int count = rs.getInt(1);
+		s.close();
+		return count;
+	}
+
+	private int countStoredEntries(Date thisUpdateAfter) throws Exception {
+		PreparedStatement s = connection.prepareStatement("SELECT COUNT(*) FROM CACHED_CRL_REVOKED WHERE CRL_THIS_UPDATE > ?");
+		s.setLong(1, thisUpdateAfter.getTime() - HOUR);
+		ResultSet rs = s.executeQuery();
+		rs.next();
+		int count = rs.getInt(1);
+		s.close();
+		return count;
+	}
+
+	private CertificateToken createCACertificate() throws Exception {
+		return createCACertificate(caName, caKey);
+	}
+
+	private CertificateToken createCACertificate(X500Name caName, KeyPair caKey) throws Exception {
+		Date notBefore = new Date(System.currentTimeMillis() - 24 * HOUR);
+		Date notAfter = new Date(System.currentTimeMillis() + 24 * HOUR);
+		JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(caName, BigInteger.ONE, notBefore, notAfter, caName, caKey.getPublic());
+		builder.addExtension(Extension.basicConstraints, true, new BasicConstraints(true));
+		builder.addExtension(Extension.keyUsage, true, new KeyUsage(KeyUsage.keyCertSign | KeyUsage.cRLSign));
+		return DSSUtils.loadCertificate(builder.build(getSigner(caKey)).getEncoded());
+	}
+
+	private CertificateToken createCertificate(String subject, BigInteger serialNumber, KeyPair keyPair) throws Exception {
+		return createCertificate(subject, serialNumber, keyPair, caName, caKey, caCertificate);
+	}
+
+	private CertificateToken createCertificate(String subject, BigInteger serialNumber, KeyPair keyPair, X500Name caName, KeyPair caKey,
+			CertificateToken caCertificate) throws Exception {
+		Date notBefore = new Date(System.currentTimeMillis() - 24 * HOUR);
+		Date notAfter = new Date(System.currentTimeMillis() + 24 * HOUR);
+		JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(caName, serialNumber, notBefore, notAfter, new X500Name(subject),
+				keyPair.getPublic());
+		GeneralNames crlUrl = new GeneralNames(new GeneralName(GeneralName.uniformResourceIdentifier, CRL_URL));
+		DistributionPoint distributionPoint = new DistributionPoint(new DistributionPointName(crlUrl), null, null);
+		builder.addExtension(Extension.cRLDistributionPoints, false, new CRLDistPoint(new DistributionPoint[] { distributionPoint }));
+		CertificateToken certificate = DSSUtils.loadCertificate(builder.build(getSigner(caKey)).getEncoded());
+		assertTrue(certificate.isSignedBy(caCertificate));
+		return certificate;
+	}
+
+	private byte[] createCRL(Date thisUpdate, long validity, BigInteger... revokedSerialNumbers) throws Exception {
+		return createCRL(thisUpdate, validity, false, revokedSerialNumbers);
+	}
+
+	private byte[] createCRL(Date thisUpdate, long validity, boolean unknownCriticalExtension, BigInteger... revokedSerialNumbers)
+			throws Exception {
+		X509v2CRLBuilder builder = new X509v2CRLBuilder(caName, thisUpdate);
+		builder.setNextUpdate(new Date(thisUpdate.getTime() + validity));
+		if (unknownCriticalExtension) {
+			// a partitioned CRL is not supported
+			IssuingDistributionPoint issuingDistributionPoint = new IssuingDistributionPoint(null, false, false,
+					new ReasonFlags(ReasonFlags.keyCompromise), false, false);
+			builder.addExtension(Extension.issuingDistributionPoint, true, issuingDistributionPoint);
+		}
+		for (BigInteger serialNumber : revokedSerialNumbers) {
+			builder.addCRLEntry(serialNumber, new Date(thisUpdate.getTime() - HOUR), CRLReason.keyCompromise);
+		}
+		return builder.build(getSigner(caKey)).getEncoded();
+	}
+
+	private ContentSigner getSigner(KeyPair keyPair) throws Exception {
+		return new JcaContentSignerBuilder("SHA256withRSA").build(keyPair.getPrivate());
+	}
+
+	private static class CRLDataLoader implements DataLoader {
+
+		private static final long serialVersionUID = 1L;
+
+		private byte[] crl;
+		private int calls;
+
+		@Override
+		public byte[] get(String url) {
+			calls++;
+			return crl;
+		}
+
+		@Override
+		public DataAndUrl get(List<String> urlStrings) {
+			return new DataAndUrl(get(urlStrings.get(0)), urlStrings.get(0));
+		}
+
+		@Override
+		public byte[] get(String url, boolean refresh) {
+			return get(url);
+		}
+
+		@Override
+		public byte[] post(String url, byte[] content) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void setContentType(String contentType) {
+		}
+
+	}
+
+}
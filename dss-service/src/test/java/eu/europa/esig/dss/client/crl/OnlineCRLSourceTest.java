@@ -0,0 +1,226 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.client.crl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.CRLDistPoint;
+import org.bouncycastle.asn1.x509.DistributionPoint;
+import org.bouncycastle.asn1.x509.DistributionPointName;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.asn1.x509.KeyUsage;
+import org.bouncycastle.cert.X509v2CRLBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.client.http.AsyncDataLoaderAdapter;
+import eu.europa.esig.dss.client.http.DataLoader;
+import eu.europa.esig.dss.x509.CertificateToken;
+import eu.europa.esig.dss.x509.crl.CRLToken;
+
+public class OnlineCRLSourceTest {
+
+	private static final String CRL_URL = "http://crl.dss.test/ca.crl";
+
+	private static final String OTHER_CRL_URL = "http://crl2.dss.test/ca.crl";
+
+	private static final long HOUR = 3600000L;
+
+	private KeyPair caKey;
+	private X500Name caName;
+	private CertificateToken certificate;
+
+	private ExecutorService executorService;
+
+	@Before
+	public void init() throws Exception {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+		generator.initialize(1024);
+		caKey = generator.generateKeyPair();
+		caName = new X500Name("CN=Online CRL Test CA");
+		CertificateToken caCertificate = createCACertificate();
+		certificate = createCertificate(generator.generateKeyPair());
+		assertTrue(certificate.isSignedBy(caCertificate));
+
+		executorService = Executors.newSingleThreadExecutor();
+	}
+
+	@After
+	public void close() {
+		executorService.shutdownNow();
+	}
+
+	@Test
+	public void findCrlAsync() throws Exception {
+		BlockingDataLoader dataLoader = new BlockingDataLoader(createCRL());
+		OnlineCRLSource crlSource = new OnlineCRLSource(new AsyncDataLoaderAdapter(dataLoader, executorService));
+
+		Future<CRLToken> crlToken = crlSource.findCrlAsync(certificate);
+
+		// the request is in progress, the result is not yet available
+		assertTrue(dataLoader.started.await(10, TimeUnit.SECONDS));
+		assertFalse(crlToken.isDone());
+		dataLoader.release.countDown();
+
+		CRLToken token = crlToken.get(10, TimeUnit.SECONDS);
+		assertNotNull(token);
+		assertTrue(token.isValid());
+		assertTrue(token.getStatus());
+		assertEquals(CRL_URL, token.getSourceURL());
+		assertEquals(CRL_URL, dataLoader.url);
+	}
+
+	@Test
+	public void findCrlAsyncFromOtherUrl() throws Exception {
+		BlockingDataLoader dataLoader = new BlockingDataLoader(createCRL());
+		dataLoader.failingUrl = CRL_URL;
+		dataLoader.release.countDown();
+		OnlineCRLSource crlSource = new OnlineCRLSource(new AsyncDataLoaderAdapter(dataLoader, executorService));
+
+		CRLToken token = crlSource.findCrlAsync(certificate).get(10, TimeUnit.SECONDS);
+		assertNotNull(token);
+		assertEquals(OTHER_CRL_URL, token.getSourceURL());
+	}
+
+	private CertificateToken createCACertificate() throws Exception {
+		Date notBefore = new Date(System.currentTimeMillis() - 24 * HOUR);
+		Date notAfter = new Date(System.currentTimeMillis() + 24 * HOUR);
+		JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(caName, BigInteger.ONE, notBefore, notAfter, caName, caKey.getPublic());
+		builder.addExtension(Extension.basicConstraints, true, new BasicConstraints(true));
+		builder.addExtension(Extension.keyUsage, true, new KeyUsage(KeyUsage.keyCertSign | KeyUsage.cRLSign));
+		return DSSUtils.loadCertificate(builder.build(getSigner(caKey)).getEncoded());
+	}
+
+	private CertificateToken createCertificate(KeyPair keyPair) throws Exception {
+		Date notBefore = new Date(System.currentTimeMillis() - 24 * HOUR);
+		Date notAfter = new Date(System.currentTimeMillis() + 24 * HOUR);
+		JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(caName, BigInteger.TEN, notBefore, notAfter, new X500Name("CN=Signer"),
+				keyPair.getPublic());
+		DistributionPoint distributionPoint = new DistributionPoint(new DistributionPointName(getURI(CRL_URL)), null, null);
+		DistributionPoint otherDistributionPoint = new DistributionPoint(new DistributionPointName(getURI(OTHER_CRL_URL)), null, null);
+		builder.addExtension(Extension.cRLDistributionPoints, false, new CRLDistPoint(new DistributionPoint[] { distributionPoint, otherDistributionPoint }));
+		return DSSUtils.loadCertificate(builder.build(getSigner(caKey)).getEncoded());
+	}
+
+	private GeneralNames getURI(String url) {
+		return new GeneralNames(new GeneralName(GeneralName.uniformResourceIdentifier, url));
+	}
+
+	private byte[] createCRL() throws Exception {
+		Date thisUpdate = new Date();
+		X509v2CRLBuilder builder = new X509v2CRLBuilder(caName, thisUpdate);
+		builder.setNextUpdate(new Date(thisUpdate.getTime() + HOUR));
+		return builder.build(getSigner(caKey)).getEncoded();
+	}
+
+	private ContentSigner getSigner(KeyPair keyPair) throws Exception {
+		return new JcaContentSignerBuilder("SHA256withRSA").build(keyPair.getPrivate());
+	}
+
+	/**
+	 * DataLoader which waits to be released before returning the CRL.
+	 */
+	private static class BlockingDataLoader implements DataLoader {
+
+		private static final long serialVersionUID = 1L;
+
+		private final CountDownLatch started = new CountDownLatch(1);
+
+		private final CountDownLatch release = new CountDownLatch(1);
+
+		private final byte[] crl;
+
+		private volatile String failingUrl;
+
+		private volatile String url;
+
+		BlockingDataLoader(byte[] crl) {
+			this.crl = crl;
+		}
+
+		@Override
+		public byte[] get(String url) {
+			this.url = url;
+			started.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			if (url.equals(failingUrl)) {
+				throw new DSSException("Unable to connect to " + url);
+			}
+			return crl;
+		}
+
+		@Override
+		public DataAndUrl get(List<String> urlStrings) {
+			for (String urlString : urlStrings) {
+				try {
+					return new DataAndUrl(get(urlString), urlString);
+				} catch (DSSException e) {
+					// next url
+				}
+			}
+			return null;
+		}
+
+		@Override
+		public byte[] get(String url, boolean refresh) {
+			return get(url);
+		}
+
+		@Override
+		public byte[] post(String url, byte[] content) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void setContentType(String contentType) {
+		}
+
+	}
+
+}
@@ -1,12 +1,33 @@
 package eu.europa.esig.dss.client.http.commons;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.pool.PoolStats;
 import org.junit.Test;
 
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
 import eu.europa.esig.dss.DSSUtils;
 import eu.europa.esig.dss.client.http.NativeHTTPDataLoader;
 import eu.europa.esig.dss.utils.Utils;
@@ -49,4 +70,145 @@ public class CommonsDataLoaderTest {
 		assertTrue(Utils.isArrayNotEmpty(dataLoader.get(url)));
 	}
 
+	@Test
+	public void connectionsAreReused() throws Exception {
+		final Set<Integer> clientPorts = new HashSet<Integer>();
+		final byte[] response = "response".getBytes();
+		HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/", new HttpHandler() {
+
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				synchronized (clientPorts) {
+					clientPorts.add(exchange.getRemoteAddress().getPort());
+				}
+				exchange.sendResponseHeaders(200, response.length);
+				try (OutputStream os = exchange.getResponseBody()) {
+					os.write(response);
+				}
+			}
+		});
+		server.start();
+
+		CommonsDataLoader localDataLoader = new CommonsDataLoader();
+		try {
+			assertNull(localDataLoader.getConnectionPoolStats());
+
+			String url = "http://localhost:" + server.getAddress().getPort() + "/data";
+			for (int i = 0; i < 5; i++) {
+				assertArrayEquals(response, localDataLoader.get(url));
+				assertArrayEquals(response, localDataLoader.post(url, new byte[] { 1, 2, 3 }));
+			}
+			assertEquals(1, clientPorts.size());
+
+			PoolStats stats = localDataLoader.getConnectionPoolStats();
+			assertEquals(0, stats.getLeased());
+			assertEquals(1, stats.getAvailable());
+
+			localDataLoader.setConnectionsMaxTotal(5);
+			assertEquals(5, localDataLoader.getConnectionPoolStats().getMax());
+
+			localDataLoader.setTimeoutSocket(1000);
+			assertNull(localDataLoader.getConnectionPoolStats());
+			assertArrayEquals(response, localDataLoader.get(url));
+			assertEquals(2, clientPorts.size());
+		} finally {
+			localDataLoader.close();
+			server.stop(0);
+		}
+	}
+
+	@Test
+	public void configurationChangeDuringRequest() throws Exception {
+		final byte[] response = "response".getBytes();
+		final CountDownLatch requestReceived = new CountDownLatch(1);
+		final CountDownLatch configurationChanged = new CountDownLatch(1);
+		HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.createContext("/", new HttpHandler() {
+
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				requestReceived.countDown();
+				try {
+					configurationChanged.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				exchange.sendResponseHeaders(200, response.length);
+				try (OutputStream os = exchange.getResponseBody()) {
+					os.write(response);
+				}
+			}
+		});
+		server.start();
+
+		final CommonsDataLoader localDataLoader = new CommonsDataLoader();
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			final String url = "http://localhost:" + server.getAddress().getPort() + "/data";
+			Future<byte[]> runningRequest = executor.submit(new Callable<byte[]>() {
+				@Override
+				public byte[] call() {
+					return localDataLoader.get(url);
+				}
+			});
+			assertTrue(requestReceived.await(10, TimeUnit.SECONDS));
+
+			// the running request keeps its pool
+			localDataLoader.setTimeoutSocket(5000);
+			assertNull(localDataLoader.getConnectionPoolStats());
+			configurationChanged.countDown();
+			assertArrayEquals(response, runningRequest.get(10, TimeUnit.SECONDS));
+
+			assertArrayEquals(response, localDataLoader.get(url));
+			assertEquals(0, localDataLoader.getConnectionPoolStats().getLeased());
+		} finally {
+			executor.shutdown();
+			localDataLoader.close();
+			server.stop(0);
+		}
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	public void deprecatedHttpClientHookIsCalled() throws Exception {
+		final byte[] response = "response".getBytes();
+		HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/", new HttpHandler() {
+
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				exchange.sendResponseHeaders(200, response.length);
+				try (OutputStream os = exchange.getResponseBody()) {
+					os.write(response);
+				}
+			}
+		});
+		server.start();
+
+		final AtomicInteger builtClients = new AtomicInteger();
+		CommonsDataLoader localDataLoader = new CommonsDataLoader() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected CloseableHttpClient getHttpClient(String url) {
+				builtClients.incrementAndGet();
+				return super.getHttpClient(url);
+			}
+		};
+		try {
+			String url = "http://localhost:" + server.getAddress().getPort() + "/data";
+			assertArrayEquals(response, localDataLoader.get(url));
+			assertArrayEquals(response, localDataLoader.get(url));
+			// the client is built once and uses the shared pool
+			assertEquals(1, builtClients.get());
+			assertEquals(1, localDataLoader.getConnectionPoolStats().getAvailable());
+		} finally {
+			localDataLoader.close();
+			server.stop(0);
+		}
+	}
+
 }
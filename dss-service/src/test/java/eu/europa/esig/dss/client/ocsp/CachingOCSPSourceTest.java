@@ -0,0 +1,194 @@
+package eu.europa.esig.dss.client.ocsp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Date;
+import java.util.concurrent.Executor;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.cert.ocsp.BasicOCSPResp;
+import org.bouncycastle.cert.ocsp.CertificateID;
+import org.bouncycastle.cert.ocsp.CertificateStatus;
+import org.bouncycastle.cert.ocsp.jcajce.JcaBasicOCSPRespBuilder;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.Before;
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSRevocationUtils;
+import eu.europa.esig.dss.x509.CertificateToken;
+import eu.europa.esig.dss.x509.ocsp.OCSPRespStatus;
+import eu.europa.esig.dss.x509.ocsp.OCSPSource;
+import eu.europa.esig.dss.x509.ocsp.OCSPToken;
+
+public class CachingOCSPSourceTest {
+
+	private static final Executor CURRENT_THREAD = new Executor() {
+		@Override
+		public void execute(Runnable command) {
+			command.run();
+		}
+	};
+
+	private KeyPair issuerKeyPair;
+
+	private CertificateToken issuer;
+
+	private CertificateToken certificate;
+
+	private MockOCSPSource onlineSource;
+
+	@Before
+	public void init() throws Exception {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+		generator.initialize(1024);
+		issuerKeyPair = generator.generateKeyPair();
+		issuer = createCertificate("CN=Issuer", BigInteger.ONE, issuerKeyPair);
+		certificate = createCertificate("CN=Signer", BigInteger.TEN, generator.generateKeyPair());
+		onlineSource = new MockOCSPSource();
+	}
+
+	@Test
+	public void responseIsReusedUntilNextUpdate() {
+		onlineSource.nextUpdate = new Date(System.currentTimeMillis() + 60000);
+		CachingOCSPSource cachingSource = new CachingOCSPSource(onlineSource);
+
+		OCSPToken first = cachingSource.getOCSPToken(certificate, issuer);
+		OCSPToken second = cachingSource.getOCSPToken(certificate, issuer);
+		assertEquals(1, onlineSource.calls);
+		assertNotSame(first, second);
+		assertSame(first.getBasicOCSPResp(), second.getBasicOCSPResp());
+
+		onlineSource.nextUpdate = null;
+		cachingSource.clear();
+		cachingSource.getOCSPToken(certificate, issuer);
+		cachingSource.getOCSPToken(certificate, issuer);
+		assertEquals(3, onlineSource.calls);
+	}
+
+	@Test
+	public void noCachedSource() {
+		assertNull(new CachingOCSPSource().getOCSPToken(certificate, issuer));
+	}
+
+	@Test
+	public void responseWithNonceIsNotReused() {
+		onlineSource.nextUpdate = new Date(System.currentTimeMillis() + 60000);
+		onlineSource.useNonce = true;
+		CachingOCSPSource cachingSource = new CachingOCSPSource(onlineSource);
+
+		cachingSource.getOCSPToken(certificate, issuer);
+		cachingSource.getOCSPToken(certificate, issuer);
+		assertEquals(2, onlineSource.calls);
+	}
+
+	@Test
+	public void maxResponseAge() {
+		onlineSource.thisUpdate = new Date(System.currentTimeMillis() - 10000);
+		onlineSource.nextUpdate = new Date(System.currentTimeMillis() + 60000);
+		CachingOCSPSource cachingSource = new CachingOCSPSource(onlineSource);
+		cachingSource.setMaxResponseAge(5000);
+
+		cachingSource.getOCSPToken(certificate, issuer);
+		cachingSource.getOCSPToken(certificate, issuer);
+		assertEquals(2, onlineSource.calls);
+
+		cachingSource.setMaxResponseAge(20000);
+		cachingSource.getOCSPToken(certificate, issuer);
+		cachingSource.getOCSPToken(certificate, issuer);
+		assertEquals(3, onlineSource.calls);
+	}
+
+	@Test
+	public void refreshBeforeExpiration() {
+		onlineSource.nextUpdate = new Date(System.currentTimeMillis() + 60000);
+		CachingOCSPSource cachingSource = new CachingOCSPSource(onlineSource);
+		cachingSource.setRefreshExecutor(CURRENT_THREAD, 30000);
+
+		cachingSource.getOCSPToken(certificate, issuer);
+		cachingSource.getOCSPToken(certificate, issuer);
+		assertEquals(1, onlineSource.calls);
+
+		cachingSource.setRefreshExecutor(CURRENT_THREAD, 120000);
+		OCSPToken token = cachingSource.getOCSPToken(certificate, issuer);
+		assertNotNull(token.getBasicOCSPResp());
+		assertEquals(2, onlineSource.calls);
+
+		// a failed refresh keeps the cached response
+		onlineSource.fail = true;
+		token = cachingSource.getOCSPToken(certificate, issuer);
+		assertNotNull(token.getBasicOCSPResp());
+		assertEquals(3, onlineSource.calls);
+	}
+
+	@Test
+	public void prefetch() {
+		onlineSource.nextUpdate = new Date(System.currentTimeMillis() + 60000);
+		CachingOCSPSource cachingSource = new CachingOCSPSource(onlineSource);
+
+		cachingSource.prefetch(certificate, issuer);
+		assertEquals(1, onlineSource.calls);
+		cachingSource.getOCSPToken(certificate, issuer);
+		assertEquals(1, onlineSource.calls);
+	}
+
+	private CertificateToken createCertificate(String subject, BigInteger serialNumber, KeyPair keyPair) throws Exception {
+		Date notBefore = new Date(System.currentTimeMillis() - 3600000);
+		Date notAfter = new Date(System.currentTimeMillis() + 3600000);
+		JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(new X500Name("CN=Issuer"), serialNumber, notBefore, notAfter,
+				new X500Name(subject), keyPair.getPublic());
+		X509CertificateHolder holder = builder.build(new JcaContentSignerBuilder("SHA256withRSA").build(issuerKeyPair.getPrivate()));
+		return new CertificateToken(new JcaX509CertificateConverter().getCertificate(holder));
+	}
+
+	@SuppressWarnings("serial")
+	private class MockOCSPSource implements OCSPSource {
+
+		private int calls;
+
+		private Date thisUpdate = new Date();
+
+		private Date nextUpdate;
+
+		private boolean useNonce;
+
+		private boolean fail;
+
+		@Override
+		public OCSPToken getOCSPToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+			calls++;
+			if (fail) {
+				throw new IllegalStateException("OCSP responder not available");
+			}
+			try {
+				CertificateID certId = DSSRevocationUtils.getOCSPCertificateID(certificateToken, issuerCertificateToken);
+				JcaBasicOCSPRespBuilder builder = new JcaBasicOCSPRespBuilder(issuerKeyPair.getPublic(), DSSRevocationUtils.getSHA1DigestCalculator());
+				builder.addResponse(certId, CertificateStatus.GOOD, thisUpdate, nextUpdate);
+				ContentSigner signer = new JcaContentSignerBuilder("SHA256withRSA").build(issuerKeyPair.getPrivate());
+				BasicOCSPResp basicOCSPResp = builder.build(signer, null, new Date());
+
+				OCSPToken ocspToken = new OCSPToken();
+				ocspToken.setResponseStatus(OCSPRespStatus.SUCCESSFUL);
+				ocspToken.setCertId(certId);
+				ocspToken.setAvailable(true);
+				ocspToken.setBasicOCSPResp(basicOCSPResp);
+				ocspToken.setUseNonce(useNonce);
+				return ocspToken;
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+	}
+
+}
@@ -1,16 +1,45 @@
 package eu.europa.esig.dss.client.ocsp;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.AccessDescription;
+import org.bouncycastle.asn1.x509.AuthorityInformationAccess;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.cert.ocsp.BasicOCSPResp;
+import org.bouncycastle.cert.ocsp.CertificateID;
+import org.bouncycastle.cert.ocsp.CertificateStatus;
+import org.bouncycastle.cert.ocsp.OCSPResp;
+import org.bouncycastle.cert.ocsp.OCSPRespBuilder;
+import org.bouncycastle.cert.ocsp.jcajce.JcaBasicOCSPRespBuilder;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
 import org.junit.Before;
 import org.junit.Test;
 
+import eu.europa.esig.dss.DSSRevocationUtils;
 import eu.europa.esig.dss.DSSUtils;
 import eu.europa.esig.dss.client.SecureRandomNonceSource;
+import eu.europa.esig.dss.client.http.AsyncDataLoaderAdapter;
+import eu.europa.esig.dss.client.http.DataLoader;
 import eu.europa.esig.dss.client.http.commons.FileCacheDataLoader;
 import eu.europa.esig.dss.client.http.commons.OCSPDataLoader;
 import eu.europa.esig.dss.x509.CertificateToken;
@@ -18,6 +47,8 @@ import eu.europa.esig.dss.x509.ocsp.OCSPToken;
 
 public class OnlineOCSPSourceTest {
 
+	private static final String OCSP_URL = "http://ocsp.dss.test";
+
 	private CertificateToken certificateToken;
 	private CertificateToken rootToken;
 
@@ -68,4 +99,106 @@ public class OnlineOCSPSourceTest {
 		assertFalse(ocspToken.isUseNonce());
 	}
 
+	@Test
+	public void testOCSPAsync() throws Exception {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+		generator.initialize(1024);
+		KeyPair issuerKeyPair = generator.generateKeyPair();
+		CertificateToken issuer = createCertificate("CN=Issuer", issuerKeyPair, issuerKeyPair);
+		CertificateToken certificate = createCertificate("CN=Signer", generator.generateKeyPair(), issuerKeyPair);
+
+		CertificateID certId = DSSRevocationUtils.getOCSPCertificateID(certificate, issuer);
+		JcaBasicOCSPRespBuilder builder = new JcaBasicOCSPRespBuilder(issuerKeyPair.getPublic(), DSSRevocationUtils.getSHA1DigestCalculator());
+		builder.addResponse(certId, CertificateStatus.GOOD);
+		BasicOCSPResp basicOCSPResp = builder.build(getSigner(issuerKeyPair), null, new Date());
+		OCSPResp ocspResp = new OCSPRespBuilder().build(OCSPRespBuilder.SUCCESSFUL, basicOCSPResp);
+
+		BlockingDataLoader dataLoader = new BlockingDataLoader(ocspResp.getEncoded());
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		try {
+			OnlineOCSPSource ocspSource = new OnlineOCSPSource();
+			ocspSource.setDataLoader(new AsyncDataLoaderAdapter(dataLoader, executorService));
+			Future<OCSPToken> ocspToken = ocspSource.getOCSPTokenAsync(certificate, issuer);
+
+			// the request is in progress, the result is not yet available
+			assertTrue(dataLoader.started.await(10, TimeUnit.SECONDS));
+			assertFalse(ocspToken.isDone());
+			dataLoader.release.countDown();
+
+			OCSPToken token = ocspToken.get(10, TimeUnit.SECONDS);
+			assertNotNull(token);
+			assertEquals(OCSP_URL, token.getSourceURL());
+			assertEquals(OCSP_URL, dataLoader.url);
+			assertEquals(certId, token.getCertId());
+			assertArrayEquals(basicOCSPResp.getEncoded(), token.getBasicOCSPResp().getEncoded());
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	private CertificateToken createCertificate(String subject, KeyPair keyPair, KeyPair issuerKeyPair) throws Exception {
+		Date notBefore = new Date(System.currentTimeMillis() - 3600000);
+		Date notAfter = new Date(System.currentTimeMillis() + 3600000);
+		JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(new X500Name("CN=Issuer"), BigInteger.TEN, notBefore, notAfter,
+				new X500Name(subject), keyPair.getPublic());
+		GeneralName ocspUrl = new GeneralName(GeneralName.uniformResourceIdentifier, OCSP_URL);
+		builder.addExtension(Extension.authorityInfoAccess, false, new AuthorityInformationAccess(AccessDescription.id_ad_ocsp, ocspUrl));
+		return DSSUtils.loadCertificate(builder.build(getSigner(issuerKeyPair)).getEncoded());
+	}
+
+	private ContentSigner getSigner(KeyPair keyPair) throws Exception {
+		return new JcaContentSignerBuilder("SHA256withRSA").build(keyPair.getPrivate());
+	}
+
+	/**
+	 * DataLoader which waits to be released before returning the OCSP response.
+	 */
+	@SuppressWarnings("serial")
+	private static class BlockingDataLoader implements DataLoader {
+
+		private final CountDownLatch started = new CountDownLatch(1);
+
+		private final CountDownLatch release = new CountDownLatch(1);
+
+		private final byte[] ocspResponse;
+
+		private volatile String url;
+
+		BlockingDataLoader(byte[] ocspResponse) {
+			this.ocspResponse = ocspResponse;
+		}
+
+		@Override
+		public byte[] post(String url, byte[] content) {
+			this.url = url;
+			started.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return ocspResponse;
+		}
+
+		@Override
+		public byte[] get(String url) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public DataAndUrl get(List<String> urlStrings) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public byte[] get(String url, boolean refresh) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void setContentType(String contentType) {
+		}
+
+	}
+
 }
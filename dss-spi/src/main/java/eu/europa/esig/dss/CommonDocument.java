@@ -25,8 +25,13 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.StringWriter;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 import eu.europa.esig.dss.utils.Utils;
 
@@ -37,7 +42,7 @@ import eu.europa.esig.dss.utils.Utils;
 @SuppressWarnings("serial")
 public abstract class CommonDocument implements DSSDocument {
 
-	protected Map<DigestAlgorithm, String> base64EncodeDigestMap = new HashMap<DigestAlgorithm, String>();
+	protected Map<DigestAlgorithm, String> base64EncodeDigestMap = new ConcurrentHashMap<DigestAlgorithm, String>();
 
 	protected MimeType mimeType;
 
@@ -96,13 +101,34 @@ public abstract class CommonDocument implements DSSDocument {
 	public String getDigest(final DigestAlgorithm digestAlgorithm) {
 		String base64EncodeDigest = base64EncodeDigestMap.get(digestAlgorithm);
 		if (base64EncodeDigest == null) {
-			final byte[] digestBytes = DSSUtils.digest(digestAlgorithm, this);
-			base64EncodeDigest = Utils.toBase64(digestBytes);
-			base64EncodeDigestMap.put(digestAlgorithm, base64EncodeDigest);
+			computeDigests(Collections.singleton(digestAlgorithm));
+			base64EncodeDigest = base64EncodeDigestMap.get(digestAlgorithm);
 		}
 		return base64EncodeDigest;
 	}
 
+	/**
+	 * This method computes the missing digests of the document for the given algorithms with a single read of the
+	 * content. The computed digests are kept with the other digests of the document.
+	 *
+	 * @param digestAlgorithms
+	 *            the digest algorithms to use
+	 */
+	public synchronized void computeDigests(final Collection<DigestAlgorithm> digestAlgorithms) {
+		final List<DigestAlgorithm> missingDigestAlgorithms = new ArrayList<DigestAlgorithm>();
+		for (final DigestAlgorithm digestAlgorithm : digestAlgorithms) {
+			if (!base64EncodeDigestMap.containsKey(digestAlgorithm)) {
+				missingDigestAlgorithms.add(digestAlgorithm);
+			}
+		}
+		if (!missingDigestAlgorithms.isEmpty()) {
+			final Map<DigestAlgorithm, byte[]> digests = DSSUtils.digest(missingDigestAlgorithms, this);
+			for (final Entry<DigestAlgorithm, byte[]> entry : digests.entrySet()) {
+				base64EncodeDigestMap.put(entry.getKey(), Utils.toBase64(entry.getValue()));
+			}
+		}
+	}
+
 	@Override
 	public String toString() {
 		final StringWriter stringWriter = new StringWriter();
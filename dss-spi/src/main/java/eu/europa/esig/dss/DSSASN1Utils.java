@@ -54,10 +54,8 @@ import org.bouncycastle.asn1.ASN1Primitive;
 import org.bouncycastle.asn1.ASN1Sequence;
 import org.bouncycastle.asn1.ASN1String;
 import org.bouncycastle.asn1.BERTags;
-import org.bouncycastle.asn1.DERBitString;
 import org.bouncycastle.asn1.DERNull;
 import org.bouncycastle.asn1.DEROctetString;
-import org.bouncycastle.asn1.DERSequence;
 import org.bouncycastle.asn1.DERTaggedObject;
 import org.bouncycastle.asn1.DLSequence;
 import org.bouncycastle.asn1.DLSet;
@@ -72,6 +70,7 @@ import org.bouncycastle.asn1.x500.style.BCStyle;
 import org.bouncycastle.asn1.x509.AccessDescription;
 import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
 import org.bouncycastle.asn1.x509.AuthorityInformationAccess;
+import org.bouncycastle.asn1.x509.AuthorityKeyIdentifier;
 import org.bouncycastle.asn1.x509.CRLDistPoint;
 import org.bouncycastle.asn1.x509.DistributionPoint;
 import org.bouncycastle.asn1.x509.DistributionPointName;
@@ -84,6 +83,7 @@ import org.bouncycastle.asn1.x509.PolicyInformation;
 import org.bouncycastle.asn1.x509.PolicyQualifierId;
 import org.bouncycastle.asn1.x509.PolicyQualifierInfo;
 import org.bouncycastle.asn1.x509.SubjectKeyIdentifier;
+import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
 import org.bouncycastle.asn1.x509.Time;
 import org.bouncycastle.asn1.x509.X509ObjectIdentifiers;
 import org.bouncycastle.asn1.x509.qualified.QCStatement;
@@ -361,6 +361,16 @@ public final class DSSASN1Utils {
 	 * @return true if the certificate has the id_pkix_ocsp_nocheck extension
 	 */
 	public static boolean hasIdPkixOcspNoCheckExtension(CertificateToken token) {
+		final CertificateExtensions extensions = token.getExtensions();
+		Boolean result = extensions.getIdPkixOcspNoCheck();
+		if (result == null) {
+			result = decodeIdPkixOcspNoCheckExtension(token);
+			extensions.setIdPkixOcspNoCheck(result);
+		}
+		return result;
+	}
+
+	private static boolean decodeIdPkixOcspNoCheckExtension(CertificateToken token) {
 		final byte[] extensionValue = token.getCertificate().getExtensionValue(OCSPObjectIdentifiers.id_pkix_ocsp_nocheck.getId());
 		if (extensionValue != null) {
 			try {
@@ -376,6 +386,16 @@ public final class DSSASN1Utils {
 	}
 
 	public static List<CertificatePolicy> getCertificatePolicies(final CertificateToken certToken) {
+		final CertificateExtensions extensions = certToken.getExtensions();
+		List<CertificatePolicy> result = extensions.getCertificatePolicies();
+		if (result == null) {
+			result = decodeCertificatePolicies(certToken);
+			extensions.setCertificatePolicies(result);
+		}
+		return new ArrayList<CertificatePolicy>(result);
+	}
+
+	private static List<CertificatePolicy> decodeCertificatePolicies(final CertificateToken certToken) {
 		List<CertificatePolicy> certificatePolicies = new ArrayList<CertificatePolicy>();
 		final byte[] certificatePoliciesBinaries = certToken.getCertificate().getExtensionValue(Extension.certificatePolicies.getId());
 		if (Utils.isArrayNotEmpty(certificatePoliciesBinaries)) {
@@ -412,6 +432,16 @@ public final class DSSASN1Utils {
 	 * @return the list of QC Statements oids
 	 */
 	public static List<String> getQCStatementsIdList(final CertificateToken certToken) {
+		final CertificateExtensions extensions = certToken.getExtensions();
+		List<String> result = extensions.getQcStatementsIds();
+		if (result == null) {
+			result = decodeQCStatementsIdList(certToken);
+			extensions.setQcStatementsIds(result);
+		}
+		return new ArrayList<String>(result);
+	}
+
+	private static List<String> decodeQCStatementsIdList(final CertificateToken certToken) {
 		final List<String> extensionIdList = new ArrayList<String>();
 		final byte[] qcStatement = certToken.getCertificate().getExtensionValue(Extension.qCStatements.getId());
 		if (Utils.isArrayNotEmpty(qcStatement)) {
@@ -438,6 +468,16 @@ public final class DSSASN1Utils {
 	 * @return the list of QCTypes oids
 	 */
 	public static List<String> getQCTypesIdList(final CertificateToken certToken) {
+		final CertificateExtensions extensions = certToken.getExtensions();
+		List<String> result = extensions.getQcTypesIds();
+		if (result == null) {
+			result = decodeQCTypesIdList(certToken);
+			extensions.setQcTypesIds(result);
+		}
+		return new ArrayList<String>(result);
+	}
+
+	private static List<String> decodeQCTypesIdList(final CertificateToken certToken) {
 		final List<String> qcTypesIdList = new ArrayList<String>();
 		final byte[] qcStatement = certToken.getCertificate().getExtensionValue(Extension.qCStatements.getId());
 		if (Utils.isArrayNotEmpty(qcStatement)) {
@@ -499,16 +539,17 @@ public final class DSSASN1Utils {
 	 */
 	public static byte[] getSki(final CertificateToken certificateToken, boolean computeIfMissing) throws DSSException {
 		try {
-			byte[] sKI = certificateToken.getCertificate().getExtensionValue(Extension.subjectKeyIdentifier.getId());
-			if (Utils.isArrayNotEmpty(sKI)) {
-				ASN1Primitive extension = X509ExtensionUtil.fromExtensionValue(sKI);
-				SubjectKeyIdentifier skiBC = SubjectKeyIdentifier.getInstance(extension);
-				return skiBC.getKeyIdentifier();
+			final CertificateExtensions extensions = certificateToken.getExtensions();
+			byte[] ski = extensions.getSki();
+			if (ski == null) {
+				ski = decodeSki(certificateToken);
+				extensions.setSki(ski);
+			}
+			if (Utils.isArrayNotEmpty(ski)) {
+				return ski;
 			} else if (computeIfMissing) {
 				// If extension not present, we compute it from the certificate public key
-				DLSequence seq = (DLSequence) DERSequence.fromByteArray(certificateToken.getPublicKey().getEncoded());
-				DERBitString item = (DERBitString) seq.getObjectAt(1);
-				return DSSUtils.digest(DigestAlgorithm.SHA1, item.getOctets());
+				return getPublicKeyHash(certificateToken);
 			}
 			return null;
 		} catch (Exception e) {
@@ -516,6 +557,85 @@ public final class DSSASN1Utils {
 		}
 	}
 
+	/**
+	 * This method computes the SHA-1 digest of the subjectPublicKey of the certificate (method (1) of RFC 5280 to
+	 * generate the key identifiers, also used by the OCSP ResponderID byKey).
+	 *
+	 * @param certificateToken
+	 *            {@code CertificateToken}
+	 * @return the public key hash
+	 * @throws DSSException
+	 *             if encoding error occurred
+	 */
+	public static byte[] getPublicKeyHash(final CertificateToken certificateToken) throws DSSException {
+		final CertificateExtensions extensions = certificateToken.getExtensions();
+		byte[] publicKeyHash = extensions.getPublicKeyHash();
+		if (publicKeyHash == null) {
+			try {
+				SubjectPublicKeyInfo publicKeyInfo = SubjectPublicKeyInfo.getInstance(certificateToken.getPublicKey().getEncoded());
+				publicKeyHash = DSSUtils.digest(DigestAlgorithm.SHA1, publicKeyInfo.getPublicKeyData().getBytes());
+			} catch (IllegalArgumentException e) {
+				throw new DSSException("Unable to decode the public key", e);
+			}
+			extensions.setPublicKeyHash(publicKeyHash);
+		}
+		return publicKeyHash;
+	}
+
+	/**
+	 * This method returns the key identifier of the AKI extension of the certificate.
+	 *
+	 * @param certificateToken
+	 *            the {@code CertificateToken}
+	 * @return the key identifier from the given certificate or null if missing
+	 * @throws DSSException
+	 *             if encoding error occurred
+	 */
+	public static byte[] getAki(final CertificateToken certificateToken) throws DSSException {
+		final CertificateExtensions extensions = certificateToken.getExtensions();
+		byte[] aki = extensions.getAki();
+		if (aki == null) {
+			aki = decodeAki(certificateToken);
+			extensions.setAki(aki);
+		}
+		if (Utils.isArrayNotEmpty(aki)) {
+			return aki;
+		}
+		return null;
+	}
+
+	/**
+	 * @return the key identifier from the AKI extension or an empty array if missing
+	 */
+	private static byte[] decodeAki(final CertificateToken certificateToken) {
+		byte[] extensionValue = certificateToken.getCertificate().getExtensionValue(Extension.authorityKeyIdentifier.getId());
+		if (Utils.isArrayNotEmpty(extensionValue)) {
+			try {
+				ASN1Primitive extension = X509ExtensionUtil.fromExtensionValue(extensionValue);
+				byte[] keyIdentifier = AuthorityKeyIdentifier.getInstance(extension).getKeyIdentifier();
+				if (keyIdentifier != null) {
+					return keyIdentifier;
+				}
+			} catch (Exception e) {
+				LOG.warn("Unable to decode the AKI extension of certificate {} : {}", certificateToken.getDSSIdAsString(), e.getMessage());
+			}
+		}
+		return new byte[0];
+	}
+
+	/**
+	 * @return the SKI bytes from the extension or an empty array if missing
+	 */
+	private static byte[] decodeSki(final CertificateToken certificateToken) throws IOException {
+		byte[] sKI = certificateToken.getCertificate().getExtensionValue(Extension.subjectKeyIdentifier.getId());
+		if (Utils.isArrayNotEmpty(sKI)) {
+			ASN1Primitive extension = X509ExtensionUtil.fromExtensionValue(sKI);
+			SubjectKeyIdentifier skiBC = SubjectKeyIdentifier.getInstance(extension);
+			return skiBC.getKeyIdentifier();
+		}
+		return new byte[0];
+	}
+
 	/**
 	 * Gives back the CA URIs meta-data found within the given certificate.
 	 *
@@ -524,7 +644,13 @@ public final class DSSASN1Utils {
 	 * @return a list of CA URIs, or empty list if the extension is not present.
 	 */
 	public static List<String> getCAAccessLocations(final CertificateToken certificate) {
-		return getAccessLocations(certificate, X509ObjectIdentifiers.id_ad_caIssuers);
+		final CertificateExtensions extensions = certificate.getExtensions();
+		List<String> result = extensions.getCaAccessLocations();
+		if (result == null) {
+			result = getAccessLocations(certificate, X509ObjectIdentifiers.id_ad_caIssuers);
+			extensions.setCaAccessLocations(result);
+		}
+		return new ArrayList<String>(result);
 	}
 
 	/**
@@ -548,11 +674,16 @@ public final class DSSASN1Utils {
 	 * @return a list of OCSP URIs, or empty list if the extension is not present.
 	 */
 	public static List<String> getOCSPAccessLocations(final CertificateToken certificate, boolean checkInTrustAnchors) {
-		List<String> ocspUrls = getAccessLocations(certificate, X509ObjectIdentifiers.id_ad_ocsp);
+		final CertificateExtensions extensions = certificate.getExtensions();
+		List<String> ocspUrls = extensions.getOcspAccessLocations();
+		if (ocspUrls == null) {
+			ocspUrls = getAccessLocations(certificate, X509ObjectIdentifiers.id_ad_ocsp);
+			extensions.setOcspAccessLocations(ocspUrls);
+		}
 		if (Utils.isCollectionEmpty(ocspUrls) && checkInTrustAnchors) {
 			return getServiceSupplyPoints(certificate, "ocsp");
 		}
-		return ocspUrls;
+		return new ArrayList<String>(ocspUrls);
 	}
 
 	private static List<String> getAccessLocations(final CertificateToken certificate, ASN1ObjectIdentifier aiaType) {
@@ -595,6 +726,19 @@ public final class DSSASN1Utils {
 	 * @return the {@code List} of CRL URI, or empty list if the extension is not present
 	 */
 	public static List<String> getCrlUrls(final CertificateToken certificateToken, boolean checkInTrustAnchors) {
+		final CertificateExtensions extensions = certificateToken.getExtensions();
+		List<String> urls = extensions.getCrlUrls();
+		if (urls == null) {
+			urls = decodeCrlUrls(certificateToken);
+			extensions.setCrlUrls(urls);
+		}
+		if (Utils.isCollectionEmpty(urls) && checkInTrustAnchors) {
+			return getServiceSupplyPoints(certificateToken, "crl", "certificateRevocationList");
+		}
+		return new ArrayList<String>(urls);
+	}
+
+	private static List<String> decodeCrlUrls(final CertificateToken certificateToken) {
 		final List<String> urls = new ArrayList<String>();
 
 		final byte[] crlDistributionPointsBytes = certificateToken.getCertificate().getExtensionValue(Extension.cRLDistributionPoints.getId());
@@ -622,10 +766,6 @@ public final class DSSASN1Utils {
 				LOG.error("Unable to parse cRLDistributionPoints", e);
 			}
 		}
-
-		if (Utils.isCollectionEmpty(urls) && checkInTrustAnchors) {
-			return getServiceSupplyPoints(certificateToken, "crl", "certificateRevocationList");
-		}
 		return urls;
 	}
 
@@ -685,15 +825,7 @@ public final class DSSASN1Utils {
 	}
 
 	public static boolean isExtendedKeyUsagePresent(CertificateToken certToken, ASN1ObjectIdentifier oid) {
-		try {
-			List<String> keyPurposes = certToken.getCertificate().getExtendedKeyUsage();
-			if ((keyPurposes != null) && keyPurposes.contains(oid.getId())) {
-				return true;
-			}
-		} catch (CertificateParsingException e) {
-			LOG.error("Unable to retrieve ExtendedKeyUsage from certificate", e);
-		}
-		return false;
+		return getExtendedKeyUsage(certToken).contains(oid.getId());
 	}
 
 	/**
@@ -918,12 +1050,19 @@ public final class DSSASN1Utils {
 	}
 
 	public static List<String> getExtendedKeyUsage(CertificateToken certToken) {
-		try {
-			return certToken.getCertificate().getExtendedKeyUsage();
-		} catch (CertificateParsingException e) {
-			LOG.warn("Unable to retrieve ExtendedKeyUsage " + e.getMessage());
-			return Collections.emptyList();
+		final CertificateExtensions extensions = certToken.getExtensions();
+		List<String> result = extensions.getExtendedKeyUsages();
+		if (result == null) {
+			List<String> keyPurposes = null;
+			try {
+				keyPurposes = certToken.getCertificate().getExtendedKeyUsage();
+			} catch (CertificateParsingException e) {
+				LOG.warn("Unable to retrieve ExtendedKeyUsage " + e.getMessage());
+			}
+			extensions.setExtendedKeyUsages(keyPurposes != null ? keyPurposes : Collections.<String> emptyList());
+			result = extensions.getExtendedKeyUsages();
 		}
+		return result;
 	}
 
 }
\ No newline at end of file
@@ -50,10 +50,13 @@ import java.util.Calendar;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.Future;
 
 import javax.security.auth.x500.X500Principal;
 
@@ -66,6 +69,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import eu.europa.esig.dss.client.http.DataLoader;
+import eu.europa.esig.dss.client.http.DataLoaderFuture;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.x509.CertificateToken;
 
@@ -77,6 +81,11 @@ public final class DSSUtils {
 
 	public static final byte[] EMPTY_BYTE_ARRAY = new byte[0];
 
+	/**
+	 * The size of the buffer used to digest a stream with several algorithms
+	 */
+	private static final int MULTI_DIGEST_BUFFER_SIZE = 64 * 1024;
+
 	public static final String DEFAULT_DATE_TIME_FORMAT = "yyyy-MM-dd'T'HH:mm:ss'Z'";
 
 	/**
@@ -297,41 +306,101 @@ public final class DSSUtils {
 	 * @return a list of potential issuers
 	 */
 	public static Collection<CertificateToken> loadPotentialIssuerCertificates(final CertificateToken cert, final DataLoader loader) {
+		List<String> urls = getAIAUrls(cert, loader);
+		if (Utils.isCollectionEmpty(urls)) {
+			return Collections.emptyList();
+		}
+		return loadPotentialIssuerCertificates(urls, loader);
+	}
+
+	/**
+	 * This method starts the loading of the potential issuer certificate(s) from the given locations (AIA). The first
+	 * location is requested asynchronously (if the loader is an {@code AsyncDataLoader}), the other ones are only
+	 * requested if needed, when the result is collected.
+	 * 
+	 * @param cert
+	 *            certificate for which the issuer(s) should be loaded
+	 * @param loader
+	 *            the data loader to use
+	 * @return the {@code Future} of the list of potential issuers
+	 */
+	public static Future<Collection<CertificateToken>> loadPotentialIssuerCertificatesAsync(final CertificateToken cert, final DataLoader loader) {
+		final List<String> urls = getAIAUrls(cert, loader);
+		if (Utils.isCollectionEmpty(urls)) {
+			return DataLoaderFuture.<Collection<CertificateToken>> completed(Collections.<CertificateToken> emptyList());
+		}
+		final String firstUrl = urls.get(0);
+		final List<String> otherUrls = urls.subList(1, urls.size());
+		LOG.debug("Loading certificate(s) from {}", firstUrl);
+		return new DataLoaderFuture<Collection<CertificateToken>>(DataLoaderFuture.get(loader, firstUrl)) {
+
+			@Override
+			protected Collection<CertificateToken> transform(byte[] bytes) {
+				Collection<CertificateToken> certificates = parsePotentialIssuerCertificates(firstUrl, bytes);
+				if (certificates != null) {
+					return certificates;
+				}
+				return loadPotentialIssuerCertificates(otherUrls, loader);
+			}
+
+			@Override
+			protected Collection<CertificateToken> recover(Throwable cause) {
+				LOG.warn("Unable to download certificate from '{}': {}", firstUrl, cause.getMessage());
+				return loadPotentialIssuerCertificates(otherUrls, loader);
+			}
+		};
+	}
+
+	private static List<String> getAIAUrls(final CertificateToken cert, final DataLoader loader) {
 		List<String> urls = DSSASN1Utils.getCAAccessLocations(cert);
 
 		if (Utils.isCollectionEmpty(urls)) {
 			LOG.info("There is no AIA extension for certificate download.");
-			return Collections.emptyList();
+			return null;
 		}
 		if (loader == null) {
 			LOG.warn("There is no DataLoader defined to load Certificates from AIA extension (urls : {})", urls);
-			return Collections.emptyList();
+			return null;
 		}
+		return urls;
+	}
 
+	private static Collection<CertificateToken> loadPotentialIssuerCertificates(final List<String> urls, final DataLoader loader) {
 		for (String url : urls) {
 			LOG.debug("Loading certificate(s) from {}", url);
 			byte[] bytes = null;
 			try {
 				bytes = loader.get(url);
 			} catch (Exception e) {
-				LOG.warn("Unable to download certificate from '" + url + "': ", e.getMessage());
+				LOG.warn("Unable to download certificate from '{}': {}", url, e.getMessage());
 				continue;
 			}
-			if (Utils.isArrayNotEmpty(bytes)) {
-				LOG.debug("Base64 content : {}", Utils.toBase64(bytes));
-				try (InputStream is = new ByteArrayInputStream(bytes)) {
-					return loadCertificates(is);
-				} catch (Exception e) {
-					LOG.warn("Unable to parse certificate(s) from AIA (url: {}) : {}", url, e.getMessage());
-				}
-			} else {
-				LOG.warn("Empty content from {}.", url);
+			Collection<CertificateToken> certificates = parsePotentialIssuerCertificates(url, bytes);
+			if (certificates != null) {
+				return certificates;
 			}
 		}
 
 		return Collections.emptyList();
 	}
 
+	/**
+	 * Returns null if the certificates cannot be obtained from the downloaded content
+	 */
+	private static Collection<CertificateToken> parsePotentialIssuerCertificates(final String url, final byte[] bytes) {
+		if (Utils.isArrayNotEmpty(bytes)) {
+			LOG.debug("Base64 content : {}", Utils.toBase64(bytes));
+			try (InputStream is = new ByteArrayInputStream(bytes)) {
+				return loadCertificates(is);
+			} catch (Exception e) {
+				LOG.warn("Unable to parse certificate(s) from AIA (url: {}) : {}", url, e.getMessage());
+			}
+		} else {
+			LOG.warn("Empty content from {}.", url);
+		}
+		return null;
+	}
+
 	/**
 	 * This method digests the given string with SHA1 algorithm and encode returned array of bytes as hex string.
 	 *
@@ -410,6 +479,57 @@ public final class DSSUtils {
 		}
 	}
 
+	/**
+	 * This method digests the data in the {@code InputStream} with all the given algorithms. The stream is read only
+	 * once.
+	 *
+	 * @param digestAlgorithms
+	 *            the algorithms to use
+	 * @param inputStream
+	 *            the data to digest
+	 * @return the digest values by algorithm
+	 */
+	public static Map<DigestAlgorithm, byte[]> digest(final Collection<DigestAlgorithm> digestAlgorithms, final InputStream inputStream)
+			throws DSSException {
+		try {
+			final Map<DigestAlgorithm, MessageDigest> messageDigests = new EnumMap<DigestAlgorithm, MessageDigest>(DigestAlgorithm.class);
+			for (final DigestAlgorithm digestAlgorithm : digestAlgorithms) {
+				messageDigests.put(digestAlgorithm, getMessageDigest(digestAlgorithm));
+			}
+			final byte[] buffer = new byte[MULTI_DIGEST_BUFFER_SIZE];
+			int count = 0;
+			while ((count = inputStream.read(buffer)) > 0) {
+				for (final MessageDigest messageDigest : messageDigests.values()) {
+					messageDigest.update(buffer, 0, count);
+				}
+			}
+			final Map<DigestAlgorithm, byte[]> digestValues = new EnumMap<DigestAlgorithm, byte[]>(DigestAlgorithm.class);
+			for (final Entry<DigestAlgorithm, MessageDigest> entry : messageDigests.entrySet()) {
+				digestValues.put(entry.getKey(), entry.getValue().digest());
+			}
+			return digestValues;
+		} catch (IOException e) {
+			throw new DSSException(e);
+		}
+	}
+
+	/**
+	 * This method digests the document content with all the given algorithms. The content is read only once.
+	 *
+	 * @param digestAlgorithms
+	 *            the algorithms to use
+	 * @param document
+	 *            the document to digest
+	 * @return the digest values by algorithm
+	 */
+	public static Map<DigestAlgorithm, byte[]> digest(final Collection<DigestAlgorithm> digestAlgorithms, final DSSDocument document) {
+		try (InputStream is = document.openStream()) {
+			return digest(digestAlgorithms, is);
+		} catch (IOException e) {
+			throw new DSSException(e);
+		}
+	}
+
 	public static byte[] digest(DigestAlgorithm digestAlgorithm, byte[]... data) {
 		final MessageDigest messageDigest = getMessageDigest(digestAlgorithm);
 		for (final byte[] bytes : data) {
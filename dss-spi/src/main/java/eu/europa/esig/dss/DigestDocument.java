@@ -22,6 +22,7 @@ package eu.europa.esig.dss;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collection;
 
 /**
  * Digest representation of a {@code DSSDocument}. It can be used to handle a large file to be signed. The computation
@@ -58,6 +59,14 @@ public class DigestDocument extends CommonDocument {
 		return base64EncodeDigest;
 	}
 
+	/**
+	 * The digests of a {@code DigestDocument} are computed externally (see
+	 * {@link #addDigest(DigestAlgorithm, String)}) : nothing is computed.
+	 */
+	@Override
+	public void computeDigests(final Collection<DigestAlgorithm> digestAlgorithms) {
+	}
+
 	@Override
 	public InputStream openStream() throws DSSException {
 		throw new DSSException("Digest document");
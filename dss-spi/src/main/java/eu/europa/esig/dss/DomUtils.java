@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -56,6 +57,27 @@ public final class DomUtils {
 
 	private static final Map<String, String> namespaces;
 
+	/**
+	 * Maximum number of compiled XPath expressions kept by thread
+	 */
+	private static final int XPATH_CACHE_SIZE = 500;
+
+	/**
+	 * Incremented each time a namespace is registered : the prefixes are resolved at the compilation time, the cached
+	 * expressions need to be compiled again. It is only written while holding the DomUtils class lock.
+	 */
+	private static volatile int namespacesVersion = 0;
+
+	/**
+	 * XPathExpression is not thread-safe : the compiled expressions are cached by thread with the query string as key
+	 */
+	private static final ThreadLocal<XPathExpressionCache> xpathExpressionCache = new ThreadLocal<XPathExpressionCache>() {
+		@Override
+		protected XPathExpressionCache initialValue() {
+			return new XPathExpressionCache();
+		}
+	};
+
 	static {
 		namespacePrefixMapper = new NamespaceContextMap();
 		namespaces = new HashMap<String, String>();
@@ -101,12 +123,27 @@ public final class DomUtils {
 	 *            namespace
 	 * @return true if this map did not already contain the specified element
 	 */
-	public static boolean registerNamespace(final String prefix, final String namespace) {
+	public static synchronized boolean registerNamespace(final String prefix, final String namespace) {
 		final String put = namespaces.put(prefix, namespace);
 		namespacePrefixMapper.registerNamespace(prefix, namespace);
+		namespacesVersion++;
 		return put == null;
 	}
 
+	/**
+	 * This method removes a registered prefix (used by the tests to restore the default namespaces).
+	 *
+	 * @param prefix
+	 *            namespace prefix
+	 * @return true if the prefix was registered
+	 */
+	static synchronized boolean unregisterNamespace(final String prefix) {
+		final String removed = namespaces.remove(prefix);
+		namespacePrefixMapper.unregisterNamespace(prefix);
+		namespacesVersion++;
+		return removed != null;
+	}
+
 	/**
 	 * This method returns a new instance of TransformerFactory with secured features enabled
 	 * 
@@ -251,6 +288,31 @@ public final class DomUtils {
 		return dom;
 	}
 
+	/**
+	 * This method returns the compiled XPathExpression for the given xpath expression. The expression is compiled only
+	 * once by thread (and again if a namespace is registered in the meantime).
+	 * 
+	 * @param xpathString
+	 *            XPath query string
+	 * @return an instance of {@code XPathExpression} for the given xpathString, only usable by the current thread
+	 * @throws DSSException
+	 *             if the xpath expression cannot be compiled
+	 */
+	private static XPathExpression getXPathExpression(final String xpathString) throws DSSException {
+		final XPathExpressionCache cache = xpathExpressionCache.get();
+		final int currentVersion = namespacesVersion;
+		if (cache.version != currentVersion) {
+			cache.clear();
+			cache.version = currentVersion;
+		}
+		XPathExpression expr = cache.get(xpathString);
+		if (expr == null) {
+			expr = createXPathExpression(xpathString);
+			cache.put(xpathString, expr);
+		}
+		return expr;
+	}
+
 	/**
 	 * This method creates a new instance of XPathExpression with the given xpath expression
 	 * 
@@ -284,7 +346,7 @@ public final class DomUtils {
 	 */
 	public static String getValue(final Node xmlNode, final String xPathString) throws DSSException {
 		try {
-			final XPathExpression xPathExpression = createXPathExpression(xPathString);
+			final XPathExpression xPathExpression = getXPathExpression(xPathString);
 			final String string = (String) xPathExpression.evaluate(xmlNode, XPathConstants.STRING);
 			return string.trim();
 		} catch (XPathExpressionException e) {
@@ -305,7 +367,7 @@ public final class DomUtils {
 	 */
 	public static NodeList getNodeList(final Node xmlNode, final String xPathString) throws DSSException {
 		try {
-			final XPathExpression expr = createXPathExpression(xPathString);
+			final XPathExpression expr = getXPathExpression(xPathString);
 			final NodeList evaluated = (NodeList) expr.evaluate(xmlNode, XPathConstants.NODESET);
 			return evaluated;
 		} catch (XPathExpressionException e) {
@@ -548,4 +610,23 @@ public final class DomUtils {
 		return id;
 	}
 
+	/**
+	 * Per thread LRU cache of compiled XPath expressions
+	 */
+	@SuppressWarnings("serial")
+	private static final class XPathExpressionCache extends LinkedHashMap<String, XPathExpression> {
+
+		private int version = -1;
+
+		private XPathExpressionCache() {
+			super(16, 0.75f, true);
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, XPathExpression> eldest) {
+			return size() > XPATH_CACHE_SIZE;
+		}
+
+	}
+
 }
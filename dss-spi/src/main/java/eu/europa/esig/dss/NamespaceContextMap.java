@@ -60,6 +60,26 @@ public final class NamespaceContextMap implements NamespaceContext {
 		return put == null;
 	}
 
+	/**
+	 * This method removes the given prefix.
+	 *
+	 * @param prefix namespace prefix
+	 * @return true if the prefix was registered
+	 */
+	boolean unregisterNamespace(final String prefix) {
+
+		final String namespace = prefixMap.remove(prefix);
+		if (namespace == null) {
+			return false;
+		}
+		final Set<String> prefixes = namespaceMap.get(namespace);
+		prefixes.remove(prefix);
+		if (prefixes.isEmpty()) {
+			namespaceMap.remove(namespace);
+		}
+		return true;
+	}
+
 	private void createNamespace(final String prefix, final String namespace) {
 
 		Set<String> prefixes = namespaceMap.get(namespace);
@@ -0,0 +1,51 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+package eu.europa.esig.dss.client.http;
+
+import java.util.concurrent.Future;
+
+/**
+ * DataLoader which is also able to execute the requests asynchronously : the caller can keep several requests in flight
+ * and collect the responses when it needs them.
+ */
+public interface AsyncDataLoader extends DataLoader {
+
+	/**
+	 * Starts a HTTP GET operation.
+	 *
+	 * @param url
+	 *            the url to access
+	 * @return the {@code Future} of the obtained data
+	 */
+	Future<byte[]> getAsync(final String url);
+
+	/**
+	 * Starts a HTTP POST operation.
+	 *
+	 * @param url
+	 *            to access
+	 * @param content
+	 *            the content to post
+	 * @return the {@code Future} of the obtained data
+	 */
+	Future<byte[]> postAsync(final String url, final byte[] content);
+
+}
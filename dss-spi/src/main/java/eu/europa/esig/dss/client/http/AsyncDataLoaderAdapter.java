@@ -0,0 +1,99 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+package eu.europa.esig.dss.client.http;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import eu.europa.esig.dss.DSSException;
+
+/**
+ * This class allows to use any {@code DataLoader} asynchronously : the requests are executed by the given
+ * {@code ExecutorService}. The executor service is shared between the requests and is not shut down by this class.
+ */
+@SuppressWarnings("serial")
+public class AsyncDataLoaderAdapter implements AsyncDataLoader {
+
+	private final DataLoader dataLoader;
+
+	private final transient ExecutorService executorService;
+
+	public AsyncDataLoaderAdapter(final DataLoader dataLoader, final ExecutorService executorService) {
+		if (dataLoader == null) {
+			throw new DSSException("The DataLoader is required");
+		}
+		if (executorService == null) {
+			throw new DSSException("The ExecutorService is required");
+		}
+		this.dataLoader = dataLoader;
+		this.executorService = executorService;
+	}
+
+	@Override
+	public Future<byte[]> getAsync(final String url) {
+		return executorService.submit(new Callable<byte[]>() {
+
+			@Override
+			public byte[] call() {
+				return dataLoader.get(url);
+			}
+		});
+	}
+
+	@Override
+	public Future<byte[]> postAsync(final String url, final byte[] content) {
+		return executorService.submit(new Callable<byte[]>() {
+
+			@Override
+			public byte[] call() {
+				return dataLoader.post(url, content);
+			}
+		});
+	}
+
+	@Override
+	public byte[] get(final String url) {
+		return dataLoader.get(url);
+	}
+
+	@Override
+	public DataAndUrl get(final List<String> urlStrings) {
+		return dataLoader.get(urlStrings);
+	}
+
+	@Override
+	public byte[] get(final String url, final boolean refresh) {
+		return dataLoader.get(url, refresh);
+	}
+
+	@Override
+	public byte[] post(final String url, final byte[] content) {
+		return dataLoader.post(url, content);
+	}
+
+	@Override
+	public void setContentType(final String contentType) {
+		dataLoader.setContentType(contentType);
+	}
+
+}
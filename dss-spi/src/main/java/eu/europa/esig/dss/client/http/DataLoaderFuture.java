@@ -0,0 +1,203 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+package eu.europa.esig.dss.client.http;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import eu.europa.esig.dss.DSSException;
+
+/**
+ * {@code Future} of an object built from the response of a {@code DataLoader}. The response is transformed (parsed,
+ * validated,...) by the thread which collects the result; the transformation is executed only once.
+ *
+ * @param <T>
+ *            the type of the built object
+ */
+public abstract class DataLoaderFuture<T> implements Future<T> {
+
+	private final Future<byte[]> response;
+
+	private boolean completed;
+
+	private T result;
+
+	private Exception failure;
+
+	protected DataLoaderFuture(final Future<byte[]> response) {
+		this.response = response;
+	}
+
+	/**
+	 * Builds the result from the obtained data.
+	 *
+	 * @param data
+	 *            the data returned by the {@code DataLoader}
+	 * @return the result
+	 * @throws Exception
+	 *             if the result cannot be built
+	 */
+	protected abstract T transform(final byte[] data) throws Exception;
+
+	/**
+	 * Called when the data could not be obtained. By default the cause is re-thrown.
+	 *
+	 * @param cause
+	 *            the exception thrown by the {@code DataLoader}
+	 * @return a result built without the data
+	 * @throws Exception
+	 *             if no result can be built
+	 */
+	protected T recover(final Throwable cause) throws Exception {
+		if (cause instanceof Exception) {
+			throw (Exception) cause;
+		}
+		throw new DSSException(cause);
+	}
+
+	@Override
+	public boolean cancel(final boolean mayInterruptIfRunning) {
+		return response.cancel(mayInterruptIfRunning);
+	}
+
+	@Override
+	public boolean isCancelled() {
+		return response.isCancelled();
+	}
+
+	@Override
+	public boolean isDone() {
+		return response.isDone();
+	}
+
+	@Override
+	public T get() throws InterruptedException, ExecutionException {
+		final byte[] data;
+		try {
+			data = response.get();
+		} catch (ExecutionException e) {
+			return complete(null, e.getCause());
+		}
+		return complete(data, null);
+	}
+
+	@Override
+	public T get(final long timeout, final TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+		final byte[] data;
+		try {
+			data = response.get(timeout, unit);
+		} catch (ExecutionException e) {
+			return complete(null, e.getCause());
+		}
+		return complete(data, null);
+	}
+
+	private synchronized T complete(final byte[] data, final Throwable cause) throws ExecutionException {
+		if (!completed) {
+			try {
+				result = (cause == null) ? transform(data) : recover(cause);
+			} catch (Exception e) {
+				failure = e;
+			}
+			completed = true;
+		}
+		if (failure != null) {
+			throw new ExecutionException(failure);
+		}
+		return result;
+	}
+
+	/**
+	 * Starts a HTTP GET operation with the given {@code DataLoader}. If the {@code DataLoader} is not an
+	 * {@code AsyncDataLoader}, the operation is executed by the current thread.
+	 *
+	 * @param dataLoader
+	 *            the {@code DataLoader} to use
+	 * @param url
+	 *            the url to access
+	 * @return the {@code Future} of the obtained data
+	 */
+	public static Future<byte[]> get(final DataLoader dataLoader, final String url) {
+		if (dataLoader instanceof AsyncDataLoader) {
+			return ((AsyncDataLoader) dataLoader).getAsync(url);
+		}
+		return run(new Callable<byte[]>() {
+
+			@Override
+			public byte[] call() {
+				return dataLoader.get(url);
+			}
+		});
+	}
+
+	/**
+	 * Starts a HTTP POST operation with the given {@code DataLoader}. If the {@code DataLoader} is not an
+	 * {@code AsyncDataLoader}, the operation is executed by the current thread.
+	 *
+	 * @param dataLoader
+	 *            the {@code DataLoader} to use
+	 * @param url
+	 *            to access
+	 * @param content
+	 *            the content to post
+	 * @return the {@code Future} of the obtained data
+	 */
+	public static Future<byte[]> post(final DataLoader dataLoader, final String url, final byte[] content) {
+		if (dataLoader instanceof AsyncDataLoader) {
+			return ((AsyncDataLoader) dataLoader).postAsync(url, content);
+		}
+		return run(new Callable<byte[]>() {
+
+			@Override
+			public byte[] call() {
+				return dataLoader.post(url, content);
+			}
+		});
+	}
+
+	/**
+	 * Returns an already completed {@code Future}.
+	 *
+	 * @param value
+	 *            the result
+	 * @return the completed {@code Future}
+	 */
+	public static <T> Future<T> completed(final T value) {
+		return run(new Callable<T>() {
+
+			@Override
+			public T call() {
+				return value;
+			}
+		});
+	}
+
+	private static <T> Future<T> run(final Callable<T> callable) {
+		final FutureTask<T> task = new FutureTask<T>(callable);
+		task.run();
+		return task;
+	}
+
+}
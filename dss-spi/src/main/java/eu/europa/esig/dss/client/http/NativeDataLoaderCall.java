@@ -42,12 +42,23 @@ public class NativeDataLoaderCall implements Callable<byte[]> {
 
 	private boolean useCaches;
 
+	private long timeout;
+
 	public NativeDataLoaderCall(String url, byte[] content, boolean useCaches, long maxInputSize) {
+		this(url, content, useCaches, maxInputSize, 0);
+	}
+
+	/**
+	 * @param timeout
+	 *            the connect and read timeouts of the connection in milliseconds (0 means no timeout)
+	 */
+	public NativeDataLoaderCall(String url, byte[] content, boolean useCaches, long maxInputSize, long timeout) {
 		super();
 		this.url = url;
 		this.content = content;
 		this.useCaches = useCaches;
 		this.maxInputSize = maxInputSize;
+		this.timeout = timeout;
 	}
 	
 	public byte[] call() {
@@ -58,6 +69,11 @@ public class NativeDataLoaderCall implements Callable<byte[]> {
 			URLConnection connection = createConnection();
 
 			connection.setUseCaches(useCaches);
+			if (timeout > 0) {
+				int connectionTimeout = (int) Math.min(timeout, Integer.MAX_VALUE);
+				connection.setConnectTimeout(connectionTimeout);
+				connection.setReadTimeout(connectionTimeout);
+			}
 			connection.setDoInput(true);
 			if (content != null) {
 				connection.setDoOutput(true);
@@ -94,4 +110,8 @@ public class NativeDataLoaderCall implements Callable<byte[]> {
 	public boolean isUseCaches() {
 		return useCaches;
 	}
+
+	public long getTimeout() {
+		return timeout;
+	}
 }
\ No newline at end of file
@@ -36,8 +36,11 @@ import eu.europa.esig.dss.DSSException;
 /**
  * Implementation of native java DataLoader using the java.net.URL class.
  *
+ * The requests are executed by the {@code ExecutorService} given with {@link #setExecutorService(ExecutorService)},
+ * which also allows to execute them asynchronously. Without executor service, each request is executed by its own
+ * thread. The timeout applies to the connection of the synchronous and asynchronous requests.
  */
-public class NativeHTTPDataLoader implements DataLoader {
+public class NativeHTTPDataLoader implements AsyncDataLoader {
 
 	public enum HttpMethod {
 		GET, POST
@@ -52,19 +55,32 @@ public class NativeHTTPDataLoader implements DataLoader {
 	 */
 	private long timeout = 0;
 
-	protected byte[] request(String url, HttpMethod method, byte[] content, boolean refresh) {
-		NativeDataLoaderCall task = new NativeDataLoaderCall(url, content, refresh, maxInputSize);
+	/**
+	 * The executor service of the requests (not shut down by this class)
+	 */
+	private transient ExecutorService executorService;
 
-		ExecutorService executorService = Executors.newSingleThreadExecutor();
+	protected byte[] request(String url, HttpMethod method, byte[] content, boolean refresh) {
+		Future<byte[]> result = requestAsync(url, method, content, refresh);
 		try {
-			Future<byte[]> result = executorService.submit(task);
 			return timeout > 0 ? result.get(timeout, TimeUnit.MILLISECONDS) : result.get();
 		} catch (InterruptedException | ExecutionException | TimeoutException e) {
+			result.cancel(true);
 			throw new DSSException(e);
-		} finally {
-			executorService.shutdown();
 		}
+	}
 
+	protected Future<byte[]> requestAsync(String url, HttpMethod method, byte[] content, boolean refresh) {
+		NativeDataLoaderCall task = new NativeDataLoaderCall(url, content, refresh, maxInputSize, timeout);
+		if (executorService != null) {
+			return executorService.submit(task);
+		}
+		ExecutorService singleThreadExecutor = Executors.newSingleThreadExecutor();
+		try {
+			return singleThreadExecutor.submit(task);
+		} finally {
+			singleThreadExecutor.shutdown();
+		}
 	}
 
 	@Override
@@ -97,6 +113,16 @@ public class NativeHTTPDataLoader implements DataLoader {
 		return request(url, HttpMethod.POST, content, false);
 	}
 
+	@Override
+	public Future<byte[]> getAsync(String url) {
+		return requestAsync(url, HttpMethod.GET, null, true);
+	}
+
+	@Override
+	public Future<byte[]> postAsync(String url, byte[] content) {
+		return requestAsync(url, HttpMethod.POST, content, false);
+	}
+
 	@Override
 	public void setContentType(String contentType) {
 		throw new DSSException("Not implemented");
@@ -117,4 +143,19 @@ public class NativeHTTPDataLoader implements DataLoader {
 	public void setTimeout(long timeout) {
 		this.timeout = timeout;
 	}
+
+	public ExecutorService getExecutorService() {
+		return executorService;
+	}
+
+	/**
+	 * This method allows to set the {@code ExecutorService} which executes the requests. It is not shut down by this
+	 * class.
+	 *
+	 * @param executorService
+	 *            the executor service to use (null to execute each request by its own thread)
+	 */
+	public void setExecutorService(ExecutorService executorService) {
+		this.executorService = executorService;
+	}
 }
@@ -20,25 +20,46 @@
  */
 package eu.europa.esig.dss.tsl;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 
+import javax.security.auth.x500.X500Principal;
+
+import eu.europa.esig.dss.x509.CertificatePool;
 import eu.europa.esig.dss.x509.CertificateSourceType;
 import eu.europa.esig.dss.x509.CertificateToken;
+import eu.europa.esig.dss.x509.CommonCertificateSource;
 import eu.europa.esig.dss.x509.CommonTrustedCertificateSource;
 
 /**
- * This class allows to inject trusted certificates from Trusted Lists
+ * This class hosts the trusted certificates and the information of the loaded trusted lists. The content is an
+ * immutable snapshot which is replaced at once (see {@link #replaceContent(CertificatePool, Map)}) : the validations
+ * running during a refresh of the trusted lists never block and keep on using a complete version of the content.
+ *
+ * The certificates added directly (see {@link #addCertificate(CertificateToken, ServiceInfo)} or
+ * {@link #importAsTrusted(CommonCertificateSource)}) are kept apart from the trusted lists content and survive its
+ * replacement. The published tokens are gathered in an immutable pool, which is shared with the validations : a
+ * validation pool references these tokens and copies a token before it modifies it (see
+ * {@link CertificatePool#merge(CertificatePool)}). The tokens returned by {@link #get(X500Principal)} and
+ * {@link #getCertificates()} are the published ones and must not be modified.
  */
 public class TrustedListsCertificateSource extends CommonTrustedCertificateSource {
 
-	private Map<String, TLInfo> tlInfos = new HashMap<String, TLInfo>();
+	private volatile Snapshot snapshot = new Snapshot(new CertificatePool(), new CertificatePool(), new HashMap<String, TLInfo>());
 
 	/**
 	 * The default constructor.
 	 */
 	public TrustedListsCertificateSource() {
 		super();
+		certPool = snapshot.certificatePool;
 	}
 
 	@Override
@@ -46,6 +67,30 @@ public class TrustedListsCertificateSource extends CommonTrustedCertificateSourc
 		return CertificateSourceType.TRUSTED_LIST;
 	}
 
+	/**
+	 * This method replaces the certificates coming from the trusted lists and the trusted lists information with a
+	 * single atomic swap. The certificates added directly to this source are kept. The given pool and map must be
+	 * completely built and must not be modified after this call.
+	 *
+	 * @param certificatePool
+	 *            the pool with the trusted certificates and their service info
+	 * @param tlInfos
+	 *            the trusted lists information by country code
+	 */
+	public synchronized void replaceContent(CertificatePool certificatePool, Map<String, TLInfo> tlInfos) {
+		publish(new Snapshot(certificatePool, snapshot.additionalPool, tlInfos));
+	}
+
+	/**
+	 * This method replaces the trusted lists information and keeps all the certificates.
+	 *
+	 * @param tlInfos
+	 *            the trusted lists information by country code
+	 */
+	public synchronized void replaceTlInfos(Map<String, TLInfo> tlInfos) {
+		publish(new Snapshot(snapshot.trustedListsPool, snapshot.additionalPool, tlInfos));
+	}
+
 	/**
 	 * This method is not applicable for this kind of certificate source. You
 	 * should use
@@ -60,16 +105,110 @@ public class TrustedListsCertificateSource extends CommonTrustedCertificateSourc
 		throw new UnsupportedOperationException("Cannot directly add certificate to a TrustedListsCertificateSource");
 	}
 
-	public void updateTlInfo(String countryCode, TLInfo info) {
+	@Override
+	protected synchronized CertificateToken addCertificate(CertificateToken cert, Set<CertificateSourceType> sources, Set<ServiceInfo> services) {
+		CertificatePool additionalPool = copyOf(snapshot.additionalPool);
+		additionalPool.getInstance(cert.copy(), sources, services);
+		publish(new Snapshot(snapshot.trustedListsPool, additionalPool, snapshot.tlInfos));
+		return getPublishedToken(cert);
+	}
+
+	/**
+	 * This method adds a trusted certificate. Each call builds a new content : several certificates should be added
+	 * with {@link #addCertificates(Collection, ServiceInfo)}.
+	 *
+	 * @param certificate
+	 *            the certificate you have to trust
+	 * @param serviceInfo
+	 *            the service information associated to the service
+	 * @return the corresponding certificate token
+	 */
+	@Override
+	public CertificateToken addCertificate(CertificateToken certificate, ServiceInfo serviceInfo) {
+		addCertificates(Collections.singletonList(certificate), serviceInfo);
+		return getPublishedToken(certificate);
+	}
+
+	/**
+	 * This method adds several trusted certificates with the same service information. The new content is built and
+	 * published once.
+	 *
+	 * @param certificates
+	 *            the certificates you have to trust
+	 * @param serviceInfo
+	 *            the service information associated to the service (can be null)
+	 */
+	public synchronized void addCertificates(Collection<CertificateToken> certificates, ServiceInfo serviceInfo) {
+		CertificatePool additionalPool = copyOf(snapshot.additionalPool);
+		for (CertificateToken certificate : certificates) {
+			additionalPool.getInstance(certificate.copy(), getCertificateSourceType(), serviceInfo);
+		}
+		publish(new Snapshot(snapshot.trustedListsPool, additionalPool, snapshot.tlInfos));
+	}
+
+	@Override
+	public void importAsTrusted(CommonCertificateSource keyStore) {
+		addCertificates(keyStore.getCertificates(), null);
+	}
+
+	private CertificateToken getPublishedToken(CertificateToken certificate) {
+		for (CertificateToken certificateToken : get(certificate.getSubjectX500Principal())) {
+			if (certificateToken.equals(certificate)) {
+				return certificateToken;
+			}
+		}
+		return null;
+	}
+
+	private void publish(Snapshot newSnapshot) {
+		certPool = newSnapshot.certificatePool;
+		snapshot = newSnapshot;
+	}
+
+	/**
+	 * This method returns the immutable pool of the published trusted certificates. It is to be merged in a validation
+	 * pool, which does not modify its tokens.
+	 *
+	 * @return the immutable pool with the trusted certificates
+	 */
+	@Override
+	public CertificatePool getCertificatePool() {
+		return snapshot.certificatePool;
+	}
+
+	@Override
+	public List<CertificateToken> getCertificates() {
+		return snapshot.certificates;
+	}
+
+	@Override
+	public List<CertificateToken> get(X500Principal x500Principal) {
+		if (x500Principal != null) {
+			List<CertificateToken> certificates = snapshot.certificatesBySubject.get(x500Principal.getName(X500Principal.CANONICAL));
+			if (certificates != null) {
+				return certificates;
+			}
+		}
+		return Collections.emptyList();
+	}
+
+	@Override
+	public int getNumberOfTrustedCertificates() {
+		return snapshot.certificates.size();
+	}
+
+	public synchronized void updateTlInfo(String countryCode, TLInfo info) {
+		Map<String, TLInfo> tlInfos = new HashMap<String, TLInfo>(snapshot.tlInfos);
 		tlInfos.put(countryCode, info);
+		publish(new Snapshot(snapshot.trustedListsPool, snapshot.additionalPool, tlInfos));
 	}
 
 	public TLInfo getTlInfo(String countryCode) {
-		return tlInfos.get(countryCode);
+		return snapshot.tlInfos.get(countryCode);
 	}
 
 	public TLInfo getLotlInfo() {
-		for (TLInfo tlInfo : tlInfos.values()) {
+		for (TLInfo tlInfo : snapshot.tlInfos.values()) {
 			if (tlInfo.isLotl()) {
 				return tlInfo;
 			}
@@ -78,7 +217,69 @@ public class TrustedListsCertificateSource extends CommonTrustedCertificateSourc
 	}
 
 	public Map<String, TLInfo> getSummary() {
-		return tlInfos;
+		return snapshot.tlInfos;
+	}
+
+	private static CertificatePool copyOf(CertificatePool certificatePool) {
+		CertificatePool copy = new CertificatePool();
+		copyInto(copy, certificatePool);
+		return copy;
+	}
+
+	private static void copyInto(CertificatePool target, CertificatePool source) {
+		for (CertificateToken certificateToken : source.getCertificateTokens()) {
+			// the pool may complete the given sets : the ones of the copied token must not be given
+			target.getInstance(certificateToken.copy(), new HashSet<CertificateSourceType>(certificateToken.getSources()),
+					null);
+		}
+	}
+
+	/**
+	 * Immutable content of the source, with the lookups prepared at creation time
+	 */
+	private static final class Snapshot {
+
+		/* The certificates from the trusted lists */
+		private final CertificatePool trustedListsPool;
+
+		/* The certificates added directly to the source */
+		private final CertificatePool additionalPool;
+
+		/* The published tokens, never modified */
+		private final CertificatePool certificatePool;
+
+		private final List<CertificateToken> certificates;
+
+		private final Map<String, List<CertificateToken>> certificatesBySubject;
+
+		private final Map<String, TLInfo> tlInfos;
+
+		private Snapshot(CertificatePool trustedListsPool, CertificatePool additionalPool, Map<String, TLInfo> tlInfos) {
+			this.trustedListsPool = trustedListsPool;
+			this.additionalPool = additionalPool;
+			this.certificatePool = new CertificatePool();
+			copyInto(certificatePool, trustedListsPool);
+			copyInto(certificatePool, additionalPool);
+			certificatePool.setImmutable();
+			this.certificates = certificatePool.getCertificateTokens();
+
+			Map<String, List<CertificateToken>> bySubject = new HashMap<String, List<CertificateToken>>();
+			for (CertificateToken certificateToken : certificates) {
+				String subject = certificateToken.getSubjectX500Principal().getName(X500Principal.CANONICAL);
+				List<CertificateToken> list = bySubject.get(subject);
+				if (list == null) {
+					list = new ArrayList<CertificateToken>();
+					bySubject.put(subject, list);
+				}
+				list.add(certificateToken);
+			}
+			for (Entry<String, List<CertificateToken>> entry : bySubject.entrySet()) {
+				entry.setValue(Collections.unmodifiableList(entry.getValue()));
+			}
+			this.certificatesBySubject = bySubject;
+			this.tlInfos = Collections.unmodifiableMap(new HashMap<String, TLInfo>(tlInfos));
+		}
+
 	}
 
 }
@@ -37,6 +37,7 @@ import javax.security.auth.x500.X500Principal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import eu.europa.esig.dss.DSSASN1Utils;
 import eu.europa.esig.dss.tsl.ServiceInfo;
 import eu.europa.esig.dss.utils.Utils;
 
@@ -45,6 +46,9 @@ import eu.europa.esig.dss.utils.Utils;
  * different sources: trusted list, signature, OCSP response... but each certificate is unambiguously identified by its
  * issuer DN and serial number. This class allows to keep only one occurrence of the certificate regardless its
  * provenance. Two pools of certificates can be merged using the {@link #merge(CertificatePool)} method.
+ *
+ * A pool can be made immutable (see {@link #setImmutable()}) to be shared : the pools merging it reference its tokens
+ * and replace a token with a copy before they modify it.
  */
 public class CertificatePool implements Serializable {
 
@@ -58,9 +62,61 @@ public class CertificatePool implements Serializable {
 	private Map<String, CertificateToken> certById = new HashMap<String, CertificateToken>();
 
 	/**
-	 * Map f encapsulated certificates with subject distinguished name as key.
+	 * Map of encapsulated certificates with subject distinguished name as key. The equality of {@code X500Principal} is
+	 * based on the canonical form of the name, which is computed once by principal.
+	 */
+	private Map<X500Principal, List<CertificateToken>> certBySubject = new HashMap<X500Principal, List<CertificateToken>>();
+
+	/**
+	 * Map of encapsulated certificates with the hex encoded value of the subject key identifier extension as key.
+	 */
+	private Map<String, List<CertificateToken>> certBySki = new HashMap<String, List<CertificateToken>>();
+
+	/**
+	 * Map of encapsulated certificates with the hex encoded key identifier of the authority key identifier extension
+	 * as key.
+	 */
+	private Map<String, List<CertificateToken>> certByAki = new HashMap<String, List<CertificateToken>>();
+
+	/**
+	 * Map of encapsulated certificates with the hex encoded SHA-1 digest of the public key as key (see
+	 * {@link DSSASN1Utils#getPublicKeyHash(CertificateToken)}).
+	 */
+	private Map<String, List<CertificateToken>> certByPublicKeyHash = new HashMap<String, List<CertificateToken>>();
+
+	/**
+	 * The identifiers of the tokens referenced from an immutable pool : they are copied before any modification.
+	 */
+	private Set<String> sharedIds = new HashSet<String>();
+
+	private volatile boolean immutable;
+
+	/**
+	 * The valid signatures verified through this pool (possibly shared with other pools). An invalid signature is not
+	 * kept.
+	 */
+	private final VerifiedSignatureCache verifiedSignatures;
+
+	/**
+	 * Creates an empty pool which keeps the verified signatures for itself.
 	 */
-	private Map<String, List<CertificateToken>> certBySubject = new HashMap<String, List<CertificateToken>>();
+	public CertificatePool() {
+		this(new VerifiedSignatureCache());
+	}
+
+	/**
+	 * Creates an empty pool which records the verified signatures in the given cache. The cache can be shared by the
+	 * pools of several validations.
+	 *
+	 * @param verifiedSignatures
+	 *            the cache of the valid certificate signatures
+	 */
+	public CertificatePool(final VerifiedSignatureCache verifiedSignatures) {
+		if (verifiedSignatures == null) {
+			throw new NullPointerException("The verified signature cache must be filled");
+		}
+		this.verifiedSignatures = verifiedSignatures;
+	}
 
 	/**
 	 * Returns the instance of a certificate token. If the certificate is not referenced yet a new instance of
@@ -136,23 +192,19 @@ public class CertificatePool implements Serializable {
 		final String id = certificateToAdd.getDSSIdAsString();
 		synchronized (certById) {
 
+			checkMutable();
 			CertificateToken certToken = certById.get(id);
 			if (certToken == null) {
 
 				LOG.trace("Certificate " + id + " is not in the pool");
 				certToken = certificateToAdd;
-				certById.put(id, certToken);
-				final String subjectName = certificateToAdd.getSubjectX500Principal().getName(X500Principal.CANONICAL);
-				List<CertificateToken> list = certBySubject.get(subjectName);
-				if (list == null) {
-					list = new ArrayList<CertificateToken>();
-					certBySubject.put(subjectName, list);
-				} else {
-					for (CertificateToken foundCert : list) {
+				final List<CertificateToken> sameSubject = certBySubject.get(certificateToAdd.getSubjectX500Principal());
+				if (sameSubject != null) {
+					for (CertificateToken foundCert : sameSubject) {
 						sources.addAll(foundCert.getSources());
 					}
 				}
-				list.add(certToken);
+				add(certToken);
 			} else {
 
 				LOG.trace("Certificate " + id + " is already in the pool");
@@ -165,6 +217,9 @@ public class CertificatePool implements Serializable {
 					LOG.warn(
 							"More than one certificate for the same issuer subject name and serial number! The standard is not met by the certificate issuer!");
 				}
+				if (sharedIds.contains(id) && !isComplete(certToken, sources, services)) {
+					certToken = replaceSharedToken(certToken);
+				}
 			}
 			for (final CertificateSourceType sourceType : sources) {
 				certToken.addSourceType(sourceType);
@@ -178,13 +233,84 @@ public class CertificatePool implements Serializable {
 		}
 	}
 
+	/**
+	 * This method makes the pool immutable : no certificate can be added anymore and the pools merging this one
+	 * reference its tokens instead of modifying them.
+	 */
+	public void setImmutable() {
+		synchronized (certById) {
+			immutable = true;
+		}
+	}
+
+	/**
+	 * This method indicates if the pool is immutable (see {@link #setImmutable()}).
+	 *
+	 * @return true if the pool is immutable
+	 */
+	public boolean isImmutable() {
+		return immutable;
+	}
+
+	private void checkMutable() {
+		if (immutable) {
+			throw new UnsupportedOperationException("The certificate pool is immutable");
+		}
+	}
+
+	private boolean isComplete(final CertificateToken certToken, final Set<CertificateSourceType> sources, final Set<ServiceInfo> services) {
+		return certToken.getSources().containsAll(sources) && ((services == null) || certToken.getAssociatedTSPS().containsAll(services));
+	}
+
+	/**
+	 * Replaces a token referenced from an immutable pool with a copy owned by this pool.
+	 */
+	private CertificateToken replaceSharedToken(final CertificateToken sharedToken) {
+		final CertificateToken copy = sharedToken.copy();
+		certById.put(copy.getDSSIdAsString(), copy);
+		replace(certBySubject.get(sharedToken.getSubjectX500Principal()), copy);
+		try {
+			replace(certBySki.get(toKey(DSSASN1Utils.getSki(sharedToken))), copy);
+			replace(certByAki.get(toKey(DSSASN1Utils.getAki(sharedToken))), copy);
+			replace(certByPublicKeyHash.get(toKey(DSSASN1Utils.getPublicKeyHash(sharedToken))), copy);
+		} catch (Exception e) {
+			LOG.warn("Unable to replace the key identifiers of certificate {} : {}", copy.getDSSIdAsString(), e.getMessage());
+		}
+		sharedIds.remove(copy.getDSSIdAsString());
+		return copy;
+	}
+
+	private void replace(final List<CertificateToken> list, final CertificateToken copy) {
+		if (list != null) {
+			final int index = list.indexOf(copy);
+			if (index >= 0) {
+				list.set(index, copy);
+			}
+		}
+	}
+
+	private void add(final CertificateToken certToken) {
+		certById.put(certToken.getDSSIdAsString(), certToken);
+		final X500Principal subject = certToken.getSubjectX500Principal();
+		List<CertificateToken> list = certBySubject.get(subject);
+		if (list == null) {
+			list = new ArrayList<CertificateToken>();
+			certBySubject.put(subject, list);
+		}
+		list.add(certToken);
+		indexKeyIdentifiers(certToken);
+	}
+
 	/**
 	 * This method returns an unmodifiable list containing all encapsulated certificate tokens {@link CertificateToken}.
 	 *
 	 * @return an unmodifiable list containing all encapsulated certificate
 	 */
 	public List<CertificateToken> getCertificateTokens() {
-		List<CertificateToken> certificateTokenArrayList = new ArrayList<CertificateToken>(certById.values());
+		List<CertificateToken> certificateTokenArrayList;
+		synchronized (certById) {
+			certificateTokenArrayList = new ArrayList<CertificateToken>(certById.values());
+		}
 		return Collections.unmodifiableList(certificateTokenArrayList);
 	}
 
@@ -200,7 +326,8 @@ public class CertificatePool implements Serializable {
 	/**
 	 * This method allows to add certificates from another {@link CertificatePool}. If an instance of the
 	 * {@link CertificateToken} already exists in this pool only the {@link ServiceInfo} and
-	 * {@link CertificateSourceType} are added.
+	 * {@link CertificateSourceType} are added. The tokens of an immutable pool are referenced as they are and are
+	 * copied by this pool before any modification.
 	 *
 	 * @param certPool
 	 *            the certificate pool to merge
@@ -208,8 +335,25 @@ public class CertificatePool implements Serializable {
 	public void merge(final CertificatePool certPool) {
 
 		Collection<CertificateToken> certTokens = certPool.getCertificateTokens();
-		for (CertificateToken certificateToken : certTokens) {
-			getInstance(certificateToken, certificateToken.getSources(), certificateToken.getAssociatedTSPS());
+		if (!certPool.isImmutable()) {
+			for (CertificateToken certificateToken : certTokens) {
+				getInstance(certificateToken, certificateToken.getSources(), certificateToken.getAssociatedTSPS());
+			}
+			return;
+		}
+		synchronized (certById) {
+			checkMutable();
+			for (CertificateToken certificateToken : certTokens) {
+				final String id = certificateToken.getDSSIdAsString();
+				if (certById.containsKey(id)) {
+					// the sets of the shared token are not given : the pool may complete them
+					getInstance(certificateToken, new HashSet<CertificateSourceType>(certificateToken.getSources()),
+							new HashSet<ServiceInfo>(certificateToken.getAssociatedTSPS()));
+				} else {
+					add(certificateToken);
+					sharedIds.add(id);
+				}
+			}
 		}
 	}
 
@@ -222,22 +366,151 @@ public class CertificatePool implements Serializable {
 	 */
 	public List<CertificateToken> get(final X500Principal x500Principal) {
 
-		List<CertificateToken> certificateTokenList = null;
-		if (x500Principal != null) {
+		/**
+		 * TODO: (Bob: 2014 Feb 21) For some certificates the comparison based on X500Principal.CANONICAL does not
+		 * returns the same result as this based on X500Principal
+		 * .RFC2253. The CANONICAL form seems to be compliant with the requirements of RFC 2459.
+		 * The returned list can be maybe enriched by RFC2253 form?
+		 */
+		return getCopy(certBySubject, x500Principal);
+	}
+
+	/**
+	 * This method returns the list of certificates with the given subject key identifier (from the SKI extension).
+	 *
+	 * @param ski
+	 *            the subject key identifier to match
+	 * @return If no match is found then an empty list is returned.
+	 */
+	public List<CertificateToken> getBySki(final byte[] ski) {
+		return getCopy(certBySki, toKey(ski));
+	}
+
+	/**
+	 * This method returns the list of certificates with the given authority key identifier (from the AKI extension),
+	 * which are the certificates issued with the same key.
+	 *
+	 * @param aki
+	 *            the authority key identifier to match
+	 * @return If no match is found then an empty list is returned.
+	 */
+	public List<CertificateToken> getByAki(final byte[] aki) {
+		return getCopy(certByAki, toKey(aki));
+	}
 
-			/**
-			 * TODO: (Bob: 2014 Feb 21) For some certificates the comparison based on X500Principal.CANONICAL does not
-			 * returns the same result as this based on X500Principal
-			 * .RFC2253. The CANONICAL form seems to be compliant with the requirements of RFC 2459.
-			 * The returned list can be maybe enriched by RFC2253 form?
-			 */
-			final String x500PrincipalCanonicalized = x500Principal.getName(X500Principal.CANONICAL);
-			certificateTokenList = certBySubject.get(x500PrincipalCanonicalized);
+	/**
+	 * This method returns the list of certificates with the given public key hash (SHA-1 digest of the
+	 * subjectPublicKey).
+	 *
+	 * @param publicKeyHash
+	 *            the public key hash to match
+	 * @return If no match is found then an empty list is returned.
+	 */
+	public List<CertificateToken> getByPublicKeyHash(final byte[] publicKeyHash) {
+		return getCopy(certByPublicKeyHash, toKey(publicKeyHash));
+	}
+
+	/**
+	 * This method returns the potential issuers of the given certificate : the certificates with the issuerDN as
+	 * subject. The certificates with the public key identified by the authority key identifier of the certificate are
+	 * returned first, so that the issuer is usually found with one signature verification (eg: when the issuer is
+	 * re-keyed under the same DN).
+	 *
+	 * @param certificateToken
+	 *            the certificate for which the issuer is sought
+	 * @return If no match is found then an empty list is returned.
+	 */
+	public List<CertificateToken> getIssuers(final CertificateToken certificateToken) {
+		final List<CertificateToken> candidates = get(certificateToken.getIssuerX500Principal());
+		final byte[] aki = DSSASN1Utils.getAki(certificateToken);
+		if ((candidates.size() < 2) || (aki == null)) {
+			return candidates;
 		}
-		if (certificateTokenList == null) {
 
+		final Set<CertificateToken> keyMatches = new HashSet<CertificateToken>(getBySki(aki));
+		keyMatches.addAll(getByPublicKeyHash(aki));
+		final List<CertificateToken> issuers = new ArrayList<CertificateToken>(candidates.size());
+		for (final CertificateToken candidate : candidates) {
+			if (keyMatches.contains(candidate)) {
+				issuers.add(candidate);
+			}
+		}
+		for (final CertificateToken candidate : candidates) {
+			if (!keyMatches.contains(candidate)) {
+				issuers.add(candidate);
+			}
+		}
+		return Collections.unmodifiableList(issuers);
+	}
+
+	/**
+	 * This method checks if the certificate is signed by the given issuer (see
+	 * {@link CertificateToken#isSignedBy(CertificateToken)}). A valid signature is verified once : the next calls with
+	 * the same certificates, through this pool or a pool sharing its {@link VerifiedSignatureCache}, restore the result.
+	 * An invalid signature is verified at each call.
+	 *
+	 * @param certificateToken
+	 *            the certificate to check
+	 * @param issuerToken
+	 *            the potential issuer of the certificate
+	 * @return true if the certificate is signed by the issuer
+	 */
+	public boolean isSignedBy(final CertificateToken certificateToken, final CertificateToken issuerToken) {
+		if (verifiedSignatures.contains(certificateToken, issuerToken)) {
+			certificateToken.setSignedBy(issuerToken);
+			return true;
+		}
+		if (certificateToken.isSignedBy(issuerToken)) {
+			verifiedSignatures.add(certificateToken, issuerToken);
+			return true;
+		}
+		return false;
+	}
+
+	private <K> List<CertificateToken> getCopy(final Map<K, List<CertificateToken>> index, final K key) {
+		List<CertificateToken> certificateTokenList = null;
+		if (key != null) {
+			synchronized (certById) {
+				certificateTokenList = index.get(key);
+				if (certificateTokenList != null) {
+					// copy to be protected against concurrent additions
+					certificateTokenList = new ArrayList<CertificateToken>(certificateTokenList);
+				}
+			}
+		}
+		if (certificateTokenList == null) {
 			certificateTokenList = new ArrayList<CertificateToken>();
 		}
 		return Collections.unmodifiableList(certificateTokenList);
 	}
+
+	private void indexKeyIdentifiers(final CertificateToken certToken) {
+		try {
+			index(certBySki, DSSASN1Utils.getSki(certToken), certToken);
+			index(certByAki, DSSASN1Utils.getAki(certToken), certToken);
+			index(certByPublicKeyHash, DSSASN1Utils.getPublicKeyHash(certToken), certToken);
+		} catch (Exception e) {
+			LOG.warn("Unable to index the key identifiers of certificate {} : {}", certToken.getDSSIdAsString(), e.getMessage());
+		}
+	}
+
+	private void index(final Map<String, List<CertificateToken>> index, final byte[] value, final CertificateToken certToken) {
+		final String key = toKey(value);
+		if (key == null) {
+			return;
+		}
+		List<CertificateToken> list = index.get(key);
+		if (list == null) {
+			list = new ArrayList<CertificateToken>(1);
+			index.put(key, list);
+		}
+		list.add(certToken);
+	}
+
+	private String toKey(final byte[] value) {
+		if (Utils.isArrayEmpty(value)) {
+			return null;
+		}
+		return Utils.toHex(value);
+	}
 }
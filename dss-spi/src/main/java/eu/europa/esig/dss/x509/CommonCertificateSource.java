@@ -120,7 +120,7 @@ public class CommonCertificateSource implements CertificateSource {
 		List<CertificateToken> certificateTokenList = null;
 		if (x500Principal != null) {
 			final List<CertificateToken> missingCertificateTokens = new ArrayList<CertificateToken>();
-			certificateTokenList = certPool.get(x500Principal);
+			certificateTokenList = new ArrayList<CertificateToken>(certPool.get(x500Principal));
 			for (final CertificateToken certificateToken : certificateTokenList) {
 				if (!certificateTokens.contains(certificateToken)) {
 					missingCertificateTokens.add(certificateToken);
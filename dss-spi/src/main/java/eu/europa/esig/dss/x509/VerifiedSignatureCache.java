@@ -0,0 +1,138 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.x509;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of the valid certificate signatures. It can be shared by the certificate pools of several validations
+ * (see {@link CertificatePool#CertificatePool(VerifiedSignatureCache)}) : a signature verified during a validation is
+ * not verified again by the next ones. A signature is identified by the SHA-256 digests of the encoded certificate and
+ * of its issuer. When the cache is full, the least recently used signature is removed.
+ */
+public class VerifiedSignatureCache implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The default maximum number of signatures kept in the cache
+	 */
+	public static final int DEFAULT_MAX_SIZE = 10000;
+
+	private final LruSet signatures;
+
+	/**
+	 * Creates a cache with the default maximum size ({@value #DEFAULT_MAX_SIZE})
+	 */
+	public VerifiedSignatureCache() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Creates a cache with the given maximum size
+	 *
+	 * @param maxSize
+	 *            the maximum number of signatures kept in the cache
+	 */
+	public VerifiedSignatureCache(final int maxSize) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("The maximum size must be positive");
+		}
+		this.signatures = new LruSet(maxSize);
+	}
+
+	/**
+	 * This method checks if the signature of the certificate by the given issuer is known as valid.
+	 *
+	 * @param certificateToken
+	 *            the signed certificate
+	 * @param issuerToken
+	 *            the issuer of the certificate
+	 * @return true if the signature has been verified and is valid
+	 */
+	public boolean contains(final CertificateToken certificateToken, final CertificateToken issuerToken) {
+		final String key = getKey(certificateToken, issuerToken);
+		synchronized (signatures) {
+			return signatures.get(key) != null;
+		}
+	}
+
+	/**
+	 * This method records the valid signature of the certificate by the given issuer.
+	 *
+	 * @param certificateToken
+	 *            the signed certificate
+	 * @param issuerToken
+	 *            the issuer of the certificate
+	 */
+	public void add(final CertificateToken certificateToken, final CertificateToken issuerToken) {
+		final String key = getKey(certificateToken, issuerToken);
+		synchronized (signatures) {
+			signatures.put(key, Boolean.TRUE);
+		}
+	}
+
+	/**
+	 * Returns the number of signatures in the cache
+	 *
+	 * @return the number of signatures
+	 */
+	public int size() {
+		synchronized (signatures) {
+			return signatures.size();
+		}
+	}
+
+	/**
+	 * Removes all the signatures from the cache
+	 */
+	public void clear() {
+		synchronized (signatures) {
+			signatures.clear();
+		}
+	}
+
+	private String getKey(final CertificateToken certificateToken, final CertificateToken issuerToken) {
+		// the identifiers are the SHA-256 digests of the encoded certificates
+		return certificateToken.getDSSIdAsString() + ":" + issuerToken.getDSSIdAsString();
+	}
+
+	private static final class LruSet extends LinkedHashMap<String, Boolean> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int maxSize;
+
+		private LruSet(final int maxSize) {
+			super(16, 0.75f, true);
+			this.maxSize = maxSize;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<String, Boolean> eldest) {
+			return size() > maxSize;
+		}
+
+	}
+
+}
@@ -0,0 +1,42 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.x509.crl;
+
+import java.util.concurrent.Future;
+
+import eu.europa.esig.dss.x509.CertificateToken;
+
+/**
+ * CRLSource which is also able to download the CRLs asynchronously : the validation keeps the requests of several
+ * certificates in flight and collects the CRLs when it needs them.
+ */
+public interface AsyncCRLSource extends CRLSource {
+
+	/**
+	 * Asynchronous version of {@link #findCrl(CertificateToken)}.
+	 *
+	 * @param certificateToken
+	 *            the certificate token for which the CRL need to be found.
+	 * @return the {@code Future} of the {@code CRLToken} (null if not found)
+	 */
+	Future<CRLToken> findCrlAsync(final CertificateToken certificateToken);
+
+}
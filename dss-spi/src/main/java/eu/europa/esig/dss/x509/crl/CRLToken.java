@@ -21,7 +21,6 @@
 package eu.europa.esig.dss.x509.crl;
 
 import java.io.InputStream;
-import java.math.BigInteger;
 import java.security.cert.CRLReason;
 import java.security.cert.X509CRLEntry;
 import java.util.List;
@@ -65,7 +64,31 @@ public class CRLToken extends RevocationToken {
 		}
 		this.crlValidity = crlValidity;
 		copyCommonValuesFromCRL();
-		setRevocationStatus(certificateToken);
+		checkIssuer(certificateToken);
+		setRevocationStatus(CRLUtils.getRevocationInfo(crlValidity, certificateToken.getSerialNumber()));
+		LOG.debug("+CRLToken");
+	}
+
+	/**
+	 * The constructor to be used when the CRL entry of the certificate is already known (eg: retrieved from a cache),
+	 * the CRL content is not parsed.
+	 *
+	 * @param certificateToken
+	 *            the {@code CertificateToken} which is managed by this CRL.
+	 * @param crlValidity
+	 *            {@code CRLValidity} containing the information about the
+	 *            validity of the CRL
+	 * @param crlEntry
+	 *            the CRL entry of the certificate or null if the certificate is not revoked
+	 */
+	public CRLToken(final CertificateToken certificateToken, final CRLValidity crlValidity, final X509CRLEntry crlEntry) {
+		if (crlValidity == null) {
+			throw new NullPointerException();
+		}
+		this.crlValidity = crlValidity;
+		copyCommonValuesFromCRL();
+		checkIssuer(certificateToken);
+		setRevocationStatus(crlEntry);
 		LOG.debug("+CRLToken");
 	}
 
@@ -91,7 +114,7 @@ public class CRLToken extends RevocationToken {
 	 * @param certificateToken
 	 *            the {@code CertificateToken} which is managed by this CRL.
 	 */
-	private void setRevocationStatus(final CertificateToken certificateToken) {
+	private void checkIssuer(final CertificateToken certificateToken) {
 		final CertificateToken issuerToken = certificateToken.getIssuerToken();
 		if (!issuerToken.equals(crlValidity.getIssuerToken())) {
 			if (!crlValidity.isSignatureIntact()) {
@@ -99,10 +122,13 @@ public class CRLToken extends RevocationToken {
 			}
 			throw new DSSException("The CRLToken is not signed by the same issuer as the CertificateToken to be verified!");
 		}
+	}
 
-		final BigInteger serialNumber = certificateToken.getSerialNumber();
-		X509CRLEntry crlEntry = CRLUtils.getRevocationInfo(crlValidity, serialNumber);
-
+	/**
+	 * @param crlEntry
+	 *            the CRL entry of the certificate or null
+	 */
+	private void setRevocationStatus(final X509CRLEntry crlEntry) {
 		status = null == crlEntry;
 		if (!status) {
 			revocationDate = crlEntry.getRevocationDate();
@@ -0,0 +1,44 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.x509.ocsp;
+
+import java.util.concurrent.Future;
+
+import eu.europa.esig.dss.x509.CertificateToken;
+
+/**
+ * OCSPSource which is also able to send the requests asynchronously : the validation keeps the requests of several
+ * certificates in flight and collects the responses when it needs them.
+ */
+public interface AsyncOCSPSource extends OCSPSource {
+
+	/**
+	 * Asynchronous version of {@link #getOCSPToken(CertificateToken, CertificateToken)}.
+	 *
+	 * @param certificateToken
+	 *            The {@code CertificateToken} for which the request is made
+	 * @param issuerCertificateToken
+	 *            The {@code CertificateToken} which is the issuer of the certificateToken
+	 * @return the {@code Future} of the {@code OCSPToken} (null if no response is obtained)
+	 */
+	Future<OCSPToken> getOCSPTokenAsync(CertificateToken certificateToken, CertificateToken issuerCertificateToken);
+
+}
@@ -183,4 +183,25 @@ public class DSSASN1UtilsTest {
 		assertEquals(attributeTable, emptyIfNull);
 	}
 
+	@Test
+	public void decodedExtensionsAreShared() {
+		CertificateToken certificate = DSSUtils.loadCertificate(new File("src/test/resources/TSP_Certificate_2014.crt"));
+
+		List<String> crlUrls = DSSASN1Utils.getCrlUrls(certificate, false);
+		assertNotNull(certificate.getExtensions().getCrlUrls());
+		crlUrls.clear();
+		assertEquals(certificate.getExtensions().getCrlUrls(), DSSASN1Utils.getCrlUrls(certificate, false));
+		assertFalse(DSSASN1Utils.getCrlUrls(certificate, false).isEmpty());
+
+		byte[] ski = DSSASN1Utils.getSki(certificate);
+		ski[0] = 0;
+		assertEquals("4c4c4cfcacace6bb", Utils.toHex(DSSASN1Utils.getSki(certificate)));
+
+		assertFalse(DSSASN1Utils.hasIdPkixOcspNoCheckExtension(certificate));
+		assertEquals(Boolean.FALSE, certificate.getExtensions().getIdPkixOcspNoCheck());
+		assertTrue(DSSASN1Utils.hasIdPkixOcspNoCheckExtension(certificateOCSP));
+		assertTrue(DSSASN1Utils.isOCSPSigning(certificateOCSP));
+		assertFalse(DSSASN1Utils.isOCSPSigning(certificate));
+	}
+
 }
@@ -19,12 +19,20 @@ import java.security.PublicKey;
 import java.security.cert.X509Certificate;
 import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import eu.europa.esig.dss.client.http.AsyncDataLoaderAdapter;
+import eu.europa.esig.dss.client.http.DataLoader;
 import eu.europa.esig.dss.client.http.NativeHTTPDataLoader;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.x509.CertificateToken;
@@ -72,6 +80,43 @@ public class DSSUtilsTest {
 		assertTrue(foundIssuer);
 	}
 
+	@Test
+	public void testLoadIssuerAsync() throws Exception {
+		byte[] issuer = Utils.toByteArray(new FileInputStream("src/test/resources/belgiumrca2-self-sign.crt"));
+		BlockingDataLoader dataLoader = new BlockingDataLoader(issuer);
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		try {
+			Future<Collection<CertificateToken>> issuers = DSSUtils.loadPotentialIssuerCertificatesAsync(certificateWithAIA,
+					new AsyncDataLoaderAdapter(dataLoader, executorService));
+
+			// the request is in progress, the result is not yet available
+			assertTrue(dataLoader.started.await(10, TimeUnit.SECONDS));
+			assertFalse(issuers.isDone());
+			dataLoader.release.countDown();
+
+			Collection<CertificateToken> certificates = issuers.get(10, TimeUnit.SECONDS);
+			assertEquals(1, certificates.size());
+			assertEquals(DSSUtils.loadCertificate(issuer), certificates.iterator().next());
+			assertEquals(DSSASN1Utils.getCAAccessLocations(certificateWithAIA).get(0), dataLoader.url);
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testLoadIssuerAsyncFailure() throws Exception {
+		BlockingDataLoader dataLoader = new BlockingDataLoader(null);
+		dataLoader.release.countDown();
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		try {
+			Future<Collection<CertificateToken>> issuers = DSSUtils.loadPotentialIssuerCertificatesAsync(certificateWithAIA,
+					new AsyncDataLoaderAdapter(dataLoader, executorService));
+			assertTrue(issuers.get(10, TimeUnit.SECONDS).isEmpty());
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
 	@Test
 	public void testDontSkipCertificatesWhenMultipleAreFoundInP7c() throws IOException {
 		try {
@@ -251,4 +296,58 @@ public class DSSUtilsTest {
 		assertFalse(cert.isSelfIssued());
 		assertFalse(cert.isSelfSigned());
 	}
+
+	/**
+	 * DataLoader which waits to be released before returning the given data (or failing if it is null).
+	 */
+	@SuppressWarnings("serial")
+	private static class BlockingDataLoader implements DataLoader {
+
+		private final CountDownLatch started = new CountDownLatch(1);
+
+		private final CountDownLatch release = new CountDownLatch(1);
+
+		private final byte[] data;
+
+		private volatile String url;
+
+		BlockingDataLoader(byte[] data) {
+			this.data = data;
+		}
+
+		@Override
+		public byte[] get(String url) {
+			this.url = url;
+			started.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			if (data == null) {
+				throw new DSSException("Unable to connect to " + url);
+			}
+			return data;
+		}
+
+		@Override
+		public DataAndUrl get(List<String> urlStrings) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public byte[] get(String url, boolean refresh) {
+			return get(url);
+		}
+
+		@Override
+		public byte[] post(String url, byte[] content) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void setContentType(String contentType) {
+		}
+
+	}
 }
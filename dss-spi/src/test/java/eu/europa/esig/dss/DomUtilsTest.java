@@ -1,5 +1,6 @@
 package eu.europa.esig.dss;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
 import java.io.ByteArrayInputStream;
@@ -7,6 +8,7 @@ import java.io.FileInputStream;
 import java.io.InputStream;
 
 import org.junit.Test;
+import org.w3c.dom.Document;
 
 public class DomUtilsTest {
 
@@ -56,5 +58,23 @@ public class DomUtilsTest {
 	public void getSecureTransformer() {
 		assertNotNull(DomUtils.getSecureTransformer());
 	}
-	
+
+	@Test
+	public void getValueWithRegisteredNamespace() {
+		Document dom = DomUtils.buildDOM("<t:hello xmlns:t=\"urn:test:a\"><t:world>value</t:world></t:hello>");
+
+		DomUtils.registerNamespace("domutilstest", "urn:test:a");
+		try {
+			assertEquals("value", DomUtils.getValue(dom, "//domutilstest:world"));
+			assertEquals("value", DomUtils.getValue(dom, "//domutilstest:world"));
+
+			// the compiled expression must not be reused with the new namespace
+			DomUtils.registerNamespace("domutilstest", "urn:test:b");
+			assertEquals("", DomUtils.getValue(dom, "//domutilstest:world"));
+			assertEquals(0, DomUtils.getNodeList(dom, "//domutilstest:world").getLength());
+		} finally {
+			DomUtils.unregisterNamespace("domutilstest");
+		}
+	}
+
 }
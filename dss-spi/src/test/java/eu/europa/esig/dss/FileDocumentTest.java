@@ -6,9 +6,14 @@ import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 
+import eu.europa.esig.dss.utils.Utils;
+
 public class FileDocumentTest {
 
 	@Test(expected = NullPointerException.class)
@@ -36,4 +41,25 @@ public class FileDocumentTest {
 		File file = new File(path);
 		assertTrue(file.exists());
 	}
+
+	@Test
+	public void testComputeDigests() {
+		final AtomicInteger nbOpenings = new AtomicInteger();
+		@SuppressWarnings("serial")
+		FileDocument doc = new FileDocument("src/test/resources/AdobeCA.p7c") {
+			@Override
+			public InputStream openStream() throws DSSException {
+				nbOpenings.incrementAndGet();
+				return super.openStream();
+			}
+		};
+		doc.computeDigests(Arrays.asList(DigestAlgorithm.SHA1, DigestAlgorithm.SHA256, DigestAlgorithm.SHA512));
+		assertEquals(1, nbOpenings.get());
+
+		assertEquals("xF8SpcLlrd4Bhl1moh4Ciz+Rq/PImaChEl/tyGTZyPM=", doc.getDigest(DigestAlgorithm.SHA256));
+		assertEquals(Utils.toBase64(DSSUtils.digest(DigestAlgorithm.SHA1, DSSUtils.toByteArray(doc))), doc.getDigest(DigestAlgorithm.SHA1));
+		assertEquals(2, nbOpenings.get());
+		doc.getDigest(DigestAlgorithm.SHA512);
+		assertEquals(2, nbOpenings.get());
+	}
 }
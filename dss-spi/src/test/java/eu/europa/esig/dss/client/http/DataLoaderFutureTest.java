@@ -0,0 +1,130 @@
+package eu.europa.esig.dss.client.http;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSException;
+
+public class DataLoaderFutureTest {
+
+	private ExecutorService executorService;
+
+	@Before
+	public void init() {
+		executorService = Executors.newFixedThreadPool(2);
+	}
+
+	@After
+	public void shutdown() {
+		executorService.shutdown();
+	}
+
+	@Test
+	public void transformIsExecutedOnce() throws Exception {
+		final AtomicInteger transformations = new AtomicInteger();
+		AsyncDataLoader dataLoader = new AsyncDataLoaderAdapter(new MockDataLoader(), executorService);
+		Future<String> future = new DataLoaderFuture<String>(dataLoader.getAsync("http://dss/data")) {
+
+			@Override
+			protected String transform(byte[] data) {
+				transformations.incrementAndGet();
+				return new String(data);
+			}
+		};
+
+		assertEquals("GET http://dss/data", future.get());
+		assertEquals("GET http://dss/data", future.get());
+		assertTrue(future.isDone());
+		assertEquals(1, transformations.get());
+	}
+
+	@Test
+	public void synchronousDataLoader() throws Exception {
+		Future<byte[]> response = DataLoaderFuture.post(new MockDataLoader(), "http://dss/post", new byte[] { 1 });
+		assertTrue(response.isDone());
+		assertArrayEquals("POST http://dss/post".getBytes(), response.get());
+	}
+
+	@Test
+	public void failureIsWrapped() throws Exception {
+		Future<String> future = new DataLoaderFuture<String>(DataLoaderFuture.get(new MockDataLoader(), "http://dss/error")) {
+
+			@Override
+			protected String transform(byte[] data) {
+				return new String(data);
+			}
+		};
+
+		try {
+			future.get();
+			fail("ExecutionException expected");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof DSSException);
+		}
+	}
+
+	@Test
+	public void failureIsRecovered() throws Exception {
+		AsyncDataLoader dataLoader = new AsyncDataLoaderAdapter(new MockDataLoader(), executorService);
+		Future<String> future = new DataLoaderFuture<String>(dataLoader.getAsync("http://dss/error")) {
+
+			@Override
+			protected String transform(byte[] data) {
+				return new String(data);
+			}
+
+			@Override
+			protected String recover(Throwable cause) {
+				return "recovered";
+			}
+		};
+
+		assertEquals("recovered", future.get());
+	}
+
+	@SuppressWarnings("serial")
+	private static class MockDataLoader implements DataLoader {
+
+		@Override
+		public byte[] get(String url) {
+			if (url.endsWith("error")) {
+				throw new DSSException("Unable to get " + url);
+			}
+			return ("GET " + url).getBytes();
+		}
+
+		@Override
+		public DataAndUrl get(List<String> urlStrings) {
+			return new DataAndUrl(get(urlStrings.get(0)), urlStrings.get(0));
+		}
+
+		@Override
+		public byte[] get(String url, boolean refresh) {
+			return get(url);
+		}
+
+		@Override
+		public byte[] post(String url, byte[] content) {
+			return ("POST " + url).getBytes();
+		}
+
+		@Override
+		public void setContentType(String contentType) {
+		}
+
+	}
+
+}
@@ -1,7 +1,14 @@
 package eu.europa.esig.dss.client.http;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.Test;
 
 import eu.europa.esig.dss.DSSException;
@@ -31,6 +38,41 @@ public class NativeHTTPDataLoaderTest {
 		assertNotNull(certificate);
 	}
 
+	@Test
+	public void testFileGetAsync() throws Exception {
+		NativeHTTPDataLoader dataLoader = new NativeHTTPDataLoader();
+		Future<byte[]> first = dataLoader.getAsync(FILE_URL_TO_LOAD);
+		Future<byte[]> second = dataLoader.getAsync(FILE_URL_TO_LOAD);
+
+		assertNotNull(DSSUtils.loadCertificate(first.get()));
+		assertNotNull(DSSUtils.loadCertificate(second.get()));
+	}
+
+	@Test
+	public void testFileGetAsyncWithExecutorService() throws Exception {
+		final AtomicInteger threads = new AtomicInteger();
+		ExecutorService executorService = Executors.newSingleThreadExecutor(new ThreadFactory() {
+
+			@Override
+			public Thread newThread(Runnable runnable) {
+				threads.incrementAndGet();
+				return new Thread(runnable);
+			}
+		});
+		try {
+			NativeHTTPDataLoader dataLoader = new NativeHTTPDataLoader();
+			dataLoader.setExecutorService(executorService);
+			Future<byte[]> first = dataLoader.getAsync(FILE_URL_TO_LOAD);
+			byte[] second = dataLoader.get(FILE_URL_TO_LOAD);
+
+			assertNotNull(DSSUtils.loadCertificate(first.get()));
+			assertNotNull(DSSUtils.loadCertificate(second));
+			assertEquals(1, threads.get());
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
 	@Test(expected=DSSException.class)
 	public void testGetBiggerThanMaxSize() {
 		NativeHTTPDataLoader dataLoader = new NativeHTTPDataLoader();
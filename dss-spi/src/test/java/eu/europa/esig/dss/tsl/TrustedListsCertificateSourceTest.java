@@ -0,0 +1,157 @@
+package eu.europa.esig.dss.tsl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.x509.CertificatePool;
+import eu.europa.esig.dss.x509.CertificateSourceType;
+import eu.europa.esig.dss.x509.CertificateToken;
+import eu.europa.esig.dss.x509.CommonTrustedCertificateSource;
+
+public class TrustedListsCertificateSourceTest {
+
+	@Test
+	public void replaceContent() {
+		CertificateToken belgiumRoot = DSSUtils.loadCertificate(new File("src/test/resources/belgiumrs2.crt"));
+		CertificateToken citizenCA = DSSUtils.loadCertificate(new File("src/test/resources/citizen_ca.cer"));
+
+		TrustedListsCertificateSource source = new TrustedListsCertificateSource();
+		CertificatePool firstPool = new CertificatePool();
+		firstPool.getInstance(belgiumRoot, CertificateSourceType.TRUSTED_LIST);
+		source.replaceContent(firstPool, new HashMap<String, TLInfo>());
+		assertEquals(1, source.getNumberOfTrustedCertificates());
+
+		List<CertificateToken> before = source.getCertificates();
+		CertificatePool poolBefore = source.getCertificatePool();
+
+		CertificatePool newPool = new CertificatePool();
+		newPool.getInstance(citizenCA, CertificateSourceType.TRUSTED_LIST);
+		Map<String, TLInfo> tlInfos = new HashMap<String, TLInfo>();
+		TLInfo info = new TLInfo();
+		info.setCountryCode("BE");
+		tlInfos.put("BE", info);
+		source.replaceContent(newPool, tlInfos);
+
+		// the previous content is unchanged
+		assertEquals(1, before.size());
+		assertEquals(belgiumRoot, before.get(0));
+		assertEquals(1, poolBefore.getNumberOfCertificates());
+
+		assertEquals(1, source.getCertificatePool().getNumberOfCertificates());
+		assertEquals(1, source.getNumberOfTrustedCertificates());
+		assertEquals(citizenCA, source.getCertificates().get(0));
+		assertTrue(source.get(belgiumRoot.getSubjectX500Principal()).isEmpty());
+		assertEquals(1, source.get(citizenCA.getSubjectX500Principal()).size());
+		assertNotNull(source.getTlInfo("BE"));
+		assertNull(source.getTlInfo("FR"));
+
+		// the given map is copied
+		tlInfos.clear();
+		assertNotNull(source.getTlInfo("BE"));
+	}
+
+	@Test
+	public void addedCertificatesSurviveReplaceContent() {
+		CertificateToken belgiumRoot = DSSUtils.loadCertificate(new File("src/test/resources/belgiumrs2.crt"));
+		CertificateToken citizenCA = DSSUtils.loadCertificate(new File("src/test/resources/citizen_ca.cer"));
+
+		TrustedListsCertificateSource source = new TrustedListsCertificateSource();
+		CommonTrustedCertificateSource keyStore = new CommonTrustedCertificateSource();
+		keyStore.addCertificate(belgiumRoot);
+		source.importAsTrusted(keyStore);
+
+		CertificatePool newPool = new CertificatePool();
+		newPool.getInstance(citizenCA, CertificateSourceType.TRUSTED_LIST);
+		source.replaceContent(newPool, new HashMap<String, TLInfo>());
+		assertEquals(2, source.getNumberOfTrustedCertificates());
+		assertEquals(1, source.get(belgiumRoot.getSubjectX500Principal()).size());
+
+		source.replaceContent(new CertificatePool(), new HashMap<String, TLInfo>());
+		assertEquals(1, source.getNumberOfTrustedCertificates());
+		assertEquals(belgiumRoot, source.getCertificates().get(0));
+	}
+
+	@Test
+	public void addCertificates() {
+		CertificateToken belgiumRoot = DSSUtils.loadCertificate(new File("src/test/resources/belgiumrs2.crt"));
+		CertificateToken citizenCA = DSSUtils.loadCertificate(new File("src/test/resources/citizen_ca.cer"));
+
+		TrustedListsCertificateSource source = new TrustedListsCertificateSource();
+		ServiceInfo serviceInfo = new ServiceInfo();
+		serviceInfo.setTspName("TSP");
+		source.addCertificates(Arrays.asList(belgiumRoot, citizenCA), serviceInfo);
+
+		assertEquals(2, source.getNumberOfTrustedCertificates());
+		for (CertificateToken certificateToken : source.getCertificates()) {
+			assertTrue(certificateToken.isTrusted());
+			assertEquals(1, certificateToken.getAssociatedTSPS().size());
+		}
+	}
+
+	@Test
+	public void publishedTokensAreNotModified() {
+		CertificateToken belgiumRoot = DSSUtils.loadCertificate(new File("src/test/resources/belgiumrs2.crt"));
+
+		TrustedListsCertificateSource source = new TrustedListsCertificateSource();
+		CertificateToken published = source.addCertificate(belgiumRoot, new ServiceInfo());
+		assertNotSame(belgiumRoot, published);
+
+		CertificatePool validationPool = new CertificatePool();
+		validationPool.merge(source.getCertificatePool());
+		// referenced as long as the validation does not modify it
+		assertSame(published, validationPool.get(belgiumRoot.getSubjectX500Principal()).get(0));
+		assertSame(published, validationPool.getInstance(belgiumRoot, CertificateSourceType.TRUSTED_LIST));
+
+		CertificateToken validationToken = validationPool.getInstance(belgiumRoot, CertificateSourceType.SIGNATURE);
+		assertNotSame(published, validationToken);
+		assertSame(validationToken, validationPool.get(belgiumRoot.getSubjectX500Principal()).get(0));
+		assertSame(validationToken, validationPool.getInstance(belgiumRoot, CertificateSourceType.SIGNATURE));
+		assertEquals(published.getDSSId(), validationToken.getDSSId());
+		assertTrue(validationToken.isTrusted());
+		assertEquals(1, validationToken.getAssociatedTSPS().size());
+
+		assertFalse(published.getSources().contains(CertificateSourceType.SIGNATURE));
+		assertFalse(belgiumRoot.getSources().contains(CertificateSourceType.TRUSTED_LIST));
+	}
+
+	@Test
+	public void updateTlInfoKeepsCertificates() {
+		CertificateToken belgiumRoot = DSSUtils.loadCertificate(new File("src/test/resources/belgiumrs2.crt"));
+
+		TrustedListsCertificateSource source = new TrustedListsCertificateSource();
+		source.addCertificate(belgiumRoot, new ServiceInfo());
+		Map<String, TLInfo> summary = source.getSummary();
+
+		source.updateTlInfo("BE", new TLInfo());
+		assertTrue(summary.isEmpty());
+		assertEquals(1, source.getSummary().size());
+		assertEquals(1, source.getNumberOfTrustedCertificates());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void publishedPoolIsImmutable() {
+		TrustedListsCertificateSource source = new TrustedListsCertificateSource();
+		source.getCertificatePool().getInstance(DSSUtils.loadCertificate(new File("src/test/resources/belgiumrs2.crt")),
+				CertificateSourceType.TRUSTED_LIST);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void addCertificateWithoutServiceInfo() {
+		new TrustedListsCertificateSource().addCertificate(DSSUtils.loadCertificate(new File("src/test/resources/belgiumrs2.crt")));
+	}
+
+}
@@ -1,23 +1,42 @@
 package eu.europa.esig.dss.x509;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.cert.X509v3CertificateBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509ExtensionUtils;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
 import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import eu.europa.esig.dss.DSSASN1Utils;
 import eu.europa.esig.dss.DSSUtils;
 import eu.europa.esig.dss.utils.Utils;
 
@@ -78,6 +97,122 @@ public class CertificatePoolTest {
 		assertConcurrent("CertificatePool.merge() is not thread-safe", runnables, 2);
 	}
 
+	@Test
+	public void keyIdentifierIndexes() {
+		CertificateToken root = DSSUtils.loadCertificate(new File("src/test/resources/belgiumrs2.crt"));
+		CertificateToken citizenCA = DSSUtils.loadCertificate(new File("src/test/resources/citizen_ca.cer"));
+		CertificatePool pool = new CertificatePool();
+		pool.getInstance(root, CertificateSourceType.OTHER);
+		pool.getInstance(citizenCA, CertificateSourceType.OTHER);
+
+		byte[] rootSki = DSSASN1Utils.getSki(root);
+		assertArrayEquals(rootSki, DSSASN1Utils.getAki(citizenCA));
+		assertEquals(Collections.singletonList(root), pool.getBySki(rootSki));
+		assertTrue(pool.getByAki(rootSki).contains(citizenCA));
+		assertTrue(pool.getByPublicKeyHash(DSSASN1Utils.getPublicKeyHash(citizenCA)).contains(citizenCA));
+		assertTrue(pool.getBySki(null).isEmpty());
+		assertEquals(Collections.singletonList(root), pool.getIssuers(citizenCA));
+	}
+
+	@Test
+	public void issuerMatchingAuthorityKeyIdentifierIsFirst() throws Exception {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+		generator.initialize(1024);
+		KeyPair oldKey = generator.generateKeyPair();
+		KeyPair newKey = generator.generateKeyPair();
+		X500Name caName = new X500Name("CN=Re-keyed CA");
+
+		CertificateToken oldCA = createCertificate(caName, BigInteger.ONE, caName, oldKey, oldKey);
+		CertificateToken newCA = createCertificate(caName, BigInteger.valueOf(2), caName, newKey, newKey);
+		CertificateToken child = createCertificate(new X500Name("CN=Child"), BigInteger.TEN, caName, generator.generateKeyPair(), newKey);
+
+		CertificatePool pool = new CertificatePool();
+		pool.getInstance(oldCA, CertificateSourceType.OTHER);
+		pool.getInstance(newCA, CertificateSourceType.OTHER);
+		pool.getInstance(child, CertificateSourceType.OTHER);
+
+		assertEquals(2, pool.get(child.getIssuerX500Principal()).size());
+		List<CertificateToken> issuers = pool.getIssuers(child);
+		assertEquals(2, issuers.size());
+		assertEquals(newCA, issuers.get(0));
+		assertTrue(child.isSignedBy(issuers.get(0)));
+		assertEquals(newCA, child.getIssuerToken());
+	}
+
+	@Test
+	public void onlyValidSignaturesAreVerifiedOnce() throws Exception {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+		generator.initialize(1024);
+		KeyPair caKey = generator.generateKeyPair();
+		KeyPair otherKey = generator.generateKeyPair();
+		X500Name caName = new X500Name("CN=CA");
+
+		CertificateToken ca = createCertificate(caName, BigInteger.ONE, caName, caKey, caKey);
+		CertificateToken otherCA = createCertificate(caName, BigInteger.valueOf(2), caName, otherKey, otherKey);
+		X509Certificate certificate = spy(createCertificate(new X500Name("CN=Child"), BigInteger.TEN, caName, generator.generateKeyPair(), caKey)
+				.getCertificate());
+		CertificateToken child = new CertificateToken(certificate);
+
+		CertificatePool pool = new CertificatePool();
+		assertTrue(pool.isSignedBy(child, ca));
+		assertFalse(pool.isSignedBy(child, otherCA));
+		assertFalse(child.isSignatureValid());
+
+		assertTrue(pool.isSignedBy(child, ca));
+		assertTrue(child.isSignatureValid());
+		assertEquals(ca, child.getIssuerToken());
+		assertFalse(pool.isSignedBy(child, otherCA));
+
+		// the valid signature is verified once, the invalid one at each call
+		verify(certificate, times(1)).verify(ca.getPublicKey());
+		verify(certificate, times(2)).verify(otherCA.getPublicKey());
+
+		// another pool verifies the signature again
+		assertTrue(new CertificatePool().isSignedBy(child, ca));
+		verify(certificate, times(2)).verify(ca.getPublicKey());
+	}
+
+	@Test
+	public void sharedVerifiedSignatureCache() throws Exception {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+		generator.initialize(1024);
+		KeyPair caKey = generator.generateKeyPair();
+		X500Name caName = new X500Name("CN=CA");
+
+		CertificateToken ca = createCertificate(caName, BigInteger.ONE, caName, caKey, caKey);
+		X509Certificate first = spy(createCertificate(new X500Name("CN=First"), BigInteger.TEN, caName, generator.generateKeyPair(), caKey)
+				.getCertificate());
+		X509Certificate second = spy(createCertificate(new X500Name("CN=Second"), BigInteger.valueOf(11), caName, generator.generateKeyPair(), caKey)
+				.getCertificate());
+
+		VerifiedSignatureCache cache = new VerifiedSignatureCache(1);
+		assertTrue(new CertificatePool(cache).isSignedBy(new CertificateToken(first), ca));
+
+		// the pool of the next validation uses the cache (with a new token of the same certificate)
+		CertificateToken firstToken = new CertificateToken(first);
+		assertTrue(new CertificatePool(cache).isSignedBy(firstToken, ca));
+		assertEquals(ca, firstToken.getIssuerToken());
+		verify(first, times(1)).verify(ca.getPublicKey());
+
+		// the least recently used signature is removed from the full cache
+		assertTrue(new CertificatePool(cache).isSignedBy(new CertificateToken(second), ca));
+		assertEquals(1, cache.size());
+		assertTrue(new CertificatePool(cache).isSignedBy(new CertificateToken(first), ca));
+		verify(first, times(2)).verify(ca.getPublicKey());
+	}
+
+	private CertificateToken createCertificate(X500Name subject, BigInteger serialNumber, X500Name issuer, KeyPair subjectKey, KeyPair issuerKey)
+			throws Exception {
+		Date notBefore = new Date(System.currentTimeMillis() - 3600000);
+		Date notAfter = new Date(System.currentTimeMillis() + 3600000);
+		JcaX509ExtensionUtils extensionUtils = new JcaX509ExtensionUtils();
+		X509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(issuer, serialNumber, notBefore, notAfter, subject, subjectKey.getPublic());
+		builder.addExtension(Extension.subjectKeyIdentifier, false, extensionUtils.createSubjectKeyIdentifier(subjectKey.getPublic()));
+		builder.addExtension(Extension.authorityKeyIdentifier, false, extensionUtils.createAuthorityKeyIdentifier(issuerKey.getPublic()));
+		return new CertificateToken(new JcaX509CertificateConverter()
+				.getCertificate(builder.build(new JcaContentSignerBuilder("SHA256withRSA").build(issuerKey.getPrivate()))));
+	}
+
 	public static void assertConcurrent(final String message, final List<? extends Runnable> runnables, final int maxTimeoutSeconds)
 			throws InterruptedException {
 		final int numThreads = runnables.size();
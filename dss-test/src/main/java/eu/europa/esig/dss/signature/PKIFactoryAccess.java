@@ -4,10 +4,14 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.InputStream;
 import java.security.KeyStore.PasswordProtection;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 
+import org.junit.After;
+
 import eu.europa.esig.dss.client.crl.OnlineCRLSource;
 import eu.europa.esig.dss.client.http.DataLoader;
 import eu.europa.esig.dss.client.http.commons.CommonsDataLoader;
@@ -73,8 +77,19 @@ public abstract class PKIFactoryAccess {
 	protected static final String RSA_SHA3_USER = "sha3-good-user";
 	protected static final String SELF_SIGNED_USER = "self-signed";
 
+	/* The data loaders created for the current test : their connections are released after it */
+	private final List<CommonsDataLoader> dataLoaders = new ArrayList<CommonsDataLoader>();
+
 	protected abstract String getSigningAlias();
 
+	@After
+	public void closeDataLoaders() {
+		for (CommonsDataLoader dataLoader : dataLoaders) {
+			dataLoader.close();
+		}
+		dataLoaders.clear();
+	}
+
 	protected CertificateVerifier getEmptyCertificateVerifier() {
 		return new CommonCertificateVerifier();
 	}
@@ -131,6 +146,7 @@ public abstract class PKIFactoryAccess {
 		OnlineOCSPSource ocspSource = new OnlineOCSPSource();
 		OCSPDataLoader dataLoader = new OCSPDataLoader();
 		dataLoader.setProxyConfig(getProxyConfig());
+		dataLoaders.add(dataLoader);
 		ocspSource.setDataLoader(dataLoader);
 		return ocspSource;
 	}
@@ -139,6 +155,7 @@ public abstract class PKIFactoryAccess {
 		FileCacheDataLoader cacheDataLoader = new FileCacheDataLoader();
 		CommonsDataLoader dataLoader = new CommonsDataLoader();
 		dataLoader.setProxyConfig(getProxyConfig());
+		dataLoaders.add(dataLoader);
 		cacheDataLoader.setDataLoader(dataLoader);
 		cacheDataLoader.setFileCacheDirectory(new File("target"));
 		cacheDataLoader.setCacheExpirationTime(3600000L);
@@ -179,6 +196,7 @@ public abstract class PKIFactoryAccess {
 		OnlineTSPSource tspSource = new OnlineTSPSource(getTsaUrl(tsaName));
 		TimestampDataLoader dataLoader = new TimestampDataLoader();
 		dataLoader.setProxyConfig(getProxyConfig());
+		dataLoaders.add(dataLoader);
 		tspSource.setDataLoader(dataLoader);
 		return tspSource;
 	}
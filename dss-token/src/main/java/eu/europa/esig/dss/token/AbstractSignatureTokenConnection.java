@@ -25,6 +25,16 @@ import java.security.Signature;
 import java.security.spec.AlgorithmParameterSpec;
 import java.security.spec.MGF1ParameterSpec;
 import java.security.spec.PSSParameterSpec;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,12 +48,33 @@ import eu.europa.esig.dss.SignatureValue;
 import eu.europa.esig.dss.ToBeSigned;
 
 /**
- *
+ * The {@code Signature} instances are reused between the signatures (by algorithm) : a thread borrows an instance and
+ * returns it once the signature value is computed. The token can be used by several threads.
  */
 public abstract class AbstractSignatureTokenConnection implements SignatureTokenConnection {
 
 	protected static final Logger LOG = LoggerFactory.getLogger(AbstractSignatureTokenConnection.class);
 
+	/**
+	 * The maximum number of idle {@code Signature} instances kept by algorithm
+	 */
+	private static final int MAX_IDLE_SIGNATURES = 16;
+
+	private final ConcurrentMap<String, Queue<Signature>> idleSignatures = new ConcurrentHashMap<String, Queue<Signature>>();
+
+	private ExecutorService executorService;
+
+	/**
+	 * This method allows to compute the signature values of a batch in parallel (eg: with a PKCS#11 token which
+	 * supports several sessions). By default, the data of a batch are signed sequentially by the calling thread.
+	 *
+	 * @param executorService
+	 *            the executor service used to sign the batches or null
+	 */
+	public void setExecutorService(final ExecutorService executorService) {
+		this.executorService = executorService;
+	}
+
 	@Override
 	public SignatureValue sign(ToBeSigned toBeSigned, DigestAlgorithm digestAlgorithm, DSSPrivateKeyEntry keyEntry) throws DSSException {
 		return sign(toBeSigned, digestAlgorithm, null, keyEntry);
@@ -52,18 +83,103 @@ public abstract class AbstractSignatureTokenConnection implements SignatureToken
 	@Override
 	public SignatureValue sign(ToBeSigned toBeSigned, DigestAlgorithm digestAlgorithm, MaskGenerationFunction mgf, DSSPrivateKeyEntry keyEntry)
 			throws DSSException {
+		final SignatureAlgorithm signatureAlgorithm = getSignatureAlgorithm(digestAlgorithm, mgf, keyEntry);
+		return sign(toBeSigned, signatureAlgorithm, digestAlgorithm, mgf, (KSPrivateKeyEntry) keyEntry);
+	}
+
+	/**
+	 * This method signs a list of {@code toBeSigned} data with the digest {@code digestAlgorithm} and the given
+	 * {@code keyEntry}. The signature algorithm is resolved once for the whole batch.
+	 * 
+	 * @param toBeSigneds
+	 *            The list of data that need to be signed
+	 * @param digestAlgorithm
+	 *            The digest algorithm to be used before signing
+	 * @param keyEntry
+	 *            The private key to be used
+	 * @return the signature values, in the same order as the given data
+	 * @throws DSSException
+	 *             If there is any problem during the signature process
+	 */
+	public List<SignatureValue> sign(List<ToBeSigned> toBeSigneds, DigestAlgorithm digestAlgorithm, DSSPrivateKeyEntry keyEntry) throws DSSException {
+		return sign(toBeSigneds, digestAlgorithm, null, keyEntry);
+	}
+
+	/**
+	 * This method signs a list of {@code toBeSigned} data with the digest {@code digestAlgorithm}, the mask
+	 * {@code mgf} and the given {@code keyEntry}. The signature algorithm is resolved once for the whole batch and the
+	 * data are signed in parallel if an {@code ExecutorService} is set.
+	 * 
+	 * @param toBeSigneds
+	 *            The list of data that need to be signed
+	 * @param digestAlgorithm
+	 *            The digest algorithm to be used before signing
+	 * @param mgf
+	 *            the mask generation function
+	 * @param keyEntry
+	 *            The private key to be used
+	 * @return the signature values, in the same order as the given data
+	 * @throws DSSException
+	 *             If there is any problem during the signature process
+	 */
+	public List<SignatureValue> sign(final List<ToBeSigned> toBeSigneds, final DigestAlgorithm digestAlgorithm, final MaskGenerationFunction mgf,
+			final DSSPrivateKeyEntry keyEntry) throws DSSException {
+		final SignatureAlgorithm signatureAlgorithm = getSignatureAlgorithm(digestAlgorithm, mgf, keyEntry);
+		final KSPrivateKeyEntry ksKeyEntry = (KSPrivateKeyEntry) keyEntry;
+
+		final List<SignatureValue> signatureValues = new ArrayList<SignatureValue>(toBeSigneds.size());
+		if ((executorService == null) || (toBeSigneds.size() < 2)) {
+			for (final ToBeSigned toBeSigned : toBeSigneds) {
+				signatureValues.add(sign(toBeSigned, signatureAlgorithm, digestAlgorithm, mgf, ksKeyEntry));
+			}
+			return signatureValues;
+		}
+
+		final List<Future<SignatureValue>> futures = new ArrayList<Future<SignatureValue>>(toBeSigneds.size());
+		for (final ToBeSigned toBeSigned : toBeSigneds) {
+			futures.add(executorService.submit(new Callable<SignatureValue>() {
+				@Override
+				public SignatureValue call() {
+					return sign(toBeSigned, signatureAlgorithm, digestAlgorithm, mgf, ksKeyEntry);
+				}
+			}));
+		}
+		try {
+			for (final Future<SignatureValue> future : futures) {
+				signatureValues.add(future.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DSSException("Interrupted while signing", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof DSSException) {
+				throw (DSSException) e.getCause();
+			}
+			throw new DSSException(e.getCause());
+		} finally {
+			for (final Future<SignatureValue> future : futures) {
+				future.cancel(true);
+			}
+		}
+		return signatureValues;
+	}
+
+	private SignatureAlgorithm getSignatureAlgorithm(DigestAlgorithm digestAlgorithm, MaskGenerationFunction mgf, DSSPrivateKeyEntry keyEntry) {
 		if (!(keyEntry instanceof KSPrivateKeyEntry)) {
 			throw new IllegalArgumentException("Only KSPrivateKeyEntry are supported");
 		}
-
 		final EncryptionAlgorithm encryptionAlgorithm = keyEntry.getEncryptionAlgorithm();
 		final SignatureAlgorithm signatureAlgorithm = SignatureAlgorithm.getAlgorithm(encryptionAlgorithm, digestAlgorithm, mgf);
-		final String javaSignatureAlgorithm = signatureAlgorithm.getJCEId();
-		LOG.info("Signature algorithm : {}", javaSignatureAlgorithm);
+		LOG.debug("Signature algorithm : {}", signatureAlgorithm.getJCEId());
+		return signatureAlgorithm;
+	}
 
+	private SignatureValue sign(ToBeSigned toBeSigned, SignatureAlgorithm signatureAlgorithm, DigestAlgorithm digestAlgorithm, MaskGenerationFunction mgf,
+			KSPrivateKeyEntry keyEntry) {
+		final String javaSignatureAlgorithm = signatureAlgorithm.getJCEId();
 		try {
-			final Signature signature = getSignatureInstance(javaSignatureAlgorithm);
-			signature.initSign(((KSPrivateKeyEntry) keyEntry).getPrivateKey());
+			final Signature signature = borrowSignatureInstance(javaSignatureAlgorithm);
+			signature.initSign(keyEntry.getPrivateKey());
 
 			if (mgf != null) {
 				signature.setParameter(createPSSParam(digestAlgorithm));
@@ -71,6 +187,9 @@ public abstract class AbstractSignatureTokenConnection implements SignatureToken
 
 			signature.update(toBeSigned.getBytes());
 			final byte[] signatureValue = signature.sign();
+			// an instance which failed is not reused
+			returnSignatureInstance(javaSignatureAlgorithm, signature);
+
 			SignatureValue value = new SignatureValue();
 			value.setAlgorithm(signatureAlgorithm);
 			value.setValue(signatureValue);
@@ -78,7 +197,36 @@ public abstract class AbstractSignatureTokenConnection implements SignatureToken
 		} catch (Exception e) {
 			throw new DSSException(e);
 		}
+	}
+
+	private Signature borrowSignatureInstance(final String javaSignatureAlgorithm) throws NoSuchAlgorithmException {
+		final Queue<Signature> idle = idleSignatures.get(javaSignatureAlgorithm);
+		if (idle != null) {
+			final Signature signature = idle.poll();
+			if (signature != null) {
+				return signature;
+			}
+		}
+		return getSignatureInstance(javaSignatureAlgorithm);
+	}
+
+	private void returnSignatureInstance(final String javaSignatureAlgorithm, final Signature signature) {
+		Queue<Signature> idle = idleSignatures.get(javaSignatureAlgorithm);
+		if (idle == null) {
+			idleSignatures.putIfAbsent(javaSignatureAlgorithm, new ConcurrentLinkedQueue<Signature>());
+			idle = idleSignatures.get(javaSignatureAlgorithm);
+		}
+		// the size is approximate with concurrent returns, which is enough to bound the pool
+		if (idle.size() < MAX_IDLE_SIGNATURES) {
+			idle.offer(signature);
+		}
+	}
 
+	/**
+	 * This method discards the reused {@code Signature} instances (eg: when the provider is removed).
+	 */
+	protected void clearSignatureInstances() {
+		idleSignatures.clear();
 	}
 
 	protected Signature getSignatureInstance(final String javaSignatureAlgorithm) throws NoSuchAlgorithmException {
@@ -89,4 +237,4 @@ public abstract class AbstractSignatureTokenConnection implements SignatureToken
 		String digestJavaName = digestAlgo.getJavaName();
 		return new PSSParameterSpec(digestJavaName, "MGF1", new MGF1ParameterSpec(digestJavaName), digestAlgo.getSaltLength(), 1);
 	}
-}
\ No newline at end of file
+}
@@ -39,7 +39,8 @@ import javax.security.auth.callback.UnsupportedCallbackException;
 import eu.europa.esig.dss.DSSException;
 
 /**
- * PKCS11 token with callback
+ * PKCS11 token with callback. The keystore is loaded (and the user logged in) once : the token can then be used by
+ * several threads, each signature being computed in a session of the SunPKCS11 provider.
  */
 public class Pkcs11SignatureToken extends AbstractKeyStoreTokenConnection {
 
@@ -47,6 +48,11 @@ public class Pkcs11SignatureToken extends AbstractKeyStoreTokenConnection {
 
 	private Provider provider;
 
+	/**
+	 * The loaded keystore (null until the first use or after close)
+	 */
+	private KeyStore keyStore;
+
 	private final String _pkcs11Path;
 
 	private final PasswordInputCallback callback;
@@ -123,7 +129,7 @@ public class Pkcs11SignatureToken extends AbstractKeyStoreTokenConnection {
 	}
 
 	@SuppressWarnings("restriction")
-	protected Provider getProvider() {
+	protected synchronized Provider getProvider() {
 		if (provider == null) {
 			/*
 			 * The smartCardNameIndex int is added at the end of the smartCard name in order to enable the successive
@@ -163,8 +169,15 @@ public class Pkcs11SignatureToken extends AbstractKeyStoreTokenConnection {
 	}
 
 	@Override
+	synchronized KeyStore getKeyStore() throws DSSException {
+		if (keyStore == null) {
+			keyStore = loadKeyStore();
+		}
+		return keyStore;
+	}
+
 	@SuppressWarnings("restriction")
-	KeyStore getKeyStore() throws DSSException {
+	private KeyStore loadKeyStore() throws DSSException {
 		try {
 			KeyStore keyStore = KeyStore.getInstance("PKCS11", getProvider());
 			keyStore.load(new KeyStore.LoadStoreParameter() {
@@ -212,7 +225,9 @@ public class Pkcs11SignatureToken extends AbstractKeyStoreTokenConnection {
 	}
 
 	@Override
-	public void close() {
+	public synchronized void close() {
+		keyStore = null;
+		clearSignatureInstances();
 		if (provider != null) {
 			try {
 				Security.removeProvider(provider.getName());
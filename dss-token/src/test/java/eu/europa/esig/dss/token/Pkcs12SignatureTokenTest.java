@@ -1,11 +1,16 @@
 package eu.europa.esig.dss.token;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 
 import java.io.IOException;
 import java.security.KeyStore.PasswordProtection;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.Test;
 
@@ -43,6 +48,35 @@ public class Pkcs12SignatureTokenTest {
 		}
 	}
 
+	@Test
+	public void testBatch() throws IOException {
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try (Pkcs12SignatureToken signatureToken = new Pkcs12SignatureToken("src/test/resources/user_a_rsa.p12",
+				new PasswordProtection("password".toCharArray()))) {
+			DSSPrivateKeyEntry entry = signatureToken.getKeys().get(0);
+
+			List<ToBeSigned> toBeSigneds = new ArrayList<ToBeSigned>();
+			for (int i = 0; i < 20; i++) {
+				toBeSigneds.add(new ToBeSigned(("Hello world " + i).getBytes("UTF-8")));
+			}
+
+			List<SignatureValue> sequential = signatureToken.sign(toBeSigneds, DigestAlgorithm.SHA256, entry);
+			signatureToken.setExecutorService(executorService);
+			List<SignatureValue> parallel = signatureToken.sign(toBeSigneds, DigestAlgorithm.SHA256, entry);
+
+			assertEquals(toBeSigneds.size(), sequential.size());
+			assertEquals(toBeSigneds.size(), parallel.size());
+			for (int i = 0; i < toBeSigneds.size(); i++) {
+				// RSA PKCS#1 v1.5 signatures are deterministic
+				byte[] expected = signatureToken.sign(toBeSigneds.get(i), DigestAlgorithm.SHA256, entry).getValue();
+				assertArrayEquals(expected, sequential.get(i).getValue());
+				assertArrayEquals(expected, parallel.get(i).getValue());
+			}
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
 	@Test(expected = DSSException.class)
 	public void wrongPassword() throws IOException {
 		try (Pkcs12SignatureToken signatureToken = new Pkcs12SignatureToken("src/test/resources/user_a_rsa.p12",
@@ -20,6 +20,8 @@
  */
 package eu.europa.esig.dss.tsl;
 
+import java.util.Date;
+
 import eu.europa.esig.dss.validation.policy.rules.Indication;
 import eu.europa.esig.dss.validation.policy.rules.SubIndication;
 
@@ -31,6 +33,8 @@ public class TSLValidationResult {
 	private String countryCode;
 	private Indication indication;
 	private SubIndication subIndication;
+	private String potentialSignersDigest;
+	private Date validationDate;
 
 	public String getCountryCode() {
 		return countryCode;
@@ -56,6 +60,34 @@ public class TSLValidationResult {
 		this.subIndication = subIndication;
 	}
 
+	/**
+	 * Returns the digest of the certificates which were allowed to sign the trusted list. It allows to know if the
+	 * result is still relevant when the potential signers change.
+	 * 
+	 * @return the base64 encoded digest of the potential signers
+	 */
+	public String getPotentialSignersDigest() {
+		return potentialSignersDigest;
+	}
+
+	public void setPotentialSignersDigest(String potentialSignersDigest) {
+		this.potentialSignersDigest = potentialSignersDigest;
+	}
+
+	/**
+	 * Returns the date of the signature validation. The validation of a trusted list depends on the time : a result
+	 * is only relevant for the day it was obtained.
+	 * 
+	 * @return the validation date
+	 */
+	public Date getValidationDate() {
+		return validationDate;
+	}
+
+	public void setValidationDate(Date validationDate) {
+		this.validationDate = validationDate;
+	}
+
 	public boolean isValid() {
 		return Indication.TOTAL_PASSED.equals(indication);
 	}
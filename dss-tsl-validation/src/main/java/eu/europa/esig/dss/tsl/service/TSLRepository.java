@@ -58,6 +58,8 @@ import eu.europa.esig.dss.tsl.TrustedListsCertificateSource;
 import eu.europa.esig.dss.util.MutableTimeDependentValues;
 import eu.europa.esig.dss.util.TimeDependentValues;
 import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.x509.CertificatePool;
+import eu.europa.esig.dss.x509.CertificateSourceType;
 import eu.europa.esig.dss.x509.CertificateToken;
 
 /**
@@ -68,8 +70,12 @@ public class TSLRepository {
 
 	private static final Logger LOG = LoggerFactory.getLogger(TSLRepository.class);
 
+	private static final String SNAPSHOT_FILENAME = "tsl-snapshot.bin";
+
 	private String cacheDirectoryPath = System.getProperty("java.io.tmpdir") + File.separator + "dss-cache-tsl" + File.separator;
 
+	private byte[] snapshotKey;
+
 	private Map<String, TSLValidationModel> tsls = new HashMap<String, TSLValidationModel>();
 	private Map<String, TSLValidationModel> pivots = new HashMap<String, TSLValidationModel>();
 
@@ -79,6 +85,18 @@ public class TSLRepository {
 		this.cacheDirectoryPath = cacheDirectoryPath;
 	}
 
+	/**
+	 * This method enables the binary snapshot of the parsed and validated trusted lists, stored in the cache directory
+	 * next to the XML files (disabled by default). The snapshot is authenticated with an HMAC : a snapshot which was
+	 * not written with this key is ignored. The key must not be stored in the cache directory.
+	 * 
+	 * @param snapshotKey
+	 *            the secret key of the snapshot HMAC, or null to disable the snapshot
+	 */
+	public void setSnapshotKey(byte[] snapshotKey) {
+		this.snapshotKey = snapshotKey;
+	}
+
 	public void setTrustedListsCertificateSource(TrustedListsCertificateSource trustedListsCertificateSource) {
 		this.trustedListsCertificateSource = trustedListsCertificateSource;
 	}
@@ -184,6 +202,71 @@ public class TSLRepository {
 		tsls.put(countryCode, validationModel);
 	}
 
+	/**
+	 * This method reads the snapshot stored in the cache directory.
+	 * 
+	 * @return the models of the snapshot by SHA-256 of the XML file content (empty if the snapshot is missing, disabled,
+	 *         not readable or not authenticated)
+	 */
+	Map<String, TSLValidationModel> loadSnapshot() {
+		File snapshotFile = new File(cacheDirectoryPath + SNAPSHOT_FILENAME);
+		if (snapshotKey != null && snapshotFile.isFile()) {
+			try {
+				Map<String, TSLValidationModel> snapshot = TSLSnapshot.read(snapshotFile, snapshotKey);
+				LOG.info(snapshot.size() + " parsed TSL in the snapshot");
+				return snapshot;
+			} catch (Exception e) {
+				LOG.warn("Unable to read the TSL snapshot '" + snapshotFile.getAbsolutePath() + "' : " + e.getMessage());
+			}
+		}
+		return Collections.emptyMap();
+	}
+
+	/**
+	 * This method adds the model of the cached file from the snapshot, if the file content is unchanged since the
+	 * snapshot.
+	 * 
+	 * @param file
+	 *            the cached TSL file
+	 * @param snapshot
+	 *            the models of the snapshot by SHA-256 of the XML file content
+	 * @return true if the model has been added
+	 */
+	boolean addModelFromSnapshot(File file, Map<String, TSLValidationModel> snapshot) {
+		if (snapshot.isEmpty()) {
+			return false;
+		}
+		TSLValidationModel validationModel = null;
+		try (FileInputStream fis = new FileInputStream(file)) {
+			validationModel = snapshot.get(getSHA256(Utils.toByteArray(fis)));
+		} catch (Exception e) {
+			LOG.error("Unable to read '" + file.getAbsolutePath() + "' : " + e.getMessage());
+		}
+		if (validationModel == null) {
+			return false;
+		}
+		String countryCode = validationModel.getParseResult().getTerritory();
+		validationModel.setFilepath(getFilePath(countryCode));
+		validationModel.setCertificateSourceSynchronized(false);
+		tsls.put(countryCode, validationModel);
+		return true;
+	}
+
+	/**
+	 * This method stores the parsed and validated TSLs in the snapshot of the cache directory.
+	 */
+	void storeSnapshot() {
+		if (snapshotKey != null) {
+			ensureCacheDirectoryExists();
+			File snapshotFile = new File(cacheDirectoryPath + SNAPSHOT_FILENAME);
+			try {
+				TSLSnapshot.write(snapshotFile, tsls.values(), snapshotKey);
+			} catch (Exception e) {
+				LOG.warn("Unable to store the TSL snapshot '" + snapshotFile.getAbsolutePath() + "' : " + e.getMessage());
+			}
+		}
+	}
+
 	private String storeOnFileSystem(String filename, TSLLoaderResult resultLoader) {
 		ensureCacheDirectoryExists();
 		String filePath = getFilePath(filename);
@@ -218,34 +301,51 @@ public class TSLRepository {
 		return Arrays.asList(listFiles);
 	}
 
+	/**
+	 * This method builds a new content (trusted certificates and trusted lists information) from the stored models and
+	 * publishes it in the {@code TrustedListsCertificateSource} with a single swap. The current content is used by the
+	 * validations until the swap.
+	 */
 	void synchronize() {
 		if (trustedListsCertificateSource != null) {
 			Map<String, TSLValidationModel> allMapTSLValidationModels = getAllMapTSLValidationModels();
+
+			boolean synchronizedCertificates = true;
+			for (TSLValidationModel model : allMapTSLValidationModels.values()) {
+				synchronizedCertificates &= model.isCertificateSourceSynchronized();
+			}
+
+			CertificatePool certificatePool = new CertificatePool();
+			Map<String, TLInfo> tlInfos = new HashMap<String, TLInfo>();
 			for (Entry<String, TSLValidationModel> entry : allMapTSLValidationModels.entrySet()) {
 				String countryCode = entry.getKey();
 				TSLValidationModel model = entry.getValue();
-				// Synchronize certpool
-				if (!model.isCertificateSourceSynchronized()) {
+				if (!synchronizedCertificates) {
 					TSLParserResult parseResult = model.getParseResult();
 					if (parseResult != null) {
 						List<TSLServiceProvider> serviceProviders = parseResult.getServiceProviders();
 						for (TSLServiceProvider serviceProvider : serviceProviders) {
 							for (TSLService service : serviceProvider.getServices()) {
+								ServiceInfo serviceInfo = getServiceInfo(serviceProvider, service, countryCode);
 								for (CertificateToken certificate : service.getCertificates()) {
-									// Update info
-									trustedListsCertificateSource.removeCertificate(certificate);
-									trustedListsCertificateSource.addCertificate(certificate, getServiceInfo(serviceProvider, service, countryCode));
+									// a new token : the tokens of the parsed models are not modified
+									certificatePool.getInstance(new CertificateToken(certificate.getCertificate()), CertificateSourceType.TRUSTED_LIST,
+											serviceInfo);
 								}
 							}
 						}
 					}
 					model.setCertificateSourceSynchronized(true);
 				}
+				tlInfos.put(countryCode, getTlInfo(countryCode, model));
+			}
 
-				// Synchronize tlInfos
-				trustedListsCertificateSource.updateTlInfo(countryCode, getTlInfo(countryCode, model));
-
+			if (synchronizedCertificates) {
+				trustedListsCertificateSource.replaceTlInfos(tlInfos);
+			} else {
+				trustedListsCertificateSource.replaceContent(certificatePool, tlInfos);
 			}
+
 			LOG.info("Nb of loaded trusted lists : " + allMapTSLValidationModels.size());
 			LOG.info("Nb of trusted certificates : " + trustedListsCertificateSource.getNumberOfTrustedCertificates());
 		}
@@ -0,0 +1,497 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.tsl.Condition;
+import eu.europa.esig.dss.tsl.TSLConditionsForQualifiers;
+import eu.europa.esig.dss.tsl.TSLParserResult;
+import eu.europa.esig.dss.tsl.TSLPointer;
+import eu.europa.esig.dss.tsl.TSLService;
+import eu.europa.esig.dss.tsl.TSLServiceProvider;
+import eu.europa.esig.dss.tsl.TSLServiceStatusAndInformationExtensions;
+import eu.europa.esig.dss.tsl.TSLValidationModel;
+import eu.europa.esig.dss.tsl.TSLValidationResult;
+import eu.europa.esig.dss.util.MutableTimeDependentValues;
+import eu.europa.esig.dss.util.TimeDependentValues;
+import eu.europa.esig.dss.validation.policy.rules.Indication;
+import eu.europa.esig.dss.validation.policy.rules.SubIndication;
+import eu.europa.esig.dss.x509.CertificateToken;
+
+/**
+ * This class reads and writes a binary snapshot of the parsed and validated trusted lists of the
+ * {@code TSLRepository}.
+ * 
+ * The snapshot avoids to parse (JAXB) and to validate (XMLDSig) again all the cached trusted lists at startup. The
+ * entries are indexed by the SHA-256 of the XML file they were built from : an entry is only relevant while the
+ * cached file has the same content. The certificates are stored in their DER encoding and the conditions of the
+ * qualifiers with the Java serialization.
+ * 
+ * The gzipped content is preceded by its HMAC-SHA256 : a snapshot which was not written with the same key is
+ * rejected as a whole.
+ */
+final class TSLSnapshot {
+
+	private static final int MAGIC = 0x44535354;
+
+	/* To be incremented with any change of the layout : a snapshot with another version is ignored */
+	private static final int VERSION = 2;
+
+	private static final String MAC_ALGORITHM = "HmacSHA256";
+
+	private static final List<String> ALLOWED_CLASSES = Arrays.asList(ArrayList.class.getName(), LinkedList.class.getName(), Enum.class.getName());
+
+	private TSLSnapshot() {
+	}
+
+	/**
+	 * Writes the models in a temporary file which replaces the given file once complete.
+	 * 
+	 * @param file
+	 *            the snapshot file
+	 * @param models
+	 *            the models to store (models without parsing result are skipped)
+	 * @param key
+	 *            the key of the HMAC which authenticates the snapshot
+	 * @throws IOException
+	 *             if the snapshot cannot be written
+	 */
+	static void write(File file, Collection<TSLValidationModel> models, byte[] key) throws IOException {
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(new GZIPOutputStream(content)))) {
+			oos.writeInt(MAGIC);
+			oos.writeInt(VERSION);
+			List<TSLValidationModel> parsedModels = new ArrayList<TSLValidationModel>();
+			for (TSLValidationModel model : models) {
+				if (model.getParseResult() != null && model.getSha256FileContent() != null) {
+					parsedModels.add(model);
+				}
+			}
+			oos.writeInt(parsedModels.size());
+			for (TSLValidationModel model : parsedModels) {
+				writeModel(oos, model);
+			}
+		}
+		byte[] contentBytes = content.toByteArray();
+
+		File tempFile = File.createTempFile(file.getName(), ".tmp", file.getParentFile());
+		try {
+			try (OutputStream os = new FileOutputStream(tempFile)) {
+				os.write(mac(key, contentBytes));
+				os.write(contentBytes);
+			}
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(tempFile.toPath());
+		}
+	}
+
+	/**
+	 * Reads the models of a snapshot.
+	 * 
+	 * @param file
+	 *            the snapshot file
+	 * @param key
+	 *            the key of the HMAC which authenticates the snapshot
+	 * @return the models (without file path) by SHA-256 of the XML file content
+	 * @throws IOException
+	 *             if the snapshot cannot be read
+	 * @throws DSSException
+	 *             if the snapshot is not authenticated by the key
+	 */
+	static Map<String, TSLValidationModel> read(File file, byte[] key) throws IOException {
+		byte[] fileBytes = Files.readAllBytes(file.toPath());
+		int macLength = getMac(key).getMacLength();
+		if (fileBytes.length < macLength) {
+			throw new DSSException("Not a TSL snapshot : " + file.getAbsolutePath());
+		}
+		byte[] contentBytes = Arrays.copyOfRange(fileBytes, macLength, fileBytes.length);
+		if (!MessageDigest.isEqual(Arrays.copyOf(fileBytes, macLength), mac(key, contentBytes))) {
+			throw new DSSException("The TSL snapshot is not authenticated by the key : " + file.getAbsolutePath());
+		}
+
+		try (ObjectInputStream ois = new SnapshotInputStream(new BufferedInputStream(new GZIPInputStream(new ByteArrayInputStream(contentBytes))))) {
+			if (ois.readInt() != MAGIC) {
+				throw new DSSException("Not a TSL snapshot : " + file.getAbsolutePath());
+			}
+			int version = ois.readInt();
+			if (version != VERSION) {
+				throw new DSSException("Unsupported TSL snapshot version : " + version);
+			}
+			int size = ois.readInt();
+			Map<String, TSLValidationModel> models = new HashMap<String, TSLValidationModel>();
+			for (int i = 0; i < size; i++) {
+				TSLValidationModel model = readModel(ois);
+				models.put(model.getSha256FileContent(), model);
+			}
+			return models;
+		}
+	}
+
+	private static byte[] mac(byte[] key, byte[] content) {
+		return getMac(key).doFinal(content);
+	}
+
+	private static Mac getMac(byte[] key) {
+		try {
+			Mac mac = Mac.getInstance(MAC_ALGORITHM);
+			mac.init(new SecretKeySpec(key, MAC_ALGORITHM));
+			return mac;
+		} catch (GeneralSecurityException e) {
+			throw new DSSException("Unable to initialize the HMAC of the TSL snapshot : " + e.getMessage(), e);
+		}
+	}
+
+	private static void writeModel(ObjectOutputStream oos, TSLValidationModel model) throws IOException {
+		writeString(oos, model.getSha256FileContent());
+		writeString(oos, model.getUrl());
+		oos.writeBoolean(model.isLotl());
+		writeDate(oos, model.getLoadedDate());
+		writeParseResult(oos, model.getParseResult());
+
+		TSLValidationResult validationResult = model.getValidationResult();
+		oos.writeBoolean(validationResult != null);
+		if (validationResult != null) {
+			writeString(oos, validationResult.getCountryCode());
+			writeString(oos, validationResult.getIndication() == null ? null : validationResult.getIndication().name());
+			writeString(oos, validationResult.getSubIndication() == null ? null : validationResult.getSubIndication().name());
+			writeString(oos, validationResult.getPotentialSignersDigest());
+			writeDate(oos, validationResult.getValidationDate());
+		}
+	}
+
+	private static TSLValidationModel readModel(ObjectInputStream ois) throws IOException {
+		TSLValidationModel model = new TSLValidationModel();
+		model.setSha256FileContent(readString(ois));
+		model.setUrl(readString(ois));
+		model.setLotl(ois.readBoolean());
+		model.setLoadedDate(readDate(ois));
+		model.setParseResult(readParseResult(ois));
+
+		if (ois.readBoolean()) {
+			TSLValidationResult validationResult = new TSLValidationResult();
+			validationResult.setCountryCode(readString(ois));
+			String indication = readString(ois);
+			validationResult.setIndication(indication == null ? null : Indication.valueOf(indication));
+			String subIndication = readString(ois);
+			validationResult.setSubIndication(subIndication == null ? null : SubIndication.valueOf(subIndication));
+			validationResult.setPotentialSignersDigest(readString(ois));
+			validationResult.setValidationDate(readDate(ois));
+			model.setValidationResult(validationResult);
+		}
+		return model;
+	}
+
+	private static void writeParseResult(ObjectOutputStream oos, TSLParserResult parseResult) throws IOException {
+		oos.writeInt(parseResult.getSequenceNumber());
+		oos.writeInt(parseResult.getVersion());
+		writeString(oos, parseResult.getTerritory());
+		writeDate(oos, parseResult.getIssueDate());
+		writeDate(oos, parseResult.getNextUpdateDate());
+		writeStrings(oos, parseResult.getDistributionPoints());
+		writeStrings(oos, parseResult.getEnglishSchemeInformationURIs());
+
+		List<TSLPointer> pointers = parseResult.getPointers();
+		writeSize(oos, pointers);
+		if (pointers != null) {
+			for (TSLPointer pointer : pointers) {
+				writeString(oos, pointer.getUrl());
+				writeString(oos, pointer.getTerritory());
+				writeString(oos, pointer.getMimeType());
+				writeCertificates(oos, pointer.getPotentialSigners());
+			}
+		}
+
+		List<TSLServiceProvider> serviceProviders = parseResult.getServiceProviders();
+		writeSize(oos, serviceProviders);
+		if (serviceProviders != null) {
+			for (TSLServiceProvider serviceProvider : serviceProviders) {
+				writeString(oos, serviceProvider.getName());
+				writeString(oos, serviceProvider.getTradeName());
+				writeString(oos, serviceProvider.getRegistrationIdentifier());
+				writeString(oos, serviceProvider.getPostalAddress());
+				writeString(oos, serviceProvider.getElectronicAddress());
+
+				List<TSLService> services = serviceProvider.getServices();
+				writeSize(oos, services);
+				if (services != null) {
+					for (TSLService service : services) {
+						writeService(oos, service);
+					}
+				}
+			}
+		}
+	}
+
+	private static TSLParserResult readParseResult(ObjectInputStream ois) throws IOException {
+		TSLParserResult parseResult = new TSLParserResult();
+		parseResult.setSequenceNumber(ois.readInt());
+		parseResult.setVersion(ois.readInt());
+		parseResult.setTerritory(readString(ois));
+		parseResult.setIssueDate(readDate(ois));
+		parseResult.setNextUpdateDate(readDate(ois));
+		parseResult.setDistributionPoints(readStrings(ois));
+		List<String> englishSchemeInformationURIs = readStrings(ois);
+		// the order of the pivots is read with a LinkedList
+		parseResult.setEnglishSchemeInformationURIs(englishSchemeInformationURIs == null ? null : new LinkedList<String>(englishSchemeInformationURIs));
+
+		int nbPointers = ois.readInt();
+		if (nbPointers >= 0) {
+			List<TSLPointer> pointers = new ArrayList<TSLPointer>(nbPointers);
+			for (int i = 0; i < nbPointers; i++) {
+				TSLPointer pointer = new TSLPointer();
+				pointer.setUrl(readString(ois));
+				pointer.setTerritory(readString(ois));
+				pointer.setMimeType(readString(ois));
+				pointer.setPotentialSigners(readCertificates(ois));
+				pointers.add(pointer);
+			}
+			parseResult.setPointers(pointers);
+		}
+
+		int nbServiceProviders = ois.readInt();
+		if (nbServiceProviders >= 0) {
+			List<TSLServiceProvider> serviceProviders = new ArrayList<TSLServiceProvider>(nbServiceProviders);
+			for (int i = 0; i < nbServiceProviders; i++) {
+				TSLServiceProvider serviceProvider = new TSLServiceProvider();
+				serviceProvider.setName(readString(ois));
+				serviceProvider.setTradeName(readString(ois));
+				serviceProvider.setRegistrationIdentifier(readString(ois));
+				serviceProvider.setPostalAddress(readString(ois));
+				serviceProvider.setElectronicAddress(readString(ois));
+
+				int nbServices = ois.readInt();
+				if (nbServices >= 0) {
+					List<TSLService> services = new ArrayList<TSLService>(nbServices);
+					for (int j = 0; j < nbServices; j++) {
+						services.add(readService(ois));
+					}
+					serviceProvider.setServices(services);
+				}
+				serviceProviders.add(serviceProvider);
+			}
+			parseResult.setServiceProviders(serviceProviders);
+		}
+		return parseResult;
+	}
+
+	private static void writeService(ObjectOutputStream oos, TSLService service) throws IOException {
+		writeString(oos, service.getName());
+		writeCertificates(oos, service.getCertificates());
+
+		TimeDependentValues<TSLServiceStatusAndInformationExtensions> status = service.getStatusAndInformationExtensions();
+		List<TSLServiceStatusAndInformationExtensions> statusList = null;
+		if (status != null) {
+			statusList = new ArrayList<TSLServiceStatusAndInformationExtensions>();
+			for (TSLServiceStatusAndInformationExtensions tslServiceStatus : status) {
+				statusList.add(tslServiceStatus);
+			}
+		}
+		writeSize(oos, statusList);
+		if (statusList != null) {
+			for (TSLServiceStatusAndInformationExtensions tslServiceStatus : statusList) {
+				writeString(oos, tslServiceStatus.getType());
+				writeString(oos, tslServiceStatus.getStatus());
+				writeStrings(oos, tslServiceStatus.getAdditionalServiceInfoUris());
+				writeStrings(oos, tslServiceStatus.getServiceSupplyPoints());
+				writeDate(oos, tslServiceStatus.getExpiredCertsRevocationInfo());
+				writeDate(oos, tslServiceStatus.getStartDate());
+				writeDate(oos, tslServiceStatus.getEndDate());
+
+				List<TSLConditionsForQualifiers> conditionsForQualifiers = tslServiceStatus.getConditionsForQualifiers();
+				writeSize(oos, conditionsForQualifiers);
+				if (conditionsForQualifiers != null) {
+					for (TSLConditionsForQualifiers tslConditionsForQualifiers : conditionsForQualifiers) {
+						writeStrings(oos, tslConditionsForQualifiers.getQualifiers());
+						oos.writeObject(tslConditionsForQualifiers.getCondition());
+					}
+				}
+			}
+		}
+	}
+
+	private static TSLService readService(ObjectInputStream ois) throws IOException {
+		TSLService service = new TSLService();
+		service.setName(readString(ois));
+		service.setCertificates(readCertificates(ois));
+
+		int nbStatus = ois.readInt();
+		if (nbStatus >= 0) {
+			List<TSLServiceStatusAndInformationExtensions> statusList = new ArrayList<TSLServiceStatusAndInformationExtensions>(nbStatus);
+			for (int i = 0; i < nbStatus; i++) {
+				TSLServiceStatusAndInformationExtensions tslServiceStatus = new TSLServiceStatusAndInformationExtensions();
+				tslServiceStatus.setType(readString(ois));
+				tslServiceStatus.setStatus(readString(ois));
+				tslServiceStatus.setAdditionalServiceInfoUris(readStrings(ois));
+				tslServiceStatus.setServiceSupplyPoints(readStrings(ois));
+				tslServiceStatus.setExpiredCertsRevocationInfo(readDate(ois));
+				tslServiceStatus.setStartDate(readDate(ois));
+				tslServiceStatus.setEndDate(readDate(ois));
+
+				int nbConditions = ois.readInt();
+				if (nbConditions >= 0) {
+					List<TSLConditionsForQualifiers> conditionsForQualifiers = new ArrayList<TSLConditionsForQualifiers>(nbConditions);
+					for (int j = 0; j < nbConditions; j++) {
+						List<String> qualifiers = readStrings(ois);
+						conditionsForQualifiers.add(new TSLConditionsForQualifiers(qualifiers, readCondition(ois)));
+					}
+					tslServiceStatus.setConditionsForQualifiers(conditionsForQualifiers);
+				}
+				statusList.add(tslServiceStatus);
+			}
+			service.setStatusAndInformationExtensions(new MutableTimeDependentValues<TSLServiceStatusAndInformationExtensions>(statusList));
+		}
+		return service;
+	}
+
+	private static Condition readCondition(ObjectInputStream ois) throws IOException {
+		try {
+			return (Condition) ois.readObject();
+		} catch (ClassNotFoundException | ClassCastException e) {
+			throw new InvalidClassException("Unable to read a condition : " + e.getMessage());
+		}
+	}
+
+	private static void writeCertificates(ObjectOutputStream oos, List<CertificateToken> certificates) throws IOException {
+		writeSize(oos, certificates);
+		if (certificates != null) {
+			for (CertificateToken certificate : certificates) {
+				byte[] encoded = certificate.getEncoded();
+				oos.writeInt(encoded.length);
+				oos.write(encoded);
+			}
+		}
+	}
+
+	private static List<CertificateToken> readCertificates(ObjectInputStream ois) throws IOException {
+		int size = ois.readInt();
+		if (size < 0) {
+			return null;
+		}
+		List<CertificateToken> certificates = new ArrayList<CertificateToken>(size);
+		for (int i = 0; i < size; i++) {
+			byte[] encoded = new byte[ois.readInt()];
+			ois.readFully(encoded);
+			certificates.add(DSSUtils.loadCertificate(encoded));
+		}
+		return certificates;
+	}
+
+	private static void writeStrings(ObjectOutputStream oos, List<String> values) throws IOException {
+		writeSize(oos, values);
+		if (values != null) {
+			for (String value : values) {
+				writeString(oos, value);
+			}
+		}
+	}
+
+	private static List<String> readStrings(ObjectInputStream ois) throws IOException {
+		int size = ois.readInt();
+		if (size < 0) {
+			return null;
+		}
+		List<String> values = new ArrayList<String>(size);
+		for (int i = 0; i < size; i++) {
+			values.add(readString(ois));
+		}
+		return values;
+	}
+
+	private static void writeSize(ObjectOutputStream oos, List<?> values) throws IOException {
+		oos.writeInt(values == null ? -1 : values.size());
+	}
+
+	private static void writeString(ObjectOutputStream oos, String value) throws IOException {
+		oos.writeBoolean(value != null);
+		if (value != null) {
+			oos.writeUTF(value);
+		}
+	}
+
+	private static String readString(ObjectInputStream ois) throws IOException {
+		return ois.readBoolean() ? ois.readUTF() : null;
+	}
+
+	private static void writeDate(ObjectOutputStream oos, Date date) throws IOException {
+		oos.writeBoolean(date != null);
+		if (date != null) {
+			oos.writeLong(date.getTime());
+		}
+	}
+
+	private static Date readDate(ObjectInputStream ois) throws IOException {
+		return ois.readBoolean() ? new Date(ois.readLong()) : null;
+	}
+
+	/**
+	 * Only the DSS classes (conditions and their enums) and the lists are allowed in the serialized objects.
+	 */
+	private static class SnapshotInputStream extends ObjectInputStream {
+
+		SnapshotInputStream(InputStream in) throws IOException {
+			super(in);
+		}
+
+		@Override
+		protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+			String name = desc.getName();
+			if (!name.startsWith("eu.europa.esig.dss.") && !ALLOWED_CLASSES.contains(name)) {
+				throw new InvalidClassException(name, "Unexpected class in a TSL snapshot");
+			}
+			return super.resolveClass(desc);
+		}
+
+	}
+
+}
@@ -23,6 +23,7 @@ package eu.europa.esig.dss.tsl.service;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -31,6 +32,7 @@ import java.util.Map.Entry;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -161,8 +163,14 @@ public class TSLValidationJob {
 		int loadedTSL = 0;
 		List<File> cachedFiles = repository.getStoredFiles();
 		if (Utils.isCollectionNotEmpty(cachedFiles)) {
+			// the files with the same content as in the snapshot are not parsed again
+			Map<String, TSLValidationModel> snapshot = repository.loadSnapshot();
 			List<Future<TSLParserResult>> futureParseResults = new ArrayList<Future<TSLParserResult>>();
 			for (File file : cachedFiles) {
+				if (repository.addModelFromSnapshot(file, snapshot)) {
+					loadedTSL++;
+					continue;
+				}
 				try {
 					futureParseResults.add(executorService.submit(new TSLParser(file.getAbsolutePath())));
 				} catch (Exception e) {
@@ -181,7 +189,10 @@ public class TSLValidationJob {
 			}
 
 			TSLValidationModel europeanModel = repository.getByCountry(lotlCode);
-			if (checkLOTLSignature && (europeanModel != null)) {
+			boolean checkLoadedTSLSignatures = checkTSLSignatures && ((europeanModel != null) && (europeanModel.getParseResult() != null));
+			removeUncheckedValidationResults(checkLoadedTSLSignatures);
+
+			if (checkLOTLSignature && (europeanModel != null) && !isValidatedWith(europeanModel, ojContentKeyStore.getCertificates())) {
 				try {
 					// pivot is not handled in the cache loading
 					TSLValidationResult europeanValidationResult = validateLOTL(europeanModel, ojContentKeyStore.getCertificates());
@@ -191,7 +202,7 @@ public class TSLValidationJob {
 				}
 			}
 
-			if (checkTSLSignatures && ((europeanModel != null) && (europeanModel.getParseResult() != null))) {
+			if (checkLoadedTSLSignatures) {
 				List<TSLPointer> lotlPointers = europeanModel.getParseResult().getPointers();
 				List<Future<TSLValidationResult>> futureValidationResults = new ArrayList<Future<TSLValidationResult>>();
 				Map<String, TSLValidationModel> map = repository.getAllMapTSLValidationModels();
@@ -207,8 +218,10 @@ public class TSLValidationJob {
 						} else {
 							potentialSigners = getPotentialSigners(lotlPointers, countryCode);
 						}
-						TSLValidator tslValidator = new TSLValidator(new File(countryModel.getFilepath()), countryCode, potentialSigners);
-						futureValidationResults.add(executorService.submit(tslValidator));
+						if (!isValidatedWith(countryModel, potentialSigners)) {
+							TSLValidator tslValidator = new TSLValidator(new File(countryModel.getFilepath()), countryCode, potentialSigners);
+							futureValidationResults.add(executorService.submit(tslValidator));
+						}
 					}
 				}
 
@@ -216,10 +229,39 @@ public class TSLValidationJob {
 			}
 
 			repository.synchronize();
+			repository.storeSnapshot();
 		}
 		LOG.info(loadedTSL + " loaded TSL from cached files in the repository");
 	}
 
+	/**
+	 * This method removes the validation results restored from the snapshot when this job does not validate the
+	 * signature of the TSL : a result obtained with another configuration is not kept.
+	 */
+	private void removeUncheckedValidationResults(boolean checkLoadedTSLSignatures) {
+		for (Entry<String, TSLValidationModel> entry : repository.getAllMapTSLValidationModels().entrySet()) {
+			boolean signatureChecked = lotlCode.equals(entry.getKey()) ? checkLOTLSignature : checkLoadedTSLSignatures;
+			if (!signatureChecked) {
+				entry.getValue().setValidationResult(null);
+			}
+		}
+	}
+
+	/**
+	 * This method checks if the model has a validation result (eg : from the snapshot) obtained the same day with the
+	 * same potential signers. Otherwise, the signature has to be validated again.
+	 */
+	private boolean isValidatedWith(TSLValidationModel model, List<CertificateToken> potentialSigners) {
+		TSLValidationResult validationResult = model.getValidationResult();
+		return validationResult != null && validationResult.getValidationDate() != null
+				&& getDay(validationResult.getValidationDate()) == getDay(new Date())
+				&& Utils.areStringsEqual(TSLValidator.getPotentialSignersDigest(potentialSigners), validationResult.getPotentialSignersDigest());
+	}
+
+	private long getDay(Date date) {
+		return TimeUnit.MILLISECONDS.toDays(date.getTime());
+	}
+
 	private OtherTrustedList getNonEUTrustedList(String countryCode) {
 		if (Utils.isCollectionNotEmpty(otherTrustedLists)) {
 			for (OtherTrustedList otherTrustedList : otherTrustedLists) {
@@ -293,6 +335,7 @@ public class TSLValidationJob {
 		analyzeNonEUCountryPointers();
 
 		repository.synchronize();
+		repository.storeSnapshot();
 
 		LOG.debug("TSL Validation Job is finishing ...");
 	}
@@ -21,6 +21,9 @@
 package eu.europa.esig.dss.tsl.service;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.concurrent.Callable;
 
@@ -28,6 +31,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.DigestAlgorithm;
 import eu.europa.esig.dss.FileDocument;
 import eu.europa.esig.dss.jaxb.diagnostic.XmlSignatureScope;
 import eu.europa.esig.dss.tsl.TSLValidationResult;
@@ -88,6 +93,7 @@ public class TSLValidator implements Callable<TSLValidationResult> {
 		xPathQueryHolders.clear();
 		xPathQueryHolders.add(new XPathQueryHolder());
 
+		Date validationDate = new Date();
 		Reports reports = xmlDocumentValidator.validateDocument(TSLValidator.class.getResourceAsStream("/tsl-constraint.xml"));
 
 		// TODO improve with DSS-1487
@@ -112,6 +118,8 @@ public class TSLValidator implements Callable<TSLValidationResult> {
 			result.setIndication(Indication.TOTAL_FAILED);
 		}
 		result.setSubIndication(simpleReport.getSubIndication(simpleReport.getFirstSignatureId()));
+		result.setPotentialSignersDigest(getPotentialSignersDigest(potentialSigners));
+		result.setValidationDate(validationDate);
 
 		if (!isValid) {
 			LOG.info("The TSL signature is not valid : \n{}", reports.getXmlSimpleReport());
@@ -120,6 +128,28 @@ public class TSLValidator implements Callable<TSLValidationResult> {
 		return result;
 	}
 
+	/**
+	 * Computes a digest of the given certificates which does not depend on their order.
+	 * 
+	 * @param potentialSigners
+	 *            the list of certificates allowed to sign a TSL
+	 * @return the base64 encoded SHA-256 digest of the sorted certificate identifiers
+	 */
+	static String getPotentialSignersDigest(List<CertificateToken> potentialSigners) {
+		List<String> ids = new ArrayList<String>();
+		if (Utils.isCollectionNotEmpty(potentialSigners)) {
+			for (CertificateToken potentialSigner : potentialSigners) {
+				ids.add(potentialSigner.getDSSIdAsString());
+			}
+		}
+		Collections.sort(ids);
+		StringBuilder sb = new StringBuilder();
+		for (String id : ids) {
+			sb.append(id).append(';');
+		}
+		return Utils.toBase64(DSSUtils.digest(DigestAlgorithm.SHA256, sb.toString().getBytes()));
+	}
+
 	private CommonTrustedCertificateSource buildTrustedCertificateSource(List<CertificateToken> potentialSigners) {
 		CommonTrustedCertificateSource commonTrustedCertificateSource = new CommonTrustedCertificateSource();
 		if (Utils.isCollectionNotEmpty(potentialSigners)) {
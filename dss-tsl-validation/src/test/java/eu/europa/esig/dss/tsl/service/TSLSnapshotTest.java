@@ -0,0 +1,260 @@
+package eu.europa.esig.dss.tsl.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.tsl.TLInfo;
+import eu.europa.esig.dss.tsl.TSLConditionsForQualifiers;
+import eu.europa.esig.dss.tsl.TSLParserResult;
+import eu.europa.esig.dss.tsl.TSLPointer;
+import eu.europa.esig.dss.tsl.TSLService;
+import eu.europa.esig.dss.tsl.TSLServiceProvider;
+import eu.europa.esig.dss.tsl.TSLServiceStatusAndInformationExtensions;
+import eu.europa.esig.dss.tsl.TSLValidationModel;
+import eu.europa.esig.dss.tsl.TSLValidationResult;
+import eu.europa.esig.dss.tsl.TrustedListsCertificateSource;
+import eu.europa.esig.dss.validation.policy.rules.Indication;
+import eu.europa.esig.dss.validation.policy.rules.SubIndication;
+import eu.europa.esig.dss.x509.CertificateToken;
+import eu.europa.esig.dss.x509.KeyStoreCertificateSource;
+
+public class TSLSnapshotTest {
+
+	private static final byte[] KEY = "snapshot-key".getBytes();
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void writeAndRead() throws Exception {
+		List<File> files = new ArrayList<File>();
+		files.add(new File("src/test/resources/LOTL.xml"));
+		for (File file : new File("src/test/resources/tsls").listFiles()) {
+			files.add(file);
+		}
+
+		List<TSLValidationModel> models = new ArrayList<TSLValidationModel>();
+		for (File file : files) {
+			TSLValidationModel model = new TSLValidationModel();
+			model.setSha256FileContent(file.getName());
+			model.setParseResult(new TSLParser(file.getAbsolutePath()).call());
+			models.add(model);
+		}
+		TSLValidationResult validationResult = new TSLValidationResult();
+		validationResult.setCountryCode("EU");
+		validationResult.setIndication(Indication.INDETERMINATE);
+		validationResult.setSubIndication(SubIndication.NO_CERTIFICATE_CHAIN_FOUND);
+		validationResult.setPotentialSignersDigest("digest");
+		validationResult.setValidationDate(new Date(1500000000000L));
+		models.get(0).setValidationResult(validationResult);
+		models.get(0).setLotl(true);
+		models.get(0).setUrl("http://lotl.example");
+		// not parsed : not stored
+		models.add(new TSLValidationModel());
+
+		File snapshotFile = new File(folder.getRoot(), "snapshot.bin");
+		TSLSnapshot.write(snapshotFile, models, KEY);
+		Map<String, TSLValidationModel> snapshot = TSLSnapshot.read(snapshotFile, KEY);
+		assertEquals(files.size(), snapshot.size());
+
+		for (int i = 0; i < files.size(); i++) {
+			TSLValidationModel model = models.get(i);
+			TSLValidationModel restored = snapshot.get(files.get(i).getName());
+			assertNotNull(restored);
+			assertEquals(describe(model.getParseResult()), describe(restored.getParseResult()));
+			assertTrue(restored.getParseResult().getEnglishSchemeInformationURIs() instanceof LinkedList);
+			assertEquals(model.isLotl(), restored.isLotl());
+			assertEquals(model.getUrl(), restored.getUrl());
+		}
+
+		TSLValidationResult restoredResult = snapshot.get("LOTL.xml").getValidationResult();
+		assertEquals("EU", restoredResult.getCountryCode());
+		assertEquals(Indication.INDETERMINATE, restoredResult.getIndication());
+		assertEquals(SubIndication.NO_CERTIFICATE_CHAIN_FOUND, restoredResult.getSubIndication());
+		assertEquals("digest", restoredResult.getPotentialSignersDigest());
+		assertEquals(new Date(1500000000000L), restoredResult.getValidationDate());
+	}
+
+	@Test(expected = DSSException.class)
+	public void readWithAnotherKey() throws Exception {
+		File snapshotFile = writeSnapshot();
+		TSLSnapshot.read(snapshotFile, "another-key".getBytes());
+	}
+
+	@Test(expected = DSSException.class)
+	public void readModifiedSnapshot() throws Exception {
+		File snapshotFile = writeSnapshot();
+		byte[] bytes = Files.readAllBytes(snapshotFile.toPath());
+		bytes[bytes.length - 1] ^= 1;
+		Files.write(snapshotFile.toPath(), bytes);
+		TSLSnapshot.read(snapshotFile, KEY);
+	}
+
+	@Test
+	public void snapshotDisabledByDefault() throws Exception {
+		File cacheDirectory = folder.newFolder("cache");
+		Files.copy(new File("src/test/resources/LOTL.xml").toPath(), new File(cacheDirectory, "EU.xml").toPath());
+
+		TSLRepository repository = initRepository(cacheDirectory, null);
+		assertFalse(new File(cacheDirectory, "tsl-snapshot.bin").exists());
+		assertNotNull(repository.getByCountry("EU"));
+	}
+
+	private File writeSnapshot() throws Exception {
+		TSLValidationModel model = new TSLValidationModel();
+		model.setSha256FileContent("LOTL.xml");
+		model.setParseResult(new TSLParser(new File("src/test/resources/LOTL.xml").getAbsolutePath()).call());
+		File snapshotFile = new File(folder.getRoot(), "snapshot.bin");
+		TSLSnapshot.write(snapshotFile, Collections.singletonList(model), KEY);
+		return snapshotFile;
+	}
+
+	@Test
+	public void initRepositoryFromSnapshot() throws Exception {
+		File cacheDirectory = folder.newFolder("cache");
+		Files.copy(new File("src/test/resources/LOTL.xml").toPath(), new File(cacheDirectory, "EU.xml").toPath());
+		File[] tls = new File("src/test/resources/tsls").listFiles();
+		for (int i = 0; i < 3; i++) {
+			String territory = new TSLParser(tls[i].getAbsolutePath()).call().getTerritory();
+			Files.copy(tls[i].toPath(), new File(cacheDirectory, territory + ".xml").toPath());
+		}
+
+		TSLRepository repository = initRepository(cacheDirectory, KEY);
+		assertTrue(new File(cacheDirectory, "tsl-snapshot.bin").exists());
+		// the snapshot is not loaded as a TSL
+		assertEquals(4, repository.getStoredFiles().size());
+
+		TSLRepository restoredRepository = initRepository(cacheDirectory, KEY);
+		Map<String, TLInfo> summary = repository.getSummary();
+		Map<String, TLInfo> restoredSummary = restoredRepository.getSummary();
+		assertEquals(4, summary.size());
+		assertEquals(summary.keySet(), restoredSummary.keySet());
+		for (String countryCode : summary.keySet()) {
+			TLInfo info = summary.get(countryCode);
+			TLInfo restoredInfo = restoredSummary.get(countryCode);
+			assertEquals(info.getSequenceNumber(), restoredInfo.getSequenceNumber());
+			assertEquals(info.getNbServices(), restoredInfo.getNbServices());
+			assertEquals(info.getNbCertificates(), restoredInfo.getNbCertificates());
+			assertEquals(info.isWellSigned(), restoredInfo.isWellSigned());
+			assertEquals(describe(repository.getByCountry(countryCode).getParseResult()),
+					describe(restoredRepository.getByCountry(countryCode).getParseResult()));
+		}
+
+		Map<String, TSLValidationModel> snapshot = restoredRepository.loadSnapshot();
+		assertEquals(4, snapshot.size());
+		File lotl = new File(cacheDirectory, "EU.xml");
+		assertTrue(restoredRepository.addModelFromSnapshot(lotl, snapshot));
+
+		// a modified file is parsed again
+		try (FileOutputStream fos = new FileOutputStream(lotl, true)) {
+			fos.write(' ');
+		}
+		assertFalse(restoredRepository.addModelFromSnapshot(lotl, snapshot));
+
+		// a snapshot written with another key is ignored
+		TSLRepository otherKeyRepository = new TSLRepository();
+		otherKeyRepository.setCacheDirectoryPath(cacheDirectory.getAbsolutePath() + File.separator);
+		otherKeyRepository.setSnapshotKey("another-key".getBytes());
+		assertTrue(otherKeyRepository.loadSnapshot().isEmpty());
+	}
+
+	@Test
+	public void validationResultsAreRemovedWhenSignaturesAreNotChecked() throws Exception {
+		File cacheDirectory = folder.newFolder("cache");
+		Files.copy(new File("src/test/resources/LOTL.xml").toPath(), new File(cacheDirectory, "EU.xml").toPath());
+		File tl = new File("src/test/resources/tsls").listFiles()[0];
+		String territory = new TSLParser(tl.getAbsolutePath()).call().getTerritory();
+		Files.copy(tl.toPath(), new File(cacheDirectory, territory + ".xml").toPath());
+
+		TSLRepository repository = initRepository(cacheDirectory, KEY);
+		assertNotNull(repository.getByCountry("EU").getValidationResult());
+		assertNotNull(repository.getByCountry(territory).getValidationResult());
+
+		TSLRepository restoredRepository = initRepository(cacheDirectory, KEY, false, false);
+		assertNull(restoredRepository.getByCountry("EU").getValidationResult());
+		assertNull(restoredRepository.getByCountry(territory).getValidationResult());
+
+		// the restored result is kept for the checked signatures
+		restoredRepository = initRepository(cacheDirectory, KEY, true, false);
+		assertNotNull(restoredRepository.getByCountry("EU").getValidationResult());
+		assertNull(restoredRepository.getByCountry(territory).getValidationResult());
+	}
+
+	private TSLRepository initRepository(File cacheDirectory, byte[] snapshotKey) throws IOException {
+		return initRepository(cacheDirectory, snapshotKey, true, true);
+	}
+
+	private TSLRepository initRepository(File cacheDirectory, byte[] snapshotKey, boolean checkLOTLSignature, boolean checkTSLSignatures)
+			throws IOException {
+		TSLRepository repository = new TSLRepository();
+		repository.setCacheDirectoryPath(cacheDirectory.getAbsolutePath() + File.separator);
+		repository.setSnapshotKey(snapshotKey);
+		repository.setTrustedListsCertificateSource(new TrustedListsCertificateSource());
+
+		TSLValidationJob job = new TSLValidationJob();
+		job.setLotlCode("EU");
+		job.setOjContentKeyStore(new KeyStoreCertificateSource(new File("src/test/resources/keystore.p12"), "PKCS12", "dss-password"));
+		job.setRepository(repository);
+		job.setCheckLOTLSignature(checkLOTLSignature);
+		job.setCheckTSLSignatures(checkTSLSignatures);
+		job.initRepository();
+		return repository;
+	}
+
+	private String describe(TSLParserResult parseResult) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(parseResult.getTerritory()).append(parseResult.getSequenceNumber()).append(parseResult.getVersion());
+		sb.append(parseResult.getIssueDate()).append(parseResult.getNextUpdateDate());
+		sb.append(parseResult.getDistributionPoints()).append(parseResult.getEnglishSchemeInformationURIs()).append('\n');
+		for (TSLPointer pointer : parseResult.getPointers()) {
+			sb.append(pointer.getTerritory()).append(pointer.getUrl()).append(pointer.getMimeType());
+			describe(sb, pointer.getPotentialSigners());
+		}
+		for (TSLServiceProvider serviceProvider : parseResult.getServiceProviders()) {
+			sb.append(serviceProvider.getName()).append(serviceProvider.getTradeName()).append(serviceProvider.getRegistrationIdentifier());
+			sb.append(serviceProvider.getPostalAddress()).append(serviceProvider.getElectronicAddress()).append('\n');
+			for (TSLService service : serviceProvider.getServices()) {
+				sb.append(service.getName());
+				describe(sb, service.getCertificates());
+				for (TSLServiceStatusAndInformationExtensions status : service.getStatusAndInformationExtensions()) {
+					sb.append(status.getType()).append(status.getStatus()).append(status.getStartDate()).append(status.getEndDate());
+					sb.append(status.getAdditionalServiceInfoUris()).append(status.getServiceSupplyPoints()).append(status.getExpiredCertsRevocationInfo());
+					if (status.getConditionsForQualifiers() != null) {
+						for (TSLConditionsForQualifiers conditionsForQualifiers : status.getConditionsForQualifiers()) {
+							sb.append(conditionsForQualifiers.getQualifiers()).append(conditionsForQualifiers.getCondition());
+						}
+					}
+					sb.append('\n');
+				}
+			}
+		}
+		return sb.toString();
+	}
+
+	private void describe(StringBuilder sb, List<CertificateToken> certificates) {
+		for (CertificateToken certificate : certificates) {
+			sb.append(certificate.getDSSIdAsString()).append(' ');
+		}
+		sb.append('\n');
+	}
+
+}
@@ -22,6 +22,7 @@ package eu.europa.esig.dss.xades.signature;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.slf4j.Logger;
@@ -44,6 +45,7 @@ import eu.europa.esig.dss.xades.DSSReference;
 import eu.europa.esig.dss.xades.ProfileParameters;
 import eu.europa.esig.dss.xades.SantuarioInitializer;
 import eu.europa.esig.dss.xades.ProfileParameters.Operation;
+import eu.europa.esig.dss.xades.SignatureBuilder;
 import eu.europa.esig.dss.xades.SignatureProfile;
 import eu.europa.esig.dss.xades.XAdESSignatureParameters;
 
@@ -87,11 +89,20 @@ public class XAdESService extends AbstractSignatureService<XAdESSignatureParamet
 
 	@Override
 	public ToBeSigned getDataToSign(final DSSDocument toSignDocument, final XAdESSignatureParameters parameters) throws DSSException {
+		return getDataToSign(toSignDocument, Collections.singletonList(toSignDocument), parameters);
+	}
+
+	private ToBeSigned getDataToSign(final DSSDocument toSignDocument, final List<DSSDocument> signedDocuments, final XAdESSignatureParameters parameters)
+			throws DSSException {
 		assertSigningDateInCertificateValidityRange(parameters);
 		final XAdESLevelBaselineB levelBaselineB = new XAdESLevelBaselineB(certificateVerifier);
 		final byte[] dataToSign = levelBaselineB.getDataToSign(toSignDocument, parameters);
 		parameters.getContext().setProfile(levelBaselineB);
-		return new ToBeSigned(dataToSign);
+		final ToBeSigned toBeSigned = new ToBeSigned(dataToSign);
+		if (signingSessionCache != null) {
+			signingSessionCache.put(parameters, signedDocuments, toBeSigned, parameters.getContext().getBuilder());
+		}
+		return toBeSigned;
 	}
 
 	@Override
@@ -101,7 +112,7 @@ public class XAdESService extends AbstractSignatureService<XAdESSignatureParamet
 		XAdESSignatureBuilder xadesSignatureBuilder = XAdESSignatureBuilder.getSignatureBuilder(parameters, firstDoc, certificateVerifier);
 		List<DSSReference> references = xadesSignatureBuilder.createReferencesForDocuments(toSignDocuments);
 		parameters.setReferences(references);
-		return getDataToSign(firstDoc, parameters);
+		return getDataToSign(firstDoc, toSignDocuments, parameters);
 	}
 
 	/**
@@ -119,6 +130,12 @@ public class XAdESService extends AbstractSignatureService<XAdESSignatureParamet
 	@Override
 	public DSSDocument signDocument(final DSSDocument toSignDocument, final XAdESSignatureParameters parameters, SignatureValue signatureValue)
 			throws DSSException {
+		restoreSigningSession(parameters, Collections.singletonList(toSignDocument), signatureValue);
+		return sign(toSignDocument, parameters, signatureValue);
+	}
+
+	private DSSDocument sign(final DSSDocument toSignDocument, final XAdESSignatureParameters parameters, SignatureValue signatureValue)
+			throws DSSException {
 		if (parameters.getSignatureLevel() == null) {
 			throw new NullPointerException();
 		}
@@ -157,11 +174,39 @@ public class XAdESService extends AbstractSignatureService<XAdESSignatureParamet
 	public DSSDocument signDocument(List<DSSDocument> toSignDocuments, XAdESSignatureParameters parameters, SignatureValue signatureValue) throws DSSException {
 		assertMultiDocumentsAllowed(parameters);
 		DSSDocument firstDoc = toSignDocuments.get(0);
-		XAdESSignatureBuilder xadesSignatureBuilder = XAdESSignatureBuilder.getSignatureBuilder(parameters, firstDoc, certificateVerifier);
-		List<DSSReference> references = xadesSignatureBuilder.createReferencesForDocuments(toSignDocuments);
-		parameters.setReferences(references);
+		if (!restoreSigningSession(parameters, toSignDocuments, signatureValue)) {
+			XAdESSignatureBuilder xadesSignatureBuilder = XAdESSignatureBuilder.getSignatureBuilder(parameters, firstDoc, certificateVerifier);
+			List<DSSReference> references = xadesSignatureBuilder.createReferencesForDocuments(toSignDocuments);
+			parameters.setReferences(references);
+		}
 		parameters.setDetachedContents(toSignDocuments);
-		return signDocument(firstDoc, parameters, signatureValue);
+		return sign(firstDoc, parameters, signatureValue);
+	}
+
+	/**
+	 * This method restores the signature builder prepared by {@code getDataToSign} from the signing sessions (if
+	 * enabled) : the signature is not rebuilt.
+	 *
+	 * @param parameters
+	 *            set of the driving signing parameters
+	 * @param toSignDocuments
+	 *            the documents to sign, which must be the ones of {@code getDataToSign}
+	 * @param signatureValue
+	 *            the signature value to inject
+	 * @return true if a prepared builder was found
+	 */
+	private boolean restoreSigningSession(final XAdESSignatureParameters parameters, final List<DSSDocument> toSignDocuments,
+			final SignatureValue signatureValue) {
+		if (signingSessionCache == null) {
+			return false;
+		}
+		final SignatureBuilder builder = signingSessionCache.get(parameters, toSignDocuments, signatureValue, SignatureBuilder.class);
+		if (builder == null) {
+			return false;
+		}
+		parameters.getContext().setBuilder(builder);
+		parameters.getContext().setProfile(new XAdESLevelBaselineB(certificateVerifier));
+		return true;
 	}
 
 	@Override
@@ -118,6 +118,14 @@ public class XMLDocumentValidator extends SignedDocumentValidator {
 		return Arrays.equals(preamble, xmlPreamble) || Arrays.equals(preamble, xmlUtf8);
 	}
 
+	/**
+	 * The signatures share the same DOM which is not thread-safe (deferred nodes, registered ID attributes)
+	 */
+	@Override
+	protected boolean isConcurrentSignatureValidationSupported() {
+		return false;
+	}
+
 	@Override
 	public List<AdvancedSignature> getSignatures() {
 		if (signatures != null) {
@@ -0,0 +1,168 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xades.signature;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.DigestAlgorithm;
+import eu.europa.esig.dss.DigestDocument;
+import eu.europa.esig.dss.InMemoryDocument;
+import eu.europa.esig.dss.SignatureAlgorithm;
+import eu.europa.esig.dss.SignatureLevel;
+import eu.europa.esig.dss.SignaturePackaging;
+import eu.europa.esig.dss.SignatureValue;
+import eu.europa.esig.dss.ToBeSigned;
+import eu.europa.esig.dss.signature.SigningSessionCache;
+import eu.europa.esig.dss.test.TestUtils;
+import eu.europa.esig.dss.test.gen.CertificateService;
+import eu.europa.esig.dss.test.mock.MockPrivateKeyEntry;
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.validation.reports.wrapper.DiagnosticData;
+import eu.europa.esig.dss.validation.reports.wrapper.SignatureWrapper;
+import eu.europa.esig.dss.xades.XAdESSignatureParameters;
+
+public class XAdESSigningSessionTest {
+
+	private static final Date SIGNING_DATE = new Date();
+
+	private static MockPrivateKeyEntry signer;
+
+	@BeforeClass
+	public static void init() throws Exception {
+		signer = new CertificateService().generateCertificateChain(SignatureAlgorithm.RSA_SHA256);
+	}
+
+	@Test
+	public void sessionIsReused() {
+		SigningSessionCache cache = new SigningSessionCache(10, 60000);
+		XAdESService service = getService(cache);
+
+		SignatureValue signatureValue = sign(service.getDataToSign(getDocument("document"), getParameters()));
+		assertEquals(1, cache.size());
+
+		List<DSSDocument> signedDocuments = Arrays.asList(getDocument("document"));
+		DSSDocument signedDocument = service.signDocument(signedDocuments.get(0), getParameters(), signatureValue);
+		assertEquals(0, cache.size());
+
+		SignatureWrapper signature = validate(signedDocument, signedDocuments);
+		assertTrue(signature.isReferenceDataIntact());
+		assertTrue(signature.isSignatureIntact());
+	}
+
+	@Test
+	public void sessionIsReusedForSeveralDocuments() {
+		SigningSessionCache cache = new SigningSessionCache(10, 60000);
+		XAdESService service = getService(cache);
+
+		SignatureValue signatureValue = sign(service.getDataToSign(Arrays.asList(getDocument("first"), getDocument("second")), getParameters()));
+
+		List<DSSDocument> signedDocuments = Arrays.asList(getDocument("first"), getDocument("second"));
+		DSSDocument signedDocument = service.signDocument(signedDocuments, getParameters(), signatureValue);
+		assertEquals(0, cache.size());
+
+		SignatureWrapper signature = validate(signedDocument, signedDocuments);
+		assertTrue(signature.isReferenceDataIntact());
+		assertTrue(signature.isSignatureIntact());
+	}
+
+	@Test
+	public void sessionIsReusedWithTheDigestOfTheDocument() {
+		SigningSessionCache cache = new SigningSessionCache(10, 60000);
+		XAdESService service = getService(cache);
+
+		SignatureValue signatureValue = sign(service.getDataToSign(getDocument("document"), getParameters()));
+
+		// the content is not read again : only its digest is given in the second phase
+		DigestDocument digestDocument = new DigestDocument();
+		digestDocument.addDigest(DigestAlgorithm.SHA256, getDocument("document").getDigest(DigestAlgorithm.SHA256));
+		digestDocument.setName("document.txt");
+		DSSDocument signedDocument = service.signDocument(digestDocument, getParameters(), signatureValue);
+		assertEquals(0, cache.size());
+
+		SignatureWrapper signature = validate(signedDocument, Arrays.asList(getDocument("document")));
+		assertTrue(signature.isReferenceDataIntact());
+		assertTrue(signature.isSignatureIntact());
+	}
+
+	@Test
+	public void anotherDocumentIsNotSignedWithTheSession() {
+		SigningSessionCache cache = new SigningSessionCache(10, 60000);
+		XAdESService service = getService(cache);
+
+		SignatureValue signatureValue = sign(service.getDataToSign(getDocument("document"), getParameters()));
+
+		// the signature is rebuilt for the given document : the signature value does not match it
+		List<DSSDocument> signedDocuments = Arrays.asList(getDocument("another document"));
+		DSSDocument signedDocument = service.signDocument(signedDocuments.get(0), getParameters(), signatureValue);
+		assertEquals(0, cache.size());
+
+		SignatureWrapper signature = validate(signedDocument, signedDocuments);
+		assertTrue(signature.isReferenceDataIntact());
+		assertFalse(signature.isSignatureIntact());
+	}
+
+	private XAdESService getService(SigningSessionCache cache) {
+		XAdESService service = new XAdESService(new CommonCertificateVerifier(true));
+		service.setSigningSessionCache(cache);
+		return service;
+	}
+
+	/**
+	 * A new instance for each phase, as with two separate requests
+	 */
+	private XAdESSignatureParameters getParameters() {
+		XAdESSignatureParameters parameters = new XAdESSignatureParameters();
+		parameters.bLevel().setSigningDate(SIGNING_DATE);
+		parameters.setSigningCertificate(signer.getCertificate());
+		parameters.setCertificateChain(signer.getCertificateChain());
+		parameters.setSignaturePackaging(SignaturePackaging.DETACHED);
+		parameters.setSignatureLevel(SignatureLevel.XAdES_BASELINE_B);
+		return parameters;
+	}
+
+	private DSSDocument getDocument(String content) {
+		return new InMemoryDocument(content.getBytes(), content.replace(' ', '-') + ".txt");
+	}
+
+	private SignatureValue sign(ToBeSigned dataToSign) {
+		return TestUtils.sign(SignatureAlgorithm.RSA_SHA256, signer, dataToSign);
+	}
+
+	private SignatureWrapper validate(DSSDocument signedDocument, List<DSSDocument> detachedContents) {
+		SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(signedDocument);
+		validator.setCertificateVerifier(new CommonCertificateVerifier(true));
+		validator.setDetachedContents(detachedContents);
+		DiagnosticData diagnosticData = validator.validateDocument().getDiagnosticData();
+		return diagnosticData.getSignatureById(diagnosticData.getFirstSignatureId());
+	}
+
+}
@@ -5,6 +5,9 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
 
 import eu.europa.esig.dss.jaxb.detailedreport.DetailedReport;
 import eu.europa.esig.dss.jaxb.detailedreport.XmlBasicBuildingBlocks;
@@ -14,6 +17,7 @@ import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.validation.policy.Context;
 import eu.europa.esig.dss.validation.policy.ValidationPolicy;
 import eu.europa.esig.dss.validation.process.bbb.BasicBuildingBlocks;
+import eu.europa.esig.dss.validation.process.bbb.xcv.sub.SubX509CertificateValidationCache;
 import eu.europa.esig.dss.validation.process.qualification.trust.TLValidationBlock;
 import eu.europa.esig.dss.validation.reports.wrapper.AbstractTokenProxy;
 import eu.europa.esig.dss.validation.reports.wrapper.DiagnosticData;
@@ -24,11 +28,22 @@ public abstract class AbstractDetailedReportBuilder {
 	protected final ValidationPolicy policy;
 	protected final Date currentTime;
 
+	/* Shared by the building blocks of the report : common certificate chains are validated once */
+	private final SubX509CertificateValidationCache subXCVCache;
+
+	/* Optional pool to execute the basic building blocks of independent tokens in parallel */
+	private final ForkJoinPool forkJoinPool;
+
 	protected AbstractDetailedReportBuilder(DiagnosticData diagnosticData, ValidationPolicy policy, Date currentTime) {
+		this(diagnosticData, policy, currentTime, null);
+	}
+
+	protected AbstractDetailedReportBuilder(DiagnosticData diagnosticData, ValidationPolicy policy, Date currentTime, ForkJoinPool forkJoinPool) {
 		this.diagnosticData = diagnosticData;
 		this.policy = policy;
 		this.currentTime = currentTime;
-
+		this.subXCVCache = new SubX509CertificateValidationCache(policy);
+		this.forkJoinPool = forkJoinPool;
 	}
 
 	protected DetailedReport init() {
@@ -61,11 +76,56 @@ public abstract class AbstractDetailedReportBuilder {
 	}
 
 	protected void process(Set<? extends AbstractTokenProxy> tokensToProcess, Context context, Map<String, XmlBasicBuildingBlocks> bbbs) {
+		List<BasicBuildingBlocksTask> tasks = new ArrayList<BasicBuildingBlocksTask>();
 		for (AbstractTokenProxy token : tokensToProcess) {
-			BasicBuildingBlocks bbb = new BasicBuildingBlocks(diagnosticData, token, currentTime, policy, context);
-			XmlBasicBuildingBlocks result = bbb.execute();
-			bbbs.put(token.getId(), result);
+			tasks.add(new BasicBuildingBlocksTask(new BasicBuildingBlocks(diagnosticData, token, currentTime, policy, context, subXCVCache)));
+		}
+
+		if (forkJoinPool != null && tasks.size() > 1) {
+			forkJoinPool.invoke(new BasicBuildingBlocksTasks(tasks));
+		} else {
+			for (BasicBuildingBlocksTask task : tasks) {
+				task.invoke();
+			}
+		}
+
+		// results are collected in the iteration order of the tokens whatever the execution order
+		for (BasicBuildingBlocksTask task : tasks) {
+			XmlBasicBuildingBlocks result = task.getRawResult();
+			bbbs.put(result.getId(), result);
+		}
+	}
+
+	@SuppressWarnings("serial")
+	private static class BasicBuildingBlocksTasks extends RecursiveAction {
+
+		private final List<BasicBuildingBlocksTask> tasks;
+
+		BasicBuildingBlocksTasks(List<BasicBuildingBlocksTask> tasks) {
+			this.tasks = tasks;
+		}
+
+		@Override
+		protected void compute() {
+			invokeAll(tasks);
 		}
+
+	}
+
+	@SuppressWarnings("serial")
+	private static class BasicBuildingBlocksTask extends RecursiveTask<XmlBasicBuildingBlocks> {
+
+		private final BasicBuildingBlocks bbb;
+
+		BasicBuildingBlocksTask(BasicBuildingBlocks bbb) {
+			this.bbb = bbb;
+		}
+
+		@Override
+		protected XmlBasicBuildingBlocks compute() {
+			return bbb.execute();
+		}
+
 	}
 
 }
@@ -1,6 +1,7 @@
 package eu.europa.esig.dss.validation.executor;
 
 import java.util.Date;
+import java.util.concurrent.ForkJoinPool;
 
 import eu.europa.esig.dss.jaxb.simplereport.SimpleReport;
 import eu.europa.esig.dss.validation.policy.ValidationPolicy;
@@ -18,6 +19,8 @@ public class CustomProcessExecutor implements ProcessExecutor<Reports> {
 
 	private ValidationPolicy policy;
 
+	private ForkJoinPool forkJoinPool;
+
 	@Override
 	public void setCurrentTime(Date currentTime) {
 		this.currentTime = currentTime;
@@ -38,6 +41,17 @@ public class CustomProcessExecutor implements ProcessExecutor<Reports> {
 		this.validationLevel = validationLevel;
 	}
 
+	/**
+	 * Sets the pool used to execute the basic building blocks of the revocation data, timestamps and signatures in
+	 * parallel. By default, they are executed in the current thread. The pool is not shut down by this class.
+	 * 
+	 * @param forkJoinPool
+	 *            the pool to use (null to disable the parallel execution)
+	 */
+	public void setForkJoinPool(ForkJoinPool forkJoinPool) {
+		this.forkJoinPool = forkJoinPool;
+	}
+
 	@Override
 	public Reports execute() {
 
@@ -45,7 +59,7 @@ public class CustomProcessExecutor implements ProcessExecutor<Reports> {
 
 		diagnosticData = new DiagnosticData(jaxbDiagnosticData);
 
-		DetailedReportBuilder detailedReportBuilder = new DetailedReportBuilder(currentTime, policy, validationLevel, diagnosticData);
+		DetailedReportBuilder detailedReportBuilder = new DetailedReportBuilder(currentTime, policy, validationLevel, diagnosticData, forkJoinPool);
 		eu.europa.esig.dss.jaxb.detailedreport.DetailedReport jaxbDetailedReport = detailedReportBuilder.build();
 
 		DetailedReport detailedReportWrapper = new DetailedReport(jaxbDetailedReport);
@@ -4,6 +4,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,7 +36,17 @@ public class DetailedReportBuilder extends AbstractDetailedReportBuilder {
 	private final ValidationLevel validationLevel;
 
 	public DetailedReportBuilder(Date currentTime, ValidationPolicy policy, ValidationLevel validationLevel, DiagnosticData diagnosticData) {
-		super(diagnosticData, policy, currentTime);
+		this(currentTime, policy, validationLevel, diagnosticData, null);
+	}
+
+	/**
+	 * @param forkJoinPool
+	 *            the pool used to execute the basic building blocks of the tokens in parallel (null to execute them in
+	 *            the current thread)
+	 */
+	public DetailedReportBuilder(Date currentTime, ValidationPolicy policy, ValidationLevel validationLevel, DiagnosticData diagnosticData,
+			ForkJoinPool forkJoinPool) {
+		super(diagnosticData, policy, currentTime, forkJoinPool);
 		this.validationLevel = validationLevel;
 	}
 
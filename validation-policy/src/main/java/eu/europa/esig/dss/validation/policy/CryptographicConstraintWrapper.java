@@ -0,0 +1,192 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation.policy;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.jaxb.policy.Algo;
+import eu.europa.esig.jaxb.policy.AlgoExpirationDate;
+import eu.europa.esig.jaxb.policy.CryptographicConstraint;
+import eu.europa.esig.jaxb.policy.ListAlgo;
+
+/**
+ * This class is a compiled view of a {@code CryptographicConstraint} : the algorithm lists are indexed and the
+ * expiration dates are parsed once. The {@code EtsiValidationPolicy} compiles each of its constraints on first use
+ * (see {@link EtsiValidationPolicy#getCryptographicConstraintWrapper(CryptographicConstraint)}).
+ */
+public final class CryptographicConstraintWrapper {
+
+	private static final Logger LOG = LoggerFactory.getLogger(CryptographicConstraintWrapper.class);
+
+	private static final String DEFAULT_DATE_FORMAT = "yyyy-MM-dd";
+
+	/**
+	 * null if there is no constraint on the encryption algorithm
+	 */
+	private final Set<String> acceptableEncryptionAlgorithms;
+
+	/**
+	 * null if there is no constraint on the digest algorithm
+	 */
+	private final Set<String> acceptableDigestAlgorithms;
+
+	/**
+	 * null if there is no constraint on the key size
+	 */
+	private final Map<String, Integer> minimumKeySizes;
+
+	/**
+	 * null if there is no constraint on the algorithm expiration dates
+	 */
+	private final Map<String, Date> expirationDates;
+
+	/**
+	 * The default constructor for CryptographicConstraintWrapper : the constraint is compiled.
+	 *
+	 * @param constraint
+	 *            the cryptographic constraint from the policy
+	 */
+	public CryptographicConstraintWrapper(CryptographicConstraint constraint) {
+		acceptableEncryptionAlgorithms = getAlgorithms(constraint.getAcceptableEncryptionAlgo());
+		acceptableDigestAlgorithms = getAlgorithms(constraint.getAcceptableDigestAlgo());
+		minimumKeySizes = getMinimumKeySizes(constraint.getMiniPublicKeySize());
+		expirationDates = getExpirationDates(constraint.getAlgoExpirationDate());
+	}
+
+	private static Set<String> getAlgorithms(ListAlgo listAlgo) {
+		if ((listAlgo == null) || Utils.isCollectionEmpty(listAlgo.getAlgo())) {
+			return null;
+		}
+		Set<String> result = new HashSet<String>();
+		for (Algo algo : listAlgo.getAlgo()) {
+			result.add(algo.getValue());
+		}
+		return result;
+	}
+
+	private static Map<String, Integer> getMinimumKeySizes(ListAlgo listAlgo) {
+		if ((listAlgo == null) || Utils.isCollectionEmpty(listAlgo.getAlgo())) {
+			return null;
+		}
+		Map<String, Integer> result = new HashMap<String, Integer>();
+		for (Algo algo : listAlgo.getAlgo()) {
+			String size = algo.getSize();
+			if (Utils.isStringDigits(size)) {
+				result.put(algo.getValue(), Integer.parseInt(size));
+			}
+		}
+		return result;
+	}
+
+	private static Map<String, Date> getExpirationDates(AlgoExpirationDate algoExpirationDate) {
+		if ((algoExpirationDate == null) || Utils.isCollectionEmpty(algoExpirationDate.getAlgo())) {
+			return null;
+		}
+		String format = algoExpirationDate.getFormat();
+		SimpleDateFormat dateFormat = new SimpleDateFormat(Utils.isStringEmpty(format) ? DEFAULT_DATE_FORMAT : format);
+		Map<String, Date> result = new HashMap<String, Date>();
+		List<Algo> algos = algoExpirationDate.getAlgo();
+		for (Algo algo : algos) {
+			if (Utils.isStringNotEmpty(algo.getDate())) {
+				try {
+					result.put(normalize(algo.getValue()), dateFormat.parse(algo.getDate()));
+				} catch (Exception e) {
+					LOG.warn("Unable to parse date with pattern '" + dateFormat.toPattern() + "' : " + e.getMessage());
+				}
+			}
+		}
+		return result;
+	}
+
+	public boolean isEncryptionAlgorithmConstrained() {
+		return acceptableEncryptionAlgorithms != null;
+	}
+
+	public boolean isEncryptionAlgorithmAcceptable(String encryptionAlgorithm) {
+		return (acceptableEncryptionAlgorithms == null) || acceptableEncryptionAlgorithms.contains(encryptionAlgorithm);
+	}
+
+	public boolean isDigestAlgorithmConstrained() {
+		return acceptableDigestAlgorithms != null;
+	}
+
+	public boolean isDigestAlgorithmAcceptable(String digestAlgorithm) {
+		return (acceptableDigestAlgorithms == null) || acceptableDigestAlgorithms.contains(digestAlgorithm);
+	}
+
+	public boolean isKeySizeConstrained() {
+		return minimumKeySizes != null;
+	}
+
+	/**
+	 * @param encryptionAlgorithm
+	 *            the encryption algorithm
+	 * @return the minimum key size for the algorithm or 0
+	 */
+	public int getMinimumKeySize(String encryptionAlgorithm) {
+		if (minimumKeySizes != null) {
+			Integer size = minimumKeySizes.get(encryptionAlgorithm);
+			if (size != null) {
+				return size;
+			}
+		}
+		return 0;
+	}
+
+	public boolean isExpirationDateConstrained() {
+		return expirationDates != null;
+	}
+
+	/**
+	 * @param algorithm
+	 *            the algorithm name (digest algorithm or encryption algorithm followed by the key size), the case is
+	 *            ignored
+	 * @return the expiration date of the algorithm or null
+	 */
+	public Date getExpirationDate(String algorithm) {
+		if (expirationDates != null) {
+			Date date = expirationDates.get(normalize(algorithm));
+			if (date != null) {
+				return new Date(date.getTime());
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * The algorithm names of the expiration dates are compared ignoring the case
+	 */
+	private static String normalize(String algorithm) {
+		return algorithm == null ? null : algorithm.toUpperCase(Locale.ENGLISH);
+	}
+
+}
@@ -21,14 +21,12 @@
 package eu.europa.esig.dss.validation.policy;
 
 import java.util.Date;
-import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import eu.europa.esig.dss.utils.Utils;
-import eu.europa.esig.jaxb.policy.Algo;
-import eu.europa.esig.jaxb.policy.AlgoExpirationDate;
 import eu.europa.esig.jaxb.policy.BasicSignatureConstraints;
 import eu.europa.esig.jaxb.policy.CertificateConstraints;
 import eu.europa.esig.jaxb.policy.ConstraintsParameters;
@@ -56,10 +54,35 @@ public class EtsiValidationPolicy implements ValidationPolicy {
 
 	private ConstraintsParameters policy;
 
+	/**
+	 * The compiled cryptographic constraints of the policy (the JAXB objects are compared by identity)
+	 */
+	private final ConcurrentMap<CryptographicConstraint, CryptographicConstraintWrapper> cryptographicConstraintWrappers = new ConcurrentHashMap<CryptographicConstraint, CryptographicConstraintWrapper>();
+
 	public EtsiValidationPolicy(ConstraintsParameters policy) {
 		this.policy = policy;
 	}
 
+	/**
+	 * This method returns the compiled view of a cryptographic constraint of this policy. Each constraint is compiled
+	 * once : the policy must not be modified after its first use.
+	 *
+	 * @param constraint
+	 *            a cryptographic constraint of this policy
+	 * @return the compiled view of the constraint
+	 */
+	public CryptographicConstraintWrapper getCryptographicConstraintWrapper(CryptographicConstraint constraint) {
+		CryptographicConstraintWrapper wrapper = cryptographicConstraintWrappers.get(constraint);
+		if (wrapper == null) {
+			final CryptographicConstraintWrapper newWrapper = new CryptographicConstraintWrapper(constraint);
+			wrapper = cryptographicConstraintWrappers.putIfAbsent(constraint, newWrapper);
+			if (wrapper == null) {
+				wrapper = newWrapper;
+			}
+		}
+		return wrapper;
+	}
+
 	@Override
 	public Date getAlgorithmExpirationDate(final String algorithm, Context context, SubContext subContext) {
 		CryptographicConstraint signatureCryptographicConstraint = getCertificateCryptographicConstraint(context, subContext);
@@ -74,24 +97,7 @@ public class EtsiValidationPolicy implements ValidationPolicy {
 	}
 
 	private Date extractExpirationDate(final String algorithm, CryptographicConstraint signatureCryptographicConstraint) {
-		AlgoExpirationDate algoExpirationDate = signatureCryptographicConstraint.getAlgoExpirationDate();
-		String dateFormat = DateUtils.DEFAULT_DATE_FORMAT;
-		if (algoExpirationDate != null) {
-			if (Utils.isStringNotEmpty(algoExpirationDate.getFormat())) {
-				dateFormat = algoExpirationDate.getFormat();
-			}
-			List<Algo> algos = algoExpirationDate.getAlgo();
-			String foundExpirationDate = null;
-			for (Algo algo : algos) {
-				if (Utils.areStringsEqualIgnoreCase(algo.getValue(), algorithm)) {
-					foundExpirationDate = algo.getDate();
-				}
-			}
-			if (Utils.isStringNotEmpty(foundExpirationDate)) {
-				return DateUtils.parseDate(dateFormat, foundExpirationDate);
-			}
-		}
-		return null;
+		return getCryptographicConstraintWrapper(signatureCryptographicConstraint).getExpirationDate(algorithm);
 	}
 
 	@Override
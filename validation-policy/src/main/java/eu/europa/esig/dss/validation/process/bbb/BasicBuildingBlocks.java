@@ -27,6 +27,7 @@ import eu.europa.esig.dss.validation.process.bbb.sav.SignatureAcceptanceValidati
 import eu.europa.esig.dss.validation.process.bbb.sav.TimestampAcceptanceValidation;
 import eu.europa.esig.dss.validation.process.bbb.vci.ValidationContextInitialization;
 import eu.europa.esig.dss.validation.process.bbb.xcv.X509CertificateValidation;
+import eu.europa.esig.dss.validation.process.bbb.xcv.sub.SubX509CertificateValidationCache;
 import eu.europa.esig.dss.validation.reports.wrapper.CertificateWrapper;
 import eu.europa.esig.dss.validation.reports.wrapper.DiagnosticData;
 import eu.europa.esig.dss.validation.reports.wrapper.RevocationWrapper;
@@ -44,13 +45,20 @@ public class BasicBuildingBlocks {
 	private final ValidationPolicy policy;
 	private final Date currentTime;
 	private final Context context;
+	private final SubX509CertificateValidationCache subXCVCache;
 
 	public BasicBuildingBlocks(DiagnosticData diagnosticData, TokenProxy token, Date currentTime, ValidationPolicy policy, Context context) {
+		this(diagnosticData, token, currentTime, policy, context, new SubX509CertificateValidationCache(policy));
+	}
+
+	public BasicBuildingBlocks(DiagnosticData diagnosticData, TokenProxy token, Date currentTime, ValidationPolicy policy, Context context,
+			SubX509CertificateValidationCache subXCVCache) {
 		this.diagnosticData = diagnosticData;
 		this.token = token;
 		this.currentTime = currentTime;
 		this.policy = policy;
 		this.context = context;
+		this.subXCVCache = subXCVCache;
 	}
 
 	public XmlBasicBuildingBlocks execute() {
@@ -186,22 +194,22 @@ public class BasicBuildingBlocks {
 		if (Context.CERTIFICATE.equals(context)) {
 			CertificateWrapper certificate = (CertificateWrapper) token;
 			X509CertificateValidation xcv = new X509CertificateValidation(diagnosticData, certificate, currentTime, certificate.getNotBefore(), context,
-					policy);
+					policy, subXCVCache);
 			return xcv.execute();
 		} else {
 			CertificateWrapper certificate = diagnosticData.getUsedCertificateById(token.getSigningCertificateId());
 			if (certificate != null) {
 				if (Context.SIGNATURE.equals(context) || Context.COUNTER_SIGNATURE.equals(context)) {
 					X509CertificateValidation xcv = new X509CertificateValidation(diagnosticData, certificate, currentTime, certificate.getNotBefore(), context,
-							policy);
+							policy, subXCVCache);
 					return xcv.execute();
 				} else if (Context.TIMESTAMP.equals(context)) {
 					X509CertificateValidation xcv = new X509CertificateValidation(diagnosticData, certificate, currentTime,
-							((TimestampWrapper) token).getProductionTime(), context, policy);
+							((TimestampWrapper) token).getProductionTime(), context, policy, subXCVCache);
 					return xcv.execute();
 				} else if (Context.REVOCATION.equals(context)) {
 					X509CertificateValidation xcv = new X509CertificateValidation(diagnosticData, certificate, currentTime,
-							((RevocationWrapper) token).getProductionDate(), context, policy);
+							((RevocationWrapper) token).getProductionDate(), context, policy, subXCVCache);
 					return xcv.execute();
 				}
 			}
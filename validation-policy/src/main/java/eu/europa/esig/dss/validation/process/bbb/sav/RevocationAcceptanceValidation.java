@@ -29,7 +29,7 @@ public class RevocationAcceptanceValidation extends AbstractAcceptanceValidation
 
 	private ChainItem<XmlSAV> revocationCryptographic() {
 		CryptographicConstraint constraint = validationPolicy.getSignatureCryptographicConstraint(Context.REVOCATION);
-		return new CryptographicCheck<XmlSAV>(result, token, currentTime, constraint);
+		return new CryptographicCheck<XmlSAV>(result, token, currentTime, constraint, validationPolicy);
 	}
 
 }
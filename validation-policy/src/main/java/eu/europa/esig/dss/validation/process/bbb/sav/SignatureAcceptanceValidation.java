@@ -139,7 +139,7 @@ public class SignatureAcceptanceValidation extends AbstractAcceptanceValidation<
 
 	private ChainItem<XmlSAV> signatureCryptographic() {
 		CryptographicConstraint constraint = validationPolicy.getSignatureCryptographicConstraint(context);
-		return new CryptographicCheck<XmlSAV>(result, token, currentTime, constraint);
+		return new CryptographicCheck<XmlSAV>(result, token, currentTime, constraint, validationPolicy);
 	}
 
 }
@@ -37,7 +37,7 @@ public class TimestampAcceptanceValidation extends AbstractAcceptanceValidation<
 
 	private ChainItem<XmlSAV> timestampCryptographic() {
 		CryptographicConstraint constraint = validationPolicy.getSignatureCryptographicConstraint(Context.TIMESTAMP);
-		return new CryptographicCheck<XmlSAV>(result, token, currentTime, constraint);
+		return new CryptographicCheck<XmlSAV>(result, token, currentTime, constraint, validationPolicy);
 	}
 
 	private ChainItem<XmlSAV> messageImprintDataFound() {
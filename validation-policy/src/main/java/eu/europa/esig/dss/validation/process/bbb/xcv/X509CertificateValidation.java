@@ -16,7 +16,7 @@ import eu.europa.esig.dss.validation.process.bbb.xcv.checks.CheckSubXCVResult;
 import eu.europa.esig.dss.validation.process.bbb.xcv.checks.ProspectiveCertificateChainCheck;
 import eu.europa.esig.dss.validation.process.bbb.xcv.checks.TrustedServiceStatusCheck;
 import eu.europa.esig.dss.validation.process.bbb.xcv.checks.TrustedServiceTypeIdentifierCheck;
-import eu.europa.esig.dss.validation.process.bbb.xcv.sub.SubX509CertificateValidation;
+import eu.europa.esig.dss.validation.process.bbb.xcv.sub.SubX509CertificateValidationCache;
 import eu.europa.esig.dss.validation.reports.wrapper.CertificateWrapper;
 import eu.europa.esig.dss.validation.reports.wrapper.DiagnosticData;
 import eu.europa.esig.jaxb.policy.LevelConstraint;
@@ -36,6 +36,7 @@ public class X509CertificateValidation extends Chain<XmlXCV> {
 
 	private final Context context;
 	private final ValidationPolicy validationPolicy;
+	private final SubX509CertificateValidationCache subXCVCache;
 
 	public X509CertificateValidation(DiagnosticData diagnosticData, CertificateWrapper currentCertificate, Date validationDate, Context context,
 			ValidationPolicy validationPolicy) {
@@ -44,6 +45,17 @@ public class X509CertificateValidation extends Chain<XmlXCV> {
 
 	public X509CertificateValidation(DiagnosticData diagnosticData, CertificateWrapper currentCertificate, Date validationDate, Date usageTime, Context context,
 			ValidationPolicy validationPolicy) {
+		this(diagnosticData, currentCertificate, validationDate, usageTime, context, validationPolicy,
+				new SubX509CertificateValidationCache(validationPolicy));
+	}
+
+	/**
+	 * @param subXCVCache
+	 *            the cache of the sub X.509 certificate validations, shared between the building blocks of a report
+	 *            (it must be created with the same validation policy)
+	 */
+	public X509CertificateValidation(DiagnosticData diagnosticData, CertificateWrapper currentCertificate, Date validationDate, Date usageTime, Context context,
+			ValidationPolicy validationPolicy, SubX509CertificateValidationCache subXCVCache) {
 		super(new XmlXCV());
 
 		this.diagnosticData = diagnosticData;
@@ -53,6 +65,7 @@ public class X509CertificateValidation extends Chain<XmlXCV> {
 
 		this.context = context;
 		this.validationPolicy = validationPolicy;
+		this.subXCVCache = subXCVCache;
 	}
 
 	@Override
@@ -64,9 +77,7 @@ public class X509CertificateValidation extends Chain<XmlXCV> {
 
 		item = item.setNextItem(trustedServiceWithExpectedStatus());
 
-		SubX509CertificateValidation certificateValidation = new SubX509CertificateValidation(currentCertificate, validationDate, context,
-				SubContext.SIGNING_CERT, validationPolicy);
-		XmlSubXCV subXCV = certificateValidation.execute();
+		XmlSubXCV subXCV = subXCVCache.execute(currentCertificate, validationDate, context, SubContext.SIGNING_CERT);
 		result.getSubXCV().add(subXCV);
 
 		boolean trustAnchorReached = currentCertificate.isTrusted();
@@ -80,9 +91,7 @@ public class X509CertificateValidation extends Chain<XmlXCV> {
 					CertificateWrapper certificate = diagnosticData
 							.getUsedCertificateByIdNullSafe(chainCertificate.getId());
 
-					certificateValidation = new SubX509CertificateValidation(certificate, validationDate, context,
-							SubContext.CA_CERTIFICATE, validationPolicy);
-					subXCV = certificateValidation.execute();
+					subXCV = subXCVCache.execute(certificate, validationDate, context, SubContext.CA_CERTIFICATE);
 					result.getSubXCV().add(subXCV);
 
 					trustAnchorReached = certificate.isTrusted();
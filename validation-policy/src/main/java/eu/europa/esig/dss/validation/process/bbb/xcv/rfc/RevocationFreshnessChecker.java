@@ -121,7 +121,7 @@ public class RevocationFreshnessChecker extends Chain<XmlRFC> {
 
 	private ChainItem<XmlRFC> revocationCryptographic(RevocationWrapper revocationData) {
 		CryptographicConstraint cryptographicConstraint = policy.getCertificateCryptographicConstraint(context, subContext);
-		return new CryptographicCheck<XmlRFC>(result, revocationData, validationDate, cryptographicConstraint);
+		return new CryptographicCheck<XmlRFC>(result, revocationData, validationDate, cryptographicConstraint, policy);
 	}
 
 }
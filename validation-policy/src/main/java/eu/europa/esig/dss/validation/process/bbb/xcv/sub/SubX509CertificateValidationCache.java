@@ -0,0 +1,45 @@
+package eu.europa.esig.dss.validation.process.bbb.xcv.sub;
+
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import eu.europa.esig.dss.jaxb.detailedreport.XmlSubXCV;
+import eu.europa.esig.dss.validation.policy.Context;
+import eu.europa.esig.dss.validation.policy.SubContext;
+import eu.europa.esig.dss.validation.policy.ValidationPolicy;
+import eu.europa.esig.dss.validation.reports.wrapper.CertificateWrapper;
+
+/**
+ * Memoizes the results of {@code SubX509CertificateValidation} for one validation policy.
+ * 
+ * The result of a sub X.509 certificate validation only depends on the certificate, the validation time, the context
+ * and the sub-context. Certificate chains shared by several tokens (TSA, OCSP responders, CAs,...) are then evaluated
+ * once per report. This class is thread-safe.
+ */
+public class SubX509CertificateValidationCache {
+
+	private final ConcurrentMap<String, XmlSubXCV> results = new ConcurrentHashMap<String, XmlSubXCV>();
+
+	private final ValidationPolicy validationPolicy;
+
+	public SubX509CertificateValidationCache(ValidationPolicy validationPolicy) {
+		this.validationPolicy = validationPolicy;
+	}
+
+	public XmlSubXCV execute(CertificateWrapper certificate, Date currentTime, Context context, SubContext subContext) {
+		String key = certificate.getId() + '|' + currentTime.getTime() + '|' + context + '|' + subContext;
+		XmlSubXCV result = results.get(key);
+		if (result == null) {
+			SubX509CertificateValidation certificateValidation = new SubX509CertificateValidation(certificate, currentTime, context, subContext,
+					validationPolicy);
+			result = certificateValidation.execute();
+			XmlSubXCV previous = results.putIfAbsent(key, result);
+			if (previous != null) {
+				result = previous;
+			}
+		}
+		return result;
+	}
+
+}
@@ -278,7 +278,7 @@ public class ValidationProcessForSignaturesWithLongTermValidationData extends Ch
 
 	private ChainItem<XmlValidationProcessLongTermData> algorithmReliableAtBestSignatureTime(Date bestSignatureTime) {
 		return new CryptographicCheck<XmlValidationProcessLongTermData>(result, currentSignature, bestSignatureTime,
-				policy.getSignatureCryptographicConstraint(Context.SIGNATURE));
+				policy.getSignatureCryptographicConstraint(Context.SIGNATURE), policy);
 	}
 
 }
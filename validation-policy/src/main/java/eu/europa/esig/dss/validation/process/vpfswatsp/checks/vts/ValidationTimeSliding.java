@@ -204,7 +204,7 @@ public class ValidationTimeSliding extends Chain<XmlVTS> {
 
 	private ChainItem<XmlVTS> cryptographicCheck(TokenProxy token, Date validationTime) {
 		CryptographicConstraint constraint = policy.getCertificateCryptographicConstraint(context, SubContext.SIGNING_CERT);
-		return new CryptographicCheck<XmlVTS>(result, token, validationTime, constraint);
+		return new CryptographicCheck<XmlVTS>(result, token, validationTime, constraint, policy);
 	}
 
 	private boolean isConsistant(CertificateWrapper certificate, RevocationWrapper revocationData) {
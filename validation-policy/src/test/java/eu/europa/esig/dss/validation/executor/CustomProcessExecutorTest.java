@@ -11,6 +11,7 @@ import java.io.InputStream;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.xml.XMLConstants;
 import javax.xml.bind.JAXB;
@@ -879,6 +880,33 @@ public class CustomProcessExecutorTest {
 		validateBestSigningTimes(reports);
 	}
 
+	@Test
+	public void parallelExecutionGivesSameDetailedReport() throws Exception {
+		ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+		try {
+			for (String file : new String[] { "passed_out_of_bounds_with_timestamps.xml", "multi-sign.xml", "counter-signature-diag-data.xml",
+					"dss-1344.xml" }) {
+				FileInputStream fis = new FileInputStream("src/test/resources/" + file);
+				DiagnosticData diagnosticData = getJAXBObjectFromString(fis, DiagnosticData.class, "/xsd/DiagnosticData.xsd");
+				assertNotNull(diagnosticData);
+
+				CustomProcessExecutor executor = new CustomProcessExecutor();
+				executor.setDiagnosticData(diagnosticData);
+				executor.setValidationPolicy(loadPolicy());
+				executor.setCurrentTime(diagnosticData.getValidationDate());
+
+				String sequential = executor.execute().getXmlDetailedReport();
+
+				executor.setForkJoinPool(forkJoinPool);
+				Reports reports = executor.execute();
+				checkReports(reports);
+				assertEquals(file, sequential, reports.getXmlDetailedReport());
+			}
+		} finally {
+			forkJoinPool.shutdown();
+		}
+	}
+
 	private void checkReports(Reports reports) {
 		// reports.print();
 		assertNotNull(reports);
@@ -891,6 +919,16 @@ public class CustomProcessExecutorTest {
 		assertTrue(Utils.isStringNotBlank(reports.getXmlDiagnosticData()));
 		assertTrue(Utils.isStringNotBlank(reports.getXmlSimpleReport()));
 		assertTrue(Utils.isStringNotBlank(reports.getXmlDetailedReport()));
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		reports.writeXmlDiagnosticData(baos);
+		assertTrue(baos.size() > 0);
+		baos.reset();
+		reports.writeXmlSimpleReport(baos);
+		assertTrue(baos.size() > 0);
+		baos.reset();
+		reports.writeXmlDetailedReport(baos);
+		assertTrue(baos.size() > 0);
 	}
 
 	private void validateBestSigningTimes(Reports reports) {
@@ -0,0 +1,64 @@
+package eu.europa.esig.dss.validation.policy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.text.SimpleDateFormat;
+
+import org.junit.Test;
+
+import eu.europa.esig.jaxb.policy.Algo;
+import eu.europa.esig.jaxb.policy.AlgoExpirationDate;
+import eu.europa.esig.jaxb.policy.ConstraintsParameters;
+import eu.europa.esig.jaxb.policy.CryptographicConstraint;
+import eu.europa.esig.jaxb.policy.ListAlgo;
+
+public class CryptographicConstraintWrapperTest {
+
+	@Test
+	public void expirationDateIgnoresCase() throws Exception {
+		CryptographicConstraint constraint = new CryptographicConstraint();
+		AlgoExpirationDate algoExpirationDate = new AlgoExpirationDate();
+		algoExpirationDate.getAlgo().add(getAlgo("sha1", "2009-12-31"));
+		algoExpirationDate.getAlgo().add(getAlgo("Rsa2048", "2020-12-31"));
+		constraint.setAlgoExpirationDate(algoExpirationDate);
+
+		CryptographicConstraintWrapper wrapper = new CryptographicConstraintWrapper(constraint);
+		SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+		assertEquals(dateFormat.parse("2009-12-31"), wrapper.getExpirationDate("SHA1"));
+		assertEquals(dateFormat.parse("2020-12-31"), wrapper.getExpirationDate("RSA2048"));
+		assertNull(wrapper.getExpirationDate("SHA256"));
+	}
+
+	@Test
+	public void constraintIsCompiledOncePerPolicy() {
+		CryptographicConstraint constraint = new CryptographicConstraint();
+		ListAlgo acceptableDigestAlgo = new ListAlgo();
+		acceptableDigestAlgo.getAlgo().add(getAlgo("SHA256", null));
+		constraint.setAcceptableDigestAlgo(acceptableDigestAlgo);
+		CryptographicConstraint sameContent = new CryptographicConstraint();
+		sameContent.setAcceptableDigestAlgo(acceptableDigestAlgo);
+
+		EtsiValidationPolicy policy = new EtsiValidationPolicy(new ConstraintsParameters());
+		CryptographicConstraintWrapper wrapper = policy.getCryptographicConstraintWrapper(constraint);
+		assertTrue(wrapper.isDigestAlgorithmAcceptable("SHA256"));
+		assertFalse(wrapper.isDigestAlgorithmAcceptable("SHA512"));
+		assertSame(wrapper, policy.getCryptographicConstraintWrapper(constraint));
+
+		// the constraints are compiled by identity, per policy
+		assertNotSame(wrapper, policy.getCryptographicConstraintWrapper(sameContent));
+		assertNotSame(wrapper, new EtsiValidationPolicy(new ConstraintsParameters()).getCryptographicConstraintWrapper(constraint));
+	}
+
+	private Algo getAlgo(String value, String date) {
+		Algo algo = new Algo();
+		algo.setValue(value);
+		algo.setDate(date);
+		return algo;
+	}
+
+}